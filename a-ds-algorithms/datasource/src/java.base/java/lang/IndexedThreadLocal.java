@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.lang;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ThreadLocal} whose values are stored in a per-thread array,
+ * at an index assigned to each {@code IndexedThreadLocal} when it is
+ * created, rather than in a hash table.  Retrieving or setting the
+ * value of an {@code IndexedThreadLocal} is a single array access,
+ * does not allocate (apart from occasionally growing the array), and
+ * does not slow down as the number of thread-local variables grows.
+ *
+ * <p>{@code IndexedThreadLocal} is intended for a moderate number of
+ * long-lived thread-local variables, typically held in {@code static
+ * final} fields and accessed frequently, such as per-thread buffers
+ * and caches in server code.  Unlike {@code ThreadLocal}, it holds its
+ * values strongly: a value remains reachable from its thread until it
+ * is {@linkplain #remove removed}, all values of the thread are
+ * {@linkplain #removeAll removed}, or the thread terminates, even if
+ * the {@code IndexedThreadLocal} itself becomes unreachable.  Indices
+ * are not reused, so each thread's array grows with the number of
+ * {@code IndexedThreadLocal} instances that it has accessed, whether
+ * or not they are still reachable.  Creating {@code IndexedThreadLocal}s
+ * dynamically, for example one per request, is therefore not
+ * recommended.
+ *
+ * <p>Threads that are reused for unrelated work, such as those of a
+ * thread pool, can discard all their values with {@link #removeAll},
+ * for example in {@link
+ * java.util.concurrent.ThreadPoolExecutor#afterExecute afterExecute}.
+ * Subclasses can release resources held by values by overriding
+ * {@link #onRemoval}.
+ *
+ * <p>Values of an {@code IndexedThreadLocal} are not inherited by
+ * child threads, and are not visible through any other {@code
+ * ThreadLocal}.
+ *
+ * @param <T> the type of the thread local's value
+ * @see ThreadLocal
+ * @since 18
+ */
+public class IndexedThreadLocal<T> extends ThreadLocal<T> {
+    /*
+     * Each thread's values are held in Thread.indexedThreadLocals,
+     * which is null until the thread first sets a value, and is
+     * grown to a power of two large enough for the index being set.
+     * A null element means "no value"; null values are stored as
+     * NULL_VALUE.
+     *
+     * To invoke onRemoval from removeAll, each instance is recorded,
+     * weakly, in a registry indexed like the values.  The registry
+     * is only read by removeAll, and grown (rarely) under its lock.
+     */
+
+    /** The value stored to represent null */
+    private static final Object NULL_VALUE = new Object();
+
+    /** Initial length of per-thread value arrays */
+    private static final int INITIAL_CAPACITY = 32;
+
+    /** The largest index that may be assigned */
+    private static final int MAX_INDEX = Integer.MAX_VALUE - 8 - 1;
+
+    /** The next index to be assigned */
+    private static final AtomicInteger nextIndex = new AtomicInteger();
+
+    /** The instances, weakly, by index; guarded by registryLock */
+    private static volatile WeakReference<?>[] registry =
+        new WeakReference<?>[INITIAL_CAPACITY];
+
+    private static final Object registryLock = new Object();
+
+    /** The index of this variable's values */
+    private final int index;
+
+    /**
+     * Creates a thread local variable.
+     *
+     * @throws IllegalStateException if the maximum number of
+     *         {@code IndexedThreadLocal}s has been created
+     * @see #withInitial(java.util.function.Supplier)
+     */
+    public IndexedThreadLocal() {
+        int i = nextIndex.getAndIncrement();
+        if (i < 0 || i > MAX_INDEX) {
+            nextIndex.set(MAX_INDEX + 1);
+            throw new IllegalStateException("too many IndexedThreadLocals");
+        }
+        this.index = i;
+        synchronized (registryLock) {
+            WeakReference<?>[] r = registry;
+            if (i >= r.length)
+                registry = r = Arrays.copyOf(r, newCapacity(i));
+            r[i] = new WeakReference<>(this);
+        }
+    }
+
+    /**
+     * Creates a thread local variable. The initial value of the variable is
+     * determined by invoking the {@code get} method on the {@code Supplier}.
+     *
+     * @param <S> the type of the thread local's value
+     * @param supplier the supplier to be used to determine the initial value
+     * @return a new thread local variable
+     * @throws NullPointerException if the specified supplier is null
+     */
+    public static <S> IndexedThreadLocal<S> withInitial(Supplier<? extends S> supplier) {
+        Objects.requireNonNull(supplier);
+        return new IndexedThreadLocal<S>() {
+            @Override
+            protected S initialValue() {
+                return supplier.get();
+            }
+        };
+    }
+
+    /**
+     * Returns a power of two greater than index.
+     */
+    private static int newCapacity(int index) {
+        int n = Math.max(INITIAL_CAPACITY,
+                         Integer.highestOneBit(index) << 1);
+        return (n < 0) ? MAX_INDEX + 1 : n;
+    }
+
+    /**
+     * Returns the value in the current thread's copy of this
+     * thread-local variable.  If the variable has no value for the
+     * current thread, it is first initialized to the value returned
+     * by an invocation of the {@link #initialValue} method.
+     *
+     * @return the current thread's value of this thread-local
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object[] vs = Thread.currentThread().indexedThreadLocals;
+        int i = index;
+        Object v;
+        if (vs != null && i < vs.length && (v = vs[i]) != null)
+            return (v == NULL_VALUE) ? null : (T) v;
+        return setInitialValue();
+    }
+
+    /**
+     * Variant of set() to establish initialValue. Used instead
+     * of set() in case user has overridden the set() method.
+     */
+    private T setInitialValue() {
+        T value = initialValue();
+        store(Thread.currentThread(), value);
+        return value;
+    }
+
+    @Override
+    boolean isPresent() {
+        Object[] vs = Thread.currentThread().indexedThreadLocals;
+        int i = index;
+        return vs != null && i < vs.length && vs[i] != null;
+    }
+
+    /**
+     * Sets the current thread's copy of this thread-local variable
+     * to the specified value.
+     *
+     * @param value the value to be stored in the current thread's copy of
+     *        this thread-local.
+     */
+    @Override
+    public void set(T value) {
+        store(Thread.currentThread(), value);
+    }
+
+    private void store(Thread t, T value) {
+        Object[] vs = t.indexedThreadLocals;
+        int i = index;
+        if (vs == null)
+            t.indexedThreadLocals = vs = new Object[newCapacity(i)];
+        else if (i >= vs.length)
+            t.indexedThreadLocals = vs = Arrays.copyOf(vs, newCapacity(i));
+        vs[i] = (value == null) ? NULL_VALUE : value;
+    }
+
+    /**
+     * Removes the current thread's value for this thread-local
+     * variable, and if there was one, invokes {@link #onRemoval} with
+     * it.  If this thread-local variable is subsequently {@linkplain
+     * #get read} by the current thread, its value will be
+     * reinitialized by invoking its {@link #initialValue} method,
+     * unless its value is {@linkplain #set set} by the current thread
+     * in the interim.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void remove() {
+        Object[] vs = Thread.currentThread().indexedThreadLocals;
+        int i = index;
+        Object v;
+        if (vs != null && i < vs.length && (v = vs[i]) != null) {
+            vs[i] = null;
+            onRemoval((v == NULL_VALUE) ? null : (T) v);
+        }
+    }
+
+    /**
+     * Invoked in the current thread when its value of this
+     * thread-local variable is removed by {@link #remove} or {@link
+     * #removeAll}, but not when the thread terminates.  Subclasses
+     * may override this method to release resources held by the
+     * value.  Exceptions thrown by this method are propagated to the
+     * caller of {@code remove} or {@code removeAll}.
+     *
+     * <p>This implementation does nothing.
+     *
+     * @param value the value that was removed
+     */
+    protected void onRemoval(T value) {
+    }
+
+    /**
+     * Removes the current thread's values of all {@code
+     * IndexedThreadLocal} variables, invoking {@link #onRemoval} for
+     * each that is still reachable.  This method is intended for
+     * threads that are reused for unrelated tasks, such as those of a
+     * thread pool.  If an invocation of {@code onRemoval} throws an
+     * exception, the remaining values are still removed, and the
+     * first exception is rethrown after all of them are.
+     */
+    @SuppressWarnings("unchecked")
+    public static void removeAll() {
+        Thread t = Thread.currentThread();
+        Object[] vs = t.indexedThreadLocals;
+        if (vs == null)
+            return;
+        t.indexedThreadLocals = null;
+        WeakReference<?>[] r = registry;
+        Throwable failure = null;
+        for (int i = 0; i < vs.length; ++i) {
+            Object v = vs[i];
+            Object local;
+            if (v != null && i < r.length && r[i] != null &&
+                (local = r[i].get()) != null) {
+                try {
+                    ((IndexedThreadLocal<Object>) local)
+                        .onRemoval((v == NULL_VALUE) ? null : v);
+                } catch (Throwable ex) {
+                    if (failure == null)
+                        failure = ex;
+                    else
+                        failure.addSuppressed(ex);
+                }
+            }
+        }
+        if (failure instanceof RuntimeException)
+            throw (RuntimeException) failure;
+        if (failure instanceof Error)
+            throw (Error) failure;
+    }
+}
@@ -901,6 +901,49 @@ public class ArrayDeque<E> extends AbstractCollection<E>
         return bulkRemove(filter);
     }
 
+    /**
+     * Removes all of the elements of this deque that satisfy the given
+     * predicate, testing elements in parallel.  The predicate is
+     * applied to disjoint chunks of the deque by tasks running in the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool() ForkJoin
+     * common pool}, and the survivors are then compacted in parallel,
+     * preserving their relative order.  Small deques are processed
+     * sequentially, as if by {@link #removeIf}.
+     *
+     * <p>The predicate may be applied concurrently from several
+     * threads, and must therefore be safe for concurrent use.  As for
+     * {@code removeIf}, it may read but must not modify this deque; if
+     * it throws an exception, this deque is left unchanged.
+     *
+     * @param filter a predicate which returns {@code true} for elements
+     *        to be removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     * @throws ConcurrentModificationException if this deque is
+     *         modified while the predicate is being applied
+     * @since 18
+     */
+    public boolean parallelRemoveIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        final Object[] es = elements;
+        final int h = head, end = tail, n = sub(end, h, es.length);
+        if (!ArraysParallelBulkHelpers.useParallel(n))
+            return bulkRemove(filter);
+        ArraysParallelBulkHelpers.Removal r =
+            new ArraysParallelBulkHelpers.Removal(es, h, n);
+        int survivors = r.mark(filter);
+        if (end != tail || h != head || es != elements)
+            throw new ConcurrentModificationException();
+        if (survivors == n)
+            return false;
+        Object[] dest = new Object[es.length];
+        r.compactInto(dest);
+        elements = dest;
+        head = 0;
+        tail = survivors;
+        return true;
+    }
+
     /**
      * @throws NullPointerException {@inheritDoc}
      */
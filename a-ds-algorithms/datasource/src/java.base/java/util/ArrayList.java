@@ -1724,6 +1724,110 @@ public class ArrayList<E> extends AbstractList<E>
         modCount++;
     }
 
+    /**
+     * Removes all of the elements of this list that satisfy the given
+     * predicate, testing elements in parallel.  The predicate is
+     * applied to disjoint chunks of the list by tasks running in the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool() ForkJoin
+     * common pool}, and the survivors are then compacted in parallel,
+     * preserving their relative order.  Small lists are processed
+     * sequentially, as if by {@link #removeIf}.
+     *
+     * <p>The predicate may be applied concurrently from several
+     * threads, and must therefore be safe for concurrent use.  As for
+     * {@code removeIf}, it may read but must not modify this list; if
+     * it throws an exception, this list is left unchanged.
+     *
+     * @param filter a predicate which returns {@code true} for elements
+     *        to be removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     * @throws ConcurrentModificationException if this list is
+     *         structurally modified while the predicate is being applied
+     * @since 18
+     */
+    public boolean parallelRemoveIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        final int n = size;
+        if (!ArraysParallelBulkHelpers.useParallel(n))
+            return removeIf(filter, 0, n);
+        final int expectedModCount = modCount;
+        final Object[] es = elementData;
+        ArraysParallelBulkHelpers.Removal r =
+            new ArraysParallelBulkHelpers.Removal(es, 0, n);
+        int survivors = r.mark(filter);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        if (survivors == n)
+            return false;
+        Object[] dest = new Object[es.length];
+        r.compactInto(dest);
+        elementData = dest;
+        size = survivors;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Replaces each element of this list with the result of applying
+     * the operator to that element, applying the operator in parallel.
+     * Disjoint chunks of the list are processed by tasks running in
+     * the {@link java.util.concurrent.ForkJoinPool#commonPool()
+     * ForkJoin common pool}.  Small lists are processed sequentially,
+     * as if by {@link #replaceAll}.
+     *
+     * <p>The operator may be applied concurrently from several
+     * threads, and must therefore be safe for concurrent use.  If it
+     * throws an exception, some elements may already have been
+     * replaced.
+     *
+     * @param operator the operator to apply to each element
+     * @throws NullPointerException if the specified operator is null
+     * @throws ConcurrentModificationException if this list is
+     *         structurally modified while the operator is being applied
+     * @since 18
+     */
+    public void parallelReplaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        final int n = size;
+        if (!ArraysParallelBulkHelpers.useParallel(n)) {
+            replaceAll(operator);
+            return;
+        }
+        final int expectedModCount = modCount;
+        ArraysParallelBulkHelpers.replaceAll(elementData, n, operator);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        modCount++;
+    }
+
+    /**
+     * Sorts this list according to the order induced by the specified
+     * {@link Comparator}, using the parallel merge sort of
+     * {@link Arrays#parallelSort(Object[], int, int, Comparator)}
+     * directly on the backing array.  The sort is stable.
+     *
+     * @param c the {@code Comparator} used to compare list elements.
+     *          A {@code null} value indicates that the elements'
+     *          {@linkplain Comparable natural ordering} should be used
+     * @throws ClassCastException if the list contains elements that are
+     *         not <i>mutually comparable</i> using the specified comparator
+     * @throws IllegalArgumentException
+     *         (optional) if the comparator is found to violate the
+     *         {@link Comparator} contract
+     * @throws ConcurrentModificationException if this list is
+     *         structurally modified while it is being sorted
+     * @since 18
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelSort(Comparator<? super E> c) {
+        final int expectedModCount = modCount;
+        Arrays.parallelSort((E[]) elementData, 0, size, c);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        modCount++;
+    }
+
     void checkInvariants() {
         // assert size >= 0;
         // assert size == elementData.length || elementData[size] == null;
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util;
+
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Helper utilities for the parallel bulk operations of ArrayList and
+ * ArrayDeque (parallelRemoveIf, parallelReplaceAll).
+ *
+ * The element range is cut into chunks of a fixed granularity, and
+ * chunk ranges are divided in half in the same way that the list
+ * spliterators halve their ranges, so that each leaf task covers
+ * exactly one chunk.  The granularity is always a multiple of 64, so
+ * no two leaves ever write to the same word of the shared deathRow
+ * bit set.
+ *
+ * A parallel removeIf proceeds in two passes:
+ *   Pass 1 (Marker): each leaf tests its chunk, records deleted
+ *     elements in deathRow, and the number of survivors in counts.
+ *   Between passes, the owner checks for comodification, and turns
+ *     counts into exclusive prefix sums (the number of chunks is
+ *     small, so this is done sequentially).
+ *   Pass 2 (Compactor): each leaf copies its survivors into a fresh
+ *     array starting at its prefix offset.
+ *
+ * As with the sequential bulk operations, predicates may reentrantly
+ * read the collection, and the collection is not modified if the
+ * predicate throws.  Compaction is done into a new array because
+ * compacting in place would have leaves overwriting elements that
+ * other leaves have yet to read.
+ *
+ * Elements are addressed by logical index, mapped onto the backing
+ * array via a head offset that wraps around at the array length.
+ * ArrayList always passes a head of zero.
+ */
+/*package*/ final class ArraysParallelBulkHelpers {
+    private ArraysParallelBulkHelpers() {} // non-instantiable
+
+    /** The smallest chunk size to use; must be a multiple of 64 */
+    static final int MIN_CHUNK = 1 << 12;
+
+    /**
+     * Returns true if a bulk operation over n elements is worth
+     * performing in parallel.
+     */
+    static boolean useParallel(int n) {
+        return n > (MIN_CHUNK << 1) &&
+            ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Returns the chunk size to use for n elements, aiming for about
+     * four chunks per worker, rounded up to a multiple of 64.
+     */
+    static int chunkSize(int n) {
+        int g = n / (ForkJoinPool.getCommonPoolParallelism() << 2);
+        return (g <= MIN_CHUNK) ? MIN_CHUNK : (g + 63) & ~63;
+    }
+
+    /**
+     * Returns the physical index of logical index i, for a circular
+     * array of the given capacity whose first element is at head.
+     */
+    static int physical(int head, int i, int capacity) {
+        int p = head + i;
+        return (p - capacity >= 0) ? p - capacity : p;
+    }
+
+    /**
+     * State shared by the two passes of a parallel removeIf.
+     */
+    static final class Removal {
+        final Object[] es;
+        final int head, n, chunk, nChunks;
+        final long[] deathRow;
+        final int[] offsets;
+        int survivors;
+
+        Removal(Object[] es, int head, int n) {
+            this.es = es; this.head = head; this.n = n;
+            int g = this.chunk = chunkSize(n);
+            this.nChunks = (int)(((long)n + g - 1) / g);
+            this.deathRow = new long[((n - 1) >> 6) + 1];
+            this.offsets = new int[nChunks];
+        }
+
+        /**
+         * Runs the marking pass, returning the number of elements
+         * that do not match the filter.
+         */
+        <E> int mark(Predicate<? super E> filter) {
+            new Marker<E>(null, this, filter, 0, nChunks).invoke();
+            int[] offs = offsets;
+            int sum = 0;
+            for (int c = 0; c < offs.length; c++) {
+                int k = offs[c];
+                offs[c] = sum;
+                sum += k;
+            }
+            return survivors = sum;
+        }
+
+        /**
+         * Copies the survivors of a completed marking pass into dest,
+         * starting at index zero.
+         */
+        void compactInto(Object[] dest) {
+            if (dest.length < survivors)
+                throw new ConcurrentModificationException();
+            new Compactor(null, this, dest, 0, nChunks).invoke();
+        }
+    }
+
+    static final class Marker<E> extends CountedCompleter<Void> {
+        @java.io.Serial
+        static final long serialVersionUID = 2446542900576103244L;
+        @SuppressWarnings("serial") // Not statically typed as Serializable
+        final Removal r;
+        @SuppressWarnings("serial") // Not statically typed as Serializable
+        final Predicate<? super E> filter;
+        final int lo, hi; // chunk indices
+        Marker(CountedCompleter<?> par, Removal r,
+               Predicate<? super E> filter, int lo, int hi) {
+            super(par);
+            this.r = r; this.filter = filter; this.lo = lo; this.hi = hi;
+        }
+
+        @SuppressWarnings("unchecked")
+        public final void compute() {
+            final Removal r = this.r;
+            final Predicate<? super E> filter = this.filter;
+            int l = lo, h = hi;
+            for (int mid; (mid = (l + h) >>> 1) > l; h = mid) {
+                addToPendingCount(1);
+                new Marker<E>(this, r, filter, mid, h).fork();
+            }
+            final Object[] es = r.es;
+            final long[] deathRow = r.deathRow;
+            final int cap = es.length, g = r.chunk;
+            final int beg = l * g, end = (r.n - beg > g) ? beg + g : r.n;
+            int kept = 0;
+            for (int i = beg, p = physical(r.head, beg, cap); i < end; i++) {
+                if (filter.test((E) es[p]))
+                    deathRow[i >> 6] |= 1L << i;
+                else
+                    kept++;
+                if (++p == cap) p = 0;
+            }
+            r.offsets[l] = kept;
+            propagateCompletion();
+        }
+    }
+
+    static final class Compactor extends CountedCompleter<Void> {
+        @java.io.Serial
+        static final long serialVersionUID = 2446542900576103244L;
+        @SuppressWarnings("serial") // Not statically typed as Serializable
+        final Removal r;
+        final Object[] dest;
+        final int lo, hi; // chunk indices
+        Compactor(CountedCompleter<?> par, Removal r, Object[] dest,
+                  int lo, int hi) {
+            super(par);
+            this.r = r; this.dest = dest; this.lo = lo; this.hi = hi;
+        }
+
+        public final void compute() {
+            final Removal r = this.r;
+            final Object[] dest = this.dest;
+            int l = lo, h = hi;
+            for (int mid; (mid = (l + h) >>> 1) > l; h = mid) {
+                addToPendingCount(1);
+                new Compactor(this, r, dest, mid, h).fork();
+            }
+            final Object[] es = r.es;
+            final long[] deathRow = r.deathRow;
+            final int cap = es.length, g = r.chunk;
+            final int beg = l * g, end = (r.n - beg > g) ? beg + g : r.n;
+            int w = r.offsets[l];
+            for (int i = beg, p = physical(r.head, beg, cap); i < end; i++) {
+                if ((deathRow[i >> 6] & (1L << i)) == 0)
+                    dest[w++] = es[p];
+                if (++p == cap) p = 0;
+            }
+            propagateCompletion();
+        }
+    }
+
+    /**
+     * Replaces each of the first n elements of es with the result of
+     * applying the operator to it.
+     */
+    static <E> void replaceAll(Object[] es, int n,
+                               UnaryOperator<E> operator) {
+        int g = chunkSize(n);
+        new Replacer<E>(null, es, operator, g, n, 0,
+                        (int)(((long)n + g - 1) / g)).invoke();
+    }
+
+    static final class Replacer<E> extends CountedCompleter<Void> {
+        @java.io.Serial
+        static final long serialVersionUID = 2446542900576103244L;
+        final Object[] es;
+        @SuppressWarnings("serial") // Not statically typed as Serializable
+        final UnaryOperator<E> operator;
+        final int chunk, n, lo, hi; // lo and hi are chunk indices
+        Replacer(CountedCompleter<?> par, Object[] es,
+                 UnaryOperator<E> operator, int chunk, int n,
+                 int lo, int hi) {
+            super(par);
+            this.es = es; this.operator = operator;
+            this.chunk = chunk; this.n = n; this.lo = lo; this.hi = hi;
+        }
+
+        @SuppressWarnings("unchecked")
+        public final void compute() {
+            final Object[] es = this.es;
+            final UnaryOperator<E> operator = this.operator;
+            final int g = chunk, n = this.n;
+            int l = lo, h = hi;
+            for (int mid; (mid = (l + h) >>> 1) > l; h = mid) {
+                addToPendingCount(1);
+                new Replacer<E>(this, es, operator, g, n, mid, h).fork();
+            }
+            for (int i = l * g, end = (n - i > g) ? i + g : n; i < end; i++)
+                es[i] = operator.apply((E) es[i]);
+            propagateCompletion();
+        }
+    }
+}
@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import jdk.internal.util.ArraysSupport;
+
+/**
+ * An unbounded min-priority queue of distinct elements, each associated
+ * with a primitive {@code long} priority.  The <em>head</em> of the
+ * queue is an element with the least priority; ties are broken
+ * arbitrarily.  Because priorities are held in a {@code long[]} array
+ * parallel to the elements, ordering the queue never calls a {@link
+ * Comparator} or {@link Comparable#compareTo compareTo} and never boxes.
+ * The queue does not permit {@code null} elements.
+ *
+ * <p>Each element may be present at most once (according to {@link
+ * Object#equals equals}).  The priority of an element already in the
+ * queue can be changed in O(log(n)) time with {@link #setPriority
+ * setPriority}, and {@link #decreasePriority decreasePriority} combines
+ * insertion with the "decrease-key" operation, which is the relaxation
+ * step of Dijkstra's and Prim's algorithms:
+ *
+ * <pre> {@code
+ * IndexedLongPriorityQueue<Node> frontier = new IndexedLongPriorityQueue<>();
+ * frontier.offer(source, 0L);
+ * while (!frontier.isEmpty()) {
+ *   long d = frontier.peekPriority();
+ *   Node u = frontier.poll();
+ *   for (Edge e : u.edges())
+ *     if (!settled.contains(e.target()))
+ *       frontier.decreasePriority(e.target(), d + e.weight());
+ * }}</pre>
+ *
+ * <p>The {@link #iterator()} does not traverse the elements in any
+ * particular order.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * Multiple threads should not access an {@code IndexedLongPriorityQueue}
+ * instance concurrently if any of the threads modifies the queue.
+ *
+ * <p>Implementation note: this implementation is a 4-ary heap, using
+ * the same element-to-position table as {@link IndexedPriorityQueue}.
+ * It provides O(log(n)) time for {@code offer}, {@code poll}, {@code
+ * remove(Object)}, {@code setPriority} and {@code decreasePriority};
+ * expected constant time for {@code contains} and {@code priority};
+ * and constant time for {@code peek}, {@code peekPriority} and {@code
+ * size}.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/java.base/java/util/package-summary.html#CollectionsFramework">
+ * Java Collections Framework</a>.
+ *
+ * @param <E> the type of elements held in this queue
+ * @see IndexedPriorityQueue
+ * @since 18
+ */
+@SuppressWarnings("unchecked")
+public class IndexedLongPriorityQueue<E> extends AbstractCollection<E> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The elements, as a 4-ary heap ordered by the corresponding
+     * entries of priorities: the children of queue[n] are
+     * queue[4*n+1] .. queue[4*n+4].
+     */
+    Object[] queue;
+
+    /** priorities[i] is the priority of queue[i]. */
+    long[] priorities;
+
+    /** slots[i] is the position table slot of queue[i]. */
+    int[] slots;
+
+    /** The number of elements in the queue. */
+    int size;
+
+    /** Maps each element to its current index in queue. */
+    final IndexedPriorityQueue.PositionTable table;
+
+    /** Structural modification count, for fail-fast iteration. */
+    int modCount;
+
+    /**
+     * Creates an {@code IndexedLongPriorityQueue} with the default
+     * initial capacity.
+     */
+    public IndexedLongPriorityQueue() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an {@code IndexedLongPriorityQueue} with the specified
+     * initial capacity.
+     *
+     * @param  initialCapacity the initial capacity for this queue
+     * @throws IllegalArgumentException if {@code initialCapacity} is
+     *         less than 1
+     */
+    public IndexedLongPriorityQueue(int initialCapacity) {
+        if (initialCapacity < 1)
+            throw new IllegalArgumentException();
+        this.queue = new Object[initialCapacity];
+        this.priorities = new long[initialCapacity];
+        this.slots = new int[initialCapacity];
+        this.table = new IndexedPriorityQueue.PositionTable(initialCapacity);
+    }
+
+    private void grow(int minCapacity) {
+        int oldCapacity = queue.length;
+        int newCapacity = ArraysSupport.newLength(oldCapacity,
+                minCapacity - oldCapacity, /* minimum growth */
+                oldCapacity >> 1           /* preferred growth */);
+        queue = Arrays.copyOf(queue, newCapacity);
+        priorities = Arrays.copyOf(priorities, newCapacity);
+        slots = Arrays.copyOf(slots, newCapacity);
+    }
+
+    /**
+     * Inserts the specified element with the given priority, unless an
+     * equal element is already present.
+     *
+     * @param e the element to add
+     * @param priority the priority of the element
+     * @return {@code true} if the element was added, {@code false} if
+     *         an equal element was already present (its priority is
+     *         left unchanged)
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e, long priority) {
+        if (e == null)
+            throw new NullPointerException();
+        if (table.find(e) >= 0)
+            return false;
+        insert(e, priority);
+        return true;
+    }
+
+    private void insert(E e, long priority) {
+        modCount++;
+        int i = size;
+        if (i >= queue.length)
+            grow(i + 1);
+        int s = table.insert(e, i, slots);
+        size = i + 1;
+        siftUp(i, e, priority, s);
+    }
+
+    /**
+     * Sets the priority of the specified element, inserting it if it is
+     * not already present.
+     *
+     * @param e the element
+     * @param priority the new priority of the element
+     * @return {@code true} if the element was already present
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean setPriority(E e, long priority) {
+        if (e == null)
+            throw new NullPointerException();
+        int s = table.find(e);
+        if (s < 0) {
+            insert(e, priority);
+            return false;
+        }
+        int i = table.index[s];
+        long old = priorities[i];
+        if (priority < old)
+            siftUp(i, queue[i], priority, s);
+        else if (priority > old)
+            siftDown(i, queue[i], priority, s);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element with the given priority if it is
+     * absent, or lowers its priority to the given value if it is
+     * present with a greater priority.  Otherwise the queue is left
+     * unchanged.
+     *
+     * @param e the element
+     * @param priority the candidate priority of the element
+     * @return {@code true} if this queue changed as a result of the call
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean decreasePriority(E e, long priority) {
+        if (e == null)
+            throw new NullPointerException();
+        int s = table.find(e);
+        if (s < 0) {
+            insert(e, priority);
+            return true;
+        }
+        int i = table.index[s];
+        if (priority >= priorities[i])
+            return false;
+        siftUp(i, queue[i], priority, s);
+        return true;
+    }
+
+    /**
+     * Returns the priority of the specified element.
+     *
+     * @param o the element
+     * @return the priority of the element
+     * @throws NoSuchElementException if the element is not present
+     */
+    public long priority(Object o) {
+        int s;
+        if (o == null || (s = table.find(o)) < 0)
+            throw new NoSuchElementException();
+        return priorities[table.index[s]];
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of this queue, or
+     * returns {@code null} if this queue is empty.
+     *
+     * @return the element with the least priority, or {@code null} if
+     *         this queue is empty
+     */
+    public E peek() {
+        return (size == 0) ? null : (E) queue[0];
+    }
+
+    /**
+     * Returns the priority of the head of this queue.
+     *
+     * @return the least priority in this queue
+     * @throws NoSuchElementException if this queue is empty
+     */
+    public long peekPriority() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return priorities[0];
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, or returns {@code
+     * null} if this queue is empty.
+     *
+     * @return the element with the least priority, or {@code null} if
+     *         this queue is empty
+     */
+    public E poll() {
+        if (size == 0)
+            return null;
+        E result = (E) queue[0];
+        removeAt(0);
+        return result;
+    }
+
+    /**
+     * Removes the specified element from this queue, if it is present.
+     *
+     * @param o element to be removed from this queue, if present
+     * @return {@code true} if this queue changed as a result of the call
+     */
+    public boolean remove(Object o) {
+        int s;
+        if (o == null || (s = table.find(o)) < 0)
+            return false;
+        removeAt(table.index[s]);
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if this queue contains the specified element.
+     * This method runs in expected constant time.
+     *
+     * @param o object to be checked for containment in this queue
+     * @return {@code true} if this queue contains the specified element
+     */
+    public boolean contains(Object o) {
+        return o != null && table.find(o) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all of the elements from this queue.
+     */
+    public void clear() {
+        modCount++;
+        Arrays.fill(queue, 0, size, null);
+        table.clear();
+        size = 0;
+    }
+
+    /** Removes the ith element; see IndexedPriorityQueue.removeAt. */
+    E removeAt(int i) {
+        final Object[] es = queue;
+        final int[] ss = slots;
+        modCount++;
+        table.remove(ss[i], ss);
+        int n = --size;
+        if (n == i) {
+            es[i] = null;
+        } else {
+            Object moved = es[n];
+            long mp = priorities[n];
+            int ms = ss[n];
+            es[n] = null;
+            siftDown(i, moved, mp, ms);
+            if (es[i] == moved) {
+                siftUp(i, moved, mp, ms);
+                if (es[i] != moved)
+                    return (E) moved;
+            }
+        }
+        return null;
+    }
+
+    private void siftUp(int k, Object x, long p, int s) {
+        final Object[] es = queue;
+        final long[] ps = priorities;
+        final int[] ss = slots;
+        final int[] index = table.index;
+        while (k > 0) {
+            int parent = (k - 1) >>> 2;
+            long pp = ps[parent];
+            if (p >= pp)
+                break;
+            int parentSlot = ss[parent];
+            es[k] = es[parent];
+            ps[k] = pp;
+            ss[k] = parentSlot;
+            index[parentSlot] = k;
+            k = parent;
+        }
+        es[k] = x;
+        ps[k] = p;
+        ss[k] = s;
+        index[s] = k;
+    }
+
+    private void siftDown(int k, Object x, long p, int s) {
+        final Object[] es = queue;
+        final long[] ps = priorities;
+        final int[] ss = slots;
+        final int[] index = table.index;
+        final int n = size;
+        int child;
+        while ((child = (k << 2) + 1) < n) {
+            long cp = ps[child];
+            for (int j = child + 1, end = Math.min(child + 4, n); j < end; j++) {
+                long q = ps[j];
+                if (q < cp) {
+                    cp = q;
+                    child = j;
+                }
+            }
+            if (p <= cp)
+                break;
+            int childSlot = ss[child];
+            es[k] = es[child];
+            ps[k] = cp;
+            ss[k] = childSlot;
+            index[childSlot] = k;
+            k = child;
+        }
+        es[k] = x;
+        ps[k] = p;
+        ss[k] = s;
+        index[s] = k;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue. The iterator
+     * does not return the elements in any particular order.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private final class Itr implements Iterator<E> {
+        private int cursor;
+        private int lastRet = -1;
+        /** Elements moved behind the cursor by removals; see PriorityQueue.Itr. */
+        private ArrayDeque<E> forgetMeNot;
+        private E lastRetElt;
+        private int expectedModCount = modCount;
+
+        Itr() {}                        // prevent access constructor creation
+
+        public boolean hasNext() {
+            return cursor < size ||
+                (forgetMeNot != null && !forgetMeNot.isEmpty());
+        }
+
+        public E next() {
+            if (expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            if (cursor < size)
+                return (E) queue[lastRet = cursor++];
+            if (forgetMeNot != null) {
+                lastRet = -1;
+                lastRetElt = forgetMeNot.poll();
+                if (lastRetElt != null)
+                    return lastRetElt;
+            }
+            throw new NoSuchElementException();
+        }
+
+        public void remove() {
+            if (expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            if (lastRet != -1) {
+                E moved = IndexedLongPriorityQueue.this.removeAt(lastRet);
+                lastRet = -1;
+                if (moved == null)
+                    cursor--;
+                else {
+                    if (forgetMeNot == null)
+                        forgetMeNot = new ArrayDeque<>();
+                    forgetMeNot.add(moved);
+                }
+            } else if (lastRetElt != null) {
+                IndexedLongPriorityQueue.this.remove(lastRetElt);
+                lastRetElt = null;
+            } else {
+                throw new IllegalStateException();
+            }
+            expectedModCount = modCount;
+        }
+    }
+}
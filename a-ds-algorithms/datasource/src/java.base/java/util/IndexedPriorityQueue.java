@@ -0,0 +1,670 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.util.function.Consumer;
+import jdk.internal.util.ArraysSupport;
+
+/**
+ * An unbounded priority {@linkplain Queue queue} of distinct elements
+ * that supports efficient removal and re-prioritization of arbitrary
+ * elements.  The elements are ordered according to their
+ * {@linkplain Comparable natural ordering}, or by a {@link Comparator}
+ * provided at queue construction time, exactly as for {@link
+ * PriorityQueue}.  The queue does not permit {@code null} elements.
+ *
+ * <p>Unlike {@code PriorityQueue}, an {@code IndexedPriorityQueue}
+ * holds at most one element {@code e} for which {@code o.equals(e)},
+ * so that each element can be located in constant time.  An attempt
+ * to {@link #offer offer} an element that is already present leaves
+ * the queue unchanged and returns {@code false}.  When the ordering
+ * of an element already in the queue changes (for example because a
+ * mutable priority field was decreased), the {@link #update update}
+ * method restores the heap invariant for that element alone, which is
+ * the "decrease-key" operation required by Dijkstra-style graph
+ * searches and deadline schedulers.  Mutating the ordering of an element
+ * without calling {@code update} leaves the queue in an unspecified
+ * state.
+ *
+ * <p>The {@link #iterator()} and {@link #spliterator()} do not traverse
+ * the elements in any particular order.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * Multiple threads should not access an {@code IndexedPriorityQueue}
+ * instance concurrently if any of the threads modifies the queue.
+ *
+ * <p>Implementation note: this implementation is a 4-ary heap paired
+ * with an open-addressing table mapping each element to its position
+ * in the heap.  It provides O(log(n)) time for {@code offer}, {@code
+ * poll}, {@code remove(Object)} and {@code update}; expected constant
+ * time for {@code contains}; and constant time for {@code peek} and
+ * {@code size}.  A 4-ary heap has half the depth of a binary heap, and
+ * the four children of a node are adjacent in memory, which trades a
+ * few extra comparisons in {@code poll} for fewer cache misses.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/java.base/java/util/package-summary.html#CollectionsFramework">
+ * Java Collections Framework</a>.
+ *
+ * @param <E> the type of elements held in this queue
+ * @see IndexedLongPriorityQueue
+ * @see PairingPriorityQueue
+ * @since 18
+ */
+@SuppressWarnings("unchecked")
+public class IndexedPriorityQueue<E> extends AbstractQueue<E> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * Priority queue represented as a balanced 4-ary heap: the
+     * children of queue[n] are queue[4*n+1] .. queue[4*n+4].  The
+     * element with the lowest value is in queue[0], assuming the
+     * queue is nonempty.
+     */
+    Object[] queue; // non-private to simplify nested class access
+
+    /**
+     * slots[i] is the index in the position table of the element at
+     * queue[i].  Maintained in lock step with queue.
+     */
+    int[] slots;
+
+    /** The number of elements in the queue. */
+    int size;
+
+    /** Maps each element to its current index in queue. */
+    final PositionTable table;
+
+    /**
+     * The comparator, or null if the queue uses elements' natural
+     * ordering.
+     */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * The number of times this queue has been <i>structurally
+     * modified</i>.  See AbstractList for gory details.
+     */
+    int modCount;
+
+    /**
+     * Creates an {@code IndexedPriorityQueue} with the default initial
+     * capacity that orders its elements according to their
+     * {@linkplain Comparable natural ordering}.
+     */
+    public IndexedPriorityQueue() {
+        this(DEFAULT_INITIAL_CAPACITY, null);
+    }
+
+    /**
+     * Creates an {@code IndexedPriorityQueue} with the default initial
+     * capacity whose elements are ordered according to the specified
+     * comparator.
+     *
+     * @param  comparator the comparator that will be used to order this
+     *         queue.  If {@code null}, the {@linkplain Comparable
+     *         natural ordering} of the elements will be used.
+     */
+    public IndexedPriorityQueue(Comparator<? super E> comparator) {
+        this(DEFAULT_INITIAL_CAPACITY, comparator);
+    }
+
+    /**
+     * Creates an {@code IndexedPriorityQueue} with the specified initial
+     * capacity that orders its elements according to the specified
+     * comparator.
+     *
+     * @param  initialCapacity the initial capacity for this queue
+     * @param  comparator the comparator that will be used to order this
+     *         queue.  If {@code null}, the {@linkplain Comparable
+     *         natural ordering} of the elements will be used.
+     * @throws IllegalArgumentException if {@code initialCapacity} is
+     *         less than 1
+     */
+    public IndexedPriorityQueue(int initialCapacity,
+                                Comparator<? super E> comparator) {
+        if (initialCapacity < 1)
+            throw new IllegalArgumentException();
+        this.queue = new Object[initialCapacity];
+        this.slots = new int[initialCapacity];
+        this.table = new PositionTable(initialCapacity);
+        this.comparator = comparator;
+    }
+
+    /**
+     * Increases the capacity of the heap arrays.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    private void grow(int minCapacity) {
+        int oldCapacity = queue.length;
+        int newCapacity = ArraysSupport.newLength(oldCapacity,
+                minCapacity - oldCapacity, /* minimum growth */
+                oldCapacity >> 1           /* preferred growth */);
+        queue = Arrays.copyOf(queue, newCapacity);
+        slots = Arrays.copyOf(slots, newCapacity);
+    }
+
+    /**
+     * Inserts the specified element into this queue, unless an equal
+     * element is already present.
+     *
+     * @return {@code true} if the element was added, {@code false} if
+     *         an equal element was already present
+     * @throws ClassCastException if the specified element cannot be
+     *         compared with elements currently in this queue
+     *         according to the queue's ordering
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        if (table.find(e) >= 0)
+            return false;
+        modCount++;
+        int i = size;
+        if (i >= queue.length)
+            grow(i + 1);
+        int s = table.insert(e, i, slots);
+        size = i + 1;
+        siftUp(i, e, s);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element into this queue.
+     *
+     * @return {@code true} if the element was added, {@code false} if
+     *         an equal element was already present
+     * @throws ClassCastException if the specified element cannot be
+     *         compared with elements currently in this queue
+     *         according to the queue's ordering
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(E e) {
+        return offer(e);
+    }
+
+    public E peek() {
+        return (size == 0) ? null : (E) queue[0];
+    }
+
+    public E poll() {
+        if (size == 0)
+            return null;
+        E result = (E) queue[0];
+        removeAt(0);
+        return result;
+    }
+
+    /**
+     * Restores the position of the specified element after a change
+     * to its ordering.  This is the "decrease-key" operation of the
+     * heap, but it is equally valid when the element moved later in
+     * the ordering.
+     *
+     * @param o the element whose ordering changed
+     * @return {@code true} if the element is present in this queue
+     * @throws ClassCastException if the element cannot be compared with
+     *         elements currently in this queue
+     */
+    public boolean update(Object o) {
+        int s;
+        if (o == null || (s = table.find(o)) < 0)
+            return false;
+        int i = table.index[s];
+        E x = (E) queue[i];
+        siftDown(i, x, s);
+        if (queue[i] == x)
+            siftUp(i, x, s);
+        return true;
+    }
+
+    /**
+     * Removes the specified element from this queue, if it is present.
+     *
+     * @param o element to be removed from this queue, if present
+     * @return {@code true} if this queue changed as a result of the call
+     */
+    public boolean remove(Object o) {
+        int s;
+        if (o == null || (s = table.find(o)) < 0)
+            return false;
+        removeAt(table.index[s]);
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if this queue contains the specified element.
+     * This method runs in expected constant time.
+     *
+     * @param o object to be checked for containment in this queue
+     * @return {@code true} if this queue contains the specified element
+     */
+    public boolean contains(Object o) {
+        return o != null && table.find(o) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all of the elements from this queue.
+     * The queue will be empty after this call returns.
+     */
+    public void clear() {
+        modCount++;
+        Arrays.fill(queue, 0, size, null);
+        table.clear();
+        size = 0;
+    }
+
+    public Object[] toArray() {
+        return Arrays.copyOf(queue, size);
+    }
+
+    public <T> T[] toArray(T[] a) {
+        final int size = this.size;
+        if (a.length < size)
+            return (T[]) Arrays.copyOf(queue, size, a.getClass());
+        System.arraycopy(queue, 0, a, 0, size);
+        if (a.length > size)
+            a[size] = null;
+        return a;
+    }
+
+    /**
+     * Returns the comparator used to order the elements in this
+     * queue, or {@code null} if this queue is sorted according to
+     * the {@linkplain Comparable natural ordering} of its elements.
+     *
+     * @return the comparator used to order this queue, or
+     *         {@code null} if this queue uses natural ordering
+     */
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Removes the ith element from queue.  Returns null, or, if the
+     * last element had to be moved to a position before i in order to
+     * maintain the heap invariant, that element (see
+     * PriorityQueue.removeAt).
+     */
+    E removeAt(int i) {
+        // assert i >= 0 && i < size;
+        final Object[] es = queue;
+        final int[] ss = slots;
+        modCount++;
+        table.remove(ss[i], ss);
+        int n = --size;
+        if (n == i) {
+            es[i] = null;
+        } else {
+            E moved = (E) es[n];
+            int ms = ss[n];
+            es[n] = null;
+            siftDown(i, moved, ms);
+            if (es[i] == moved) {
+                siftUp(i, moved, ms);
+                if (es[i] != moved)
+                    return moved;
+            }
+        }
+        return null;
+    }
+
+    private int compare(Object a, Object b) {
+        Comparator<? super E> cmp;
+        return ((cmp = comparator) == null)
+            ? ((Comparable<? super E>) a).compareTo((E) b)
+            : cmp.compare((E) a, (E) b);
+    }
+
+    /**
+     * Inserts item x, whose table slot is s, at position k,
+     * promoting it up the tree until it is greater than or equal to
+     * its parent, or is the root.
+     */
+    private void siftUp(int k, E x, int s) {
+        final Object[] es = queue;
+        final int[] ss = slots;
+        final int[] index = table.index;
+        while (k > 0) {
+            int parent = (k - 1) >>> 2;
+            Object e = es[parent];
+            if (compare(x, e) >= 0)
+                break;
+            int ps = ss[parent];
+            es[k] = e;
+            ss[k] = ps;
+            index[ps] = k;
+            k = parent;
+        }
+        es[k] = x;
+        ss[k] = s;
+        index[s] = k;
+    }
+
+    /**
+     * Inserts item x, whose table slot is s, at position k, demoting
+     * it down the tree repeatedly until it is less than or equal to
+     * its children or is a leaf.
+     */
+    private void siftDown(int k, E x, int s) {
+        final Object[] es = queue;
+        final int[] ss = slots;
+        final int[] index = table.index;
+        final int n = size;
+        int child;
+        while ((child = (k << 2) + 1) < n) {
+            Object c = es[child];
+            for (int j = child + 1, end = Math.min(child + 4, n); j < end; j++) {
+                Object d = es[j];
+                if (compare(d, c) < 0) {
+                    c = d;
+                    child = j;
+                }
+            }
+            if (compare(x, c) <= 0)
+                break;
+            int cs = ss[child];
+            es[k] = c;
+            ss[k] = cs;
+            index[cs] = k;
+            k = child;
+        }
+        es[k] = x;
+        ss[k] = s;
+        index[s] = k;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue. The iterator
+     * does not return the elements in any particular order.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private final class Itr implements Iterator<E> {
+        private int cursor;
+        private int lastRet = -1;
+        /** Elements moved behind the cursor by removals; see PriorityQueue.Itr. */
+        private ArrayDeque<E> forgetMeNot;
+        private E lastRetElt;
+        private int expectedModCount = modCount;
+
+        Itr() {}                        // prevent access constructor creation
+
+        public boolean hasNext() {
+            return cursor < size ||
+                (forgetMeNot != null && !forgetMeNot.isEmpty());
+        }
+
+        public E next() {
+            if (expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            if (cursor < size)
+                return (E) queue[lastRet = cursor++];
+            if (forgetMeNot != null) {
+                lastRet = -1;
+                lastRetElt = forgetMeNot.poll();
+                if (lastRetElt != null)
+                    return lastRetElt;
+            }
+            throw new NoSuchElementException();
+        }
+
+        public void remove() {
+            if (expectedModCount != modCount)
+                throw new ConcurrentModificationException();
+            if (lastRet != -1) {
+                E moved = IndexedPriorityQueue.this.removeAt(lastRet);
+                lastRet = -1;
+                if (moved == null)
+                    cursor--;
+                else {
+                    if (forgetMeNot == null)
+                        forgetMeNot = new ArrayDeque<>();
+                    forgetMeNot.add(moved);
+                }
+            } else if (lastRetElt != null) {
+                IndexedPriorityQueue.this.remove(lastRetElt);
+                lastRetElt = null;
+            } else {
+                throw new IllegalStateException();
+            }
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Creates a <em><a href="Spliterator.html#binding">late-binding</a></em>
+     * and <em>fail-fast</em> {@link Spliterator} over the elements in this
+     * queue.  The spliterator does not traverse elements in any particular
+     * order.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED},
+     * {@link Spliterator#SUBSIZED}, {@link Spliterator#DISTINCT} and
+     * {@link Spliterator#NONNULL}.
+     *
+     * @return a {@code Spliterator} over the elements in this queue
+     */
+    public Spliterator<E> spliterator() {
+        return new IndexedPriorityQueueSpliterator(0, -1, 0);
+    }
+
+    final class IndexedPriorityQueueSpliterator implements Spliterator<E> {
+        private int index;            // current index, modified on advance/split
+        private int fence;            // -1 until first use
+        private int expectedModCount; // initialized when fence set
+
+        IndexedPriorityQueueSpliterator(int origin, int fence,
+                                        int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence() { // initialize fence to size on first use
+            int hi;
+            if ((hi = fence) < 0) {
+                expectedModCount = modCount;
+                hi = fence = size;
+            }
+            return hi;
+        }
+
+        public IndexedPriorityQueueSpliterator trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                new IndexedPriorityQueueSpliterator(lo, index = mid,
+                                                    expectedModCount);
+        }
+
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int hi = getFence();
+            final Object[] es = queue;
+            for (int i = index; i < hi; i++)
+                action.accept((E) es[i]);
+            index = hi;
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int i;
+            if ((i = index) < getFence()) {
+                index = i + 1;
+                E e = (E) queue[i];
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                action.accept(e);
+                return true;
+            }
+            return false;
+        }
+
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED |
+                Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * An open-addressing (linear probing) table from element to heap
+     * index.  Each occupied table slot k holds an element in keys[k]
+     * and its heap position in index[k]; the owning heap keeps the
+     * reverse mapping from heap position to table slot, which this
+     * table patches when it relocates entries.  Deletion uses backward
+     * shifting (Knuth's Algorithm R), so the table never accumulates
+     * tombstones and lookups stay short under heavy remove/insert
+     * churn.  The load factor is kept at or below one half.
+     *
+     * Shared with IndexedLongPriorityQueue.
+     */
+    static final class PositionTable {
+        Object[] keys;
+        int[] index;
+        int count;
+
+        PositionTable(int expected) {
+            int cap = tableSizeFor(expected);
+            keys = new Object[cap];
+            index = new int[cap];
+        }
+
+        private static int tableSizeFor(int expected) {
+            int n = Math.max(4, expected) << 1;
+            int cap = Integer.highestOneBit(n - 1) << 1;
+            return (cap < 0) ? 1 << 30 : cap;
+        }
+
+        private static int hash(Object o, int mask) {
+            int h = o.hashCode() * 0x9E3779B9; // spread clustered hashes
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        /** Returns the table slot holding o, or -1 if absent. */
+        int find(Object o) {
+            final Object[] ks = keys;
+            final int mask = ks.length - 1;
+            for (int k = hash(o, mask);; k = (k + 1) & mask) {
+                Object key = ks[k];
+                if (key == null)
+                    return -1;
+                if (key == o || key.equals(o))
+                    return k;
+            }
+        }
+
+        /**
+         * Inserts absent element o with heap index i, returning its
+         * slot.  Resizing renumbers every slot, so slots[] (the heap's
+         * reverse mapping) is rewritten accordingly.
+         */
+        int insert(Object o, int i, int[] slots) {
+            if (count + 1 > keys.length >>> 1)
+                resize(slots);
+            final Object[] ks = keys;
+            final int mask = ks.length - 1;
+            int k = hash(o, mask);
+            while (ks[k] != null)
+                k = (k + 1) & mask;
+            ks[k] = o;
+            index[k] = i;
+            count++;
+            return k;
+        }
+
+        /** Removes the entry in slot k, relocating displaced entries. */
+        void remove(int k, int[] slots) {
+            final Object[] ks = keys;
+            final int[] ix = index;
+            final int mask = ks.length - 1;
+            count--;
+            for (int j = k;;) {
+                j = (j + 1) & mask;
+                Object key = ks[j];
+                if (key == null)
+                    break;
+                int home = hash(key, mask);
+                // move key from j to k unless its home lies cyclically in (k, j]
+                if ((j > k) ? (home <= k || home > j) : (home <= k && home > j)) {
+                    ks[k] = key;
+                    int i = ix[j];
+                    ix[k] = i;
+                    slots[i] = k;
+                    k = j;
+                }
+            }
+            ks[k] = null;
+        }
+
+        private void resize(int[] slots) {
+            final Object[] oldKeys = keys;
+            final int[] oldIndex = index;
+            final int cap = oldKeys.length << 1;
+            if (cap < 0)
+                throw new OutOfMemoryError("Required table size too large");
+            final Object[] ks = new Object[cap];
+            final int[] ix = new int[cap];
+            final int mask = cap - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                Object key = oldKeys[j];
+                if (key != null) {
+                    int k = hash(key, mask);
+                    while (ks[k] != null)
+                        k = (k + 1) & mask;
+                    ks[k] = key;
+                    int i = oldIndex[j];
+                    ix[k] = i;
+                    slots[i] = k;
+                }
+            }
+            keys = ks;
+            index = ix;
+        }
+
+        void clear() {
+            Arrays.fill(keys, null);
+            count = 0;
+        }
+    }
+}
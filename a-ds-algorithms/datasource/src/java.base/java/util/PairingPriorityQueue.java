@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+/**
+ * An unbounded priority {@linkplain Queue queue} of distinct elements
+ * based on a pairing heap.  The elements are ordered according to
+ * their {@linkplain Comparable natural ordering}, or by a {@link
+ * Comparator} provided at queue construction time.  The queue does not
+ * permit {@code null} elements, and, like {@link IndexedPriorityQueue},
+ * holds at most one element {@code e} for which {@code o.equals(e)}.
+ *
+ * <p>A pairing heap is a self-adjusting multiway tree.  Insertion,
+ * melding and the "decrease-key" operation performed by {@link #update
+ * update} for an element whose ordering moved earlier are constant
+ * time, while {@link #poll poll} and {@link #remove(Object) remove}
+ * reorganize the tree in O(log(n)) amortized time.  This makes it a
+ * good fit for workloads dominated by insertions and priority
+ * decreases (such as Dijkstra's algorithm on dense graphs), whereas
+ * {@code IndexedPriorityQueue} has lower constant factors and no
+ * per-element node allocation when polls dominate.
+ *
+ * <p>The {@link #iterator()} does not traverse the elements in any
+ * particular order.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * Multiple threads should not access a {@code PairingPriorityQueue}
+ * instance concurrently if any of the threads modifies the queue.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/java.base/java/util/package-summary.html#CollectionsFramework">
+ * Java Collections Framework</a>.
+ *
+ * @param <E> the type of elements held in this queue
+ * @see IndexedPriorityQueue
+ * @since 18
+ */
+@SuppressWarnings("unchecked")
+public class PairingPriorityQueue<E> extends AbstractQueue<E> {
+
+    /*
+     * Each node keeps a pointer to its leftmost child, its next
+     * sibling, and "prev", which is the previous sibling or, for a
+     * leftmost child, the parent.  This is the usual representation
+     * that allows a node to be cut from the tree in constant time.
+     * Nodes are located by element through a HashMap.
+     */
+    static final class Node<E> {
+        final E item;
+        Node<E> child;
+        Node<E> next;
+        Node<E> prev;
+        Node(E item) { this.item = item; }
+    }
+
+    /** The root of the heap, or null if empty. */
+    private Node<E> root;
+
+    /** Maps each element to its node. */
+    private final HashMap<Object, Node<E>> nodes;
+
+    /**
+     * The comparator, or null if the queue uses elements' natural
+     * ordering.
+     */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * Creates a {@code PairingPriorityQueue} that orders its elements
+     * according to their {@linkplain Comparable natural ordering}.
+     */
+    public PairingPriorityQueue() {
+        this(null);
+    }
+
+    /**
+     * Creates a {@code PairingPriorityQueue} whose elements are ordered
+     * according to the specified comparator.
+     *
+     * @param  comparator the comparator that will be used to order this
+     *         queue.  If {@code null}, the {@linkplain Comparable
+     *         natural ordering} of the elements will be used.
+     */
+    public PairingPriorityQueue(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+        this.nodes = new HashMap<>();
+    }
+
+    /**
+     * Inserts the specified element into this queue, unless an equal
+     * element is already present.
+     *
+     * @return {@code true} if the element was added, {@code false} if
+     *         an equal element was already present
+     * @throws ClassCastException if the specified element cannot be
+     *         compared with elements currently in this queue
+     *         according to the queue's ordering
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        Node<E> x = new Node<>(e);
+        if (nodes.putIfAbsent(e, x) != null)
+            return false;
+        root = meld(root, x);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element into this queue.
+     *
+     * @return {@code true} if the element was added, {@code false} if
+     *         an equal element was already present
+     * @throws ClassCastException if the specified element cannot be
+     *         compared with elements currently in this queue
+     *         according to the queue's ordering
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(E e) {
+        return offer(e);
+    }
+
+    public E peek() {
+        Node<E> r;
+        return ((r = root) == null) ? null : r.item;
+    }
+
+    public E poll() {
+        Node<E> r;
+        if ((r = root) == null)
+            return null;
+        nodes.remove(r.item);
+        root = combine(r.child);
+        r.child = null;
+        return r.item;
+    }
+
+    /**
+     * Restores the position of the specified element after a change
+     * to its ordering.  If the element moved earlier in the ordering,
+     * this takes constant time apart from a scan of the element's
+     * immediate children; otherwise the element's subtree is
+     * reorganized in O(log(n)) amortized time.
+     *
+     * @param o the element whose ordering changed
+     * @return {@code true} if the element is present in this queue
+     * @throws ClassCastException if the element cannot be compared with
+     *         elements currently in this queue
+     */
+    public boolean update(Object o) {
+        Node<E> x;
+        if (o == null || (x = nodes.get(o)) == null)
+            return false;
+        if (x == root)
+            root = null;
+        else
+            cut(x);
+        // The subtree rooted at x is still heap-ordered below x unless
+        // x moved later than one of its children.
+        for (Node<E> c = x.child; c != null; c = c.next) {
+            if (compare(c.item, x.item) < 0) {
+                Node<E> sub = combine(x.child);
+                x.child = null;
+                root = meld(root, sub);
+                break;
+            }
+        }
+        root = meld(root, x);
+        return true;
+    }
+
+    /**
+     * Removes the specified element from this queue, if it is present.
+     *
+     * @param o element to be removed from this queue, if present
+     * @return {@code true} if this queue changed as a result of the call
+     */
+    public boolean remove(Object o) {
+        Node<E> x;
+        if (o == null || (x = nodes.remove(o)) == null)
+            return false;
+        unlink(x);
+        return true;
+    }
+
+    /** Removes node x, already removed from the map, from the heap. */
+    private void unlink(Node<E> x) {
+        if (x == root) {
+            root = combine(x.child);
+        } else {
+            cut(x);
+            root = meld(root, combine(x.child));
+        }
+        x.child = null;
+    }
+
+    /**
+     * Returns {@code true} if this queue contains the specified element.
+     * This method runs in expected constant time.
+     *
+     * @param o object to be checked for containment in this queue
+     * @return {@code true} if this queue contains the specified element
+     */
+    public boolean contains(Object o) {
+        return o != null && nodes.containsKey(o);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Removes all of the elements from this queue.
+     */
+    public void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    /**
+     * Returns the comparator used to order the elements in this
+     * queue, or {@code null} if this queue is sorted according to
+     * the {@linkplain Comparable natural ordering} of its elements.
+     *
+     * @return the comparator used to order this queue, or
+     *         {@code null} if this queue uses natural ordering
+     */
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue. The iterator
+     * does not return the elements in any particular order.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            final Iterator<Node<E>> it = nodes.values().iterator();
+            Node<E> lastRet;
+
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            public E next() {
+                return (lastRet = it.next()).item;
+            }
+
+            public void remove() {
+                Node<E> x = lastRet;
+                if (x == null)
+                    throw new IllegalStateException();
+                lastRet = null;
+                it.remove();
+                unlink(x);
+            }
+        };
+    }
+
+    private int compare(E a, E b) {
+        Comparator<? super E> cmp;
+        return ((cmp = comparator) == null)
+            ? ((Comparable<? super E>) a).compareTo(b)
+            : cmp.compare(a, b);
+    }
+
+    /**
+     * Links two detached trees (with null next and prev), making the
+     * larger root the leftmost child of the smaller.
+     */
+    private Node<E> link(Node<E> a, Node<E> b) {
+        if (compare(b.item, a.item) < 0) {
+            Node<E> t = a; a = b; b = t;
+        }
+        Node<E> c = a.child;
+        b.next = c;
+        if (c != null)
+            c.prev = b;
+        b.prev = a;
+        a.child = b;
+        return a;
+    }
+
+    private Node<E> meld(Node<E> a, Node<E> b) {
+        return (a == null) ? b : (b == null) ? a : link(a, b);
+    }
+
+    /** Detaches non-root node x, together with its subtree. */
+    private static <E> void cut(Node<E> x) {
+        Node<E> p = x.prev, n = x.next;
+        if (p.child == x)
+            p.child = n;
+        else
+            p.next = n;
+        if (n != null)
+            n.prev = p;
+        x.next = x.prev = null;
+    }
+
+    /**
+     * Combines a list of sibling trees into one tree using the
+     * standard two-pass pairing: link adjacent pairs left to right,
+     * then fold the results right to left.  Done iteratively, by
+     * threading the pass-one winners in reverse order through their
+     * (otherwise unused) next fields.
+     */
+    private Node<E> combine(Node<E> first) {
+        Node<E> acc = null;
+        for (Node<E> a = first, rest; a != null; a = rest) {
+            Node<E> b = a.next, w;
+            a.prev = null;
+            if (b == null) {
+                rest = null;
+                w = a;
+            } else {
+                rest = b.next;
+                a.next = b.next = b.prev = null;
+                w = link(a, b);
+            }
+            w.next = acc;
+            acc = w;
+        }
+        if (acc == null)
+            return null;
+        Node<E> r = acc;
+        acc = acc.next;
+        r.next = null;
+        while (acc != null) {
+            Node<E> n = acc.next;
+            acc.next = null;
+            r = link(r, acc);
+            acc = n;
+        }
+        return r;
+    }
+}
@@ -0,0 +1,1033 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Container class for the persistent collections returned by
+ * {@link PersistentMap}, {@link PersistentSet} and {@link PersistentList}.
+ * Not part of the public API.
+ *
+ * Persistent maps and sets are hash array mapped tries (HAMTs, after
+ * Bagwell): each trie node consumes five bits of the (spread) hash code,
+ * and holds a 32-bit bitmap of occupied branches plus a compact array
+ * with two slots per branch, either a key and its value, or null and a
+ * child node.  Keys whose full hash codes collide are kept in a linear
+ * CollisionNode.  Persistent lists are bit-partitioned vector tries with
+ * a branching factor of 32 and a separate tail array, as popularized by
+ * Clojure.  In both, an update copies only the O(log32(n)) nodes on the
+ * path from the root to the changed entry and shares everything else
+ * with the previous version.
+ *
+ * Builders ("transients") stamp the nodes they create with an edit
+ * token unique to the builder, and update nodes bearing their own token
+ * in place instead of copying them.  build() hands the current trie to a
+ * new persistent collection and switches the builder to a fresh token,
+ * so that nodes reachable from a built collection are never mutated
+ * again.  A batch of k edits through a builder therefore copies each
+ * touched node at most once, instead of once per edit.
+ *
+ * Persistent collections are immutable once constructed, and their
+ * roots are published through final fields, so they can be freely
+ * shared between threads.  Builders are not thread-safe.
+ */
+class PersistentCollections {
+
+    /** No instances. */
+    private PersistentCollections() { }
+
+    static UnsupportedOperationException uoe() { return new UnsupportedOperationException(); }
+
+    static final int BITS = 5;
+    static final int WIDTH = 1 << BITS;
+    static final int MASK = WIDTH - 1;
+
+    // ---------- Hash array mapped trie ----------
+
+    static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    static int bitpos(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /** Records the outcome of a trie update. */
+    static final class Box {
+        Object oldValue;  // previous value of the key, or null if absent
+        boolean changed;  // true if the key set changed (added or removed)
+    }
+
+    abstract static class Node {
+        /** The edit token of the builder owning this node, or null. */
+        final Object edit;
+        /** Keys and values, or null and child nodes, in pairs. */
+        Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        /** Returns the number of used slots in array. */
+        abstract int length();
+
+        /** Returns the value mapped to key, or null if absent. */
+        abstract Object find(int shift, int hash, Object key);
+
+        /** Returns the node after mapping key to value. */
+        abstract Node assoc(Object edit, int shift, int hash,
+                            Object key, Object value, Box box);
+
+        /** Returns the node after removing key, or null if it became empty. */
+        abstract Node without(Object edit, int shift, int hash,
+                              Object key, Box box);
+    }
+
+    static final class BitmapNode extends Node {
+        int bitmap;
+
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            super(edit, array);
+            this.bitmap = bitmap;
+        }
+
+        int length() {
+            return Integer.bitCount(bitmap) << 1;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1)) << 1;
+        }
+
+        Object find(int shift, int hash, Object key) {
+            int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0)
+                return null;
+            int i = index(bit);
+            Object k = array[i], v = array[i + 1];
+            if (k == null)
+                return ((Node) v).find(shift + BITS, hash, key);
+            return key.equals(k) ? v : null;
+        }
+
+        private BitmapNode ensureEditable(Object edit) {
+            if (edit != null && this.edit == edit)
+                return this;
+            int n = length();
+            // builders get some slack to insert in place later
+            Object[] a = Arrays.copyOf(array, (edit == null) ? n : n + 4);
+            return new BitmapNode(edit, bitmap, a);
+        }
+
+        private BitmapNode editAndSet(Object edit, int i, Object x) {
+            BitmapNode e = ensureEditable(edit);
+            e.array[i] = x;
+            return e;
+        }
+
+        private BitmapNode editAndSet(Object edit, int i, Object x,
+                                      int j, Object y) {
+            BitmapNode e = ensureEditable(edit);
+            e.array[i] = x;
+            e.array[j] = y;
+            return e;
+        }
+
+        Node assoc(Object edit, int shift, int hash,
+                   Object key, Object value, Box box) {
+            int bit = bitpos(hash, shift);
+            int i = index(bit);
+            if ((bitmap & bit) != 0) {
+                Object k = array[i], v = array[i + 1];
+                if (k == null) {
+                    Node n = ((Node) v).assoc(edit, shift + BITS, hash,
+                                              key, value, box);
+                    return (n == v) ? this : editAndSet(edit, i + 1, n);
+                }
+                if (key.equals(k)) {
+                    box.oldValue = v;
+                    return (v == value) ? this : editAndSet(edit, i + 1, value);
+                }
+                box.changed = true;
+                Node sub = createNode(edit, shift + BITS, k, v,
+                                      hash, key, value);
+                return editAndSet(edit, i, null, i + 1, sub);
+            }
+            box.changed = true;
+            int n = length();
+            if (edit != null && this.edit == edit && n + 2 <= array.length) {
+                System.arraycopy(array, i, array, i + 2, n - i);
+                array[i] = key;
+                array[i + 1] = value;
+                bitmap |= bit;
+                return this;
+            }
+            Object[] a = new Object[(edit == null) ? n + 2 : n + 6];
+            System.arraycopy(array, 0, a, 0, i);
+            a[i] = key;
+            a[i + 1] = value;
+            System.arraycopy(array, i, a, i + 2, n - i);
+            return new BitmapNode(edit, bitmap | bit, a);
+        }
+
+        Node without(Object edit, int shift, int hash, Object key, Box box) {
+            int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0)
+                return this;
+            int i = index(bit);
+            Object k = array[i], v = array[i + 1];
+            if (k == null) {
+                Node n = ((Node) v).without(edit, shift + BITS, hash, key, box);
+                if (n == v)
+                    return this;
+                if (n != null) {
+                    // Pull a lone remaining entry up into this node, so
+                    // that the trie stays as shallow as possible
+                    if (n instanceof BitmapNode b && b.length() == 2 &&
+                        b.array[0] != null)
+                        return editAndSet(edit, i, b.array[0], i + 1, b.array[1]);
+                    return editAndSet(edit, i + 1, n);
+                }
+            } else if (key.equals(k)) {
+                box.oldValue = v;
+                box.changed = true;
+            } else {
+                return this;
+            }
+            if (bitmap == bit)
+                return null;
+            int n = length();
+            if (edit != null && this.edit == edit) {
+                System.arraycopy(array, i + 2, array, i, n - i - 2);
+                array[n - 2] = array[n - 1] = null;
+                bitmap ^= bit;
+                return this;
+            }
+            Object[] a = new Object[n - 2];
+            System.arraycopy(array, 0, a, 0, i);
+            System.arraycopy(array, i + 2, a, i, n - i - 2);
+            return new BitmapNode(edit, bitmap ^ bit, a);
+        }
+
+        private static Node createNode(Object edit, int shift,
+                                       Object k1, Object v1,
+                                       int h2, Object k2, Object v2) {
+            int h1 = hash(k1);
+            if (h1 == h2)
+                return new CollisionNode(edit, h1, new Object[] { k1, v1, k2, v2 });
+            Box box = new Box();
+            return new BitmapNode(edit, 0, new Object[0])
+                .assoc(edit, shift, h1, k1, v1, box)
+                .assoc(edit, shift, h2, k2, v2, box);
+        }
+    }
+
+    /** Entries whose keys have identical hash codes. */
+    static final class CollisionNode extends Node {
+        final int hash;
+
+        CollisionNode(Object edit, int hash, Object[] array) {
+            super(edit, array);
+            this.hash = hash;
+        }
+
+        int length() {
+            return array.length;
+        }
+
+        private int indexOf(Object key) {
+            final Object[] a = array;
+            for (int i = 0; i < a.length; i += 2)
+                if (key.equals(a[i]))
+                    return i;
+            return -1;
+        }
+
+        Object find(int shift, int hash, Object key) {
+            int i;
+            return (hash != this.hash || (i = indexOf(key)) < 0)
+                ? null : array[i + 1];
+        }
+
+        Node assoc(Object edit, int shift, int hash,
+                   Object key, Object value, Box box) {
+            if (hash != this.hash) {
+                // Only possible above the deepest level; nest this node
+                return new BitmapNode(edit, bitpos(this.hash, shift),
+                                      new Object[] { null, this })
+                    .assoc(edit, shift, hash, key, value, box);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                Object v = array[i + 1];
+                box.oldValue = v;
+                if (v == value)
+                    return this;
+                Object[] a = (edit != null && this.edit == edit)
+                    ? array : array.clone();
+                a[i + 1] = value;
+                return (a == array) ? this : new CollisionNode(edit, hash, a);
+            }
+            box.changed = true;
+            int n = array.length;
+            Object[] a = Arrays.copyOf(array, n + 2);
+            a[n] = key;
+            a[n + 1] = value;
+            if (edit != null && this.edit == edit) {
+                array = a;
+                return this;
+            }
+            return new CollisionNode(edit, hash, a);
+        }
+
+        Node without(Object edit, int shift, int hash, Object key, Box box) {
+            int i;
+            if (hash != this.hash || (i = indexOf(key)) < 0)
+                return this;
+            box.oldValue = array[i + 1];
+            box.changed = true;
+            int n = array.length;
+            if (n == 4) {
+                // one entry left: let the parent pull it up
+                int j = (i == 0) ? 2 : 0;
+                return new BitmapNode(edit, bitpos(hash, shift),
+                                      new Object[] { array[j], array[j + 1] });
+            }
+            Object[] a = new Object[n - 2];
+            System.arraycopy(array, 0, a, 0, i);
+            System.arraycopy(array, i + 2, a, i, n - i - 2);
+            if (edit != null && this.edit == edit) {
+                array = a;
+                return this;
+            }
+            return new CollisionNode(edit, hash, a);
+        }
+    }
+
+    static final BitmapNode EMPTY_NODE = new BitmapNode(null, 0, new Object[0]);
+
+    /**
+     * Depth-first iterator over the key/value pairs of a trie.  The
+     * trie is at most eight levels deep (seven bitmap levels and a
+     * collision level).
+     */
+    abstract static class TrieIterator<T> implements Iterator<T> {
+        private final Object[][] arrays = new Object[8][];
+        private final int[] positions = new int[8];
+        private final int[] limits = new int[8];
+        private int depth;
+        Object nextKey, nextValue;
+
+        TrieIterator(Node root) {
+            push(root);
+            advance();
+        }
+
+        private void push(Node node) {
+            arrays[depth] = node.array;
+            positions[depth] = 0;
+            limits[depth] = node.length();
+            depth++;
+        }
+
+        private void advance() {
+            while (depth > 0) {
+                int d = depth - 1;
+                int p = positions[d];
+                if (p >= limits[d]) {
+                    arrays[d] = null;
+                    depth = d;
+                    continue;
+                }
+                positions[d] = p + 2;
+                Object[] a = arrays[d];
+                if (a[p] == null) {
+                    push((Node) a[p + 1]);
+                } else {
+                    nextKey = a[p];
+                    nextValue = a[p + 1];
+                    return;
+                }
+            }
+            nextKey = nextValue = null;
+        }
+
+        public final boolean hasNext() {
+            return nextKey != null;
+        }
+
+        public final T next() {
+            Object k = nextKey, v = nextValue;
+            if (k == null)
+                throw new NoSuchElementException();
+            advance();
+            return element(k, v);
+        }
+
+        abstract T element(Object key, Object value);
+    }
+
+    // ---------- Map Implementation ----------
+
+    @SuppressWarnings("unchecked")
+    static final class HamtMap<K,V> extends AbstractMap<K,V>
+        implements PersistentMap<K,V> {
+
+        static final HamtMap<?,?> EMPTY = new HamtMap<>(EMPTY_NODE, 0);
+
+        final Node root;
+        final int size;
+
+        HamtMap(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        static <K,V> HamtMap<K,V> of(Node root, int size) {
+            return (size == 0) ? (HamtMap<K,V>) EMPTY : new HamtMap<>(root, size);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public V get(Object key) {
+            return (key == null) ? null : (V) root.find(0, hash(key), key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public V getOrDefault(Object key, V defaultValue) {
+            V v;
+            return ((v = get(key)) != null) ? v : defaultValue;
+        }
+
+        @Override
+        public PersistentMap<K,V> with(K key, V value) {
+            Objects.requireNonNull(key);
+            Objects.requireNonNull(value);
+            Box box = new Box();
+            Node r = root.assoc(null, 0, hash(key), key, value, box);
+            return (r == root) ? this : new HamtMap<>(r, box.changed ? size + 1 : size);
+        }
+
+        @Override
+        public PersistentMap<K,V> without(Object key) {
+            if (key == null)
+                return this;
+            Box box = new Box();
+            Node r = root.without(null, 0, hash(key), key, box);
+            return (r == root) ? this : of((r == null) ? EMPTY_NODE : r, size - 1);
+        }
+
+        @Override
+        public PersistentMap<K,V> withAll(Map<? extends K, ? extends V> m) {
+            if (m.isEmpty())
+                return this;
+            MapBuilder<K,V> b = new MapBuilder<>(root, size);
+            for (Map.Entry<? extends K, ? extends V> e : m.entrySet())
+                b.put(e.getKey(), e.getValue());
+            return b.build();
+        }
+
+        @Override
+        public PersistentMap.Builder<K,V> toBuilder() {
+            return new MapBuilder<>(root, size);
+        }
+
+        @Override
+        public void forEach(java.util.function.BiConsumer<? super K, ? super V> action) {
+            Objects.requireNonNull(action);
+            forEachEntry(root, action);
+        }
+
+        private static <K,V> void forEachEntry(
+            Node node, java.util.function.BiConsumer<? super K, ? super V> action) {
+            final Object[] a = node.array;
+            for (int i = 0, n = node.length(); i < n; i += 2) {
+                if (a[i] == null)
+                    forEachEntry((Node) a[i + 1], action);
+                else
+                    action.accept((K) a[i], (V) a[i + 1]);
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<K,V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Map.Entry<K,V>> iterator() {
+                    return new TrieIterator<>(root) {
+                        Map.Entry<K,V> element(Object k, Object v) {
+                            return new KeyValueHolder<>((K) k, (V) v);
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static final class MapBuilder<K,V> implements PersistentMap.Builder<K,V> {
+        private Object edit = new Object();
+        private Node root;
+        private int size;
+
+        MapBuilder(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        public PersistentMap.Builder<K,V> put(K key, V value) {
+            Objects.requireNonNull(key);
+            Objects.requireNonNull(value);
+            Box box = new Box();
+            root = root.assoc(edit, 0, hash(key), key, value, box);
+            if (box.changed)
+                size++;
+            return this;
+        }
+
+        public PersistentMap.Builder<K,V> remove(Object key) {
+            if (key != null) {
+                Box box = new Box();
+                Node r = root.without(edit, 0, hash(key), key, box);
+                if (box.changed) {
+                    root = (r == null) ? EMPTY_NODE : r;
+                    size--;
+                }
+            }
+            return this;
+        }
+
+        public V get(Object key) {
+            return (key == null) ? null : (V) root.find(0, hash(key), key);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PersistentMap<K,V> build() {
+            edit = new Object();
+            return HamtMap.of(root, size);
+        }
+    }
+
+    // ---------- Set Implementation ----------
+
+    /** Sets are tries mapping each element to itself. */
+    @SuppressWarnings("unchecked")
+    static final class HamtSet<E> extends AbstractSet<E>
+        implements PersistentSet<E> {
+
+        static final HamtSet<?> EMPTY = new HamtSet<>(EMPTY_NODE, 0);
+
+        final Node root;
+        final int size;
+
+        HamtSet(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        static <E> HamtSet<E> of(Node root, int size) {
+            return (size == 0) ? (HamtSet<E>) EMPTY : new HamtSet<>(root, size);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o != null && root.find(0, hash(o), o) != null;
+        }
+
+        @Override
+        public PersistentSet<E> with(E e) {
+            Objects.requireNonNull(e);
+            Box box = new Box();
+            Node r = root.assoc(null, 0, hash(e), e, e, box);
+            return box.changed ? new HamtSet<>(r, size + 1) : this;
+        }
+
+        @Override
+        public PersistentSet<E> without(Object o) {
+            if (o == null)
+                return this;
+            Box box = new Box();
+            Node r = root.without(null, 0, hash(o), o, box);
+            return box.changed ? of((r == null) ? EMPTY_NODE : r, size - 1) : this;
+        }
+
+        @Override
+        public PersistentSet<E> withAll(Collection<? extends E> c) {
+            if (c.isEmpty())
+                return this;
+            SetBuilder<E> b = new SetBuilder<>(root, size);
+            for (E e : c)
+                b.add(e);
+            return b.build();
+        }
+
+        @Override
+        public PersistentSet.Builder<E> toBuilder() {
+            return new SetBuilder<>(root, size);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new TrieIterator<>(root) {
+                E element(Object k, Object v) {
+                    return (E) k;
+                }
+            };
+        }
+    }
+
+    static final class SetBuilder<E> implements PersistentSet.Builder<E> {
+        private Object edit = new Object();
+        private Node root;
+        private int size;
+
+        SetBuilder(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        public PersistentSet.Builder<E> add(E e) {
+            Objects.requireNonNull(e);
+            Box box = new Box();
+            root = root.assoc(edit, 0, hash(e), e, e, box);
+            if (box.changed)
+                size++;
+            return this;
+        }
+
+        public PersistentSet.Builder<E> remove(Object o) {
+            if (o != null) {
+                Box box = new Box();
+                Node r = root.without(edit, 0, hash(o), o, box);
+                if (box.changed) {
+                    root = (r == null) ? EMPTY_NODE : r;
+                    size--;
+                }
+            }
+            return this;
+        }
+
+        public boolean contains(Object o) {
+            return o != null && root.find(0, hash(o), o) != null;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PersistentSet<E> build() {
+            edit = new Object();
+            return HamtSet.of(root, size);
+        }
+    }
+
+    // ---------- List Implementation ----------
+
+    static final class VNode {
+        final Object edit;
+        final Object[] array;
+
+        VNode(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        VNode(Object edit) {
+            this(edit, new Object[WIDTH]);
+        }
+    }
+
+    static final VNode EMPTY_VNODE = new VNode(null);
+
+    /**
+     * The first tailOffset(size) elements are stored in the leaves of
+     * the trie rooted at root, of height shift/BITS; the rest, between
+     * one and 32 elements (unless the vector is empty), are in tail.
+     */
+    static int tailOffset(int size) {
+        return (size < WIDTH) ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /** Returns the leaf array holding index i of the given trie. */
+    static Object[] leafFor(int size, int shift, VNode root, Object[] tail, int i) {
+        if (i >= tailOffset(size))
+            return tail;
+        VNode node = root;
+        for (int level = shift; level > 0; level -= BITS)
+            node = (VNode) node.array[(i >>> level) & MASK];
+        return node.array;
+    }
+
+    static VNode newPath(Object edit, int level, VNode node) {
+        if (level == 0)
+            return node;
+        VNode ret = new VNode(edit);
+        ret.array[0] = newPath(edit, level - BITS, node);
+        return ret;
+    }
+
+    static VNode editable(Object edit, VNode node) {
+        return (edit != null && node.edit == edit)
+            ? node : new VNode(edit, node.array.clone());
+    }
+
+    /** Appends the full leaf tailNode to the trie of a vector of size elements. */
+    static VNode pushTail(Object edit, int size, int level,
+                          VNode parent, VNode tailNode) {
+        int subidx = ((size - 1) >>> level) & MASK;
+        VNode ret = editable(edit, parent);
+        VNode toInsert;
+        if (level == BITS) {
+            toInsert = tailNode;
+        } else {
+            VNode child = (VNode) parent.array[subidx];
+            toInsert = (child != null)
+                ? pushTail(edit, size, level - BITS, child, tailNode)
+                : newPath(edit, level - BITS, tailNode);
+        }
+        ret.array[subidx] = toInsert;
+        return ret;
+    }
+
+    /** Removes the last leaf from the trie of a vector of size elements. */
+    static VNode popTail(Object edit, int size, int level, VNode node) {
+        int subidx = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            VNode child = popTail(edit, size, level - BITS,
+                                  (VNode) node.array[subidx]);
+            if (child == null && subidx == 0)
+                return null;
+            VNode ret = editable(edit, node);
+            ret.array[subidx] = child;
+            return ret;
+        } else if (subidx == 0) {
+            return null;
+        } else {
+            VNode ret = editable(edit, node);
+            ret.array[subidx] = null;
+            return ret;
+        }
+    }
+
+    static VNode doAssoc(Object edit, int level, VNode node, int i, Object x) {
+        VNode ret = editable(edit, node);
+        if (level == 0) {
+            ret.array[i & MASK] = x;
+        } else {
+            int subidx = (i >>> level) & MASK;
+            ret.array[subidx] = doAssoc(edit, level - BITS,
+                                        (VNode) node.array[subidx], i, x);
+        }
+        return ret;
+    }
+
+    @SuppressWarnings("unchecked")
+    static final class Vector<E> extends AbstractList<E>
+        implements PersistentList<E>, RandomAccess {
+
+        static final Vector<?> EMPTY =
+            new Vector<>(0, BITS, EMPTY_VNODE, new Object[0]);
+
+        final int size;
+        final int shift;
+        final VNode root;
+        final Object[] tail;
+
+        Vector(int size, int shift, VNode root, Object[] tail) {
+            this.size = size;
+            this.shift = shift;
+            this.root = root;
+            this.tail = tail;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public E get(int index) {
+            Objects.checkIndex(index, size);
+            return (E) leafFor(size, shift, root, tail, index)[index & MASK];
+        }
+
+        @Override
+        public PersistentList<E> with(int index, E element) {
+            Objects.checkIndex(index, size);
+            Objects.requireNonNull(element);
+            if (index >= tailOffset(size)) {
+                Object[] t = tail.clone();
+                t[index & MASK] = element;
+                return new Vector<>(size, shift, root, t);
+            }
+            return new Vector<>(size, shift,
+                                doAssoc(null, shift, root, index, element), tail);
+        }
+
+        @Override
+        public PersistentList<E> withAdded(E element) {
+            Objects.requireNonNull(element);
+            int n = size;
+            if (n - tailOffset(n) < WIDTH) {
+                Object[] t = Arrays.copyOf(tail, tail.length + 1);
+                t[tail.length] = element;
+                return new Vector<>(n + 1, shift, root, t);
+            }
+            VNode tailNode = new VNode(null, tail);
+            VNode newRoot;
+            int newShift = shift;
+            if ((n >>> BITS) > (1 << shift)) { // root overflow
+                newRoot = new VNode(null);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(null, shift, tailNode);
+                newShift += BITS;
+            } else {
+                newRoot = pushTail(null, n, shift, root, tailNode);
+            }
+            return new Vector<>(n + 1, newShift, newRoot, new Object[] { element });
+        }
+
+        @Override
+        public PersistentList<E> withoutLast() {
+            int n = size;
+            if (n == 0)
+                throw new NoSuchElementException();
+            if (n == 1)
+                return (PersistentList<E>) EMPTY;
+            if (n - tailOffset(n) > 1)
+                return new Vector<>(n - 1, shift, root,
+                                    Arrays.copyOf(tail, tail.length - 1));
+            Object[] newTail = leafFor(n, shift, root, tail, n - 2);
+            VNode newRoot = popTail(null, n, shift, root);
+            int newShift = shift;
+            if (newRoot == null)
+                newRoot = EMPTY_VNODE;
+            if (shift > BITS && newRoot.array[1] == null) {
+                newRoot = (VNode) newRoot.array[0];
+                newShift -= BITS;
+            }
+            return new Vector<>(n - 1, newShift, newRoot, newTail);
+        }
+
+        @Override
+        public PersistentList<E> without(int index) {
+            Objects.checkIndex(index, size);
+            if (index == size - 1)
+                return withoutLast();
+            ListBuilder<E> b = new ListBuilder<>((Vector<E>) EMPTY);
+            Iterator<E> it = iterator();
+            for (int i = 0; it.hasNext(); i++) {
+                E e = it.next();
+                if (i != index)
+                    b.add(e);
+            }
+            return b.build();
+        }
+
+        @Override
+        public PersistentList<E> withAll(Collection<? extends E> c) {
+            if (c.isEmpty())
+                return this;
+            ListBuilder<E> b = new ListBuilder<>(this);
+            for (E e : c)
+                b.add(e);
+            return b.build();
+        }
+
+        @Override
+        public PersistentList.Builder<E> toBuilder() {
+            return new ListBuilder<>(this);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new VectorIterator<>(size, shift, root, tail);
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            for (int i = 0; i < size; i += WIDTH) {
+                Object[] leaf = leafFor(size, shift, root, tail, i);
+                for (int j = 0, n = Math.min(WIDTH, size - i); j < n; j++)
+                    action.accept((E) leaf[j]);
+            }
+        }
+    }
+
+    /** Iterates a vector one leaf array at a time. */
+    static final class VectorIterator<E> implements Iterator<E> {
+        private final int size, shift;
+        private final VNode root;
+        private final Object[] tail;
+        private Object[] leaf;
+        private int index;
+
+        VectorIterator(int size, int shift, VNode root, Object[] tail) {
+            this.size = size;
+            this.shift = shift;
+            this.root = root;
+            this.tail = tail;
+        }
+
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            int i = index;
+            if (i >= size)
+                throw new NoSuchElementException();
+            if ((i & MASK) == 0 || leaf == null)
+                leaf = leafFor(size, shift, root, tail, i);
+            index = i + 1;
+            return (E) leaf[i & MASK];
+        }
+    }
+
+    /**
+     * A transient vector.  Unlike Vector, whose tail is trimmed to its
+     * length, the builder keeps a full-width tail that it owns.
+     */
+    @SuppressWarnings("unchecked")
+    static final class ListBuilder<E> implements PersistentList.Builder<E> {
+        private Object edit = new Object();
+        private int size;
+        private int shift;
+        private VNode root;
+        private Object[] tail;
+
+        ListBuilder(Vector<E> v) {
+            this.size = v.size;
+            this.shift = v.shift;
+            this.root = v.root;
+            this.tail = Arrays.copyOf(v.tail, WIDTH);
+        }
+
+        public PersistentList.Builder<E> add(E element) {
+            Objects.requireNonNull(element);
+            int n = size;
+            if (n - tailOffset(n) < WIDTH) {
+                tail[n & MASK] = element;
+                size = n + 1;
+                return this;
+            }
+            VNode tailNode = new VNode(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = element;
+            if ((n >>> BITS) > (1 << shift)) { // root overflow
+                VNode newRoot = new VNode(edit);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(edit, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(edit, n, shift, root, tailNode);
+            }
+            size = n + 1;
+            return this;
+        }
+
+        public PersistentList.Builder<E> set(int index, E element) {
+            Objects.checkIndex(index, size);
+            Objects.requireNonNull(element);
+            if (index >= tailOffset(size))
+                tail[index & MASK] = element;
+            else
+                root = doAssoc(edit, shift, root, index, element);
+            return this;
+        }
+
+        public PersistentList.Builder<E> removeLast() {
+            int n = size;
+            if (n == 0)
+                throw new NoSuchElementException();
+            if (n == 1 || n - tailOffset(n) > 1) {
+                tail[(n - 1) & MASK] = null;
+                size = n - 1;
+                return this;
+            }
+            Object[] newTail = leafFor(n, shift, root, tail, n - 2).clone();
+            VNode newRoot = popTail(edit, n, shift, root);
+            if (newRoot == null)
+                newRoot = EMPTY_VNODE;
+            if (shift > BITS && newRoot.array[1] == null) {
+                newRoot = (VNode) newRoot.array[0];
+                shift -= BITS;
+            }
+            root = newRoot;
+            tail = newTail;
+            size = n - 1;
+            return this;
+        }
+
+        public E get(int index) {
+            Objects.checkIndex(index, size);
+            return (E) leafFor(size, shift, root, tail, index)[index & MASK];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PersistentList<E> build() {
+            if (size == 0) {
+                root = EMPTY_VNODE;
+                shift = BITS;
+                return (PersistentList<E>) Vector.EMPTY;
+            }
+            edit = new Object();
+            int n = size - tailOffset(size);
+            return new Vector<>(size, shift, root, Arrays.copyOf(tail, n));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+/**
+ * An unmodifiable {@link List} whose "modified copies" share structure
+ * with the original.  The {@link #with with}, {@link #withAdded
+ * withAdded} and {@link #withoutLast withoutLast} methods leave this
+ * list unchanged and return a new list reflecting the update; the new
+ * list shares all but O(log<sub>32</sub>(n)) of its internal nodes with
+ * this one.  A batch of updates is best applied through a {@link
+ * Builder}; see {@link PersistentMap}.
+ *
+ * <p>Persistent lists have the same characteristics as the
+ * <a href="List.html#unmodifiable">unmodifiable lists</a> returned by
+ * {@code List.of}: they are unmodifiable, they disallow {@code null}
+ * elements, and they are thread-safe.  Persistent lists implement
+ * {@link RandomAccess}, and are not serializable.
+ *
+ * @implNote The implementation is a bit-partitioned vector trie with a
+ * branching factor of 32.  The {@code get}, {@code with}, {@code
+ * withAdded} and {@code withoutLast} operations take
+ * O(log<sub>32</sub>(n)) time; {@link #without(int) without} must shift
+ * all the following elements and takes O(n) time.
+ *
+ * @param <E> the type of elements in this list
+ * @see PersistentMap
+ * @since 18
+ */
+public interface PersistentList<E> extends List<E> {
+
+    /**
+     * Returns a persistent list containing the elements of this list,
+     * with the element at the specified position replaced.
+     *
+     * @param index the index of the element to replace
+     * @param element the element to be stored at the specified position
+     * @return a list with the replaced element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= size()})
+     * @throws NullPointerException if the element is {@code null}
+     */
+    PersistentList<E> with(int index, E element);
+
+    /**
+     * Returns a persistent list containing the elements of this list
+     * followed by the specified element.
+     *
+     * @param element the element to be appended
+     * @return a list with the appended element
+     * @throws NullPointerException if the element is {@code null}
+     */
+    PersistentList<E> withAdded(E element);
+
+    /**
+     * Returns a persistent list containing the elements of this list
+     * followed by all of the elements of the specified collection, in
+     * the order they are returned by its iterator.
+     *
+     * @param c the elements to be appended
+     * @return a list with the appended elements
+     * @throws NullPointerException if the collection is null, or if it
+     *         contains any {@code null} elements
+     */
+    PersistentList<E> withAll(Collection<? extends E> c);
+
+    /**
+     * Returns a persistent list containing all the elements of this
+     * list except the last.
+     *
+     * @return a list without the last element
+     * @throws NoSuchElementException if this list is empty
+     */
+    PersistentList<E> withoutLast();
+
+    /**
+     * Returns a persistent list containing the elements of this list
+     * except for the element at the specified position.
+     *
+     * @param index the index of the element to remove
+     * @return a list without the element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= size()})
+     */
+    PersistentList<E> without(int index);
+
+    /**
+     * Returns a new builder initialized with the elements of this list.
+     *
+     * @return a new builder
+     */
+    Builder<E> toBuilder();
+
+    /**
+     * A mutable builder of persistent lists; see {@link PersistentMap.Builder}.
+     *
+     * <p>Builders are not thread-safe.
+     *
+     * @param <E> the type of elements
+     * @since 18
+     */
+    interface Builder<E> {
+        /**
+         * Appends the specified element.
+         *
+         * @param element the element
+         * @return this builder
+         * @throws NullPointerException if the element is {@code null}
+         */
+        Builder<E> add(E element);
+
+        /**
+         * Replaces the element at the specified position.
+         *
+         * @param index the index of the element to replace
+         * @param element the element
+         * @return this builder
+         * @throws IndexOutOfBoundsException if the index is out of range
+         * @throws NullPointerException if the element is {@code null}
+         */
+        Builder<E> set(int index, E element);
+
+        /**
+         * Removes the last element.
+         *
+         * @return this builder
+         * @throws NoSuchElementException if this builder is empty
+         */
+        Builder<E> removeLast();
+
+        /**
+         * Returns the element at the specified position.
+         *
+         * @param index the index of the element
+         * @return the element
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        E get(int index);
+
+        /**
+         * Returns the number of elements in this builder.
+         *
+         * @return the number of elements
+         */
+        int size();
+
+        /**
+         * Returns a persistent list containing the current elements of
+         * this builder.
+         *
+         * @return a persistent list
+         */
+        PersistentList<E> build();
+    }
+
+    /**
+     * Returns an empty persistent list.
+     *
+     * @param <E> the list's element type
+     * @return an empty persistent list
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentList<E> of() {
+        return (PersistentList<E>) PersistentCollections.Vector.EMPTY;
+    }
+
+    /**
+     * Returns a persistent list containing the elements of the given
+     * collection, in its iteration order.  If the given collection is
+     * itself a persistent list created by this interface, it is returned.
+     *
+     * @param <E> the list's element type
+     * @param coll the collection from which elements are drawn
+     * @return a persistent list containing the elements of the collection
+     * @throws NullPointerException if the collection is null, or if it
+     *         contains any {@code null} elements
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentList<E> copyOf(Collection<? extends E> coll) {
+        if (coll instanceof PersistentCollections.Vector)
+            return (PersistentList<E>) coll;
+        return PersistentList.<E>of().withAll(coll);
+    }
+
+    /**
+     * Returns a new builder with no elements.
+     *
+     * @param <E> the element type
+     * @return a new builder
+     */
+    static <E> Builder<E> builder() {
+        return PersistentList.<E>of().toBuilder();
+    }
+}
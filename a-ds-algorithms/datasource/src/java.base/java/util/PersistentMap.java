@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+/**
+ * An unmodifiable {@link Map} whose "modified copies" share structure
+ * with the original.  The {@link #with with}, {@link #without without}
+ * and {@link #withAll withAll} methods leave this map unchanged and
+ * return a new map reflecting the update; the new map shares all but
+ * O(log<sub>32</sub>(n)) of its internal nodes with this one, so each
+ * update takes effectively constant time and space, instead of the
+ * O(n) copy required to derive a new map from {@link Map#copyOf
+ * Map.copyOf} or {@link Map#of Map.of}.  This makes persistent maps
+ * suitable for publishing frequently updated snapshots, such as
+ * configuration or routing tables, to concurrent readers.
+ *
+ * <p>A batch of updates is best applied through a {@link Builder},
+ * obtained from {@link #toBuilder}, which updates its own private
+ * copies of the internal nodes in place, and then publishes the result
+ * with {@link Builder#build}.
+ *
+ * <p>Persistent maps have the same characteristics as the
+ * <a href="Map.html#unmodifiable">unmodifiable maps</a> returned by
+ * {@code Map.of}: they are unmodifiable (the mutator methods of {@code
+ * Map} throw {@code UnsupportedOperationException}), they disallow
+ * {@code null} keys and values, they are thread-safe, and their
+ * iteration order is unspecified.  Persistent maps are not
+ * serializable.
+ *
+ * <pre> {@code
+ * volatile PersistentMap<String, Route> routes = PersistentMap.of();
+ *
+ * void addRoute(String path, Route route) {   // single writer
+ *     routes = routes.with(path, route);
+ * }}</pre>
+ *
+ * @implNote The implementation is a hash array mapped trie.  The
+ * {@code get}, {@code containsKey}, {@code with} and {@code without}
+ * operations take O(log<sub>32</sub>(n)) time.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ * @see PersistentSet
+ * @see PersistentList
+ * @since 18
+ */
+public interface PersistentMap<K,V> extends Map<K,V> {
+
+    /**
+     * Returns a persistent map containing the mappings of this map,
+     * with the specified key mapped to the specified value.
+     *
+     * @param key the key
+     * @param value the value to be associated with the key
+     * @return a map with the mapping; this map if the key is already
+     *         mapped to the same value instance
+     * @throws NullPointerException if the key or value is {@code null}
+     */
+    PersistentMap<K,V> with(K key, V value);
+
+    /**
+     * Returns a persistent map containing the mappings of this map,
+     * except for any mapping for the specified key.
+     *
+     * @param key the key
+     * @return a map without a mapping for the key; this map if there
+     *         was no such mapping
+     */
+    PersistentMap<K,V> without(Object key);
+
+    /**
+     * Returns a persistent map containing the mappings of this map,
+     * updated with all of the mappings of the specified map.
+     *
+     * @param map the mappings to be added
+     * @return a map with the added mappings
+     * @throws NullPointerException if the specified map is null, or if
+     *         it contains any {@code null} keys or values
+     */
+    PersistentMap<K,V> withAll(Map<? extends K, ? extends V> map);
+
+    /**
+     * Returns a new builder initialized with the mappings of this map.
+     *
+     * @return a new builder
+     */
+    Builder<K,V> toBuilder();
+
+    /**
+     * A mutable builder of persistent maps.  A builder starts from the
+     * mappings of a persistent map and updates them in place, copying
+     * each internal node of the original at most once.  A builder may
+     * continue to be used after {@link #build}; later updates do not
+     * affect previously built maps.
+     *
+     * <p>Builders are not thread-safe.
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     * @since 18
+     */
+    interface Builder<K,V> {
+        /**
+         * Maps the specified key to the specified value.
+         *
+         * @param key the key
+         * @param value the value
+         * @return this builder
+         * @throws NullPointerException if the key or value is {@code null}
+         */
+        Builder<K,V> put(K key, V value);
+
+        /**
+         * Removes the mapping for the specified key, if present.
+         *
+         * @param key the key
+         * @return this builder
+         */
+        Builder<K,V> remove(Object key);
+
+        /**
+         * Returns the value to which the specified key is mapped, or
+         * {@code null} if there is no mapping for the key.
+         *
+         * @param key the key
+         * @return the mapped value, or {@code null}
+         */
+        V get(Object key);
+
+        /**
+         * Returns the number of mappings in this builder.
+         *
+         * @return the number of mappings
+         */
+        int size();
+
+        /**
+         * Returns a persistent map containing the current mappings of
+         * this builder.
+         *
+         * @return a persistent map
+         */
+        PersistentMap<K,V> build();
+    }
+
+    /**
+     * Returns an empty persistent map.
+     *
+     * @param <K> the map's key type
+     * @param <V> the map's value type
+     * @return an empty persistent map
+     */
+    @SuppressWarnings("unchecked")
+    static <K,V> PersistentMap<K,V> of() {
+        return (PersistentMap<K,V>) PersistentCollections.HamtMap.EMPTY;
+    }
+
+    /**
+     * Returns a persistent map containing the mappings of the given map.
+     * If the given map is itself a persistent map created by this
+     * interface, it is returned.
+     *
+     * @param <K> the map's key type
+     * @param <V> the map's value type
+     * @param map the map from which mappings are drawn
+     * @return a persistent map containing the mappings of the given map
+     * @throws NullPointerException if the map is null, or if it contains
+     *         any {@code null} keys or values
+     */
+    @SuppressWarnings("unchecked")
+    static <K,V> PersistentMap<K,V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentCollections.HamtMap)
+            return (PersistentMap<K,V>) map;
+        return PersistentMap.<K,V>of().withAll(map);
+    }
+
+    /**
+     * Returns a new builder with no mappings.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return a new builder
+     */
+    static <K,V> Builder<K,V> builder() {
+        return PersistentMap.<K,V>of().toBuilder();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+/**
+ * An unmodifiable {@link Set} whose "modified copies" share structure
+ * with the original.  The {@link #with with}, {@link #without without}
+ * and {@link #withAll withAll} methods leave this set unchanged and
+ * return a new set reflecting the update, in effectively constant time
+ * and space; see {@link PersistentMap} for details.
+ *
+ * <p>Persistent sets have the same characteristics as the
+ * <a href="Set.html#unmodifiable">unmodifiable sets</a> returned by
+ * {@code Set.of}: they are unmodifiable, they disallow {@code null}
+ * elements, they are thread-safe, and their iteration order is
+ * unspecified.  Persistent sets are not serializable.
+ *
+ * @implNote The implementation is a hash array mapped trie.  The
+ * {@code contains}, {@code with} and {@code without} operations take
+ * O(log<sub>32</sub>(n)) time.
+ *
+ * @param <E> the type of elements maintained by this set
+ * @see PersistentMap
+ * @since 18
+ */
+public interface PersistentSet<E> extends Set<E> {
+
+    /**
+     * Returns a persistent set containing the elements of this set and
+     * the specified element.
+     *
+     * @param e the element to be added
+     * @return a set containing the element; this set if it was already
+     *         present
+     * @throws NullPointerException if the element is {@code null}
+     */
+    PersistentSet<E> with(E e);
+
+    /**
+     * Returns a persistent set containing the elements of this set,
+     * except for the specified element.
+     *
+     * @param o the element to be removed
+     * @return a set without the element; this set if it was not present
+     */
+    PersistentSet<E> without(Object o);
+
+    /**
+     * Returns a persistent set containing the elements of this set and
+     * all of the elements of the specified collection.
+     *
+     * @param c the elements to be added
+     * @return a set containing the added elements
+     * @throws NullPointerException if the collection is null, or if it
+     *         contains any {@code null} elements
+     */
+    PersistentSet<E> withAll(Collection<? extends E> c);
+
+    /**
+     * Returns a new builder initialized with the elements of this set.
+     *
+     * @return a new builder
+     */
+    Builder<E> toBuilder();
+
+    /**
+     * A mutable builder of persistent sets; see {@link PersistentMap.Builder}.
+     *
+     * <p>Builders are not thread-safe.
+     *
+     * @param <E> the type of elements
+     * @since 18
+     */
+    interface Builder<E> {
+        /**
+         * Adds the specified element, if not already present.
+         *
+         * @param e the element
+         * @return this builder
+         * @throws NullPointerException if the element is {@code null}
+         */
+        Builder<E> add(E e);
+
+        /**
+         * Removes the specified element, if present.
+         *
+         * @param o the element
+         * @return this builder
+         */
+        Builder<E> remove(Object o);
+
+        /**
+         * Returns {@code true} if this builder contains the specified
+         * element.
+         *
+         * @param o the element
+         * @return {@code true} if the element is present
+         */
+        boolean contains(Object o);
+
+        /**
+         * Returns the number of elements in this builder.
+         *
+         * @return the number of elements
+         */
+        int size();
+
+        /**
+         * Returns a persistent set containing the current elements of
+         * this builder.
+         *
+         * @return a persistent set
+         */
+        PersistentSet<E> build();
+    }
+
+    /**
+     * Returns an empty persistent set.
+     *
+     * @param <E> the set's element type
+     * @return an empty persistent set
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentSet<E> of() {
+        return (PersistentSet<E>) PersistentCollections.HamtSet.EMPTY;
+    }
+
+    /**
+     * Returns a persistent set containing the elements of the given
+     * collection.  If the given collection is itself a persistent set
+     * created by this interface, it is returned.
+     *
+     * @param <E> the set's element type
+     * @param coll the collection from which elements are drawn
+     * @return a persistent set containing the elements of the collection
+     * @throws NullPointerException if the collection is null, or if it
+     *         contains any {@code null} elements
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentSet<E> copyOf(Collection<? extends E> coll) {
+        if (coll instanceof PersistentCollections.HamtSet)
+            return (PersistentSet<E>) coll;
+        return PersistentSet.<E>of().withAll(coll);
+    }
+
+    /**
+     * Returns a new builder with no elements.
+     *
+     * @param <E> the element type
+     * @return a new builder
+     */
+    static <E> Builder<E> builder() {
+        return PersistentSet.<E>of().toBuilder();
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util;
+
+import java.lang.ref.Cleaner.Cleanable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimingWheelScheduledExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongHistogram;
+import jdk.internal.ref.CleanerFactory;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A {@link Timer} that keeps scheduled tasks in several {@linkplain
+ * TimingWheelScheduledExecutor timing wheels} ("shards") and runs them
+ * on a pool of threads, for use in place of {@code Timer} by code
+ * that cannot easily be converted to a {@link
+ * java.util.concurrent.ScheduledExecutorService}.
+ *
+ * <p>A {@code ShardedTimer} honors the contract of every {@code Timer}
+ * method, with these differences:
+ *
+ * <ul>
+ * <li>Tasks run concurrently, in up to the number of worker threads
+ * given at construction, so a task that takes a long time to complete
+ * does not delay other tasks.  Executions of a single repeating task
+ * never overlap.
+ *
+ * <li>Scheduling a task does not acquire any lock shared with other
+ * tasks; each task is assigned to a shard at random.  A task runs at
+ * the first tick (of one millisecond) at or after its scheduled time.
+ *
+ * <li>{@link TimerTask#cancel} promptly removes a task from this timer
+ * rather than when it comes due, so {@link #purge} has nothing to
+ * remove, and always returns zero.
+ *
+ * <li>An exception thrown by a task suppresses further executions of
+ * that task only, rather than terminating the timer.
+ *
+ * <li>After {@link #cancel} returns, no task execution starts, but
+ * executions already in progress in other threads may continue.
+ *
+ * <li>If the timer becomes unreachable, its threads terminate once its
+ * pending one-time tasks have run; pending repeating tasks are
+ * discarded.
+ * </ul>
+ *
+ * <p>Each shard has a thread of its own.  A shard thread wakes up only
+ * when one of its tasks comes due or is cancelled, plus about four
+ * times a second while the shard has any pending task, and not at all
+ * while it has none.  A timer holding only tasks due far in the future thus costs
+ * a few wakeups per second per shard, rather than one per millisecond.
+ *
+ * <p>The timer also records the <em>drift</em> of every execution,
+ * the time between the moment an execution was scheduled to start
+ * and the moment it actually started, which can be inspected with
+ * {@link #getDriftStatistics}.
+ *
+ * @see TimerTask
+ * @see TimingWheelScheduledExecutor
+ * @since 18
+ */
+public class ShardedTimer extends Timer {
+    /*
+     * Tasks are wrapped in Runners scheduled on a randomly chosen
+     * shard.  The state of the TimerTask itself is maintained under
+     * its lock as in Timer, so scheduledExecutionTime works as usual,
+     * and a Runner finding its task cancelled does not run it.  The
+     * future of the Runner is recorded in the task (under its lock,
+     * while the task is being scheduled) so that TimerTask.cancel
+     * cancels it too, removing it from its wheel.
+     *
+     * Runners reference only the task and the Shared state, not the
+     * timer, so that the timer can become unreachable while tasks are
+     * pending, in which case a Cleaner shuts down the shards.
+     */
+
+    /** State shared by the timer and its Runners. */
+    static final class Shared {
+        /** Set by cancel; stops executions from starting */
+        volatile boolean cancelled;
+        /** Execution drift in nanoseconds */
+        final LongHistogram drift = new LongHistogram();
+    }
+
+    private final Shared shared = new Shared();
+
+    /** The timing wheels */
+    private final TimingWheelScheduledExecutor[] shards;
+
+    /** The pool running tasks when they come due */
+    private final ThreadPoolExecutor workers;
+
+    /** Shuts down the shards, when unreachable or cancelled */
+    private final Cleanable cleanup;
+
+    /** Seconds that idle worker threads wait before terminating */
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 10L;
+
+    /**
+     * Creates a new timer with a number of shards and worker threads
+     * based on the number of available processors.  The associated
+     * threads do not {@linkplain Thread#setDaemon run as daemons}.
+     */
+    public ShardedTimer() {
+        this("Timer-" + serialNumber());
+    }
+
+    /**
+     * Creates a new timer with a number of shards and worker threads
+     * based on the number of available processors, whose associated
+     * threads may be specified to {@linkplain Thread#setDaemon run as
+     * daemons}.
+     *
+     * @param isDaemon true if the associated threads should run as daemons.
+     */
+    public ShardedTimer(boolean isDaemon) {
+        this("Timer-" + serialNumber(), isDaemon);
+    }
+
+    /**
+     * Creates a new timer with a number of shards and worker threads
+     * based on the number of available processors, whose associated
+     * threads have names beginning with the specified name.  The
+     * associated threads do not {@linkplain Thread#setDaemon run as
+     * daemons}.
+     *
+     * @param name the prefix of the names of the associated threads
+     * @throws NullPointerException if {@code name} is null
+     */
+    public ShardedTimer(String name) {
+        this(name, false);
+    }
+
+    /**
+     * Creates a new timer with a number of shards and worker threads
+     * based on the number of available processors, whose associated
+     * threads have names beginning with the specified name, and may
+     * be specified to {@linkplain Thread#setDaemon run as daemons}.
+     *
+     * @param name the prefix of the names of the associated threads
+     * @param isDaemon true if the associated threads should run as daemons
+     * @throws NullPointerException if {@code name} is null
+     */
+    public ShardedTimer(String name, boolean isDaemon) {
+        this(name, isDaemon, defaultShards(),
+             Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Creates a new timer with the given numbers of shards and worker
+     * threads, whose associated threads have names beginning with the
+     * specified name, and may be specified to {@linkplain
+     * Thread#setDaemon run as daemons}.  Each shard has a thread of
+     * its own that advances its timing wheel.  Idle worker threads
+     * terminate after a few seconds, and are re-created as needed.
+     *
+     * @param name the prefix of the names of the associated threads
+     * @param isDaemon true if the associated threads should run as daemons
+     * @param shards the number of timing wheels
+     * @param workerThreads the maximum number of tasks run concurrently
+     * @throws IllegalArgumentException if {@code shards} or
+     *         {@code workerThreads} is not positive
+     * @throws NullPointerException if {@code name} is null
+     */
+    public ShardedTimer(String name, boolean isDaemon,
+                        int shards, int workerThreads) {
+        super((Void)null);
+        Objects.requireNonNull(name);
+        if (shards <= 0 || workerThreads <= 0)
+            throw new IllegalArgumentException();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            workerThreads, workerThreads,
+            WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            threadFactory(name + "-worker-", isDaemon));
+        pool.allowCoreThreadTimeOut(true);
+        TimingWheelScheduledExecutor[] ss =
+            new TimingWheelScheduledExecutor[shards];
+        for (int i = 0; i < shards; ++i)
+            ss[i] = new TimingWheelScheduledExecutor(
+                1L, MILLISECONDS, pool,
+                threadFactory(name + "-ticker-" + i + "-", isDaemon));
+        this.workers = pool;
+        this.shards = ss;
+        this.cleanup = CleanerFactory.cleaner().register(this, () -> {
+            for (TimingWheelScheduledExecutor s : ss)
+                s.shutdown();
+        });
+    }
+
+    private static int defaultShards() {
+        return Math.min(4, (Runtime.getRuntime().availableProcessors() + 3) >>> 2);
+    }
+
+    private static ThreadFactory threadFactory(String prefix,
+                                               boolean isDaemon) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + count.getAndIncrement());
+            t.setDaemon(isDaemon);
+            return t;
+        };
+    }
+
+    /**
+     * Wraps a TimerTask for execution by a shard.
+     */
+    static final class Runner implements Runnable {
+        final TimerTask task;
+        final Shared shared;
+        /** As in TimerTask: positive if fixed-rate, negative if fixed-delay */
+        final long period;
+        /** The System.nanoTime at which the next execution is due */
+        long due;
+        /** The future of this Runner, set while holding task.lock */
+        ScheduledFuture<?> future;
+
+        Runner(TimerTask task, Shared shared, long due, long period) {
+            this.task = task;
+            this.shared = shared;
+            this.due = due;
+            this.period = period;
+        }
+
+        public void run() {
+            TimerTask t = task;
+            long p = period;
+            synchronized (t.lock) {
+                if (t.state == TimerTask.CANCELLED || shared.cancelled) {
+                    future.cancel(false);
+                    return;
+                }
+                if (p == 0L) {
+                    t.state = TimerTask.EXECUTED;
+                    t.future = null;
+                } else {
+                    t.nextExecutionTime = (p < 0L)
+                        ? System.currentTimeMillis() - p
+                        : t.nextExecutionTime + p;
+                }
+            }
+            long now = System.nanoTime();
+            shared.drift.record(Math.max(0L, now - due));
+            if (p > 0L)
+                due += MILLISECONDS.toNanos(p);
+            try {
+                t.run();
+            } finally {
+                if (p < 0L)
+                    due = System.nanoTime() + MILLISECONDS.toNanos(-p);
+            }
+        }
+    }
+
+    /**
+     * Schedules task for execution at the given time, with the given
+     * period, which is positive for fixed-rate and negative for
+     * fixed-delay execution, or zero for one-time execution.
+     */
+    private void sched(TimerTask task, long time, long period) {
+        if (time < 0)
+            throw new IllegalArgumentException("Illegal execution time.");
+
+        // Constrain value of period sufficiently to prevent numeric
+        // overflow while still being effectively infinitely large.
+        if (Math.abs(period) > (Long.MAX_VALUE >> 1))
+            period >>= 1;
+
+        long delay = Math.max(0L, time - System.currentTimeMillis());
+        Runner r = new Runner(task, shared,
+                              System.nanoTime() + MILLISECONDS.toNanos(delay),
+                              period);
+        TimingWheelScheduledExecutor shard =
+            shards[ThreadLocalRandom.current().nextInt(shards.length)];
+        synchronized (task.lock) {
+            if (shared.cancelled)
+                throw new IllegalStateException("Timer already cancelled.");
+            if (task.state != TimerTask.VIRGIN)
+                throw new IllegalStateException(
+                    "Task already scheduled or cancelled");
+            try {
+                r.future = (period == 0L)
+                    ? shard.schedule(r, delay, MILLISECONDS)
+                    : (period > 0L)
+                    ? shard.scheduleAtFixedRate(r, delay, period, MILLISECONDS)
+                    : shard.scheduleWithFixedDelay(r, delay, -period,
+                                                   MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
+                throw new IllegalStateException("Timer already cancelled.");
+            }
+            task.future = r.future;
+            task.nextExecutionTime = time;
+            task.period = period;
+            task.state = TimerTask.SCHEDULED;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void schedule(TimerTask task, long delay) {
+        if (delay < 0)
+            throw new IllegalArgumentException("Negative delay.");
+        sched(task, System.currentTimeMillis()+delay, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void schedule(TimerTask task, Date time) {
+        sched(task, time.getTime(), 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void schedule(TimerTask task, long delay, long period) {
+        if (delay < 0)
+            throw new IllegalArgumentException("Negative delay.");
+        if (period <= 0)
+            throw new IllegalArgumentException("Non-positive period.");
+        sched(task, System.currentTimeMillis()+delay, -period);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void schedule(TimerTask task, Date firstTime, long period) {
+        if (period <= 0)
+            throw new IllegalArgumentException("Non-positive period.");
+        sched(task, firstTime.getTime(), -period);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void scheduleAtFixedRate(TimerTask task, long delay, long period) {
+        if (delay < 0)
+            throw new IllegalArgumentException("Negative delay.");
+        if (period <= 0)
+            throw new IllegalArgumentException("Non-positive period.");
+        sched(task, System.currentTimeMillis()+delay, period);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void scheduleAtFixedRate(TimerTask task, Date firstTime,
+                                    long period) {
+        if (period <= 0)
+            throw new IllegalArgumentException("Non-positive period.");
+        sched(task, firstTime.getTime(), period);
+    }
+
+    /**
+     * Terminates this timer, discarding any currently scheduled tasks.
+     * No task execution starts after this method returns, but
+     * executions in progress in other threads are not interrupted.
+     * Once a timer has been terminated, its threads terminate
+     * gracefully, and no more tasks may be scheduled on it.
+     *
+     * <p>This method may be called repeatedly; the second and subsequent
+     * calls have no effect.
+     */
+    @Override
+    public void cancel() {
+        shared.cancelled = true;
+        for (TimingWheelScheduledExecutor s : shards)
+            s.shutdownNow();
+        workers.shutdown();
+        cleanup.clean();
+    }
+
+    /**
+     * Returns zero, since cancelled tasks are removed from this timer
+     * when they are cancelled.
+     *
+     * @return zero
+     */
+    @Override
+    public int purge() {
+        return 0;
+    }
+
+    /**
+     * Returns a snapshot of the drift of the task executions performed
+     * by this timer: for each execution, the time in nanoseconds by
+     * which it started later than scheduled.  For fixed-rate tasks, an
+     * execution is scheduled at a multiple of the period after the
+     * first; for fixed-delay tasks, it is scheduled one period after
+     * the previous execution completed.
+     *
+     * @return a snapshot of the execution drift, in nanoseconds
+     */
+    public LongHistogram.Snapshot getDriftStatistics() {
+        return shared.drift.snapshot();
+    }
+
+    /**
+     * Resets the statistics returned by {@link #getDriftStatistics}.
+     */
+    public void resetDriftStatistics() {
+        shared.drift.reset();
+    }
+}
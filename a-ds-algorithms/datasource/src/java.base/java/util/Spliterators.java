@@ -29,6 +29,9 @@ import java.util.function.DoubleConsumer;
 import java.util.function.IntConsumer;
 import java.util.function.LongConsumer;
 
+import jdk.internal.access.JavaUtilSpliteratorsAccess;
+import jdk.internal.access.SharedSecrets;
+
 /**
  * Static classes and methods for operating on or creating instances of
  * {@link Spliterator} and its primitive specializations
@@ -43,6 +46,21 @@ public final class Spliterators {
     // Suppresses default constructor, ensuring non-instantiability.
     private Spliterators() {}
 
+    static {
+        SharedSecrets.setJavaUtilSpliteratorsAccess(new JavaUtilSpliteratorsAccess() {
+            public Object takeArrayRange(Spliterator<?> spliterator, int[] range) {
+                if (spliterator instanceof IntArraySpliterator s)
+                    return s.take(range);
+                else if (spliterator instanceof LongArraySpliterator s)
+                    return s.take(range);
+                else if (spliterator instanceof DoubleArraySpliterator s)
+                    return s.take(range);
+                else
+                    return null;
+            }
+        });
+    }
+
     // Empty spliterators
 
     /**
@@ -945,6 +963,7 @@ public final class Spliterators {
         private int index;        // current index, modified on advance/split
         private final int fence;  // one past last index
         private final int characteristics;
+        private final BatchSizer sizer; // receives traversal costs, or null
 
         /**
          * Creates a spliterator covering all of the given array.
@@ -967,10 +986,21 @@ public final class Spliterators {
          * {@code SUBSIZED} which are always reported
          */
         public ArraySpliterator(Object[] array, int origin, int fence, int additionalCharacteristics) {
+            this(array, origin, fence, additionalCharacteristics, null);
+        }
+
+        /**
+         * Creates a spliterator covering the given array and range, that
+         * tells the given batch sizer the time taken by traversals with
+         * {@code forEachRemaining}.  Spliterators split from it do so too.
+         */
+        ArraySpliterator(Object[] array, int origin, int fence, int additionalCharacteristics,
+                         BatchSizer sizer) {
             this.array = array;
             this.index = origin;
             this.fence = fence;
             this.characteristics = additionalCharacteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+            this.sizer = sizer;
         }
 
         @Override
@@ -978,7 +1008,7 @@ public final class Spliterators {
             int lo = index, mid = (lo + fence) >>> 1;
             return (lo >= mid)
                    ? null
-                   : new ArraySpliterator<>(array, lo, index = mid, characteristics);
+                   : new ArraySpliterator<>(array, lo, index = mid, characteristics, sizer);
         }
 
         @SuppressWarnings("unchecked")
@@ -989,7 +1019,15 @@ public final class Spliterators {
                 throw new NullPointerException();
             if ((a = array).length >= (hi = fence) &&
                 (i = index) >= 0 && i < (index = hi)) {
-                do { action.accept((T)a[i]); } while (++i < hi);
+                BatchSizer sz = sizer;
+                if (sz == null)
+                    do { action.accept((T)a[i]); } while (++i < hi);
+                else {
+                    int n = hi - i;
+                    long start = System.nanoTime();
+                    do { action.accept((T)a[i]); } while (++i < hi);
+                    sz.report(System.nanoTime() - start, n);
+                }
             }
         }
 
@@ -1030,6 +1068,7 @@ public final class Spliterators {
         private int index;        // current index, modified on advance/split
         private final int fence;  // one past last index
         private final int characteristics;
+        private final BatchSizer sizer; // receives traversal costs, or null
 
         /**
          * Creates a spliterator covering all of the given array.
@@ -1052,10 +1091,21 @@ public final class Spliterators {
          *        {@code SUBSIZED} which are always reported
          */
         public IntArraySpliterator(int[] array, int origin, int fence, int additionalCharacteristics) {
+            this(array, origin, fence, additionalCharacteristics, null);
+        }
+
+        /**
+         * Creates a spliterator covering the given array and range, that
+         * tells the given batch sizer the time taken by traversals with
+         * {@code forEachRemaining}.  Spliterators split from it do so too.
+         */
+        IntArraySpliterator(int[] array, int origin, int fence, int additionalCharacteristics,
+                            BatchSizer sizer) {
             this.array = array;
             this.index = origin;
             this.fence = fence;
             this.characteristics = additionalCharacteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+            this.sizer = sizer;
         }
 
         @Override
@@ -1063,7 +1113,7 @@ public final class Spliterators {
             int lo = index, mid = (lo + fence) >>> 1;
             return (lo >= mid)
                    ? null
-                   : new IntArraySpliterator(array, lo, index = mid, characteristics);
+                   : new IntArraySpliterator(array, lo, index = mid, characteristics, sizer);
         }
 
         @Override
@@ -1073,7 +1123,15 @@ public final class Spliterators {
                 throw new NullPointerException();
             if ((a = array).length >= (hi = fence) &&
                 (i = index) >= 0 && i < (index = hi)) {
-                do { action.accept(a[i]); } while (++i < hi);
+                BatchSizer sz = sizer;
+                if (sz == null)
+                    do { action.accept(a[i]); } while (++i < hi);
+                else {
+                    int n = hi - i;
+                    long start = System.nanoTime();
+                    do { action.accept(a[i]); } while (++i < hi);
+                    sz.report(System.nanoTime() - start, n);
+                }
             }
         }
 
@@ -1088,6 +1146,20 @@ public final class Spliterators {
             return false;
         }
 
+        /**
+         * Claims the remaining elements for traversal by the caller, as
+         * with {@link JavaUtilSpliteratorsAccess#takeArrayRange}.
+         */
+        int[] take(int[] range) {
+            int i = index, hi = fence;
+            if (i < 0 || i >= hi || array.length < hi)
+                return null;
+            index = hi;
+            range[0] = i;
+            range[1] = hi;
+            return array;
+        }
+
         @Override
         public long estimateSize() { return (long)(fence - index); }
 
@@ -1113,6 +1185,7 @@ public final class Spliterators {
         private int index;        // current index, modified on advance/split
         private final int fence;  // one past last index
         private final int characteristics;
+        private final BatchSizer sizer; // receives traversal costs, or null
 
         /**
          * Creates a spliterator covering all of the given array.
@@ -1135,10 +1208,21 @@ public final class Spliterators {
          *        {@code SUBSIZED} which are always reported
          */
         public LongArraySpliterator(long[] array, int origin, int fence, int additionalCharacteristics) {
+            this(array, origin, fence, additionalCharacteristics, null);
+        }
+
+        /**
+         * Creates a spliterator covering the given array and range, that
+         * tells the given batch sizer the time taken by traversals with
+         * {@code forEachRemaining}.  Spliterators split from it do so too.
+         */
+        LongArraySpliterator(long[] array, int origin, int fence, int additionalCharacteristics,
+                             BatchSizer sizer) {
             this.array = array;
             this.index = origin;
             this.fence = fence;
             this.characteristics = additionalCharacteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+            this.sizer = sizer;
         }
 
         @Override
@@ -1146,7 +1230,7 @@ public final class Spliterators {
             int lo = index, mid = (lo + fence) >>> 1;
             return (lo >= mid)
                    ? null
-                   : new LongArraySpliterator(array, lo, index = mid, characteristics);
+                   : new LongArraySpliterator(array, lo, index = mid, characteristics, sizer);
         }
 
         @Override
@@ -1156,7 +1240,15 @@ public final class Spliterators {
                 throw new NullPointerException();
             if ((a = array).length >= (hi = fence) &&
                 (i = index) >= 0 && i < (index = hi)) {
-                do { action.accept(a[i]); } while (++i < hi);
+                BatchSizer sz = sizer;
+                if (sz == null)
+                    do { action.accept(a[i]); } while (++i < hi);
+                else {
+                    int n = hi - i;
+                    long start = System.nanoTime();
+                    do { action.accept(a[i]); } while (++i < hi);
+                    sz.report(System.nanoTime() - start, n);
+                }
             }
         }
 
@@ -1171,6 +1263,20 @@ public final class Spliterators {
             return false;
         }
 
+        /**
+         * Claims the remaining elements for traversal by the caller, as
+         * with {@link JavaUtilSpliteratorsAccess#takeArrayRange}.
+         */
+        long[] take(int[] range) {
+            int i = index, hi = fence;
+            if (i < 0 || i >= hi || array.length < hi)
+                return null;
+            index = hi;
+            range[0] = i;
+            range[1] = hi;
+            return array;
+        }
+
         @Override
         public long estimateSize() { return (long)(fence - index); }
 
@@ -1196,6 +1302,7 @@ public final class Spliterators {
         private int index;        // current index, modified on advance/split
         private final int fence;  // one past last index
         private final int characteristics;
+        private final BatchSizer sizer; // receives traversal costs, or null
 
         /**
          * Creates a spliterator covering all of the given array.
@@ -1218,10 +1325,21 @@ public final class Spliterators {
          *        {@code SUBSIZED} which are always reported
          */
         public DoubleArraySpliterator(double[] array, int origin, int fence, int additionalCharacteristics) {
+            this(array, origin, fence, additionalCharacteristics, null);
+        }
+
+        /**
+         * Creates a spliterator covering the given array and range, that
+         * tells the given batch sizer the time taken by traversals with
+         * {@code forEachRemaining}.  Spliterators split from it do so too.
+         */
+        DoubleArraySpliterator(double[] array, int origin, int fence, int additionalCharacteristics,
+                               BatchSizer sizer) {
             this.array = array;
             this.index = origin;
             this.fence = fence;
             this.characteristics = additionalCharacteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+            this.sizer = sizer;
         }
 
         @Override
@@ -1229,7 +1347,7 @@ public final class Spliterators {
             int lo = index, mid = (lo + fence) >>> 1;
             return (lo >= mid)
                    ? null
-                   : new DoubleArraySpliterator(array, lo, index = mid, characteristics);
+                   : new DoubleArraySpliterator(array, lo, index = mid, characteristics, sizer);
         }
 
         @Override
@@ -1239,7 +1357,15 @@ public final class Spliterators {
                 throw new NullPointerException();
             if ((a = array).length >= (hi = fence) &&
                 (i = index) >= 0 && i < (index = hi)) {
-                do { action.accept(a[i]); } while (++i < hi);
+                BatchSizer sz = sizer;
+                if (sz == null)
+                    do { action.accept(a[i]); } while (++i < hi);
+                else {
+                    int n = hi - i;
+                    long start = System.nanoTime();
+                    do { action.accept(a[i]); } while (++i < hi);
+                    sz.report(System.nanoTime() - start, n);
+                }
             }
         }
 
@@ -1254,6 +1380,20 @@ public final class Spliterators {
             return false;
         }
 
+        /**
+         * Claims the remaining elements for traversal by the caller, as
+         * with {@link JavaUtilSpliteratorsAccess#takeArrayRange}.
+         */
+        double[] take(int[] range) {
+            int i = index, hi = fence;
+            if (i < 0 || i >= hi || array.length < hi)
+                return null;
+            index = hi;
+            range[0] = i;
+            range[1] = hi;
+            return array;
+        }
+
         @Override
         public long estimateSize() { return (long)(fence - index); }
 
@@ -1298,11 +1438,9 @@ public final class Spliterators {
      * @since 1.8
      */
     public abstract static class AbstractSpliterator<T> implements Spliterator<T> {
-        static final int BATCH_UNIT = 1 << 10;  // batch array size increment
-        static final int MAX_BATCH = 1 << 25;  // max batch array size;
         private final int characteristics;
         private long est;             // size estimate
-        private int batch;            // batch size for splits
+        private BatchSizer sizer;     // batch sizes for splits; lazily created
 
         /**
          * Creates a spliterator reporting the given estimated size and
@@ -1338,33 +1476,26 @@ public final class Spliterators {
         @Override
         public Spliterator<T> trySplit() {
             /*
-             * Split into arrays of arithmetically increasing batch
-             * sizes.  This will only improve parallel performance if
-             * per-element Consumer actions are more costly than
-             * transferring them into an array.  The use of an
-             * arithmetic progression in split sizes provides overhead
-             * vs parallelism bounds that do not particularly favor or
-             * penalize cases of lightweight vs heavyweight element
-             * operations, across combinations of #elements vs #cores,
-             * whether or not either are known.  We generate
-             * O(sqrt(#elements)) splits, allowing O(sqrt(#cores))
-             * potential speedup.
+             * Split into arrays of batch sizes chosen by a BatchSizer,
+             * which adapts them to the rate at which earlier batches
+             * are consumed.  This will only improve parallel
+             * performance if per-element Consumer actions are more
+             * costly than transferring them into an array.
              */
             HoldingConsumer<T> holder = new HoldingConsumer<>();
             long s = est;
             if (s > 1 && tryAdvance(holder)) {
-                int n = batch + BATCH_UNIT;
-                if (n > s)
-                    n = (int) s;
-                if (n > MAX_BATCH)
-                    n = MAX_BATCH;
+                BatchSizer b;
+                if ((b = sizer) == null)
+                    sizer = b = new BatchSizer();
+                int n = b.next(s);
                 Object[] a = new Object[n];
                 int j = 0;
                 do { a[j] = holder.value; } while (++j < n && tryAdvance(holder));
-                batch = j;
+                b.issued(j);
                 if (est != Long.MAX_VALUE)
                     est -= j;
-                return new ArraySpliterator<>(a, 0, j, characteristics());
+                return new ArraySpliterator<>(a, 0, j, characteristics(), b);
             }
             return null;
         }
@@ -1421,11 +1552,9 @@ public final class Spliterators {
      * @since 1.8
      */
     public abstract static class AbstractIntSpliterator implements Spliterator.OfInt {
-        static final int MAX_BATCH = AbstractSpliterator.MAX_BATCH;
-        static final int BATCH_UNIT = AbstractSpliterator.BATCH_UNIT;
         private final int characteristics;
         private long est;             // size estimate
-        private int batch;            // batch size for splits
+        private BatchSizer sizer;     // batch sizes for splits; lazily created
 
         /**
          * Creates a spliterator reporting the given estimated size and
@@ -1463,18 +1592,17 @@ public final class Spliterators {
             HoldingIntConsumer holder = new HoldingIntConsumer();
             long s = est;
             if (s > 1 && tryAdvance(holder)) {
-                int n = batch + BATCH_UNIT;
-                if (n > s)
-                    n = (int) s;
-                if (n > MAX_BATCH)
-                    n = MAX_BATCH;
+                BatchSizer b;
+                if ((b = sizer) == null)
+                    sizer = b = new BatchSizer();
+                int n = b.next(s);
                 int[] a = new int[n];
                 int j = 0;
                 do { a[j] = holder.value; } while (++j < n && tryAdvance(holder));
-                batch = j;
+                b.issued(j);
                 if (est != Long.MAX_VALUE)
                     est -= j;
-                return new IntArraySpliterator(a, 0, j, characteristics());
+                return new IntArraySpliterator(a, 0, j, characteristics(), b);
             }
             return null;
         }
@@ -1531,11 +1659,9 @@ public final class Spliterators {
      * @since 1.8
      */
     public abstract static class AbstractLongSpliterator implements Spliterator.OfLong {
-        static final int MAX_BATCH = AbstractSpliterator.MAX_BATCH;
-        static final int BATCH_UNIT = AbstractSpliterator.BATCH_UNIT;
         private final int characteristics;
         private long est;             // size estimate
-        private int batch;            // batch size for splits
+        private BatchSizer sizer;     // batch sizes for splits; lazily created
 
         /**
          * Creates a spliterator reporting the given estimated size and
@@ -1573,18 +1699,17 @@ public final class Spliterators {
             HoldingLongConsumer holder = new HoldingLongConsumer();
             long s = est;
             if (s > 1 && tryAdvance(holder)) {
-                int n = batch + BATCH_UNIT;
-                if (n > s)
-                    n = (int) s;
-                if (n > MAX_BATCH)
-                    n = MAX_BATCH;
+                BatchSizer b;
+                if ((b = sizer) == null)
+                    sizer = b = new BatchSizer();
+                int n = b.next(s);
                 long[] a = new long[n];
                 int j = 0;
                 do { a[j] = holder.value; } while (++j < n && tryAdvance(holder));
-                batch = j;
+                b.issued(j);
                 if (est != Long.MAX_VALUE)
                     est -= j;
-                return new LongArraySpliterator(a, 0, j, characteristics());
+                return new LongArraySpliterator(a, 0, j, characteristics(), b);
             }
             return null;
         }
@@ -1641,11 +1766,9 @@ public final class Spliterators {
      * @since 1.8
      */
     public abstract static class AbstractDoubleSpliterator implements Spliterator.OfDouble {
-        static final int MAX_BATCH = AbstractSpliterator.MAX_BATCH;
-        static final int BATCH_UNIT = AbstractSpliterator.BATCH_UNIT;
         private final int characteristics;
         private long est;             // size estimate
-        private int batch;            // batch size for splits
+        private BatchSizer sizer;     // batch sizes for splits; lazily created
 
         /**
          * Creates a spliterator reporting the given estimated size and
@@ -1683,18 +1806,17 @@ public final class Spliterators {
             HoldingDoubleConsumer holder = new HoldingDoubleConsumer();
             long s = est;
             if (s > 1 && tryAdvance(holder)) {
-                int n = batch + BATCH_UNIT;
-                if (n > s)
-                    n = (int) s;
-                if (n > MAX_BATCH)
-                    n = MAX_BATCH;
+                BatchSizer b;
+                if ((b = sizer) == null)
+                    sizer = b = new BatchSizer();
+                int n = b.next(s);
                 double[] a = new double[n];
                 int j = 0;
                 do { a[j] = holder.value; } while (++j < n && tryAdvance(holder));
-                batch = j;
+                b.issued(j);
                 if (est != Long.MAX_VALUE)
                     est -= j;
-                return new DoubleArraySpliterator(a, 0, j, characteristics());
+                return new DoubleArraySpliterator(a, 0, j, characteristics(), b);
             }
             return null;
         }
@@ -1727,19 +1849,107 @@ public final class Spliterators {
 
     // Iterator-based Spliterators
 
+    /**
+     * Chooses the sizes of the batches that spliterators without
+     * random access copy into arrays when splitting, such as those
+     * over iterators.  Such a spliterator is a sequential bottleneck:
+     * each split traverses a batch of elements, and the remainder is
+     * split again only once a thread is free to take it.
+     *
+     * <p>Sizes growing in a fixed arithmetic progression would issue
+     * a single batch for small sources however costly their elements
+     * are to process, and only O(sqrt(n)) batches for large sources
+     * however cheap they are.  Instead, the array spliterators of the
+     * batches measure the time taken to traverse them with {@code
+     * forEachRemaining}, which includes the processing of their
+     * elements by the stream pipeline, and report the cost per element
+     * here.  Each batch is then sized to take about TARGET_NANOS at
+     * that cost: large when elements are cheap, so that the splitting
+     * overhead is amortized, and small when elements are costly, so
+     * that they are spread over more threads.  Until a cost is known,
+     * batches keep their small initial size for about PROBE_NANOS,
+     * which gives the first ones time to report even if all of them
+     * are issued at once to idle threads.  After that, if still no
+     * cost is known, as when batches are only traversed by {@code
+     * tryAdvance}, their sizes grow in a slow arithmetic progression.
+     * Once a cost is known, they at most double from one split to the
+     * next.
+     *
+     * <p>Methods next and issued are only called by the splitting
+     * spliterator, which is handed between threads by the framework
+     * performing the parallel computation; report may be called by
+     * any thread traversing a batch.
+     */
+    static final class BatchSizer {
+        static final int BATCH_UNIT = 1 << 4;      // initial batch size and increment
+        static final int MAX_BATCH = 1 << 25;      // max batch array size
+        static final long TARGET_NANOS = 1L << 19; // ~0.5ms per batch
+        static final long PROBE_NANOS = 1L << 22;  // ~4ms to wait for a cost
+        private int batch;          // size of last batch, or 0 if none
+        private long firstSplit;    // System.nanoTime() at first split
+        private volatile long cost; // smoothed nanos per element, 0 if unknown
+
+        /**
+         * Returns the size of the next batch.
+         *
+         * @param remaining the remaining size estimate, at least 1,
+         *        or {@code Long.MAX_VALUE} if unknown
+         * @return the batch size, between 1 and {@code remaining}
+         */
+        int next(long remaining) {
+            long c = cost, b = batch, n;
+            if (c != 0L)
+                n = Math.max(Math.min(TARGET_NANOS / c, Math.max(b << 1, BATCH_UNIT)), 1L);
+            else if (b == 0L) {
+                firstSplit = System.nanoTime();
+                n = BATCH_UNIT;
+            }
+            else if (System.nanoTime() - firstSplit < PROBE_NANOS)
+                n = BATCH_UNIT;
+            else
+                n = b + BATCH_UNIT;
+            if (n > MAX_BATCH)
+                n = MAX_BATCH;
+            if (n > remaining)
+                n = remaining;
+            return (int) n;
+        }
+
+        /**
+         * Records the number of elements in the batch just issued.
+         *
+         * @param n the number of elements, which may be fewer than
+         *        requested if the source was exhausted
+         */
+        void issued(int n) {
+            batch = n;
+        }
+
+        /**
+         * Records the time taken to traverse some elements of a batch.
+         * Updates may race, in which case one of them is lost, which
+         * only delays the adaptation.
+         *
+         * @param nanos the elapsed time
+         * @param n the number of elements traversed, at least 1
+         */
+        void report(long nanos, int n) {
+            long c = Math.max(nanos / n, 1L), prev = cost;
+            cost = (prev == 0L) ? c : (prev + c) >>> 1;
+        }
+    }
+
     /**
      * A Spliterator using a given Iterator for element
      * operations. The spliterator implements {@code trySplit} to
      * permit limited parallelism.
      */
     static class IteratorSpliterator<T> implements Spliterator<T> {
-        static final int BATCH_UNIT = 1 << 10;  // batch array size increment
-        static final int MAX_BATCH = 1 << 25;  // max batch array size;
         private final Collection<? extends T> collection; // null OK
         private Iterator<? extends T> it;
         private final int characteristics;
         private long est;             // size estimate
-        private int batch;            // batch size for splits
+        private BatchSizer sizer;     // batch sizes for splits; lazily created
 
         /**
          * Creates a spliterator using the given
@@ -1797,17 +2007,11 @@ public final class Spliterators {
         @Override
         public Spliterator<T> trySplit() {
             /*
-             * Split into arrays of arithmetically increasing batch
-             * sizes.  This will only improve parallel performance if
-             * per-element Consumer actions are more costly than
-             * transferring them into an array.  The use of an
-             * arithmetic progression in split sizes provides overhead
-             * vs parallelism bounds that do not particularly favor or
-             * penalize cases of lightweight vs heavyweight element
-             * operations, across combinations of #elements vs #cores,
-             * whether or not either are known.  We generate
-             * O(sqrt(#elements)) splits, allowing O(sqrt(#cores))
-             * potential speedup.
+             * Split into arrays of batch sizes chosen by a BatchSizer,
+             * which adapts them to the rate at which earlier batches
+             * are consumed.  This will only improve parallel
+             * performance if per-element Consumer actions are more
+             * costly than transferring them into an array.
              */
             Iterator<? extends T> i;
             long s;
@@ -1818,18 +2022,17 @@ public final class Spliterators {
             else
                 s = est;
             if (s > 1 && i.hasNext()) {
-                int n = batch + BATCH_UNIT;
-                if (n > s)
-                    n = (int) s;
-                if (n > MAX_BATCH)
-                    n = MAX_BATCH;
+                BatchSizer b;
+                if ((b = sizer) == null)
+                    sizer = b = new BatchSizer();
+                int n = b.next(s);
                 Object[] a = new Object[n];
                 int j = 0;
                 do { a[j] = i.next(); } while (++j < n && i.hasNext());
-                batch = j;
+                b.issued(j);
                 if (est != Long.MAX_VALUE)
                     est -= j;
-                return new ArraySpliterator<>(a, 0, j, characteristics);
+                return new ArraySpliterator<>(a, 0, j, characteristics, b);
             }
             return null;
         }
@@ -1885,12 +2088,10 @@ public final class Spliterators {
      * permit limited parallelism.
      */
     static final class IntIteratorSpliterator implements Spliterator.OfInt {
-        static final int BATCH_UNIT = IteratorSpliterator.BATCH_UNIT;
-        static final int MAX_BATCH = IteratorSpliterator.MAX_BATCH;
         private final PrimitiveIterator.OfInt it;
         private final int characteristics;
         private long est;             // size estimate
-        private int batch;            // batch size for splits
+        private BatchSizer sizer;     // batch sizes for splits; lazily created
 
         /**
          * Creates a spliterator using the given iterator
@@ -1930,18 +2131,17 @@ public final class Spliterators {
             PrimitiveIterator.OfInt i = it;
             long s = est;
             if (s > 1 && i.hasNext()) {
-                int n = batch + BATCH_UNIT;
-                if (n > s)
-                    n = (int) s;
-                if (n > MAX_BATCH)
-                    n = MAX_BATCH;
+                BatchSizer b;
+                if ((b = sizer) == null)
+                    sizer = b = new BatchSizer();
+                int n = b.next(s);
                 int[] a = new int[n];
                 int j = 0;
                 do { a[j] = i.nextInt(); } while (++j < n && i.hasNext());
-                batch = j;
+                b.issued(j);
                 if (est != Long.MAX_VALUE)
                     est -= j;
-                return new IntArraySpliterator(a, 0, j, characteristics);
+                return new IntArraySpliterator(a, 0, j, characteristics, b);
             }
             return null;
         }
@@ -1979,12 +2179,10 @@ public final class Spliterators {
     }
 
     static final class LongIteratorSpliterator implements Spliterator.OfLong {
-        static final int BATCH_UNIT = IteratorSpliterator.BATCH_UNIT;
-        static final int MAX_BATCH = IteratorSpliterator.MAX_BATCH;
         private final PrimitiveIterator.OfLong it;
         private final int characteristics;
         private long est;             // size estimate
-        private int batch;            // batch size for splits
+        private BatchSizer sizer;     // batch sizes for splits; lazily created
 
         /**
          * Creates a spliterator using the given iterator
@@ -2024,18 +2222,17 @@ public final class Spliterators {
             PrimitiveIterator.OfLong i = it;
             long s = est;
             if (s > 1 && i.hasNext()) {
-                int n = batch + BATCH_UNIT;
-                if (n > s)
-                    n = (int) s;
-                if (n > MAX_BATCH)
-                    n = MAX_BATCH;
+                BatchSizer b;
+                if ((b = sizer) == null)
+                    sizer = b = new BatchSizer();
+                int n = b.next(s);
                 long[] a = new long[n];
                 int j = 0;
                 do { a[j] = i.nextLong(); } while (++j < n && i.hasNext());
-                batch = j;
+                b.issued(j);
                 if (est != Long.MAX_VALUE)
                     est -= j;
-                return new LongArraySpliterator(a, 0, j, characteristics);
+                return new LongArraySpliterator(a, 0, j, characteristics, b);
             }
             return null;
         }
@@ -2073,12 +2270,10 @@ public final class Spliterators {
     }
 
     static final class DoubleIteratorSpliterator implements Spliterator.OfDouble {
-        static final int BATCH_UNIT = IteratorSpliterator.BATCH_UNIT;
-        static final int MAX_BATCH = IteratorSpliterator.MAX_BATCH;
         private final PrimitiveIterator.OfDouble it;
         private final int characteristics;
         private long est;             // size estimate
-        private int batch;            // batch size for splits
+        private BatchSizer sizer;     // batch sizes for splits; lazily created
 
         /**
          * Creates a spliterator using the given iterator
@@ -2118,18 +2313,17 @@ public final class Spliterators {
             PrimitiveIterator.OfDouble i = it;
             long s = est;
             if (s > 1 && i.hasNext()) {
-                int n = batch + BATCH_UNIT;
-                if (n > s)
-                    n = (int) s;
-                if (n > MAX_BATCH)
-                    n = MAX_BATCH;
+                BatchSizer b;
+                if ((b = sizer) == null)
+                    sizer = b = new BatchSizer();
+                int n = b.next(s);
                 double[] a = new double[n];
                 int j = 0;
                 do { a[j] = i.nextDouble(); } while (++j < n && i.hasNext());
-                batch = j;
+                b.issued(j);
                 if (est != Long.MAX_VALUE)
                     est -= j;
-                return new DoubleArraySpliterator(a, 0, j, characteristics);
+                return new DoubleArraySpliterator(a, 0, j, characteristics, b);
             }
             return null;
         }
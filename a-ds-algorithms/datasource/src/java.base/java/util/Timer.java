@@ -82,6 +82,11 @@ import jdk.internal.ref.CleanerFactory;
  *
  * <p>Implementation note: All constructors start a timer thread.
  *
+ * <p>{@link ShardedTimer} is a subclass of {@code Timer} that runs tasks
+ * on a pool of threads, so that legacy code using {@code Timer} can be
+ * freed from the limitations of a single task execution thread without
+ * being rewritten.
+ *
  * @author  Josh Bloch
  * @see     TimerTask
  * @see     Object#wait(long)
@@ -131,7 +136,7 @@ public class Timer {
      * This ID is used to generate thread names.
      */
     private static final AtomicInteger nextSerialNumber = new AtomicInteger();
-    private static int serialNumber() {
+    static int serialNumber() {
         return nextSerialNumber.getAndIncrement();
     }
 
@@ -188,6 +193,15 @@ public class Timer {
         thread.start();
     }
 
+    /**
+     * Creates a timer whose thread is never started, for subclasses in
+     * this package that execute tasks by other means, and so override
+     * every public method.
+     */
+    Timer(Void noThread) {
+        this.cleanup = () -> { };
+    }
+
     /**
      * Schedules the specified task for execution after the specified delay.
      *
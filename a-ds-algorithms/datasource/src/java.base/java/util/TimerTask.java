@@ -25,6 +25,8 @@
 
 package java.util;
 
+import java.util.concurrent.Future;
+
 /**
  * A task that can be scheduled for one-time or repeated execution by a
  * {@link Timer}.
@@ -84,6 +86,13 @@ public abstract class TimerTask implements Runnable {
      */
     long period = 0;
 
+    /**
+     * The future of this task if it is scheduled on a {@link ShardedTimer},
+     * cancelled along with the task so that it is removed from the timer
+     * at once rather than when it comes due.
+     */
+    Future<?> future;
+
     /**
      * Creates a new timer task.
      */
@@ -118,11 +127,17 @@ public abstract class TimerTask implements Runnable {
      *         executions from taking place.)
      */
     public boolean cancel() {
+        boolean result;
+        Future<?> f;
         synchronized(lock) {
-            boolean result = (state == SCHEDULED);
+            result = (state == SCHEDULED);
             state = CANCELLED;
-            return result;
+            f = future;
+            future = null;
         }
+        if (f != null)
+            f.cancel(false);
+        return result;
     }
 
     /**
@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import jdk.internal.access.SharedSecrets;
+import static java.util.concurrent.Flow.Publisher;
+import static java.util.concurrent.Flow.Subscriber;
+
+/**
+ * A {@link Flow.Publisher} that groups submitted (non-null) items into
+ * batches, and asynchronously issues each batch, as an unmodifiable
+ * {@link List}, to current subscribers until it is closed.  Delivering
+ * a batch costs about the same as delivering a single item of a {@link
+ * SubmissionPublisher}, so batching greatly reduces per-item overhead
+ * when items are small and plentiful, especially with many
+ * subscribers.
+ *
+ * <p>A batch is issued when it holds {@link #getMaxBatchSize} items,
+ * when the first of its items has waited for the maximum latency
+ * given on construction, when {@link #flush} is called, or upon
+ * {@link #close}.  The latency bound is not enforced while the buffer
+ * of some subscriber is full; a pending batch is then issued by a
+ * later submission or once space becomes available.  Each current
+ * subscriber receives the same batches in the order they were
+ * issued, so items are received in the order they were submitted.
+ * The same list instance is issued to all subscribers.
+ *
+ * <p>Flow control follows {@link SubmissionPublisher}, which this
+ * class uses internally: demand requested through {@link
+ * Flow.Subscription#request} is counted in batches, each subscriber
+ * has a buffer of at most {@link #getMaxBufferCapacity} batches, and
+ * {@link #submit} blocks while the buffer of any subscriber is full.
+ * Items accumulate in the pending batch regardless of demand.
+ *
+ * <p>Methods of this class are thread-safe; concurrent submissions
+ * are serialized.
+ *
+ * <p><b>Sample Usage.</b> A publisher of log records that issues
+ * batches of up to 1024 records, each record being issued at most
+ * ten milliseconds after submission:
+ * <pre> {@code
+ * BatchingSubmissionPublisher<LogRecord> records =
+ *   new BatchingSubmissionPublisher<>(ForkJoinPool.commonPool(),
+ *       Flow.defaultBufferSize(), 1024, 10, TimeUnit.MILLISECONDS);
+ * records.subscribe(new Flow.Subscriber<List<LogRecord>>() {
+ *   ...
+ *   public void onNext(List<LogRecord> batch) {
+ *     batch.forEach(sink::write);
+ *     subscription.request(1);
+ *   }
+ * });}</pre>
+ *
+ * @param <T> the published item type
+ * @since 18
+ */
+public class BatchingSubmissionPublisher<T>
+    implements Publisher<List<T>>, AutoCloseable {
+
+    /*
+     * Batches are accumulated in an Object[] under the lock and
+     * published, still under the lock so that batch order matches
+     * submission order, through a SubmissionPublisher of lists.  A
+     * full batch array becomes the list's storage without copying.
+     *
+     * The latency bound is enforced by at most one pending flush
+     * task, scheduled through CompletableFuture.delayedExecutor onto
+     * the delivery executor when the first item of a batch arrives.
+     * When it runs, the flush task publishes the current batch if its
+     * first item is old enough, and otherwise reschedules itself for
+     * the remaining time.  The flush task must never block, since it
+     * may occupy a thread that subscribers need to make progress, so
+     * it only tryLocks, and only issues a batch if no subscriber
+     * buffer is full (space can only grow while the lock is held).
+     */
+
+    /** The default maximum number of items in a batch. */
+    static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    /** The default maximum latency, in nanoseconds. */
+    static final long DEFAULT_MAX_LATENCY = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    final SubmissionPublisher<List<T>> publisher;
+    final ReentrantLock lock;
+    final int maxBatchSize;
+    final long maxLatency;       // nanoseconds
+
+    // Guarded by lock
+    Object[] batch;              // the pending batch, or null if empty
+    int count;                   // number of items in batch
+    long batchStart;             // nanoTime of the first item in batch
+    boolean flushScheduled;      // true if a flush task is pending
+
+    /**
+     * Creates a new BatchingSubmissionPublisher using the given
+     * Executor for async delivery to subscribers, with the given
+     * maximum number of batches buffered for each subscriber, the
+     * given maximum number of items per batch, and the given maximum
+     * time an item may wait before its batch is issued.
+     *
+     * @param executor the executor to use for async delivery,
+     * supporting creation of at least one independent thread
+     * @param maxBufferCapacity the maximum number of batches buffered
+     * for each subscriber (the enforced capacity may be rounded up to
+     * the nearest power of two and/or bounded by the largest value
+     * supported by this implementation; method {@link
+     * #getMaxBufferCapacity} returns the actual value)
+     * @param maxBatchSize the maximum number of items in a batch
+     * @param maxLatency the maximum time between the submission of an
+     * item and the issue of its batch
+     * @param unit the time unit of maxLatency
+     * @throws NullPointerException if executor or unit is null
+     * @throws IllegalArgumentException if maxBufferCapacity,
+     * maxBatchSize or maxLatency not positive
+     */
+    public BatchingSubmissionPublisher(Executor executor, int maxBufferCapacity,
+                                       int maxBatchSize, long maxLatency,
+                                       TimeUnit unit) {
+        if (unit == null)
+            throw new NullPointerException();
+        if (maxBatchSize <= 0)
+            throw new IllegalArgumentException("batch size must be positive");
+        if (maxLatency <= 0L)
+            throw new IllegalArgumentException("latency must be positive");
+        this.publisher = new SubmissionPublisher<>(executor, maxBufferCapacity);
+        this.lock = new ReentrantLock();
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatency = unit.toNanos(maxLatency);
+    }
+
+    /**
+     * Creates a new BatchingSubmissionPublisher using the same
+     * default executor as {@link SubmissionPublisher#SubmissionPublisher()},
+     * a maximum buffer capacity of {@link Flow#defaultBufferSize}
+     * batches, batches of at most 256 items, and a maximum latency
+     * of one millisecond.
+     */
+    public BatchingSubmissionPublisher() {
+        this.publisher = new SubmissionPublisher<>();
+        this.lock = new ReentrantLock();
+        this.maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        this.maxLatency = DEFAULT_MAX_LATENCY;
+    }
+
+    /**
+     * Adds the given subscriber unless already subscribed.  Behaves
+     * as {@link SubmissionPublisher#subscribe}.  A new subscriber
+     * receives batches issued after subscription, including batches
+     * holding items submitted before it subscribed.
+     *
+     * @param subscriber the subscriber
+     * @throws NullPointerException if subscriber is null
+     */
+    public void subscribe(Subscriber<? super List<T>> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Adds the given item to the pending batch, and issues the batch
+     * to each current subscriber if it is full, blocking
+     * uninterruptibly while resources for any subscriber are
+     * unavailable.  This method returns an estimate of the maximum lag
+     * (number of batches issued but not yet consumed) among all
+     * current subscribers if a batch was issued, else zero.
+     *
+     * <p>If the Executor for this publisher throws a
+     * RejectedExecutionException (or any other RuntimeException or
+     * Error) when attempting to asynchronously notify subscribers,
+     * then this exception is rethrown, in which case not all
+     * subscribers will have been issued the batch.
+     *
+     * @param item the (non-null) item to publish
+     * @return the estimated maximum lag among subscribers, or zero if
+     * no batch was issued
+     * @throws IllegalStateException if closed
+     * @throws NullPointerException if item is null
+     * @throws RejectedExecutionException if thrown by Executor
+     */
+    public int submit(T item) {
+        if (item == null)
+            throw new NullPointerException();
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (publisher.isClosed())
+                throw new IllegalStateException("Closed");
+            Object[] b;
+            if ((b = batch) == null) {
+                batch = b = new Object[maxBatchSize];
+                batchStart = System.nanoTime();
+                if (!flushScheduled) {
+                    flushScheduled = true;
+                    scheduleFlush(maxLatency);
+                }
+            }
+            b[count] = item;
+            return (++count == b.length) ? issue() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Issues the pending batch, if not empty, to each current
+     * subscriber, blocking uninterruptibly while resources for any
+     * subscriber are unavailable.
+     *
+     * @return the estimated maximum lag among subscribers, or zero if
+     * no batch was issued
+     * @throws RejectedExecutionException if thrown by Executor
+     */
+    public int flush() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return (count > 0 && !publisher.isClosed()) ? issue() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Issues the pending batch, if not empty, and then, unless already
+     * closed, issues {@link Flow.Subscriber#onComplete() onComplete}
+     * signals to current subscribers, and disallows subsequent
+     * attempts to publish.  Upon return, this method does
+     * <em>NOT</em> guarantee that all subscribers have yet completed.
+     */
+    public void close() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (!publisher.isClosed()) {
+                try {
+                    if (count > 0)
+                        issue();
+                } finally {
+                    publisher.close();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Unless already closed, discards the pending batch, issues {@link
+     * Flow.Subscriber#onError(Throwable) onError} signals to current
+     * subscribers with the given error, and disallows subsequent
+     * attempts to publish.  Future subscribers also receive the given
+     * error.  Upon return, this method does <em>NOT</em> guarantee
+     * that all subscribers have yet completed.
+     *
+     * @param error the {@code onError} argument sent to subscribers
+     * @throws NullPointerException if error is null
+     */
+    public void closeExceptionally(Throwable error) {
+        if (error == null)
+            throw new NullPointerException();
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            batch = null;
+            count = 0;
+            publisher.closeExceptionally(error);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns true if this publisher is not accepting submissions.
+     *
+     * @return true if closed
+     */
+    public boolean isClosed() {
+        return publisher.isClosed();
+    }
+
+    /**
+     * Returns the exception associated with {@link
+     * #closeExceptionally(Throwable) closeExceptionally}, or null if
+     * not closed or if closed normally.
+     *
+     * @return the exception, or null if none
+     */
+    public Throwable getClosedException() {
+        return publisher.getClosedException();
+    }
+
+    /**
+     * Returns true if this publisher has any subscribers.
+     *
+     * @return true if this publisher has any subscribers
+     */
+    public boolean hasSubscribers() {
+        return publisher.hasSubscribers();
+    }
+
+    /**
+     * Returns the number of current subscribers.
+     *
+     * @return the number of current subscribers
+     */
+    public int getNumberOfSubscribers() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    /**
+     * Returns the Executor used for asynchronous delivery.
+     *
+     * @return the Executor used for asynchronous delivery
+     */
+    public Executor getExecutor() {
+        return publisher.getExecutor();
+    }
+
+    /**
+     * Returns the maximum per-subscriber buffer capacity, in batches.
+     *
+     * @return the maximum per-subscriber buffer capacity
+     */
+    public int getMaxBufferCapacity() {
+        return publisher.getMaxBufferCapacity();
+    }
+
+    /**
+     * Returns the maximum number of items in a batch.
+     *
+     * @return the maximum number of items in a batch
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Returns the maximum time between the submission of an item and
+     * the issue of its batch, in the given time unit.
+     *
+     * @param unit the time unit of the result
+     * @return the maximum latency
+     * @throws NullPointerException if unit is null
+     */
+    public long getMaxLatency(TimeUnit unit) {
+        return unit.convert(maxLatency, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns an estimate of the minimum number of batches requested
+     * (via {@link Flow.Subscription#request(long) request}) but not
+     * yet produced, among all current subscribers.
+     *
+     * @return the estimate, or zero if no subscribers
+     */
+    public long estimateMinimumDemand() {
+        return publisher.estimateMinimumDemand();
+    }
+
+    /**
+     * Returns an estimate of the maximum number of batches produced
+     * but not yet consumed among all current subscribers.
+     *
+     * @return the estimate
+     */
+    public int estimateMaximumLag() {
+        return publisher.estimateMaximumLag();
+    }
+
+    /**
+     * Issues the pending batch.  Called only under lock with count > 0.
+     */
+    private int issue() {
+        Object[] b = batch;
+        int n = count;
+        batch = null;
+        count = 0;
+        List<T> list = SharedSecrets.getJavaUtilCollectionAccess()
+            .listFromTrustedArray((n == b.length) ? b : Arrays.copyOf(b, n));
+        return publisher.submit(list);
+    }
+
+    /**
+     * Schedules a flush task after the given delay.
+     */
+    private void scheduleFlush(long delay) {
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS,
+                                          publisher.getExecutor())
+            .execute(this::timedFlush);
+    }
+
+    /**
+     * Issues the pending batch if its first item has waited long
+     * enough, else reschedules for the remaining time.  To avoid
+     * occupying a thread of the delivery executor, this never blocks:
+     * if the lock is busy, or issuing would block because some
+     * subscriber's buffer is full, it tries again later.
+     */
+    private void timedFlush() {
+        final ReentrantLock lock = this.lock;
+        if (!lock.tryLock()) {
+            scheduleFlush(maxLatency);
+            return;
+        }
+        try {
+            if (count == 0 || publisher.isClosed())
+                flushScheduled = false;
+            else {
+                long remaining = maxLatency - (System.nanoTime() - batchStart);
+                if (remaining > 0L)
+                    scheduleFlush(remaining);
+                else if (publisher.estimateMaximumLag() >=
+                         publisher.getMaxBufferCapacity())
+                    scheduleFlush(maxLatency);
+                else {
+                    flushScheduled = false;
+                    issue();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,1010 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A thread-safe variant of {@link java.util.ArrayList} in which, as in
+ * {@link CopyOnWriteArrayList}, all mutative operations ({@code add},
+ * {@code set}, and so on) make fresh copies of the state they change,
+ * but elements are held in a sequence of small arrays ("chunks"), so
+ * that a single-element mutation copies only the affected chunk and
+ * the array referencing the chunks, rather than every element.  For
+ * a list of <em>n</em> elements this costs O(&radic;<em>n</em>)-like
+ * amounts of copying for practical sizes (a few hundred references
+ * each for the chunk and the spine at 100,000 elements), instead of
+ * O(<em>n</em>).
+ *
+ * <p>This is useful for large listener or subscription tables, where
+ * traversal operations vastly outnumber mutations, but mutations are
+ * too frequent to copy the whole table each time.  Element access by
+ * index takes logarithmic time in the number of chunks; traversal
+ * is nearly as fast as for {@code CopyOnWriteArrayList}.
+ *
+ * <p>The "snapshot" style iterator method uses a reference to the
+ * state of the list at the point that the iterator was created.  This
+ * state never changes during the lifetime of the iterator, so
+ * interference is impossible and the iterator is guaranteed not to
+ * throw {@code ConcurrentModificationException}.  The iterator will
+ * not reflect additions, removals, or changes to the list since the
+ * iterator was created.  Element-changing operations on iterators
+ * themselves ({@code remove}, {@code set}, and {@code add}) are not
+ * supported.  These methods throw {@code
+ * UnsupportedOperationException}.  Views returned by {@code subList}
+ * are not snapshots; as with {@link AbstractList#subList}, each of
+ * their operations is applied to this list, and they should not be
+ * used concurrently with structural modifications of the list.
+ *
+ * <p>All elements are permitted, including {@code null}.
+ *
+ * <p>Memory consistency effects: As with other concurrent
+ * collections, actions in a thread prior to placing an object into a
+ * {@code ChunkedCopyOnWriteArrayList}
+ * <a href="package-summary.html#MemoryVisibility"><i>happen-before</i></a>
+ * actions subsequent to the access or removal of that element from
+ * the {@code ChunkedCopyOnWriteArrayList} in another thread.
+ *
+ * @since 18
+ * @param <E> the type of elements held in this list
+ */
+public class ChunkedCopyOnWriteArrayList<E>
+    extends AbstractList<E> implements List<E>, RandomAccess {
+
+    /*
+     * The list is represented by an immutable Spine, holding the
+     * chunks and the cumulative element count at the end of each
+     * chunk.  Chunks are never modified once published; mutators
+     * build replacement chunks and a new Spine under the lock, and
+     * publish it with a volatile write.  Readers and iterators use
+     * whatever Spine they read.
+     *
+     * Chunks hold at most CHUNK elements and are never empty.
+     * Appends fill the last chunk before starting a new one, so lists
+     * built by appending are compact; insertion into a full chunk
+     * splits it in halves; removal merges a chunk with a neighbor
+     * when together they fit in half a chunk, bounding the number of
+     * chunks to about 4n/CHUNK.  Operations that rewrite the whole
+     * list (bulk removal, sort, and so on) repack it into full
+     * chunks.
+     */
+
+    /** The maximum number of elements in a chunk. */
+    static final int CHUNK = 256;
+
+    /**
+     * An immutable list state.
+     */
+    static final class Spine {
+        /** The chunks, each non-empty and immutable */
+        final Object[][] chunks;
+        /** ends[i] is the number of elements in chunks[0..i] */
+        final int[] ends;
+
+        Spine(Object[][] chunks, int[] ends) {
+            this.chunks = chunks;
+            this.ends = ends;
+        }
+
+        int size() {
+            int n = ends.length;
+            return (n == 0) ? 0 : ends[n - 1];
+        }
+
+        /** Returns the number of elements before chunk c. */
+        int start(int c) {
+            return (c == 0) ? 0 : ends[c - 1];
+        }
+
+        /**
+         * Returns the index of the chunk holding the element at
+         * index, which must be less than size().
+         */
+        int chunkFor(int index) {
+            int[] es = ends;
+            int lo = 0, hi = es.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (es[mid] <= index)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            return lo;
+        }
+
+        /**
+         * Returns a Spine in which chunks [from, to) are replaced by
+         * the given chunks, skipping empty ones.
+         */
+        Spine replace(int from, int to, Object[]... repl) {
+            Object[][] cs = chunks;
+            int n = cs.length, k = 0;
+            for (Object[] r : repl)
+                if (r.length > 0)
+                    ++k;
+            int m = n - (to - from) + k;
+            Object[][] ncs = new Object[m][];
+            int[] nes = new int[m];
+            System.arraycopy(cs, 0, ncs, 0, from);
+            System.arraycopy(ends, 0, nes, 0, from);
+            int j = from, e = start(from);
+            for (Object[] r : repl) {
+                if (r.length > 0) {
+                    ncs[j] = r;
+                    nes[j++] = e += r.length;
+                }
+            }
+            for (int i = to; i < n; ++i) {
+                ncs[j] = cs[i];
+                nes[j++] = e += cs[i].length;
+            }
+            return new Spine(ncs, nes);
+        }
+
+        /** Copies all elements into a new array. */
+        Object[] toArray() {
+            Object[] a = new Object[size()];
+            int i = 0;
+            for (Object[] c : chunks) {
+                System.arraycopy(c, 0, a, i, c.length);
+                i += c.length;
+            }
+            return a;
+        }
+    }
+
+    static final Spine EMPTY = new Spine(new Object[0][], new int[0]);
+
+    static final Object[] NO_ELEMENTS = new Object[0];
+
+    /**
+     * Returns a Spine holding the first n elements of a in full chunks.
+     */
+    static Spine pack(Object[] a, int n) {
+        int m = (n + CHUNK - 1) / CHUNK;
+        Object[][] cs = new Object[m][];
+        int[] es = new int[m];
+        for (int i = 0, j = 0; i < n; i += CHUNK, ++j) {
+            cs[j] = Arrays.copyOfRange(a, i, Math.min(n, i + CHUNK));
+            es[j] = i + cs[j].length;
+        }
+        return new Spine(cs, es);
+    }
+
+    /**
+     * Returns the concatenation of a[0..i), b, and a[i..), in chunks
+     * of at most CHUNK elements.
+     */
+    static Object[][] splice(Object[] a, int i, Object[] b) {
+        int n = a.length + b.length;
+        Object[] all = new Object[n];
+        System.arraycopy(a, 0, all, 0, i);
+        System.arraycopy(b, 0, all, i, b.length);
+        System.arraycopy(a, i, all, i + b.length, a.length - i);
+        if (n <= CHUNK)
+            return new Object[][] { all };
+        Object[][] pieces = new Object[(n + CHUNK - 1) / CHUNK][];
+        for (int k = 0, j = 0; k < n; k += CHUNK, ++j)
+            pieces[j] = Arrays.copyOfRange(all, k, Math.min(n, k + CHUNK));
+        return pieces;
+    }
+
+    /**
+     * The lock protecting all mutators.  (We have a mild preference
+     * for builtin monitors over ReentrantLock when either will do.)
+     */
+    final transient Object lock = new Object();
+
+    /** The current state, accessed only via getSpine/setSpine. */
+    private transient volatile Spine spine;
+
+    final Spine getSpine() {
+        return spine;
+    }
+
+    final void setSpine(Spine s) {
+        spine = s;
+    }
+
+    /**
+     * Creates an empty list.
+     */
+    public ChunkedCopyOnWriteArrayList() {
+        setSpine(EMPTY);
+    }
+
+    /**
+     * Creates a list containing the elements of the specified
+     * collection, in the order they are returned by the collection's
+     * iterator.
+     *
+     * @param c the collection of initially held elements
+     * @throws NullPointerException if the specified collection is null
+     */
+    public ChunkedCopyOnWriteArrayList(Collection<? extends E> c) {
+        Object[] es = c.toArray();
+        setSpine(pack(es, es.length));
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return the number of elements in this list
+     */
+    public int size() {
+        return getSpine().size();
+    }
+
+    /**
+     * Returns {@code true} if this list contains no elements.
+     *
+     * @return {@code true} if this list contains no elements
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of o in s at or after
+     * index, or -1 if none.
+     */
+    static int indexOf(Object o, Spine s, int index) {
+        Object[][] cs = s.chunks;
+        if (index >= s.size())
+            return -1;
+        int c = s.chunkFor(index), base = s.start(c);
+        for (int i = index - base; c < cs.length; ++c, i = 0) {
+            Object[] es = cs[c];
+            if (o == null) {
+                for (; i < es.length; ++i)
+                    if (es[i] == null)
+                        return base + i;
+            } else {
+                for (; i < es.length; ++i)
+                    if (o.equals(es[i]))
+                        return base + i;
+            }
+            base += es.length;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurrence of o in s at or before
+     * index, or -1 if none.
+     */
+    static int lastIndexOf(Object o, Spine s, int index) {
+        if ((index = Math.min(index, s.size() - 1)) < 0)
+            return -1;
+        Object[][] cs = s.chunks;
+        int c = s.chunkFor(index);
+        for (int i = index - s.start(c);;) {
+            Object[] es = cs[c];
+            int base = s.start(c);
+            if (o == null) {
+                for (; i >= 0; --i)
+                    if (es[i] == null)
+                        return base + i;
+            } else {
+                for (; i >= 0; --i)
+                    if (o.equals(es[i]))
+                        return base + i;
+            }
+            if (--c < 0)
+                return -1;
+            i = cs[c].length - 1;
+        }
+    }
+
+    /**
+     * Returns {@code true} if this list contains the specified element.
+     * More formally, returns {@code true} if and only if this list contains
+     * at least one element {@code e} such that {@code Objects.equals(o, e)}.
+     *
+     * @param o element whose presence in this list is to be tested
+     * @return {@code true} if this list contains the specified element
+     */
+    public boolean contains(Object o) {
+        return indexOf(o, getSpine(), 0) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int indexOf(Object o) {
+        return indexOf(o, getSpine(), 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int lastIndexOf(Object o) {
+        Spine s = getSpine();
+        return lastIndexOf(o, s, s.size() - 1);
+    }
+
+    /**
+     * Returns an array containing all of the elements in this list
+     * in proper sequence (from first to last element).
+     *
+     * @return an array containing all the elements in this list
+     */
+    public Object[] toArray() {
+        return getSpine().toArray();
+    }
+
+    /**
+     * Returns an array containing all of the elements in this list in
+     * proper sequence (from first to last element); the runtime type of
+     * the returned array is that of the specified array.
+     *
+     * @param a the array into which the elements of the list are to
+     *          be stored, if it is big enough; otherwise, a new array of the
+     *          same runtime type is allocated for this purpose.
+     * @return an array containing all the elements in this list
+     * @throws ArrayStoreException if the runtime type of the specified array
+     *         is not a supertype of the runtime type of every element in
+     *         this list
+     * @throws NullPointerException if the specified array is null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        Object[] es = getSpine().toArray();
+        int len = es.length;
+        if (a.length < len)
+            return (T[]) Arrays.copyOf(es, len, a.getClass());
+        else {
+            System.arraycopy(es, 0, a, 0, len);
+            if (a.length > len)
+                a[len] = null;
+            return a;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Spine s = getSpine();
+        int size = s.size();
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(
+                CopyOnWriteArrayList.outOfBounds(index, size));
+        int c = s.chunkFor(index);
+        return (E) s.chunks[c][index - s.start(c)];
+    }
+
+    /**
+     * Replaces the element at the specified position in this list with the
+     * specified element.
+     *
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        synchronized (lock) {
+            Spine s = getSpine();
+            int size = s.size();
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException(
+                    CopyOnWriteArrayList.outOfBounds(index, size));
+            int c = s.chunkFor(index), i = index - s.start(c);
+            Object[] es = s.chunks[c];
+            E oldValue = (E) es[i];
+            if (oldValue != element) {
+                es = es.clone();
+                es[i] = element;
+                setSpine(s.replace(c, c + 1, es));
+            }
+            return oldValue;
+        }
+    }
+
+    /**
+     * Appends the specified element to the end of this list.
+     *
+     * @param e element to be appended to this list
+     * @return {@code true} (as specified by {@link Collection#add})
+     */
+    public boolean add(E e) {
+        synchronized (lock) {
+            Spine s = getSpine();
+            add(s, s.size(), e);
+            return true;
+        }
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this
+     * list. Shifts the element currently at that position (if any) and
+     * any subsequent elements to the right (adds one to their indices).
+     *
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public void add(int index, E element) {
+        synchronized (lock) {
+            Spine s = getSpine();
+            int size = s.size();
+            if (index > size || index < 0)
+                throw new IndexOutOfBoundsException(
+                    CopyOnWriteArrayList.outOfBounds(index, size));
+            add(s, index, element);
+        }
+    }
+
+    /**
+     * Inserts e at index in s, which must be the current Spine.
+     * Called only while holding lock.
+     */
+    private void add(Spine s, int index, Object e) {
+        Object[][] cs = s.chunks;
+        int n = cs.length;
+        if (n == 0) {
+            setSpine(s.replace(0, 0, new Object[] { e }));
+            return;
+        }
+        int c = (index == s.size()) ? n - 1 : s.chunkFor(index);
+        Object[] es = cs[c];
+        int len = es.length, i = index - s.start(c);
+        if (len < CHUNK) {
+            Object[] ns = new Object[len + 1];
+            System.arraycopy(es, 0, ns, 0, i);
+            ns[i] = e;
+            System.arraycopy(es, i, ns, i + 1, len - i);
+            setSpine(s.replace(c, c + 1, ns));
+        }
+        else if (i == len)              // start a new chunk
+            setSpine(s.replace(c + 1, c + 1, new Object[] { e }));
+        else {                          // split
+            int half = (len + 1) >>> 1;
+            Object[] l = new Object[half], r = new Object[len + 1 - half];
+            for (int j = 0, k = 0; j <= len; ++j) {
+                Object x = (j < i) ? es[j] : (j == i) ? e : es[j - 1];
+                if (j < half)
+                    l[j] = x;
+                else
+                    r[k++] = x;
+            }
+            setSpine(s.replace(c, c + 1, l, r));
+        }
+    }
+
+    /**
+     * Removes the element at the specified position in this list.
+     * Shifts any subsequent elements to the left (subtracts one from their
+     * indices).  Returns the element that was removed from the list.
+     *
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public E remove(int index) {
+        synchronized (lock) {
+            Spine s = getSpine();
+            int size = s.size();
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException(
+                    CopyOnWriteArrayList.outOfBounds(index, size));
+            return remove(s, index);
+        }
+    }
+
+    /**
+     * Removes the element at index in s, which must be the current
+     * Spine, merging chunks that have become small.  Called only
+     * while holding lock.
+     */
+    @SuppressWarnings("unchecked")
+    private E remove(Spine s, int index) {
+        Object[][] cs = s.chunks;
+        int c = s.chunkFor(index), i = index - s.start(c);
+        Object[] es = cs[c];
+        E oldValue = (E) es[i];
+        int len = es.length - 1, lim = CHUNK >>> 1;
+        Object[] left = null, right = null;
+        if (c > 0 && cs[c - 1].length + len <= lim)
+            left = cs[c - 1];
+        else if (c + 1 < cs.length && cs[c + 1].length + len <= lim)
+            right = cs[c + 1];
+        int pre = (left == null) ? 0 : left.length;
+        int post = (right == null) ? 0 : right.length;
+        Object[] ns = new Object[pre + len + post];
+        if (left != null)
+            System.arraycopy(left, 0, ns, 0, pre);
+        System.arraycopy(es, 0, ns, pre, i);
+        System.arraycopy(es, i + 1, ns, pre + i, len - i);
+        if (right != null)
+            System.arraycopy(right, 0, ns, pre + len, post);
+        int from = (left == null) ? c : c - 1;
+        int to = (right == null) ? c + 1 : c + 2;
+        setSpine(s.replace(from, to, ns));
+        return oldValue;
+    }
+
+    /**
+     * Removes the first occurrence of the specified element from this list,
+     * if it is present.  If this list does not contain the element, it is
+     * unchanged.  More formally, removes the element with the lowest index
+     * {@code i} such that {@code Objects.equals(o, get(i))}
+     * (if such an element exists).  Returns {@code true} if this list
+     * contained the specified element (or equivalently, if this list
+     * changed as a result of the call).
+     *
+     * @param o element to be removed from this list, if present
+     * @return {@code true} if this list contained the specified element
+     */
+    public boolean remove(Object o) {
+        Spine snapshot = getSpine();
+        int index = indexOf(o, snapshot, 0);
+        if (index < 0)
+            return false;
+        synchronized (lock) {
+            Spine s = getSpine();
+            if (s != snapshot && (index = indexOf(o, s, 0)) < 0)
+                return false;
+            remove(s, index);
+            return true;
+        }
+    }
+
+    /**
+     * Removes from this list all of the elements whose index is between
+     * {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+     *
+     * @param fromIndex index of first element to be removed
+     * @param toIndex index after last element to be removed
+     * @throws IndexOutOfBoundsException if fromIndex or toIndex out of range
+     *         ({@code fromIndex < 0 || toIndex > size() || toIndex < fromIndex})
+     */
+    protected void removeRange(int fromIndex, int toIndex) {
+        synchronized (lock) {
+            Spine s = getSpine();
+            int len = s.size();
+            if (fromIndex < 0 || toIndex > len || toIndex < fromIndex)
+                throw new IndexOutOfBoundsException();
+            if (fromIndex == toIndex)
+                return;
+            Object[] es = s.toArray();
+            System.arraycopy(es, toIndex, es, fromIndex, len - toIndex);
+            setSpine(pack(es, len - (toIndex - fromIndex)));
+        }
+    }
+
+    /**
+     * Appends the element, if not present.
+     *
+     * @param e element to be added to this list, if absent
+     * @return {@code true} if the element was added
+     */
+    public boolean addIfAbsent(E e) {
+        Spine snapshot = getSpine();
+        if (indexOf(e, snapshot, 0) >= 0)
+            return false;
+        synchronized (lock) {
+            Spine s = getSpine();
+            if (s != snapshot && indexOf(e, s, 0) >= 0)
+                return false;
+            add(s, s.size(), e);
+            return true;
+        }
+    }
+
+    /**
+     * Appends all of the elements in the specified collection that
+     * are not already contained in this list, to the end of
+     * this list, in the order that they are returned by the
+     * specified collection's iterator.
+     *
+     * @param c collection containing elements to be added to this list
+     * @return the number of elements added
+     * @throws NullPointerException if the specified collection is null
+     * @see #addIfAbsent(Object)
+     */
+    public int addAllAbsent(Collection<? extends E> c) {
+        Object[] cs = c.toArray();
+        if (cs.length == 0)
+            return 0;
+        synchronized (lock) {
+            Spine s = getSpine();
+            int added = 0;
+            // uniquify and compact elements in cs
+            for (int i = 0; i < cs.length; ++i) {
+                Object e = cs[i];
+                if (indexOf(e, s, 0) < 0 &&
+                    Arrays.asList(cs).subList(0, added).indexOf(e) < 0)
+                    cs[added++] = e;
+            }
+            if (added > 0)
+                append(s, Arrays.copyOf(cs, added));
+            return added;
+        }
+    }
+
+    /**
+     * Appends the elements of a to s, which must be the current
+     * Spine.  Called only while holding lock.
+     */
+    private void append(Spine s, Object[] a) {
+        int n = s.chunks.length;
+        if (n == 0)
+            setSpine(s.replace(0, 0, splice(a, 0, NO_ELEMENTS)));
+        else {
+            Object[] last = s.chunks[n - 1];
+            setSpine(s.replace(n - 1, n, splice(last, last.length, a)));
+        }
+    }
+
+    /**
+     * Removes all of the elements from this list.
+     * The list will be empty after this call returns.
+     */
+    public void clear() {
+        synchronized (lock) {
+            setSpine(EMPTY);
+        }
+    }
+
+    /**
+     * Appends all of the elements in the specified collection to the end
+     * of this list, in the order that they are returned by the specified
+     * collection's iterator.
+     *
+     * @param c collection containing elements to be added to this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     * @see #add(Object)
+     */
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] cs = (c instanceof ChunkedCopyOnWriteArrayList<?>)
+            ? ((ChunkedCopyOnWriteArrayList<?>)c).getSpine().toArray()
+            : c.toArray();
+        if (cs.length == 0)
+            return false;
+        synchronized (lock) {
+            append(getSpine(), cs);
+            return true;
+        }
+    }
+
+    /**
+     * Inserts all of the elements in the specified collection into this
+     * list, starting at the specified position.  Shifts the element
+     * currently at that position (if any) and any subsequent elements to
+     * the right (increases their indices).  The new elements will appear
+     * in this list in the order that they are returned by the
+     * specified collection's iterator.
+     *
+     * @param index index at which to insert the first element
+     *        from the specified collection
+     * @param c collection containing elements to be added to this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     * @throws NullPointerException if the specified collection is null
+     * @see #add(int,Object)
+     */
+    public boolean addAll(int index, Collection<? extends E> c) {
+        Object[] cs = c.toArray();
+        synchronized (lock) {
+            Spine s = getSpine();
+            int len = s.size();
+            if (index > len || index < 0)
+                throw new IndexOutOfBoundsException(
+                    CopyOnWriteArrayList.outOfBounds(index, len));
+            if (cs.length == 0)
+                return false;
+            if (index == len)
+                append(s, cs);
+            else {
+                int k = s.chunkFor(index);
+                setSpine(s.replace(k, k + 1,
+                                   splice(s.chunks[k], index - s.start(k), cs)));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        for (Object[] es : getSpine().chunks)
+            for (Object x : es)
+                action.accept((E) x);
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        return bulkRemove(filter);
+    }
+
+    /**
+     * Removes from this list all of its elements that are contained in
+     * the specified collection.
+     *
+     * @param c collection containing elements to be removed from this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return bulkRemove(e -> c.contains(e));
+    }
+
+    /**
+     * Retains only the elements in this list that are contained in the
+     * specified collection.
+     *
+     * @param c collection containing elements to be retained in this list
+     * @return {@code true} if this list changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return bulkRemove(e -> !c.contains(e));
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean bulkRemove(Predicate<? super E> filter) {
+        synchronized (lock) {
+            Object[] es = getSpine().toArray();
+            int n = 0;
+            for (Object x : es)
+                if (!filter.test((E) x))
+                    es[n++] = x;
+            if (n == es.length)
+                return false;
+            setSpine(pack(es, n));
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        synchronized (lock) {
+            Object[] es = getSpine().toArray();
+            for (int i = 0; i < es.length; ++i)
+                es[i] = operator.apply((E) es[i]);
+            setSpine(pack(es, es.length));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> c) {
+        synchronized (lock) {
+            Object[] es = getSpine().toArray();
+            Arrays.sort(es, (Comparator<Object>) c);
+            setSpine(pack(es, es.length));
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in this list in proper sequence.
+     *
+     * <p>The returned iterator provides a snapshot of the state of the list
+     * when the iterator was constructed. No synchronization is needed while
+     * traversing the iterator. The iterator does <em>NOT</em> support the
+     * {@code remove} method.
+     *
+     * @return an iterator over the elements in this list in proper sequence
+     */
+    public Iterator<E> iterator() {
+        return new COWIterator<E>(getSpine(), 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned iterator provides a snapshot of the state of the list
+     * when the iterator was constructed. No synchronization is needed while
+     * traversing the iterator. The iterator does <em>NOT</em> support the
+     * {@code remove}, {@code set} or {@code add} methods.
+     */
+    public ListIterator<E> listIterator() {
+        return new COWIterator<E>(getSpine(), 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned iterator provides a snapshot of the state of the list
+     * when the iterator was constructed. No synchronization is needed while
+     * traversing the iterator. The iterator does <em>NOT</em> support the
+     * {@code remove}, {@code set} or {@code add} methods.
+     *
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public ListIterator<E> listIterator(int index) {
+        Spine s = getSpine();
+        int len = s.size();
+        if (index < 0 || index > len)
+            throw new IndexOutOfBoundsException(
+                CopyOnWriteArrayList.outOfBounds(index, len));
+        return new COWIterator<E>(s, index);
+    }
+
+    /**
+     * Returns a {@link Spliterator} over the elements in this list.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#IMMUTABLE},
+     * {@link Spliterator#ORDERED}, {@link Spliterator#SIZED}, and
+     * {@link Spliterator#SUBSIZED}.
+     *
+     * <p>The spliterator provides a snapshot of the state of the list
+     * when the spliterator was constructed. No synchronization is needed while
+     * operating on the spliterator.  Constructing it copies the list's
+     * elements into an array.
+     *
+     * @return a {@code Spliterator} over the elements in this list
+     */
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator
+            (getSpine().toArray(), Spliterator.IMMUTABLE | Spliterator.ORDERED);
+    }
+
+    static final class COWIterator<E> implements ListIterator<E> {
+        /** The chunks of the snapshot */
+        private final Object[][] chunks;
+        /** The number of elements in the snapshot */
+        private final int size;
+        /** Index in chunks of the current chunk */
+        private int chunk;
+        /** The current chunk, or an empty array if there are none */
+        private Object[] es;
+        /** The number of elements before the current chunk */
+        private int base;
+        /**
+         * Index in es of the element to be returned by next; may be
+         * es.length, in which case next moves to the next chunk.
+         */
+        private int offset;
+
+        COWIterator(Spine s, int initialCursor) {
+            Object[][] cs = chunks = s.chunks;
+            size = s.size();
+            if (cs.length == 0)
+                es = NO_ELEMENTS;
+            else {
+                int c = chunk = (initialCursor < size)
+                    ? s.chunkFor(initialCursor) : cs.length - 1;
+                es = cs[c];
+                base = s.start(c);
+                offset = initialCursor - base;
+            }
+        }
+
+        public boolean hasNext() {
+            return base + offset < size;
+        }
+
+        public boolean hasPrevious() {
+            return base + offset > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            Object[] a = es;
+            int i = offset;
+            if (i >= a.length) {
+                if (base + i >= size)
+                    throw new NoSuchElementException();
+                base += a.length;
+                es = a = chunks[++chunk];
+                i = 0;
+            }
+            offset = i + 1;
+            return (E) a[i];
+        }
+
+        @SuppressWarnings("unchecked")
+        public E previous() {
+            Object[] a = es;
+            int i = offset;
+            if (i == 0) {
+                if (base == 0)
+                    throw new NoSuchElementException();
+                es = a = chunks[--chunk];
+                base -= a.length;
+                i = a.length;
+            }
+            offset = --i;
+            return (E) a[i];
+        }
+
+        public int nextIndex() {
+            return base + offset;
+        }
+
+        public int previousIndex() {
+            return base + offset - 1;
+        }
+
+        /**
+         * Not supported. Always throws UnsupportedOperationException.
+         * @throws UnsupportedOperationException always; {@code remove}
+         *         is not supported by this iterator.
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not supported. Always throws UnsupportedOperationException.
+         * @throws UnsupportedOperationException always; {@code set}
+         *         is not supported by this iterator.
+         */
+        public void set(E e) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not supported. Always throws UnsupportedOperationException.
+         * @throws UnsupportedOperationException always; {@code add}
+         *         is not supported by this iterator.
+         */
+        public void add(E e) {
+            throw new UnsupportedOperationException();
+        }
+
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            Object[][] cs = chunks;
+            Object[] a = es;
+            for (int c = chunk, i = offset;;) {
+                for (; i < a.length; ++i)
+                    action.accept((E) a[i]);
+                if (++c >= cs.length) {
+                    offset = i;
+                    return;
+                }
+                base += a.length;
+                es = a = cs[chunk = c];
+                i = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,1826 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A scalable concurrent {@link ConcurrentNavigableMap} implementation
+ * storing mappings in small sorted arrays ("chunks") rather than in
+ * one node per mapping.  The map is sorted according to the
+ * {@linkplain Comparable natural ordering} of its keys, or by a
+ * {@link Comparator} provided at map creation time, depending on
+ * which constructor is used.
+ *
+ * <p>Compared to {@link ConcurrentSkipListMap}, this class allocates
+ * one skip list entry per chunk of up to 64 mappings instead of one
+ * node (and on average one index node) per mapping, and range scans
+ * and iteration read consecutive array elements, so it uses less
+ * memory and traverses with better locality.  Retrieval operations
+ * do not lock: they read a chunk optimistically and validate that it
+ * was not concurrently modified, as with {@link
+ * java.util.concurrent.locks.StampedLock#tryOptimisticRead}, retrying
+ * otherwise.  Updates lock only the chunk holding the key, so updates
+ * of keys in different chunks proceed concurrently; updates of keys
+ * that are adjacent in the ordering, such as increasing sequence
+ * numbers, contend more than in {@code ConcurrentSkipListMap}.
+ *
+ * <p>As in {@code ConcurrentSkipListMap}, iterators and spliterators
+ * are <a href="package-summary.html#Weakly"><i>weakly
+ * consistent</i></a>, ascending views are faster than descending
+ * ones, the pairs returned by methods in this class and its views
+ * represent snapshots of mappings at the time they were produced and
+ * do not support {@code Entry.setValue}, this class does not permit
+ * the use of {@code null} keys or values, and the {@code size} of
+ * views is computed by traversal.  The {@code size} method of the map
+ * itself is constant-time, but is only an estimate in the presence of
+ * concurrent updates.  Empty chunks are reclaimed, but sparsely
+ * occupied chunks are not merged.
+ *
+ * <p>This class and its views and iterators implement all of the
+ * <em>optional</em> methods of the {@link Map} and {@link Iterator}
+ * interfaces.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ * @since 18
+ */
+public class ConcurrentChunkedSkipListMap<K,V> extends AbstractMap<K,V>
+    implements ConcurrentNavigableMap<K,V> {
+    /*
+     * Overview:
+     *
+     * The mappings are partitioned into a linked list of Chunks,
+     * each holding up to CHUNK_CAPACITY mappings in sorted parallel
+     * arrays, and covering a range of keys from its (immutable)
+     * "low" fence, inclusive, to its "high" fence, exclusive; the
+     * first chunk ("head") has no low fence and the last no high
+     * fence.  A ConcurrentSkipListMap "index" maps the low fence of
+     * every other chunk to the chunk, so the chunk for a key is found
+     * by a floor lookup (using the index's internal findNear, which
+     * does not allocate).
+     *
+     * Each chunk has a version used as a sequence lock, as in
+     * StampedLock: writers CAS it from even to odd, update the
+     * chunk with plain writes, and increment it again on release.
+     * Readers read the version, read the fields they need, and
+     * validate by rereading the version after an acquire fence.
+     * Reads that race with writers may see inconsistent arrays
+     * (including null keys within the size), so searches tolerate
+     * them, and results are used only after validation.
+     *
+     * Chunks split in B-link style.  When an insertion finds its
+     * chunk full, the writer moves the upper half to a new right
+     * chunk, whose low fence is its first key, and links it after
+     * the old chunk, setting the old chunk's high fence, all under
+     * the old chunk's lock.  Only after unlocking is the new chunk
+     * added to the index.  Meanwhile, and whenever an index lookup
+     * is stale, an operation finding that its key is at or above a
+     * chunk's high fence moves right along the next links.
+     *
+     * When a removal empties a chunk other than head, the chunk is
+     * merged into its predecessor: the remover locks the predecessor
+     * and then the chunk (always left to right, so there are no
+     * deadlocks), extends the predecessor's high fence, unlinks the
+     * chunk and marks it dead, and then removes it from the index.
+     * Operations arriving at a dead chunk restart from the chunk
+     * preceding its low fence in the index, which covers its old
+     * range.  A split racing with the merge of its new right chunk
+     * rechecks after adding it to the index.
+     *
+     * Relational operations and iteration are built on two methods
+     * that copy a run of mappings from a single chunk at or after
+     * (ascend) or at or before (descend) a key.  Iterators and all
+     * views are implemented by SubMap, with the full-range SubMap
+     * serving the views of this map.  Iterators copy a chunk's worth
+     * of mappings at a time, and relocate the next run by key, so
+     * they are unaffected by concurrent splits and merges.
+     */
+
+    /* ---------------- Constants -------------- */
+
+    /** The maximum number of mappings in a chunk. */
+    static final int CHUNK_CAPACITY = 64;
+
+    // Relations, as in ConcurrentSkipListMap
+    private static final int EQ = ConcurrentSkipListMap.EQ;
+    private static final int LT = ConcurrentSkipListMap.LT;
+    private static final int GT = ConcurrentSkipListMap.GT;
+
+    /* ---------------- Chunks -------------- */
+
+    /**
+     * A range of mappings in sorted arrays.
+     */
+    static final class Chunk<K,V> {
+        final K low;                // inclusive fence, or null if head
+        volatile long version;      // odd while locked
+        volatile boolean dead;      // set when merged into predecessor
+        int size;
+        K high;                     // exclusive fence, or null if last
+        Chunk<K,V> next;
+        final Object[] keys = new Object[CHUNK_CAPACITY];
+        final Object[] vals = new Object[CHUNK_CAPACITY];
+
+        Chunk(K low) {
+            this.low = low;
+        }
+
+        void lock() {
+            for (int spins = 0;;) {
+                long v = version;
+                if ((v & 1L) == 0L && VERSION.weakCompareAndSet(this, v, v + 1L))
+                    return;
+                spin(++spins);
+            }
+        }
+
+        void unlock() {
+            VERSION.setRelease(this, version + 1L);
+        }
+
+        /**
+         * Inserts a mapping at index i of this locked, non-full chunk.
+         */
+        void insert(int i, Object key, Object value) {
+            int n = size;
+            System.arraycopy(keys, i, keys, i + 1, n - i);
+            System.arraycopy(vals, i, vals, i + 1, n - i);
+            keys[i] = key;
+            vals[i] = value;
+            size = n + 1;
+        }
+
+        /**
+         * Deletes the mapping at index i of this locked chunk.
+         */
+        void delete(int i) {
+            int n = size - 1;
+            System.arraycopy(keys, i + 1, keys, i, n - i);
+            System.arraycopy(vals, i + 1, vals, i, n - i);
+            keys[n] = vals[n] = null;
+            size = n;
+        }
+
+        private static final VarHandle VERSION;
+        static {
+            try {
+                MethodHandles.Lookup l = MethodHandles.lookup();
+                VERSION = l.findVarHandle(Chunk.class, "version", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+
+    /**
+     * Spins while waiting for a chunk lock to be released, yielding
+     * occasionally in case its holder is descheduled.
+     */
+    static void spin(int spins) {
+        if ((spins & 63) == 0)
+            Thread.yield();
+        else
+            Thread.onSpinWait();
+    }
+
+    /**
+     * Binary search for key among the first n keys, tolerating racy
+     * reads: returns the index of key if found, else (-(insertion
+     * point) - 1).
+     */
+    static int search(Object[] keys, int n, Object key,
+                      Comparator<?> cmp) {
+        int lo = 0, hi = Math.min(n, CHUNK_CAPACITY) - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1, c;
+            Object k = keys[mid];
+            if (k == null)          // racing with a writer
+                return -1;
+            if ((c = ConcurrentSkipListMap.cpr(cmp, k, key)) < 0)
+                lo = mid + 1;
+            else if (c > 0)
+                hi = mid - 1;
+            else
+                return mid;
+        }
+        return -(lo + 1);
+    }
+
+    /* ---------------- Fields -------------- */
+
+    /**
+     * The comparator used to maintain order in this map, or null if
+     * using natural ordering.
+     */
+    final Comparator<? super K> comparator;
+
+    /** The first chunk, which is never merged. */
+    final Chunk<K,V> head;
+
+    /** Maps the low fence of each chunk other than head to the chunk. */
+    final ConcurrentSkipListMap<K,Chunk<K,V>> index;
+
+    /** The number of mappings. */
+    private final LongAdder count = new LongAdder();
+
+    // Lazily initialized views
+    private transient SubMap<K,V> fullView;
+    private transient KeySet<K,V> keySet;
+    private transient Values<K,V> values;
+    private transient EntrySet<K,V> entrySet;
+    private transient SubMap<K,V> descendingMap;
+
+    /* ---------------- Constructors -------------- */
+
+    /**
+     * Constructs a new, empty map, sorted according to the
+     * {@linkplain Comparable natural ordering} of the keys.
+     */
+    public ConcurrentChunkedSkipListMap() {
+        this((Comparator<? super K>)null);
+    }
+
+    /**
+     * Constructs a new, empty map, sorted according to the specified
+     * comparator.
+     *
+     * @param comparator the comparator that will be used to order this map.
+     *        If {@code null}, the {@linkplain Comparable natural
+     *        ordering} of the keys will be used.
+     */
+    public ConcurrentChunkedSkipListMap(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+        this.head = new Chunk<K,V>(null);
+        this.index = new ConcurrentSkipListMap<K,Chunk<K,V>>(comparator);
+    }
+
+    /**
+     * Constructs a new map containing the same mappings as the given map,
+     * sorted according to the {@linkplain Comparable natural ordering} of
+     * the keys.
+     *
+     * @param  m the map whose mappings are to be placed in this map
+     * @throws ClassCastException if the keys in {@code m} are not
+     *         {@link Comparable}, or are not mutually comparable
+     * @throws NullPointerException if the specified map or any of its keys
+     *         or values are null
+     */
+    public ConcurrentChunkedSkipListMap(Map<? extends K, ? extends V> m) {
+        this((Comparator<? super K>)null);
+        putAll(m);
+    }
+
+    /* ---------------- Locating chunks -------------- */
+
+    /**
+     * Returns the chunk in the index with the greatest low fence
+     * satisfying the relation to the key, or head if none.
+     */
+    @SuppressWarnings("unchecked")
+    private Chunk<K,V> indexed(Object key, int rel) {
+        for (;;) {
+            ConcurrentSkipListMap.Node<K,Chunk<K,V>> n =
+                index.findNear((K)key, rel, comparator);
+            Chunk<K,V> c;
+            if (n == null)
+                return head;
+            if ((c = n.val) != null)
+                return c;
+        }
+    }
+
+    /**
+     * Returns a chunk at or before the chunk that may contain key.
+     */
+    private Chunk<K,V> floorChunk(Object key) {
+        return indexed(key, LT|EQ);
+    }
+
+    /**
+     * Returns a chunk before the chunk with the given low fence.
+     */
+    private Chunk<K,V> lowerChunk(Object low) {
+        return indexed(low, LT);
+    }
+
+    /**
+     * Returns a chunk at or before the last chunk.
+     */
+    private Chunk<K,V> lastChunk() {
+        for (;;) {
+            ConcurrentSkipListMap.Node<K,Chunk<K,V>> n = index.findLast();
+            Chunk<K,V> c;
+            if (n == null)
+                return head;
+            if ((c = n.val) != null)
+                return c;
+        }
+    }
+
+    /**
+     * Returns the chunk covering key, locked.
+     */
+    private Chunk<K,V> lockChunkFor(Object key) {
+        Comparator<? super K> cmp = comparator;
+        Chunk<K,V> c = floorChunk(key);
+        for (int spins = 0;;) {
+            long v = c.version;     // first move right optimistically
+            if ((v & 1L) == 0L) {
+                boolean dead = c.dead;
+                K hi = c.high;
+                Chunk<K,V> n = c.next;
+                VarHandle.acquireFence();
+                if (c.version == v) {
+                    if (dead)
+                        c = lowerChunk(c.low);
+                    else if (hi != null && ConcurrentSkipListMap.cpr(cmp, key, hi) >= 0)
+                        c = n;
+                    else {
+                        c.lock();   // recheck under lock
+                        if (!c.dead && ((hi = c.high) == null ||
+                                        ConcurrentSkipListMap.cpr(cmp, key, hi) < 0))
+                            return c;
+                        c.unlock();
+                    }
+                    continue;
+                }
+            }
+            spin(++spins);
+        }
+    }
+
+    /* ---------------- Traversal -------------- */
+
+    /**
+     * Copies into buf, as key-value pairs, the mappings of a single
+     * chunk starting with the least key greater than (or equal to, if
+     * inclusive) the given key, or with the least key if key is null.
+     *
+     * @return the number of mappings copied, or zero if none remain
+     */
+    final int ascend(Object key, boolean inclusive, Object[] buf) {
+        Comparator<? super K> cmp = comparator;
+        boolean first = (key == null);  // take all mappings of chunk
+        Chunk<K,V> c = first ? head : floorChunk(key);
+        for (int spins = 0;;) {
+            long v = c.version;
+            if ((v & 1L) == 0L) {
+                boolean dead = c.dead, right = false;
+                K hi = c.high;
+                Chunk<K,V> n = c.next;
+                int s = Math.min(c.size, CHUNK_CAPACITY), m = 0;
+                if (!dead) {
+                    if (!first && hi != null &&
+                        ConcurrentSkipListMap.cpr(cmp, key, hi) >= 0)
+                        right = true;
+                    else {
+                        int i;
+                        if (first)
+                            i = 0;
+                        else if ((i = search(c.keys, s, key, cmp)) < 0)
+                            i = -(i + 1);
+                        else if (!inclusive)
+                            ++i;
+                        if (i < s) {
+                            m = Math.min(s - i, buf.length >>> 1);
+                            Object[] ks = c.keys, vs = c.vals;
+                            for (int j = 0; j < m; ++j) {
+                                buf[j << 1] = ks[i + j];
+                                buf[(j << 1) + 1] = vs[i + j];
+                            }
+                        }
+                    }
+                }
+                VarHandle.acquireFence();
+                if (c.version == v) {
+                    if (m > 0)
+                        return m;
+                    if (dead && !first)
+                        c = lowerChunk(c.low);
+                    else if (n == null)
+                        return 0;
+                    else {
+                        c = n;
+                        first |= !right;
+                    }
+                    continue;
+                }
+            }
+            spin(++spins);
+        }
+    }
+
+    /**
+     * Copies into buf, as key-value pairs in ascending order, the
+     * mappings of a single chunk ending with the greatest key less
+     * than (or equal to, if inclusive) the given key, or with the
+     * greatest key if key is null.
+     *
+     * @return the number of mappings copied, or zero if none remain
+     */
+    final int descend(Object key, boolean inclusive, Object[] buf) {
+        Comparator<? super K> cmp = comparator;
+        Chunk<K,V> c = (key == null) ? lastChunk() : floorChunk(key);
+        for (int spins = 0;;) {
+            long v = c.version;
+            if ((v & 1L) == 0L) {
+                boolean dead = c.dead, right = false;
+                K hi = c.high, low = c.low;
+                Chunk<K,V> n = c.next;
+                int s = Math.min(c.size, CHUNK_CAPACITY), m = 0, d;
+                if (!dead) {
+                    if (hi != null &&
+                        (key == null ||
+                         (d = ConcurrentSkipListMap.cpr(cmp, key, hi)) > 0 ||
+                         (d == 0 && inclusive)))
+                        right = true;
+                    else {
+                        int i, e;       // e is the index of the last match
+                        if (key == null)
+                            e = s - 1;
+                        else if ((i = search(c.keys, s, key, cmp)) >= 0)
+                            e = inclusive ? i : i - 1;
+                        else
+                            e = -(i + 1) - 1;
+                        if (e >= 0 && e < s) {
+                            m = Math.min(e + 1, buf.length >>> 1);
+                            Object[] ks = c.keys, vs = c.vals;
+                            for (int j = 0, b = e + 1 - m; j < m; ++j) {
+                                buf[j << 1] = ks[b + j];
+                                buf[(j << 1) + 1] = vs[b + j];
+                            }
+                        }
+                    }
+                }
+                VarHandle.acquireFence();
+                if (c.version == v) {
+                    if (m > 0)
+                        return m;
+                    if (dead)
+                        c = lowerChunk(low);
+                    else if (right)
+                        c = n;
+                    else if (low == null)
+                        return 0;
+                    else {              // continue below this chunk
+                        key = low;
+                        inclusive = false;
+                        c = lowerChunk(low);
+                    }
+                    continue;
+                }
+            }
+            spin(++spins);
+        }
+    }
+
+    /**
+     * Returns the mapping nearest to key in the given relation, or
+     * null if none; key is null for the first (or, with LT, last)
+     * mapping.
+     */
+    @SuppressWarnings("unchecked")
+    final Map.Entry<K,V> findNear(Object key, int rel) {
+        Object[] buf = new Object[2];
+        int m = ((rel & LT) == 0)
+            ? ascend(key, (rel & EQ) != 0, buf)
+            : descend(key, (rel & EQ) != 0, buf);
+        return (m == 0) ? null
+            : new AbstractMap.SimpleImmutableEntry<K,V>((K)buf[0], (V)buf[1]);
+    }
+
+    /* ---------------- Updates -------------- */
+
+    /**
+     * Main insertion method.  Adds the mapping if not present, or
+     * replaces the value if present and onlyIfAbsent is false.
+     *
+     * @return the old value, or null if newly inserted
+     */
+    @SuppressWarnings("unchecked")
+    private V doPut(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        Chunk<K,V> c = lockChunkFor(key), r = null;
+        Object[] ks = c.keys, vs = c.vals;
+        int n = c.size, i = search(ks, n, key, comparator);
+        if (i >= 0) {
+            Object old = vs[i];
+            if (!onlyIfAbsent)
+                vs[i] = value;
+            c.unlock();
+            return (V)old;
+        }
+        i = -(i + 1);
+        if (n < CHUNK_CAPACITY)
+            c.insert(i, key, value);
+        else {                          // split
+            int half = CHUNK_CAPACITY >>> 1;
+            r = new Chunk<K,V>((K)ks[half]);
+            System.arraycopy(ks, half, r.keys, 0, n - half);
+            System.arraycopy(vs, half, r.vals, 0, n - half);
+            Arrays.fill(ks, half, n, null);
+            Arrays.fill(vs, half, n, null);
+            r.size = n - half;
+            r.high = c.high;
+            r.next = c.next;
+            c.size = half;
+            c.high = r.low;
+            c.next = r;
+            if (i > half)
+                r.insert(i - half, key, value);
+            else
+                c.insert(i, key, value);
+        }
+        c.unlock();
+        count.increment();
+        if (r != null && !r.dead) {
+            index.put(r.low, r);
+            if (r.dead)                 // merged while being indexed
+                index.remove(r.low, r);
+        }
+        return null;
+    }
+
+    /**
+     * Main deletion method.  Removes the mapping for key if present
+     * and, if value is non-null, mapped to a value equal to it.
+     *
+     * @return the removed value, or null if none
+     */
+    @SuppressWarnings("unchecked")
+    final V doRemove(Object key, Object value) {
+        if (key == null)
+            throw new NullPointerException();
+        Chunk<K,V> c = lockChunkFor(key);
+        int i = search(c.keys, c.size, key, comparator);
+        Object old = null;
+        if (i >= 0 && (value == null || value.equals(c.vals[i]))) {
+            old = c.vals[i];
+            c.delete(i);
+        }
+        boolean empty = (c.size == 0);
+        c.unlock();
+        if (old != null) {
+            count.decrement();
+            if (empty && c != head)
+                tryMerge(c);
+        }
+        return (V)old;
+    }
+
+    /**
+     * Replaces the value for key if present and, if oldValue is
+     * non-null, mapped to a value equal to it.
+     *
+     * @return the replaced value, or null if none
+     */
+    @SuppressWarnings("unchecked")
+    private V doReplace(K key, Object oldValue, V value) {
+        if (key == null || value == null)
+            throw new NullPointerException();
+        Chunk<K,V> c = lockChunkFor(key);
+        int i = search(c.keys, c.size, key, comparator);
+        Object old = null;
+        if (i >= 0 && (oldValue == null || oldValue.equals(c.vals[i]))) {
+            old = c.vals[i];
+            c.vals[i] = value;
+        }
+        c.unlock();
+        return (V)old;
+    }
+
+    /**
+     * Merges c, if still empty, into its predecessor.
+     */
+    private void tryMerge(Chunk<K,V> c) {
+        Comparator<? super K> cmp = comparator;
+        K low = c.low;
+        for (Chunk<K,V> p = lowerChunk(low);;) {
+            p.lock();
+            Chunk<K,V> n = p.next;
+            K hi = p.high;
+            boolean dead = p.dead;
+            if (dead || n != c) {
+                p.unlock();
+                if (dead)
+                    p = lowerChunk(p.low);
+                else if (n == null || ConcurrentSkipListMap.cpr(cmp, hi, low) > 0)
+                    return;             // c is no longer linked
+                else
+                    p = n;
+                continue;
+            }
+            c.lock();
+            boolean merge = !c.dead && c.size == 0;
+            if (merge) {
+                p.high = c.high;
+                p.next = c.next;
+                c.dead = true;
+            }
+            c.unlock();
+            p.unlock();
+            if (merge)
+                index.remove(low, c);
+            return;
+        }
+    }
+
+    /* ---------------- Map API methods -------------- */
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified
+     * key.
+     *
+     * @param key key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified key
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if the specified key is null
+     */
+    public boolean containsKey(Object key) {
+        return doGet(key) != null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if the specified key is null
+     */
+    public V get(Object key) {
+        return doGet(key);
+    }
+
+    /**
+     * Gets value for key, reading chunks optimistically.
+     */
+    @SuppressWarnings("unchecked")
+    private V doGet(Object key) {
+        if (key == null)
+            throw new NullPointerException();
+        Comparator<? super K> cmp = comparator;
+        Chunk<K,V> c = floorChunk(key);
+        for (int spins = 0;;) {
+            long v = c.version;
+            if ((v & 1L) == 0L) {
+                boolean dead = c.dead, here = false;
+                K hi = c.high;
+                Chunk<K,V> n = c.next;
+                Object val = null;
+                if (!dead && (hi == null || ConcurrentSkipListMap.cpr(cmp, key, hi) < 0)) {
+                    int i = search(c.keys, c.size, key, cmp);
+                    if (i >= 0)
+                        val = c.vals[i];
+                    here = true;
+                }
+                VarHandle.acquireFence();
+                if (c.version == v) {
+                    if (here)
+                        return (V)val;
+                    c = dead ? lowerChunk(c.low) : n;
+                    continue;
+                }
+            }
+            spin(++spins);
+        }
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or the given defaultValue if this map contains no mapping for the key.
+     *
+     * @param key the key
+     * @param defaultValue the value to return if this map contains
+     * no mapping for the given key
+     * @return the mapping for the key, if present; else the defaultValue
+     * @throws NullPointerException if the specified key is null
+     */
+    public V getOrDefault(Object key, V defaultValue) {
+        V v;
+        return (v = doGet(key)) == null ? defaultValue : v;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with the specified key, or
+     *         {@code null} if there was no mapping for the key
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if the specified key or value is null
+     */
+    public V put(K key, V value) {
+        return doPut(key, value, false);
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key for which mapping should be removed
+     * @return the previous value associated with the specified key, or
+     *         {@code null} if there was no mapping for the key
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if the specified key is null
+     */
+    public V remove(Object key) {
+        return doRemove(key, null);
+    }
+
+    /**
+     * Returns {@code true} if this map maps one or more keys to the
+     * specified value.  This operation requires time linear in the
+     * map size.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return {@code true} if a mapping to {@code value} exists;
+     *         {@code false} otherwise
+     * @throws NullPointerException if the specified value is null
+     */
+    public boolean containsValue(Object value) {
+        return fullView().containsValue(value);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.  If this
+     * map contains more than {@code Integer.MAX_VALUE} elements, it
+     * returns {@code Integer.MAX_VALUE}.  The value returned is an
+     * estimate when there are concurrent insertions or removals.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        long n = count.sum();
+        return (n >= Integer.MAX_VALUE) ? Integer.MAX_VALUE
+            : (n < 0L) ? 0 : (int)n;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return findNear(null, GT) == null;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        fullView().clear();
+    }
+
+    /* ---------------- ConcurrentMap API methods -------------- */
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the previous value associated with the specified key,
+     *         or {@code null} if there was no mapping for the key
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if the specified key or value is null
+     */
+    public V putIfAbsent(K key, V value) {
+        return doPut(key, value, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if the specified key is null
+     */
+    public boolean remove(Object key, Object value) {
+        if (key == null)
+            throw new NullPointerException();
+        return value != null && doRemove(key, value) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (oldValue == null)
+            throw new NullPointerException();
+        return doReplace(key, oldValue, newValue) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the previous value associated with the specified key,
+     *         or {@code null} if there was no mapping for the key
+     * @throws ClassCastException if the specified key cannot be compared
+     *         with the keys currently in the map
+     * @throws NullPointerException if the specified key or value is null
+     */
+    public V replace(K key, V value) {
+        return doReplace(key, null, value);
+    }
+
+    /* ---------------- SortedMap API methods -------------- */
+
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     */
+    public K firstKey() {
+        Map.Entry<K,V> e = findNear(null, GT);
+        if (e == null)
+            throw new NoSuchElementException();
+        return e.getKey();
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     */
+    public K lastKey() {
+        Map.Entry<K,V> e = findNear(null, LT);
+        if (e == null)
+            throw new NoSuchElementException();
+        return e.getKey();
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if {@code fromKey} or {@code toKey} is null
+     * @throws IllegalArgumentException {@inheritDoc}
+     */
+    public ConcurrentNavigableMap<K,V> subMap(K fromKey,
+                                              boolean fromInclusive,
+                                              K toKey,
+                                              boolean toInclusive) {
+        if (fromKey == null || toKey == null)
+            throw new NullPointerException();
+        return new SubMap<K,V>
+            (this, fromKey, fromInclusive, toKey, toInclusive, false);
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if {@code toKey} is null
+     * @throws IllegalArgumentException {@inheritDoc}
+     */
+    public ConcurrentNavigableMap<K,V> headMap(K toKey,
+                                               boolean inclusive) {
+        if (toKey == null)
+            throw new NullPointerException();
+        return new SubMap<K,V>
+            (this, null, false, toKey, inclusive, false);
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if {@code fromKey} is null
+     * @throws IllegalArgumentException {@inheritDoc}
+     */
+    public ConcurrentNavigableMap<K,V> tailMap(K fromKey,
+                                               boolean inclusive) {
+        if (fromKey == null)
+            throw new NullPointerException();
+        return new SubMap<K,V>
+            (this, fromKey, inclusive, null, false, false);
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if {@code fromKey} or {@code toKey} is null
+     * @throws IllegalArgumentException {@inheritDoc}
+     */
+    public ConcurrentNavigableMap<K,V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if {@code toKey} is null
+     * @throws IllegalArgumentException {@inheritDoc}
+     */
+    public ConcurrentNavigableMap<K,V> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if {@code fromKey} is null
+     * @throws IllegalArgumentException {@inheritDoc}
+     */
+    public ConcurrentNavigableMap<K,V> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    /* ---------------- Relational operations -------------- */
+
+    /**
+     * Returns a key-value mapping associated with the greatest key
+     * strictly less than the given key, or {@code null} if there is
+     * no such key. The returned entry does <em>not</em> support the
+     * {@code Entry.setValue} method.
+     *
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     */
+    public Map.Entry<K,V> lowerEntry(K key) {
+        return findNear(Objects.requireNonNull(key), LT);
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     */
+    public K lowerKey(K key) {
+        return keyOf(lowerEntry(key));
+    }
+
+    /**
+     * Returns a key-value mapping associated with the greatest key
+     * less than or equal to the given key, or {@code null} if there
+     * is no such key. The returned entry does <em>not</em> support
+     * the {@code Entry.setValue} method.
+     *
+     * @param key the key
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     */
+    public Map.Entry<K,V> floorEntry(K key) {
+        return findNear(Objects.requireNonNull(key), LT|EQ);
+    }
+
+    /**
+     * @param key the key
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     */
+    public K floorKey(K key) {
+        return keyOf(floorEntry(key));
+    }
+
+    /**
+     * Returns a key-value mapping associated with the least key
+     * greater than or equal to the given key, or {@code null} if
+     * there is no such entry. The returned entry does <em>not</em>
+     * support the {@code Entry.setValue} method.
+     *
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     */
+    public Map.Entry<K,V> ceilingEntry(K key) {
+        return findNear(Objects.requireNonNull(key), GT|EQ);
+    }
+
+    /**
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     */
+    public K ceilingKey(K key) {
+        return keyOf(ceilingEntry(key));
+    }
+
+    /**
+     * Returns a key-value mapping associated with the least key
+     * strictly greater than the given key, or {@code null} if there
+     * is no such key. The returned entry does <em>not</em> support
+     * the {@code Entry.setValue} method.
+     *
+     * @param key the key
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     */
+    public Map.Entry<K,V> higherEntry(K key) {
+        return findNear(Objects.requireNonNull(key), GT);
+    }
+
+    /**
+     * @param key the key
+     * @throws ClassCastException {@inheritDoc}
+     * @throws NullPointerException if the specified key is null
+     */
+    public K higherKey(K key) {
+        return keyOf(higherEntry(key));
+    }
+
+    /**
+     * Returns a key-value mapping associated with the least
+     * key in this map, or {@code null} if the map is empty.
+     * The returned entry does <em>not</em> support
+     * the {@code Entry.setValue} method.
+     */
+    public Map.Entry<K,V> firstEntry() {
+        return findNear(null, GT);
+    }
+
+    /**
+     * Returns a key-value mapping associated with the greatest
+     * key in this map, or {@code null} if the map is empty.
+     * The returned entry does <em>not</em> support
+     * the {@code Entry.setValue} method.
+     */
+    public Map.Entry<K,V> lastEntry() {
+        return findNear(null, LT);
+    }
+
+    /**
+     * Removes and returns a key-value mapping associated with
+     * the least key in this map, or {@code null} if the map is empty.
+     * The returned entry does <em>not</em> support
+     * the {@code Entry.setValue} method.
+     */
+    public Map.Entry<K,V> pollFirstEntry() {
+        return fullView().pollFirstEntry();
+    }
+
+    /**
+     * Removes and returns a key-value mapping associated with
+     * the greatest key in this map, or {@code null} if the map is empty.
+     * The returned entry does <em>not</em> support
+     * the {@code Entry.setValue} method.
+     */
+    public Map.Entry<K,V> pollLastEntry() {
+        return fullView().pollLastEntry();
+    }
+
+    static <K,V> K keyOf(Map.Entry<K,V> e) {
+        return (e == null) ? null : e.getKey();
+    }
+
+    /* ---------------- Views -------------- */
+
+    private SubMap<K,V> fullView() {
+        SubMap<K,V> m;
+        if ((m = fullView) != null) return m;
+        return fullView = new SubMap<K,V>(this, null, false, null, false, false);
+    }
+
+    /**
+     * Returns a {@link NavigableSet} view of the keys contained in this map.
+     *
+     * <p>The set's iterator returns the keys in ascending order.  The
+     * set is backed by the map, so changes to the map are reflected
+     * in the set, and vice-versa.  The set supports element removal,
+     * but not the {@code add} or {@code addAll} operations.
+     *
+     * <p>The view's iterators and spliterators are
+     * <a href="package-summary.html#Weakly"><i>weakly consistent</i></a>.
+     *
+     * @return a navigable set view of the keys in this map
+     */
+    public NavigableSet<K> keySet() {
+        KeySet<K,V> ks;
+        if ((ks = keySet) != null) return ks;
+        return keySet = new KeySet<>(fullView());
+    }
+
+    public NavigableSet<K> navigableKeySet() {
+        return keySet();
+    }
+
+    /**
+     * Returns a {@link Collection} view of the values contained in this map.
+     * The collection's iterator returns the values in ascending order
+     * of the corresponding keys.  The collection supports element
+     * removal, but not the {@code add} or {@code addAll} operations.
+     *
+     * <p>The view's iterators and spliterators are
+     * <a href="package-summary.html#Weakly"><i>weakly consistent</i></a>.
+     *
+     * @return a collection view of the values contained in this map
+     */
+    public Collection<V> values() {
+        Values<K,V> vs;
+        if ((vs = values) != null) return vs;
+        return values = new Values<>(fullView());
+    }
+
+    /**
+     * Returns a {@link Set} view of the mappings contained in this map.
+     * The set's iterator returns the entries in ascending key order.
+     * The set supports element removal, but not the {@code add} or
+     * {@code addAll} operations.  The {@code Map.Entry} elements
+     * traversed by the iterator do <em>not</em> support the
+     * {@code setValue} operation.
+     *
+     * <p>The view's iterators and spliterators are
+     * <a href="package-summary.html#Weakly"><i>weakly consistent</i></a>.
+     *
+     * @return a set view of the mappings contained in this map,
+     *         sorted in ascending key order
+     */
+    public Set<Map.Entry<K,V>> entrySet() {
+        EntrySet<K,V> es;
+        if ((es = entrySet) != null) return es;
+        return entrySet = new EntrySet<>(fullView());
+    }
+
+    public ConcurrentNavigableMap<K,V> descendingMap() {
+        SubMap<K,V> dm;
+        if ((dm = descendingMap) != null) return dm;
+        return descendingMap =
+            new SubMap<K,V>(this, null, false, null, false, true);
+    }
+
+    public NavigableSet<K> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    static final <E> List<E> toList(Collection<E> c) {
+        ArrayList<E> list = new ArrayList<E>();
+        for (E e : c)
+            list.add(e);
+        return list;
+    }
+
+    static final class KeySet<K,V>
+            extends AbstractSet<K> implements NavigableSet<K> {
+        final SubMap<K,V> m;
+        KeySet(SubMap<K,V> map) { m = map; }
+        public int size() { return m.size(); }
+        public boolean isEmpty() { return m.isEmpty(); }
+        public boolean contains(Object o) { return m.containsKey(o); }
+        public boolean remove(Object o) { return m.remove(o) != null; }
+        public void clear() { m.clear(); }
+        public K lower(K e) { return m.lowerKey(e); }
+        public K floor(K e) { return m.floorKey(e); }
+        public K ceiling(K e) { return m.ceilingKey(e); }
+        public K higher(K e) { return m.higherKey(e); }
+        public Comparator<? super K> comparator() { return m.comparator(); }
+        public K first() { return m.firstKey(); }
+        public K last() { return m.lastKey(); }
+        public K pollFirst() { return keyOf(m.pollFirstEntry()); }
+        public K pollLast() { return keyOf(m.pollLastEntry()); }
+        public Iterator<K> iterator() { return m.new SubMapKeyIterator(); }
+        public boolean equals(Object o) {
+            if (o == this)
+                return true;
+            if (!(o instanceof Set))
+                return false;
+            Collection<?> c = (Collection<?>) o;
+            try {
+                return containsAll(c) && c.containsAll(this);
+            } catch (ClassCastException | NullPointerException unused) {
+                return false;
+            }
+        }
+        public Object[] toArray()     { return toList(this).toArray();  }
+        public <T> T[] toArray(T[] a) { return toList(this).toArray(a); }
+        public Iterator<K> descendingIterator() {
+            return descendingSet().iterator();
+        }
+        public NavigableSet<K> subSet(K fromElement,
+                                      boolean fromInclusive,
+                                      K toElement,
+                                      boolean toInclusive) {
+            return new KeySet<>(m.subMap(fromElement, fromInclusive,
+                                         toElement,   toInclusive));
+        }
+        public NavigableSet<K> headSet(K toElement, boolean inclusive) {
+            return new KeySet<>(m.headMap(toElement, inclusive));
+        }
+        public NavigableSet<K> tailSet(K fromElement, boolean inclusive) {
+            return new KeySet<>(m.tailMap(fromElement, inclusive));
+        }
+        public NavigableSet<K> subSet(K fromElement, K toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+        public NavigableSet<K> headSet(K toElement) {
+            return headSet(toElement, false);
+        }
+        public NavigableSet<K> tailSet(K fromElement) {
+            return tailSet(fromElement, true);
+        }
+        public NavigableSet<K> descendingSet() {
+            return new KeySet<>(m.descendingMap());
+        }
+        public Spliterator<K> spliterator() {
+            return m.new SubMapKeyIterator();
+        }
+    }
+
+    static final class Values<K,V> extends AbstractCollection<V> {
+        final SubMap<K,V> m;
+        Values(SubMap<K,V> map) { m = map; }
+        public Iterator<V> iterator() { return m.new SubMapValueIterator(); }
+        public int size() { return m.size(); }
+        public boolean isEmpty() { return m.isEmpty(); }
+        public boolean contains(Object o) { return m.containsValue(o); }
+        public void clear() { m.clear(); }
+        public Object[] toArray()     { return toList(this).toArray();  }
+        public <T> T[] toArray(T[] a) { return toList(this).toArray(a); }
+        public Spliterator<V> spliterator() {
+            return m.new SubMapValueIterator();
+        }
+    }
+
+    static final class EntrySet<K,V> extends AbstractSet<Map.Entry<K,V>> {
+        final SubMap<K,V> m;
+        EntrySet(SubMap<K,V> map) { m = map; }
+        public Iterator<Map.Entry<K,V>> iterator() {
+            return m.new SubMapEntryIterator();
+        }
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+            V v = m.get(e.getKey());
+            return v != null && v.equals(e.getValue());
+        }
+        public boolean remove(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+            return m.remove(e.getKey(), e.getValue());
+        }
+        public boolean isEmpty() { return m.isEmpty(); }
+        public int size() { return m.size(); }
+        public void clear() { m.clear(); }
+        public boolean equals(Object o) {
+            if (o == this)
+                return true;
+            if (!(o instanceof Set))
+                return false;
+            Collection<?> c = (Collection<?>) o;
+            try {
+                return containsAll(c) && c.containsAll(this);
+            } catch (ClassCastException | NullPointerException unused) {
+                return false;
+            }
+        }
+        public Object[] toArray()     { return toList(this).toArray();  }
+        public <T> T[] toArray(T[] a) { return toList(this).toArray(a); }
+        public Spliterator<Map.Entry<K,V>> spliterator() {
+            return m.new SubMapEntryIterator();
+        }
+    }
+
+    /**
+     * Submaps returned by {@link ConcurrentChunkedSkipListMap} submap
+     * operations represent a subrange of mappings of their underlying
+     * maps, as in {@link ConcurrentSkipListMap}.  Attempts to add
+     * mappings outside their ranges result in {@link
+     * IllegalArgumentException}.  Instances with no bounds serve as
+     * the views of the underlying map itself.
+     */
+    static final class SubMap<K,V> extends AbstractMap<K,V>
+        implements ConcurrentNavigableMap<K,V> {
+        /** Underlying map */
+        final ConcurrentChunkedSkipListMap<K,V> m;
+        /** lower bound key, or null if from start */
+        private final K lo;
+        /** upper bound key, or null if to end */
+        private final K hi;
+        /** inclusion flag for lo */
+        private final boolean loInclusive;
+        /** inclusion flag for hi */
+        private final boolean hiInclusive;
+        /** direction */
+        final boolean isDescending;
+
+        // Lazily initialized view holders
+        private transient KeySet<K,V> keySetView;
+        private transient Values<K,V> valuesView;
+        private transient EntrySet<K,V> entrySetView;
+
+        SubMap(ConcurrentChunkedSkipListMap<K,V> map,
+               K fromKey, boolean fromInclusive,
+               K toKey, boolean toInclusive,
+               boolean isDescending) {
+            Comparator<? super K> cmp = map.comparator;
+            if (fromKey != null && toKey != null &&
+                ConcurrentSkipListMap.cpr(cmp, fromKey, toKey) > 0)
+                throw new IllegalArgumentException("inconsistent range");
+            this.m = map;
+            this.lo = fromKey;
+            this.hi = toKey;
+            this.loInclusive = fromInclusive;
+            this.hiInclusive = toInclusive;
+            this.isDescending = isDescending;
+        }
+
+        /* ----------------  Utilities -------------- */
+
+        boolean tooLow(Object key, Comparator<? super K> cmp) {
+            int c;
+            return (lo != null && ((c = ConcurrentSkipListMap.cpr(cmp, key, lo)) < 0 ||
+                                   (c == 0 && !loInclusive)));
+        }
+
+        boolean tooHigh(Object key, Comparator<? super K> cmp) {
+            int c;
+            return (hi != null && ((c = ConcurrentSkipListMap.cpr(cmp, key, hi)) > 0 ||
+                                   (c == 0 && !hiInclusive)));
+        }
+
+        boolean inBounds(Object key, Comparator<? super K> cmp) {
+            return !tooLow(key, cmp) && !tooHigh(key, cmp);
+        }
+
+        void checkKeyBounds(K key, Comparator<? super K> cmp) {
+            if (key == null)
+                throw new NullPointerException();
+            if (!inBounds(key, cmp))
+                throw new IllegalArgumentException("key out of range");
+        }
+
+        /** Returns the lowest mapping in range, or null if none. */
+        Map.Entry<K,V> lowestEntry() {
+            Map.Entry<K,V> e = m.findNear(lo, loInclusive ? GT|EQ : GT);
+            return (e == null || tooHigh(e.getKey(), m.comparator)) ? null : e;
+        }
+
+        /** Returns the highest mapping in range, or null if none. */
+        Map.Entry<K,V> highestEntry() {
+            Map.Entry<K,V> e = m.findNear(hi, hiInclusive ? LT|EQ : LT);
+            return (e == null || tooLow(e.getKey(), m.comparator)) ? null : e;
+        }
+
+        Map.Entry<K,V> removeLowest() {
+            for (Map.Entry<K,V> e; (e = lowestEntry()) != null; ) {
+                if (m.doRemove(e.getKey(), e.getValue()) != null)
+                    return e;
+            }
+            return null;
+        }
+
+        Map.Entry<K,V> removeHighest() {
+            for (Map.Entry<K,V> e; (e = highestEntry()) != null; ) {
+                if (m.doRemove(e.getKey(), e.getValue()) != null)
+                    return e;
+            }
+            return null;
+        }
+
+        /**
+         * Submap version of ConcurrentChunkedSkipListMap.findNear.
+         */
+        Map.Entry<K,V> getNearEntry(K key, int rel) {
+            if (key == null)
+                throw new NullPointerException();
+            Comparator<? super K> cmp = m.comparator;
+            if (isDescending) { // adjust relation for direction
+                if ((rel & LT) == 0)
+                    rel |= LT;
+                else
+                    rel &= ~LT;
+            }
+            if (tooLow(key, cmp))
+                return ((rel & LT) != 0) ? null : lowestEntry();
+            if (tooHigh(key, cmp))
+                return ((rel & LT) != 0) ? highestEntry() : null;
+            Map.Entry<K,V> e = m.findNear(key, rel);
+            if (e == null || !inBounds(e.getKey(), cmp))
+                return null;
+            else
+                return e;
+        }
+
+        /* ----------------  Map API methods -------------- */
+
+        public boolean containsKey(Object key) {
+            if (key == null) throw new NullPointerException();
+            return inBounds(key, m.comparator) && m.containsKey(key);
+        }
+
+        public V get(Object key) {
+            if (key == null) throw new NullPointerException();
+            return (!inBounds(key, m.comparator)) ? null : m.get(key);
+        }
+
+        public V put(K key, V value) {
+            checkKeyBounds(key, m.comparator);
+            return m.put(key, value);
+        }
+
+        public V remove(Object key) {
+            return (!inBounds(key, m.comparator)) ? null : m.remove(key);
+        }
+
+        public int size() {
+            long count = 0;
+            for (SubMapKeyIterator it = new SubMapKeyIterator(); it.hasNext(); ) {
+                it.advance();
+                ++count;
+            }
+            return count >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int)count;
+        }
+
+        public boolean isEmpty() {
+            return lowestEntry() == null;
+        }
+
+        public boolean containsValue(Object value) {
+            if (value == null)
+                throw new NullPointerException();
+            for (Iterator<V> it = new SubMapValueIterator(); it.hasNext(); ) {
+                if (value.equals(it.next()))
+                    return true;
+            }
+            return false;
+        }
+
+        public void clear() {
+            for (SubMapEntryIterator it = new SubMapEntryIterator(); it.hasNext(); ) {
+                Map.Entry<K,V> e = it.next();
+                m.doRemove(e.getKey(), null);
+            }
+        }
+
+        /* ----------------  ConcurrentMap API methods -------------- */
+
+        public V putIfAbsent(K key, V value) {
+            checkKeyBounds(key, m.comparator);
+            return m.putIfAbsent(key, value);
+        }
+
+        public boolean remove(Object key, Object value) {
+            return inBounds(key, m.comparator) && m.remove(key, value);
+        }
+
+        public boolean replace(K key, V oldValue, V newValue) {
+            checkKeyBounds(key, m.comparator);
+            return m.replace(key, oldValue, newValue);
+        }
+
+        public V replace(K key, V value) {
+            checkKeyBounds(key, m.comparator);
+            return m.replace(key, value);
+        }
+
+        /* ----------------  SortedMap API methods -------------- */
+
+        public Comparator<? super K> comparator() {
+            Comparator<? super K> cmp = m.comparator();
+            if (isDescending)
+                return Collections.reverseOrder(cmp);
+            else
+                return cmp;
+        }
+
+        /**
+         * Utility to create submaps, where given bounds override
+         * unbounded(null) ones and/or are checked against bounded ones.
+         */
+        SubMap<K,V> newSubMap(K fromKey, boolean fromInclusive,
+                              K toKey, boolean toInclusive) {
+            Comparator<? super K> cmp = m.comparator;
+            if (isDescending) { // flip senses
+                K tk = fromKey;
+                fromKey = toKey;
+                toKey = tk;
+                boolean ti = fromInclusive;
+                fromInclusive = toInclusive;
+                toInclusive = ti;
+            }
+            if (lo != null) {
+                if (fromKey == null) {
+                    fromKey = lo;
+                    fromInclusive = loInclusive;
+                }
+                else {
+                    int c = ConcurrentSkipListMap.cpr(cmp, fromKey, lo);
+                    if (c < 0 || (c == 0 && !loInclusive && fromInclusive))
+                        throw new IllegalArgumentException("key out of range");
+                }
+            }
+            if (hi != null) {
+                if (toKey == null) {
+                    toKey = hi;
+                    toInclusive = hiInclusive;
+                }
+                else {
+                    int c = ConcurrentSkipListMap.cpr(cmp, toKey, hi);
+                    if (c > 0 || (c == 0 && !hiInclusive && toInclusive))
+                        throw new IllegalArgumentException("key out of range");
+                }
+            }
+            return new SubMap<K,V>(m, fromKey, fromInclusive,
+                                   toKey, toInclusive, isDescending);
+        }
+
+        public SubMap<K,V> subMap(K fromKey, boolean fromInclusive,
+                                  K toKey, boolean toInclusive) {
+            if (fromKey == null || toKey == null)
+                throw new NullPointerException();
+            return newSubMap(fromKey, fromInclusive, toKey, toInclusive);
+        }
+
+        public SubMap<K,V> headMap(K toKey, boolean inclusive) {
+            if (toKey == null)
+                throw new NullPointerException();
+            return newSubMap(null, false, toKey, inclusive);
+        }
+
+        public SubMap<K,V> tailMap(K fromKey, boolean inclusive) {
+            if (fromKey == null)
+                throw new NullPointerException();
+            return newSubMap(fromKey, inclusive, null, false);
+        }
+
+        public SubMap<K,V> subMap(K fromKey, K toKey) {
+            return subMap(fromKey, true, toKey, false);
+        }
+
+        public SubMap<K,V> headMap(K toKey) {
+            return headMap(toKey, false);
+        }
+
+        public SubMap<K,V> tailMap(K fromKey) {
+            return tailMap(fromKey, true);
+        }
+
+        public SubMap<K,V> descendingMap() {
+            return new SubMap<K,V>(m, lo, loInclusive,
+                                   hi, hiInclusive, !isDescending);
+        }
+
+        /* ----------------  Relational methods -------------- */
+
+        public Map.Entry<K,V> ceilingEntry(K key) {
+            return getNearEntry(key, GT|EQ);
+        }
+
+        public K ceilingKey(K key) {
+            return keyOf(getNearEntry(key, GT|EQ));
+        }
+
+        public Map.Entry<K,V> lowerEntry(K key) {
+            return getNearEntry(key, LT);
+        }
+
+        public K lowerKey(K key) {
+            return keyOf(getNearEntry(key, LT));
+        }
+
+        public Map.Entry<K,V> floorEntry(K key) {
+            return getNearEntry(key, LT|EQ);
+        }
+
+        public K floorKey(K key) {
+            return keyOf(getNearEntry(key, LT|EQ));
+        }
+
+        public Map.Entry<K,V> higherEntry(K key) {
+            return getNearEntry(key, GT);
+        }
+
+        public K higherKey(K key) {
+            return keyOf(getNearEntry(key, GT));
+        }
+
+        public K firstKey() {
+            Map.Entry<K,V> e = firstEntry();
+            if (e == null)
+                throw new NoSuchElementException();
+            return e.getKey();
+        }
+
+        public K lastKey() {
+            Map.Entry<K,V> e = lastEntry();
+            if (e == null)
+                throw new NoSuchElementException();
+            return e.getKey();
+        }
+
+        public Map.Entry<K,V> firstEntry() {
+            return isDescending ? highestEntry() : lowestEntry();
+        }
+
+        public Map.Entry<K,V> lastEntry() {
+            return isDescending ? lowestEntry() : highestEntry();
+        }
+
+        public Map.Entry<K,V> pollFirstEntry() {
+            return isDescending ? removeHighest() : removeLowest();
+        }
+
+        public Map.Entry<K,V> pollLastEntry() {
+            return isDescending ? removeLowest() : removeHighest();
+        }
+
+        /* ---------------- Submap Views -------------- */
+
+        public NavigableSet<K> keySet() {
+            KeySet<K,V> ks;
+            if ((ks = keySetView) != null) return ks;
+            return keySetView = new KeySet<>(this);
+        }
+
+        public NavigableSet<K> navigableKeySet() {
+            return keySet();
+        }
+
+        public Collection<V> values() {
+            Values<K,V> vs;
+            if ((vs = valuesView) != null) return vs;
+            return valuesView = new Values<>(this);
+        }
+
+        public Set<Map.Entry<K,V>> entrySet() {
+            EntrySet<K,V> es;
+            if ((es = entrySetView) != null) return es;
+            return entrySetView = new EntrySet<K,V>(this);
+        }
+
+        public NavigableSet<K> descendingKeySet() {
+            return descendingMap().navigableKeySet();
+        }
+
+        /**
+         * Iterator over the range, copying the mappings of a chunk at
+         * a time.  Also serves as back-up Spliterator for views.
+         */
+        abstract class SubMapIter<T> implements Iterator<T>, Spliterator<T> {
+            /** Mappings copied from the current chunk, as key-value pairs */
+            final Object[] buf = new Object[CHUNK_CAPACITY << 1];
+            /** Number of mappings in buf */
+            int count;
+            /** Index in buf of the next mapping, in iteration order */
+            int cursor;
+            /** Whether the range is exhausted after buf */
+            boolean exhausted;
+            /** The last key returned by next(), for remove */
+            K lastReturned;
+            /** The next key and value to return from next() */
+            K nextKey;
+            V nextValue;
+
+            SubMapIter() {
+                if (isDescending)
+                    fill(hi, hiInclusive);
+                else
+                    fill(lo, loInclusive);
+                setNext();
+            }
+
+            /**
+             * Copies the next run of mappings after (or, if
+             * descending, before) the given key.
+             */
+            private void fill(K key, boolean inclusive) {
+                int n = isDescending
+                    ? m.descend(key, inclusive, buf)
+                    : m.ascend(key, inclusive, buf);
+                count = n;
+                cursor = isDescending ? n - 1 : 0;
+                exhausted = (n == 0);
+            }
+
+            @SuppressWarnings("unchecked")
+            private void setNext() {
+                Comparator<? super K> cmp = m.comparator;
+                for (;;) {
+                    if (cursor >= 0 && cursor < count) {
+                        K k = (K)buf[cursor << 1];
+                        if (isDescending ? tooLow(k, cmp) : tooHigh(k, cmp))
+                            break;
+                        nextKey = k;
+                        nextValue = (V)buf[(cursor << 1) + 1];
+                        cursor += isDescending ? -1 : 1;
+                        return;
+                    }
+                    if (exhausted)
+                        break;
+                    // relocate by the last key of the run
+                    fill((K)buf[isDescending ? 0 : (count - 1) << 1], false);
+                }
+                nextKey = null;
+                nextValue = null;
+            }
+
+            public final boolean hasNext() {
+                return nextKey != null;
+            }
+
+            final void advance() {
+                if (nextKey == null)
+                    throw new NoSuchElementException();
+                lastReturned = nextKey;
+                setNext();
+            }
+
+            public void remove() {
+                K l = lastReturned;
+                if (l == null)
+                    throw new IllegalStateException();
+                m.remove(l);
+                lastReturned = null;
+            }
+
+            public Spliterator<T> trySplit() {
+                return null;
+            }
+
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (hasNext()) {
+                    action.accept(next());
+                    return true;
+                }
+                return false;
+            }
+
+            public void forEachRemaining(Consumer<? super T> action) {
+                while (hasNext())
+                    action.accept(next());
+            }
+
+            public long estimateSize() {
+                return Long.MAX_VALUE;
+            }
+        }
+
+        final class SubMapValueIterator extends SubMapIter<V> {
+            public V next() {
+                V v = nextValue;
+                advance();
+                return v;
+            }
+            public int characteristics() {
+                return 0;
+            }
+        }
+
+        final class SubMapKeyIterator extends SubMapIter<K> {
+            public K next() {
+                K k = nextKey;
+                advance();
+                return k;
+            }
+            public int characteristics() {
+                return Spliterator.DISTINCT | Spliterator.ORDERED |
+                    Spliterator.SORTED;
+            }
+            public final Comparator<? super K> getComparator() {
+                return SubMap.this.comparator();
+            }
+        }
+
+        final class SubMapEntryIterator extends SubMapIter<Map.Entry<K,V>> {
+            public Map.Entry<K,V> next() {
+                K k = nextKey;
+                V v = nextValue;
+                advance();
+                return new AbstractMap.SimpleImmutableEntry<K,V>(k, v);
+            }
+            public int characteristics() {
+                return Spliterator.DISTINCT;
+            }
+        }
+    }
+}
@@ -0,0 +1,797 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A hash table mapping {@code long} keys to {@code long} values,
+ * supporting full concurrency of retrievals and high expected
+ * concurrency for updates.  Unlike a {@code ConcurrentHashMap<Long,
+ * Long>}, this class neither boxes keys or values nor allocates an
+ * object per mapping: mappings are stored inline in a single array
+ * using open addressing, so that a table of a million mappings
+ * occupies one object of about 24 megabytes.  Any {@code long} value,
+ * including zero, may be used as a key or a value.
+ *
+ * <p>Retrieval operations ({@link #get}, {@link #getOrDefault}, {@link
+ * #containsKey}) do not block or acquire locks, although they may
+ * briefly spin while another thread is updating the same mapping.
+ * Update operations on a mapping are atomic, and are serialized with
+ * other updates of that mapping only.  In particular, {@link #addTo}
+ * makes this class suitable for use as a scalable frequency map of
+ * {@code long} keys, and {@link #merge} and {@link #computeIfAbsent}
+ * atomically update a mapping with a function, which is applied at
+ * most once per invocation and must be short and simple, and must not
+ * attempt to update any other mappings of this map.
+ *
+ * <p>Since no value is available to denote the absence of a mapping,
+ * methods that would return {@code null} in a {@link
+ * java.util.Map} instead return zero, or take a default value, or
+ * return a {@code boolean} indicating whether a mapping was present.
+ * This fits the common use as a map of counters, in which an absent
+ * key counts as zero.
+ *
+ * <p>The table is resized dynamically, as in {@link
+ * ConcurrentHashMap}, with threads that update the map during a
+ * resize helping to move mappings to the new table.  Removed mappings
+ * leave a marker in the table until the next resize, so heavy churn
+ * over many distinct keys causes periodic resizes that reclaim them.
+ * Aggregate status methods including {@link #size} and {@link
+ * #isEmpty} are typically useful only when the map is not undergoing
+ * concurrent updates.  Traversal by {@link #forEach} is weakly
+ * consistent.
+ *
+ * @since 18
+ */
+public class ConcurrentLongLongHashMap {
+
+    /*
+     * Overview:
+     *
+     * The table is a long[] holding, for each slot, three words: a
+     * state word, the key and the value.  The key of a slot is
+     * written once, when the slot is first claimed, and never
+     * changes; removing a mapping only clears the PRESENT bit of its
+     * state.  So with linear probing, a key is always found before
+     * the first empty slot of its probe sequence.
+     *
+     * The state word combines a spinlock bit (LOCKED), whether the
+     * slot has a key (USED) and a value (PRESENT), whether the slot
+     * has been moved to the next table (MOVED), and, in the
+     * remaining bits, a version incremented on every unlock.  An
+     * empty slot has state zero.  Updates lock the state word by
+     * CAS, write the value, and unlock with a release store that
+     * bumps the version.  Reads follow the StampedLock optimistic
+     * read pattern: read the state (acquire), read the value, and
+     * validate that the state is unchanged.  Values are written and
+     * read in opaque mode so they cannot tear.
+     *
+     * A newly claimed slot is first CASed from zero to LOCKED, then
+     * its key is written, and it is unlocked with USED set.  Readers
+     * and writers encountering a locked slot without USED cannot yet
+     * tell its key, so they spin on it.
+     *
+     * Resizing: Each Table carries the state of its own resize.  A
+     * resize of the current table starts by CASing its "next" field
+     * from null.  Slots are then moved in strides claimed from
+     * transferIndex, as in ConcurrentHashMap.transfer.  Moving a
+     * slot locks it, inserts the mapping (if present) into the next
+     * table, and sets MOVED, keeping the key and USED so that probe
+     * sequences in the old table stay intact; empty slots are CASed
+     * directly to MOVED, which then terminates probe sequences.
+     * When all slots are moved, the root table is CASed to the next
+     * one.  Only the root table may start a resize, so at most one
+     * resize is in progress at any time.
+     *
+     * Once a resize has started, updates go to the next table only.
+     * Before updating, a writer helps transfer, and then moves the
+     * slot of its own key, or marks the terminating empty slot of
+     * its probe sequence as MOVED, so that the key can never again
+     * be updated in the old table.  Thus for each key, every update
+     * in the new table happens after the key's slot in the old table
+     * was moved, which is what makes moved mappings safe to insert
+     * without checking for duplicates.  Readers, which never help,
+     * find a key in the old table unless its slot (or terminator)
+     * was moved, in which case they continue in the next table.
+     *
+     * Counts: the size is kept in a LongAdder.  Each table counts
+     * its claimed slots in another LongAdder, and a resize starts
+     * when three quarters of the slots are claimed.  The new table
+     * is sized for the live mappings at a load of at most 1/2, and
+     * is never smaller than the old one.
+     */
+
+    /* ---------------- Constants -------------- */
+
+    static final long LOCKED  = 1L;
+    static final long USED    = 2L;
+    static final long PRESENT = 4L;
+    static final long MOVED   = 8L;
+    static final long FLAGS   = 15L;
+    static final long VERSION = 16L;
+
+    /** The number of array words per slot. */
+    static final int STRIDE = 3;
+
+    /** The smallest table capacity, in slots. */
+    static final int MIN_CAPACITY = 16;
+
+    /** The largest table capacity, so that the array length fits in an int. */
+    static final int MAX_CAPACITY = 1 << 29;
+
+    /** The number of slots moved per transfer step. */
+    static final int TRANSFER_STRIDE = 256;
+
+    // update modes for doUpdate
+    private static final int PUT = 0;
+    private static final int PUT_IF_ABSENT = 1;
+    private static final int ADD = 2;
+    private static final int MERGE = 3;
+    private static final int COMPUTE_IF_ABSENT = 4;
+    private static final int REMOVE = 5;
+    private static final int REMOVE_VALUE = 6;
+    private static final int REPLACE_VALUE = 7;
+
+    /* ---------------- Nodes -------------- */
+
+    /**
+     * A table, with the state of its resize, if any.
+     */
+    static final class Table {
+        final long[] slots;
+        final int mask;
+        final LongAdder claimed = new LongAdder();
+        final AtomicInteger transferIndex;  // next stride end to claim
+        final AtomicInteger transferred = new AtomicInteger();
+        volatile Table next;                // non-null once resizing
+
+        Table(int capacity) {
+            slots = new long[capacity * STRIDE];
+            mask = capacity - 1;
+            transferIndex = new AtomicInteger(capacity);
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+    }
+
+    /** The current table. */
+    private volatile Table table;
+
+    /** The number of mappings. */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Creates a new, empty map with the default initial capacity (16).
+     */
+    public ConcurrentLongLongHashMap() {
+        this.table = new Table(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty map with an initial table size
+     * accommodating the specified number of mappings without the
+     * need to dynamically resize.
+     *
+     * @param initialCapacity the number of mappings to accommodate
+     * @throws IllegalArgumentException if the initial capacity is
+     *         negative
+     */
+    public ConcurrentLongLongHashMap(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException();
+        this.table = new Table(capacityFor((long)initialCapacity * 4L / 3L + 1L));
+    }
+
+    /* ---------------- Static utilities -------------- */
+
+    /**
+     * Mixes the bits of the key, as in SplittableRandom.mix32.
+     */
+    static int spread(long key) {
+        key = (key ^ (key >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int)(((key ^ (key >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /**
+     * Returns a power of two table capacity of at least n slots.
+     */
+    static int capacityFor(long n) {
+        if (n >= MAX_CAPACITY)
+            return MAX_CAPACITY;
+        int c = Math.max((int)n, MIN_CAPACITY);
+        return (c & (c - 1)) == 0 ? c : Integer.highestOneBit(c) << 1;
+    }
+
+    static long getState(long[] a, int si) {
+        return (long)SA.getAcquire(a, si);
+    }
+
+    static boolean casState(long[] a, int si, long expect, long update) {
+        return SA.compareAndSet(a, si, expect, update);
+    }
+
+    /**
+     * Unlocks the slot at si, which the caller holds locked with state
+     * s, setting the given flags and bumping the version.
+     */
+    static void unlock(long[] a, int si, long s, long flags) {
+        SA.setRelease(a, si, ((s & ~FLAGS) + VERSION) | flags);
+    }
+
+    /* ---------------- Retrieval -------------- */
+
+    /**
+     * Returns the value of the mapping for the given key in the table
+     * t or its successors, or {@code absent} if none.  If found is
+     * non-null, its element is set when a mapping is found.
+     */
+    private static long lookup(Table t, long key, long absent, boolean[] found) {
+        int h = spread(key);
+        outer: for (;;) {
+            long[] a = t.slots;
+            int mask = t.mask;
+            for (int i = h & mask, n = 0;;) {
+                int si = i * STRIDE;
+                long s = getState(a, si);
+                if (s == 0L)
+                    return absent;
+                else if ((s & MOVED) != 0L) {
+                    if ((s & USED) == 0L || a[si + 1] == key) {
+                        t = t.next;
+                        continue outer;
+                    }
+                }
+                else if ((s & USED) == 0L)
+                    Thread.onSpinWait();    // being claimed; key unknown
+                else if (a[si + 1] == key) {
+                    if ((s & LOCKED) != 0L)
+                        Thread.onSpinWait();
+                    else {
+                        long v = (long)SA.getOpaque(a, si + 2);
+                        VarHandle.acquireFence();
+                        if ((long)SA.getOpaque(a, si) == s) {
+                            if ((s & PRESENT) == 0L)
+                                return absent;
+                            if (found != null)
+                                found[0] = true;
+                            return v;
+                        }
+                    }
+                    continue;               // retry same slot
+                }
+                if (++n > mask)
+                    return absent;          // full table without key
+                i = (i + 1) & mask;
+            }
+        }
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or zero
+     * if this map contains no mapping for the key.
+     *
+     * @param key the key
+     * @return the value to which the key is mapped, or zero if none
+     */
+    public long get(long key) {
+        return lookup(table, key, 0L, null);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or the
+     * given default value if this map contains no mapping for the
+     * key.
+     *
+     * @param key the key
+     * @param defaultValue the value to return if this map contains
+     *        no mapping for the given key
+     * @return the mapping for the key, if present; else the default value
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        return lookup(table, key, defaultValue, null);
+    }
+
+    /**
+     * Tests if the specified key is a key in this map.
+     *
+     * @param key the key
+     * @return {@code true} if this map contains a mapping for the key
+     */
+    public boolean containsKey(long key) {
+        boolean[] found = new boolean[1];
+        lookup(table, key, 0L, found);
+        return found[0];
+    }
+
+    /* ---------------- Updates -------------- */
+
+    /**
+     * Maps the specified key to the specified value.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the previous value associated with the key, or zero if
+     *         there was no mapping for the key
+     */
+    public long put(long key, long value) {
+        return doUpdate(key, PUT, value, 0L, null);
+    }
+
+    /**
+     * Maps the specified key to the specified value, if the key is not
+     * already mapped.
+     *
+     * @param key the key
+     * @param value the value
+     * @return {@code true} if the mapping was added, {@code false} if
+     *         the key was already mapped
+     */
+    public boolean putIfAbsent(long key, long value) {
+        return doUpdate(key, PUT_IF_ABSENT, value, 0L, null) != 0L;
+    }
+
+    /**
+     * Adds the given delta to the value mapped to the given key,
+     * mapping it to the delta if not already mapped.
+     *
+     * @param key the key
+     * @param delta the value to add
+     * @return the updated value
+     */
+    public long addTo(long key, long delta) {
+        return doUpdate(key, ADD, delta, 0L, null);
+    }
+
+    /**
+     * If the specified key is not already mapped, maps it to the given
+     * value.  Otherwise, replaces the value with the result of the
+     * given remapping function.  The function is applied atomically
+     * with respect to other updates of the mapping.
+     *
+     * @param key the key
+     * @param value the value to use if absent
+     * @param remappingFunction the function to combine the current
+     *        value and the given value
+     * @return the new value associated with the key
+     * @throws NullPointerException if the remapping function is null
+     * @throws RuntimeException or Error if the remapping function
+     *         does so, in which case the mapping is unchanged
+     */
+    public long merge(long key, long value,
+                      LongBinaryOperator remappingFunction) {
+        if (remappingFunction == null)
+            throw new NullPointerException();
+        return doUpdate(key, MERGE, value, 0L, remappingFunction);
+    }
+
+    /**
+     * If the specified key is not already mapped, computes its value
+     * using the given mapping function and maps it.  The function is
+     * applied atomically with respect to other updates of the mapping,
+     * and only if the key is not mapped.
+     *
+     * @param key the key
+     * @param mappingFunction the function to compute a value
+     * @return the current (existing or computed) value associated
+     *         with the key
+     * @throws NullPointerException if the mapping function is null
+     * @throws RuntimeException or Error if the mapping function does
+     *         so, in which case the mapping is left unestablished
+     */
+    public long computeIfAbsent(long key, LongUnaryOperator mappingFunction) {
+        if (mappingFunction == null)
+            throw new NullPointerException();
+        return doUpdate(key, COMPUTE_IF_ABSENT, 0L, 0L, mappingFunction);
+    }
+
+    /**
+     * Removes the mapping for a key from this map if present.
+     *
+     * @param key the key
+     * @return {@code true} if a mapping was removed
+     */
+    public boolean remove(long key) {
+        return doUpdate(key, REMOVE, 0L, 0L, null) != 0L;
+    }
+
+    /**
+     * Removes the mapping for a key only if currently mapped to the
+     * given value.
+     *
+     * @param key the key
+     * @param value the value expected to be associated with the key
+     * @return {@code true} if the mapping was removed
+     */
+    public boolean remove(long key, long value) {
+        return doUpdate(key, REMOVE_VALUE, value, 0L, null) != 0L;
+    }
+
+    /**
+     * Replaces the value for a key only if currently mapped to the
+     * given value.
+     *
+     * @param key the key
+     * @param oldValue the value expected to be associated with the key
+     * @param newValue the value to be associated with the key
+     * @return {@code true} if the value was replaced
+     */
+    public boolean replace(long key, long oldValue, long newValue) {
+        return doUpdate(key, REPLACE_VALUE, newValue, oldValue, null) != 0L;
+    }
+
+    /**
+     * Implements all update methods.  Locks the slot of the key in the
+     * current table, claiming an empty one if needed by the mode, and
+     * applies the update.
+     */
+    private long doUpdate(long key, int mode, long x, long expect,
+                          Object fn) {
+        boolean create = mode < REMOVE;
+        int h = spread(key);
+        Table t = table;
+        outer: for (;;) {
+            Table nt;
+            if ((nt = t.next) != null) {
+                transfer(t, nt);            // help, then move own slot
+                moveKey(t, key, h);
+                t = nt;
+                continue;
+            }
+            long[] a = t.slots;
+            int mask = t.mask;
+            for (int i = h & mask, n = 0;;) {
+                int si = i * STRIDE;
+                long s = getState(a, si);
+                if (s == 0L) {
+                    if (!create)
+                        return 0L;
+                    if (casState(a, si, 0L, LOCKED)) {
+                        a[si + 1] = key;    // published by unlock
+                        t.claimed.increment();
+                        long r = apply(a, si, LOCKED, key, mode, x, expect, fn);
+                        if (t.claimed.sum() >= t.capacity() - (t.capacity() >>> 2))
+                            tryResize(t);
+                        return r;
+                    }
+                    continue;               // retry same slot
+                }
+                else if ((s & MOVED) != 0L)
+                    continue outer;         // t.next is now set
+                else if ((s & USED) == 0L) {
+                    Thread.onSpinWait();    // being claimed
+                    continue;
+                }
+                else if (a[si + 1] == key) {
+                    if ((s & LOCKED) != 0L)
+                        Thread.onSpinWait();
+                    else if (casState(a, si, s, s | LOCKED))
+                        return apply(a, si, s | LOCKED, key, mode, x, expect, fn);
+                    continue;
+                }
+                if (++n > mask) {           // full
+                    tryResize(t);
+                    continue outer;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+    }
+
+    /**
+     * Applies an update to the locked slot at si, with locked state s,
+     * and unlocks it.
+     */
+    private long apply(long[] a, int si, long s, long key, int mode,
+                       long x, long expect, Object fn) {
+        boolean present = (s & PRESENT) != 0L;
+        long v = present ? a[si + 2] : 0L, nv = v, r;
+        boolean keep = present;     // whether present after update
+        try {
+            switch (mode) {
+            case PUT:
+                r = v; nv = x; keep = true;
+                break;
+            case PUT_IF_ABSENT:
+                r = present ? 0L : 1L; if (!present) { nv = x; keep = true; }
+                break;
+            case ADD:
+                r = nv = v + x; keep = true;
+                break;
+            case MERGE:
+                r = nv = present ? ((LongBinaryOperator)fn).applyAsLong(v, x) : x;
+                keep = true;
+                break;
+            case COMPUTE_IF_ABSENT:
+                r = nv = present ? v : ((LongUnaryOperator)fn).applyAsLong(key);
+                keep = true;
+                break;
+            case REMOVE:
+                r = present ? 1L : 0L; keep = false;
+                break;
+            case REMOVE_VALUE:
+                r = (present && v == x) ? 1L : 0L; keep = present && v != x;
+                break;
+            default: // REPLACE_VALUE
+                r = (present && v == expect) ? 1L : 0L;
+                if (r != 0L) nv = x;
+                break;
+            }
+        } catch (Throwable ex) {
+            unlock(a, si, s, USED | (s & PRESENT));
+            throw ex;
+        }
+        if (nv != v || keep != present)
+            SA.setOpaque(a, si + 2, keep ? nv : 0L);
+        unlock(a, si, s, keep ? (USED | PRESENT) : USED);
+        if (keep != present) {
+            if (keep)
+                count.increment();
+            else
+                count.decrement();
+        }
+        return r;
+    }
+
+    /* ---------------- Resizing -------------- */
+
+    /**
+     * Starts resizing t if it is the current table and not already
+     * resizing, and then helps transfer.
+     */
+    private void tryResize(Table t) {
+        Table nt;
+        if ((nt = t.next) == null && table == t) {
+            int cap = t.capacity();
+            long live = count.sum();
+            int ncap = Math.max(cap, capacityFor(live * 2L + 1L));
+            if (cap == MAX_CAPACITY && live >= cap - (cap >>> 2))
+                throw new IllegalStateException("Map is full");
+            nt = new Table(ncap);
+            if (!NEXT.compareAndSet(t, null, nt))
+                nt = t.next;
+        }
+        if (nt != null)
+            transfer(t, nt);
+    }
+
+    /**
+     * Moves strides of slots of t into nt until none remain to be
+     * claimed, and installs nt as the table when all are moved.
+     */
+    private void transfer(Table t, Table nt) {
+        int cap = t.capacity();
+        for (int end; (end = t.transferIndex.get()) > 0; ) {
+            int start = Math.max(end - TRANSFER_STRIDE, 0);
+            if (t.transferIndex.compareAndSet(end, start)) {
+                for (int i = start; i < end; ++i)
+                    moveSlot(t, nt, i);
+                if (t.transferred.addAndGet(end - start) == cap &&
+                    TABLE.compareAndSet(this, t, nt) &&
+                    nt.claimed.sum() >= nt.capacity() - (nt.capacity() >>> 2))
+                    tryResize(nt);
+            }
+        }
+    }
+
+    /**
+     * Moves slot i of t into nt, unless already moved.
+     */
+    private static void moveSlot(Table t, Table nt, int i) {
+        long[] a = t.slots;
+        int si = i * STRIDE;
+        for (;;) {
+            long s = getState(a, si);
+            if ((s & MOVED) != 0L)
+                return;
+            else if (s == 0L) {
+                if (casState(a, si, 0L, MOVED))
+                    return;
+            }
+            else if ((s & LOCKED) != 0L)
+                Thread.onSpinWait();
+            else if (casState(a, si, s, s | LOCKED)) {
+                if ((s & PRESENT) != 0L)
+                    insertMoved(nt, a[si + 1], a[si + 2]);
+                SA.setRelease(a, si, ((s & ~FLAGS) + VERSION) | USED | MOVED);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves the slot of the given key in resizing table t, or marks
+     * the empty slot ending its probe sequence as moved, so that the
+     * key can be updated only in the next table.
+     */
+    private static void moveKey(Table t, long key, int h) {
+        long[] a = t.slots;
+        int mask = t.mask;
+        for (int i = h & mask, n = 0;;) {
+            int si = i * STRIDE;
+            long s = getState(a, si);
+            if ((s & MOVED) != 0L) {
+                if ((s & USED) == 0L || a[si + 1] == key)
+                    return;
+            }
+            else if (s == 0L) {
+                if (casState(a, si, 0L, MOVED))
+                    return;
+                continue;
+            }
+            else if ((s & USED) == 0L) {
+                Thread.onSpinWait();
+                continue;
+            }
+            else if (a[si + 1] == key) {
+                moveSlot(t, t.next, i);
+                return;
+            }
+            if (++n > mask)
+                return;
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * Inserts a moved mapping into nt, whose key cannot be present.
+     */
+    private static void insertMoved(Table nt, long key, long value) {
+        long[] a = nt.slots;
+        int mask = nt.mask;
+        for (int i = spread(key) & mask;; i = (i + 1) & mask) {
+            int si = i * STRIDE;
+            if (getState(a, si) == 0L && casState(a, si, 0L, LOCKED)) {
+                a[si + 1] = key;
+                SA.setOpaque(a, si + 2, value);
+                unlock(a, si, LOCKED, USED | PRESENT);
+                nt.claimed.increment();
+                return;
+            }
+        }
+    }
+
+    /* ---------------- Bulk operations -------------- */
+
+    /**
+     * Returns the number of mappings.  This method should be used
+     * instead of {@link #size} because a map may contain more
+     * mappings than can be represented as an int.  The value returned
+     * is an estimate; the actual count may differ if there are
+     * concurrent insertions or removals.
+     *
+     * @return the number of mappings
+     */
+    public long mappingCount() {
+        return Math.max(count.sum(), 0L);
+    }
+
+    /**
+     * Returns the number of mappings, or {@link Integer#MAX_VALUE} if
+     * it is larger.
+     *
+     * @return the number of mappings
+     */
+    public int size() {
+        return (int)Math.min(mappingCount(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns {@code true} if this map contains no mappings.
+     *
+     * @return {@code true} if this map contains no mappings
+     */
+    public boolean isEmpty() {
+        return count.sum() <= 0L;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        forEach((k, v) -> remove(k));
+    }
+
+    /**
+     * Performs the given action for each mapping.  Mappings added or
+     * removed concurrently may or may not be reported.
+     *
+     * @param action the action
+     * @throws NullPointerException if the action is null
+     */
+    public void forEach(EntryConsumer action) {
+        if (action == null)
+            throw new NullPointerException();
+        Table t = table;
+        long[] a = t.slots;
+        boolean[] found = new boolean[1];
+        for (int i = 0, n = t.capacity(); i < n; ++i) {
+            int si = i * STRIDE;
+            long s = getState(a, si);
+            if ((s & USED) != 0L) {
+                long key = a[si + 1];
+                found[0] = false;
+                long v = lookup(t, key, 0L, found);
+                if (found[0])
+                    action.accept(key, v);
+            }
+        }
+    }
+
+    /**
+     * Returns a string representation of this map, as in {@link
+     * java.util.AbstractMap#toString}.
+     *
+     * @return a string representation of this map
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> {
+            if (sb.length() > 1)
+                sb.append(", ");
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+
+    /**
+     * An action on a mapping of a {@link ConcurrentLongLongHashMap}.
+     *
+     * @since 18
+     */
+    @FunctionalInterface
+    public static interface EntryConsumer {
+        /**
+         * Performs this action on the given mapping.
+         *
+         * @param key the key
+         * @param value the value
+         */
+        void accept(long key, long value);
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle SA
+        = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle TABLE;
+    private static final VarHandle NEXT;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            TABLE = l.findVarHandle(ConcurrentLongLongHashMap.class, "table",
+                                    Table.class);
+            NEXT = l.findVarHandle(Table.class, "next", Table.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -1001,9 +1001,9 @@ public class ConcurrentSkipListMap<K,V> extends AbstractMap<K,V>
 
     // Control values OR'ed as arguments to findNear
 
-    private static final int EQ = 1;
-    private static final int LT = 2;
-    private static final int GT = 0; // Actually checked as !LT
+    static final int EQ = 1;
+    static final int LT = 2;
+    static final int GT = 0; // Actually checked as !LT
 
     /**
      * Utility for ceiling, floor, lower, higher methods.
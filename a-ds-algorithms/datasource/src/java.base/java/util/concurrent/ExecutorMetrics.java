@@ -0,0 +1,564 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import jdk.internal.misc.ExecutorMetricsRegistry;
+
+/**
+ * Execution statistics of a {@link ThreadPoolExecutor} or {@link
+ * ForkJoinPool}.  Recording is off by default; it is turned on for a
+ * given executor by {@link ThreadPoolExecutor#enableMetrics} or
+ * {@link ForkJoinPool#enableMetrics}, and stays on for the lifetime
+ * of that executor.
+ *
+ * <p>Each worker thread accumulates its own counts and timings,
+ * without synchronization with other threads.  These are combined
+ * only when a {@link #snapshot} is taken, and the totals of workers
+ * that have exited are retained.  Durations are measured with {@link
+ * System#nanoTime} and are kept both as totals and as histograms
+ * with 64 buckets of exponentially increasing width: bucket {@code i}
+ * counts durations {@code d} with {@code 2}<sup>{@code i}</sup>
+ * {@code <= d < 2}<sup>{@code i+1}</sup> nanoseconds, and bucket
+ * {@code 0} also counts durations of zero.
+ *
+ * <p>The following are recorded:
+ * <ul>
+ * <li>The execution time of each top-level task, and whether it
+ * completed abruptly.
+ * <li>For a {@code ThreadPoolExecutor}, the time that each task
+ * created by {@code submit}, {@code invokeAll} or {@code invokeAny}
+ * spent between its submission and the start of its execution.
+ * Tasks passed directly to {@code execute} carry no submission time
+ * and are not included.
+ * <li>The number of tasks rejected by the executor.
+ * <li>The time each worker thread spent running tasks, from which
+ * utilization can be computed.
+ * <li>For a {@code ForkJoinPool} or a {@link
+ * WorkStealingThreadPoolExecutor}, the number of steals.
+ * </ul>
+ *
+ * <p>Rates and utilization are obtained from two snapshots taken some
+ * time apart, using {@link Snapshot#getUtilization} and {@link
+ * Snapshot#getStealRate}.  The statistics of all executors that have
+ * metrics enabled are also available through the platform management
+ * interface {@code com.sun.management.ExecutorMetricsMXBean}, and as
+ * the periodic Flight Recorder event {@code jdk.ExecutorStatistics}.
+ *
+ * @since 18
+ */
+public final class ExecutorMetrics {
+
+    /*
+     * Each worker owns a Cell, created on its first task after metrics
+     * are enabled.  Only the owner writes a cell, using opaque mode so
+     * that snapshots see untorn values; the owner itself reads its own
+     * fields plainly.  Live cells are published in a copy-on-write
+     * array.  When a worker exits it retires its cell, folding the
+     * totals into "retired" under the lock that snapshots also hold,
+     * so no counts are lost or counted twice.
+     */
+
+    /** The number of histogram buckets. */
+    static final int BUCKETS = 64;
+
+    private final String name;
+    private final LongSupplier stealCounter; // null if none
+    private final long startTime;
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Cell retired = new Cell(this); // guarded by lock
+    private volatile Cell[] cells = new Cell[0]; // written under lock
+
+    /**
+     * Creates metrics for the given executor, and makes them visible
+     * to management and monitoring tools.
+     *
+     * @param executor the executor
+     * @param stealCounter the source of steal counts, or null if none
+     */
+    ExecutorMetrics(Executor executor, LongSupplier stealCounter) {
+        this.name = executor.getClass().getName() + "@" +
+            Integer.toHexString(System.identityHashCode(executor));
+        this.stealCounter = stealCounter;
+        this.startTime = System.nanoTime();
+        ExecutorMetricsRegistry.register(this);
+    }
+
+    /**
+     * Returns the name of the executor, which is the name of its
+     * class followed by its identity hash code, as in {@link
+     * Object#toString}.
+     *
+     * @return the name of the executor
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns a snapshot of the statistics recorded so far.  Counts of
+     * tasks that are running concurrently may or may not be included.
+     *
+     * @return a snapshot of the statistics
+     */
+    public Snapshot snapshot() {
+        long steals = (stealCounter == null) ? 0L : stealCounter.getAsLong();
+        Cell total = new Cell(this);
+        long[] busy;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Cell[] cs = cells;
+            busy = new long[cs.length];
+            total.addAll(retired);
+            for (int i = 0; i < cs.length; ++i) {
+                busy[i] = cs[i].busyNanos();
+                total.addAll(cs[i]);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new Snapshot(this, System.nanoTime(), total, busy,
+                            rejected.sum(), steals);
+    }
+
+    /**
+     * Returns a string identifying these metrics, including the name
+     * of the executor and a summary of the current statistics.
+     *
+     * @return a string identifying these metrics
+     */
+    public String toString() {
+        Snapshot s = snapshot();
+        return super.toString() +
+            "[executor = " + name +
+            ", completed tasks = " + s.completed +
+            ", failed tasks = " + s.failed +
+            ", rejected tasks = " + s.rejected +
+            ", steals = " + s.steals +
+            "]";
+    }
+
+    /** Records a rejected task. */
+    void recordRejection() {
+        rejected.increment();
+    }
+
+    /** Creates and publishes a cell for the calling worker thread. */
+    Cell register() {
+        Cell c = new Cell(this);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Cell[] cs = cells;
+            cs = Arrays.copyOf(cs, cs.length + 1);
+            cs[cs.length - 1] = c;
+            cells = cs;
+        } finally {
+            lock.unlock();
+        }
+        return c;
+    }
+
+    /** Folds the given cell into the retired totals and unpublishes it. */
+    void retire(Cell c) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Cell[] cs = cells;
+            for (int i = 0, n = cs.length; i < n; ++i) {
+                if (cs[i] == c) {
+                    Cell[] ncs = new Cell[n - 1];
+                    System.arraycopy(cs, 0, ncs, 0, i);
+                    System.arraycopy(cs, i + 1, ncs, i, n - i - 1);
+                    retired.addAll(c);
+                    cells = ncs;
+                    break;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the histogram bucket for the given duration. */
+    static int bucketFor(long nanos) {
+        return (nanos <= 1L) ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * The statistics accumulated by one worker thread.
+     */
+    static final class Cell {
+        final ExecutorMetrics metrics;
+        long completed;   // tasks run, including failed ones
+        long failed;      // tasks that completed abruptly
+        long execNanos;   // total execution time, also busy time
+        long waitNanos;   // total queue wait of timed tasks
+        long waited;      // number of timed tasks
+        final long[] execHistogram = new long[BUCKETS];
+        final long[] waitHistogram = new long[BUCKETS];
+
+        Cell(ExecutorMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        /** Called only by owner, after running a task. */
+        void recordExecution(long start, long end, boolean abrupt) {
+            long d = Math.max(end - start, 0L);
+            COMPLETED.setOpaque(this, completed + 1L);
+            if (abrupt)
+                FAILED.setOpaque(this, failed + 1L);
+            EXEC_NANOS.setOpaque(this, execNanos + d);
+            int b = bucketFor(d);
+            AA.setOpaque(execHistogram, b, execHistogram[b] + 1L);
+        }
+
+        /** Called only by owner, before running a timed task. */
+        void recordQueueWait(long submitTime, long start) {
+            long d = Math.max(start - submitTime, 0L);
+            WAITED.setOpaque(this, waited + 1L);
+            WAIT_NANOS.setOpaque(this, waitNanos + d);
+            int b = bucketFor(d);
+            AA.setOpaque(waitHistogram, b, waitHistogram[b] + 1L);
+        }
+
+        /** Called by the owner when it exits. */
+        void retire() {
+            metrics.retire(this);
+        }
+
+        long busyNanos() {
+            return (long)EXEC_NANOS.getOpaque(this);
+        }
+
+        /** Adds the counts of c, which may be concurrently updated. */
+        void addAll(Cell c) {
+            completed += (long)COMPLETED.getOpaque(c);
+            failed += (long)FAILED.getOpaque(c);
+            execNanos += (long)EXEC_NANOS.getOpaque(c);
+            waitNanos += (long)WAIT_NANOS.getOpaque(c);
+            waited += (long)WAITED.getOpaque(c);
+            for (int i = 0; i < BUCKETS; ++i) {
+                execHistogram[i] += (long)AA.getOpaque(c.execHistogram, i);
+                waitHistogram[i] += (long)AA.getOpaque(c.waitHistogram, i);
+            }
+        }
+    }
+
+    /**
+     * A task created by {@link ThreadPoolExecutor#newTaskFor} when
+     * metrics are enabled, recording its submission time.
+     */
+    static final class TimedFutureTask<V> extends FutureTask<V> {
+        final long submitTime = System.nanoTime();
+        boolean failed; // written and read only by the running thread
+
+        TimedFutureTask(Callable<V> callable) {
+            super(callable);
+        }
+
+        TimedFutureTask(Runnable runnable, V result) {
+            super(runnable, result);
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            failed = true;
+            super.setException(t);
+        }
+    }
+
+    /**
+     * An immutable set of statistics of an executor, as returned by
+     * {@link ExecutorMetrics#snapshot}.
+     *
+     * @since 18
+     */
+    public static final class Snapshot {
+        private final ExecutorMetrics metrics;
+        private final long timestamp;
+        private final long completed;
+        private final long failed;
+        private final long rejected;
+        private final long steals;
+        private final long execNanos;
+        private final long waitNanos;
+        private final long waited;
+        private final long[] execHistogram;
+        private final long[] waitHistogram;
+        private final long[] workerBusyNanos;
+
+        Snapshot(ExecutorMetrics metrics, long timestamp, Cell total,
+                 long[] workerBusyNanos, long rejected, long steals) {
+            this.metrics = metrics;
+            this.timestamp = timestamp;
+            this.completed = total.completed;
+            this.failed = total.failed;
+            this.execNanos = total.execNanos;
+            this.waitNanos = total.waitNanos;
+            this.waited = total.waited;
+            this.execHistogram = total.execHistogram;
+            this.waitHistogram = total.waitHistogram;
+            this.workerBusyNanos = workerBusyNanos;
+            this.rejected = rejected;
+            this.steals = steals;
+        }
+
+        /**
+         * Returns the value of {@link System#nanoTime} when this
+         * snapshot was taken.
+         *
+         * @return the time of this snapshot, in nanoseconds
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Returns the time elapsed between enabling metrics and
+         * taking this snapshot.
+         *
+         * @return the elapsed time, in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return timestamp - metrics.startTime;
+        }
+
+        /**
+         * Returns the number of tasks that have completed execution,
+         * normally or abruptly.
+         *
+         * @return the number of completed tasks
+         */
+        public long getCompletedTaskCount() {
+            return completed;
+        }
+
+        /**
+         * Returns the number of tasks that completed abruptly, either
+         * by throwing an exception out of the executor, or, for tasks
+         * returning a {@code Future}, by completing exceptionally.
+         *
+         * @return the number of failed tasks
+         */
+        public long getFailedTaskCount() {
+            return failed;
+        }
+
+        /**
+         * Returns the number of tasks that were rejected.
+         *
+         * @return the number of rejected tasks
+         */
+        public long getRejectedTaskCount() {
+            return rejected;
+        }
+
+        /**
+         * Returns the number of steals, or zero if the executor does
+         * not steal tasks.
+         *
+         * @return the number of steals
+         */
+        public long getStealCount() {
+            return steals;
+        }
+
+        /**
+         * Returns the total execution time of completed tasks.  This
+         * is also the total time worker threads were busy.
+         *
+         * @return the total execution time, in nanoseconds
+         */
+        public long getTotalExecutionNanos() {
+            return execNanos;
+        }
+
+        /**
+         * Returns the number of tasks for which a queue wait time was
+         * recorded.
+         *
+         * @return the number of timed tasks
+         */
+        public long getQueueWaitCount() {
+            return waited;
+        }
+
+        /**
+         * Returns the total time that timed tasks spent waiting
+         * before execution.
+         *
+         * @return the total queue wait time, in nanoseconds
+         */
+        public long getTotalQueueWaitNanos() {
+            return waitNanos;
+        }
+
+        /**
+         * Returns the histogram of execution times, as an array of 64
+         * counts.
+         *
+         * @return the histogram of execution times
+         */
+        public long[] getExecutionTimeHistogram() {
+            return execHistogram.clone();
+        }
+
+        /**
+         * Returns the histogram of queue wait times, as an array of
+         * 64 counts.
+         *
+         * @return the histogram of queue wait times
+         */
+        public long[] getQueueWaitHistogram() {
+            return waitHistogram.clone();
+        }
+
+        /**
+         * Returns an upper bound of the given percentile of execution
+         * times, with the resolution of a histogram bucket.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the upper bound of the percentile, in nanoseconds,
+         *         or zero if no tasks completed
+         * @throws IllegalArgumentException if the percentile is not
+         *         between 0 and 100
+         */
+        public long getExecutionTimePercentile(double percentile) {
+            return percentileOf(execHistogram, completed, percentile);
+        }
+
+        /**
+         * Returns an upper bound of the given percentile of queue
+         * wait times, with the resolution of a histogram bucket.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the upper bound of the percentile, in nanoseconds,
+         *         or zero if no timed tasks ran
+         * @throws IllegalArgumentException if the percentile is not
+         *         between 0 and 100
+         */
+        public long getQueueWaitPercentile(double percentile) {
+            return percentileOf(waitHistogram, waited, percentile);
+        }
+
+        /**
+         * Returns the total busy time of each worker thread that was
+         * alive when this snapshot was taken and has run at least one
+         * task since metrics were enabled.
+         *
+         * @return the busy time of each worker, in nanoseconds
+         */
+        public long[] getWorkerBusyNanos() {
+            return workerBusyNanos.clone();
+        }
+
+        /**
+         * Returns the fraction of time that worker threads were busy
+         * between the given earlier snapshot and this one, assuming
+         * the number of workers of this snapshot.
+         *
+         * @param earlier an earlier snapshot of the same executor
+         * @return the utilization, between 0.0 and 1.0, or 0.0 if
+         *         there were no workers or no time elapsed
+         * @throws IllegalArgumentException if {@code earlier} is of a
+         *         different executor
+         */
+        public double getUtilization(Snapshot earlier) {
+            long dt = elapsedSince(earlier);
+            int n = workerBusyNanos.length;
+            if (dt <= 0L || n == 0)
+                return 0.0;
+            double u = (double)(execNanos - earlier.execNanos) /
+                ((double)dt * n);
+            return Math.min(Math.max(u, 0.0), 1.0);
+        }
+
+        /**
+         * Returns the number of steals per second between the given
+         * earlier snapshot and this one.
+         *
+         * @param earlier an earlier snapshot of the same executor
+         * @return the steal rate, per second, or 0.0 if no time
+         *         elapsed
+         * @throws IllegalArgumentException if {@code earlier} is of a
+         *         different executor
+         */
+        public double getStealRate(Snapshot earlier) {
+            long dt = elapsedSince(earlier);
+            return (dt <= 0L) ? 0.0 :
+                (double)(steals - earlier.steals) * 1e9 / dt;
+        }
+
+        private long elapsedSince(Snapshot earlier) {
+            if (earlier.metrics != metrics)
+                throw new IllegalArgumentException();
+            return timestamp - earlier.timestamp;
+        }
+
+        private static long percentileOf(long[] histogram, long count,
+                                         double percentile) {
+            if (!(percentile >= 0.0 && percentile <= 100.0))
+                throw new IllegalArgumentException();
+            if (count == 0L)
+                return 0L;
+            long rank = Math.max((long)Math.ceil(count * percentile / 100.0), 1L);
+            long seen = 0L;
+            for (int i = 0; i < BUCKETS - 1; ++i) {
+                if ((seen += histogram[i]) >= rank)
+                    return (2L << i) - 1L;
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle COMPLETED;
+    private static final VarHandle FAILED;
+    private static final VarHandle EXEC_NANOS;
+    private static final VarHandle WAIT_NANOS;
+    private static final VarHandle WAITED;
+    private static final VarHandle AA
+        = MethodHandles.arrayElementVarHandle(long[].class);
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            COMPLETED = l.findVarHandle(Cell.class, "completed", long.class);
+            FAILED = l.findVarHandle(Cell.class, "failed", long.class);
+            EXEC_NANOS = l.findVarHandle(Cell.class, "execNanos", long.class);
+            WAIT_NANOS = l.findVarHandle(Cell.class, "waitNanos", long.class);
+            WAITED = l.findVarHandle(Cell.class, "waited", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
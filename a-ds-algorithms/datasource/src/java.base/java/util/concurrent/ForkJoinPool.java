@@ -883,6 +883,7 @@ public class ForkJoinPool extends AbstractExecutorService {
         int base;                  // index of next slot for poll
         ForkJoinTask<?>[] array;   // the queued tasks; power of 2 size
         final ForkJoinWorkerThread owner; // owning thread or null if shared
+        ExecutorMetrics.Cell metricsCell; // owner's statistics, if enabled
 
         // segregate fields frequently updated but not read by scans or steals
         @jdk.internal.vm.annotation.Contended("w")
@@ -1190,6 +1191,31 @@ public class ForkJoinPool extends AbstractExecutorService {
                 ThreadLocalRandom.eraseThreadLocals(Thread.currentThread());
         }
 
+        /**
+         * Version of topLevelExec used when metrics are enabled,
+         * recording the execution time of each task.
+         */
+        final void timedTopLevelExec(ForkJoinTask<?> task, WorkQueue q,
+                                     ExecutorMetrics m) {
+            ExecutorMetrics.Cell mc;
+            if ((mc = metricsCell) == null)
+                metricsCell = mc = m.register();
+            int cfg = config, nstolen = 1;
+            while (task != null) {
+                long start = System.nanoTime();
+                task.doExec();
+                mc.recordExecution(start, System.nanoTime(),
+                                   task.isCompletedAbnormally());
+                if ((task = nextLocalTask(cfg)) == null &&
+                    q != null && (task = q.tryPoll()) != null)
+                    ++nstolen;
+            }
+            nsteals += nstolen;
+            source = 0;
+            if ((cfg & INNOCUOUS) != 0)
+                ThreadLocalRandom.eraseThreadLocals(Thread.currentThread());
+        }
+
         /**
          * Tries to pop and run tasks within the target's computation
          * until done, not found, or limit exceeded.
@@ -1419,6 +1445,7 @@ public class ForkJoinPool extends AbstractExecutorService {
     final ForkJoinWorkerThreadFactory factory;
     final UncaughtExceptionHandler ueh;  // per-worker UEH
     final Predicate<? super ForkJoinPool> saturate;
+    volatile ExecutorMetrics metrics;    // null unless enabled
 
     @jdk.internal.vm.annotation.Contended("fjpctl") // segregate
     volatile long ctl;                   // main pool control
@@ -1555,6 +1582,8 @@ public class ForkJoinPool extends AbstractExecutorService {
                 qs[i] = null;
             stealCount += ns;                        // accumulate steals
             lock.unlock();
+            if (w.metricsCell != null)
+                w.metricsCell.retire();
             long c = ctl;
             if ((cfg & QUIET) == 0) // unless self-signalled, decrement counts
                 do {} while (c != (c = compareAndExchangeCtl(
@@ -1652,7 +1681,11 @@ public class ForkJoinPool extends AbstractExecutorService {
                     ForkJoinTask<?> next = a[nextIndex];
                     if ((w.source = src) != prevSrc && next != null)
                         signalWork();           // propagate
-                    w.topLevelExec(t, q);
+                    ExecutorMetrics m;
+                    if ((m = metrics) == null)
+                        w.topLevelExec(t, q);
+                    else
+                        w.timedTopLevelExec(t, q, m);
                     return src;
                 }
                 else if (a[nextIndex] != null)  // revisit
@@ -2175,8 +2208,12 @@ public class ForkJoinPool extends AbstractExecutorService {
      */
     final void externalPush(ForkJoinTask<?> task) {
         WorkQueue q;
-        if ((q = submissionQueue()) == null)
+        if ((q = submissionQueue()) == null) {
+            ExecutorMetrics m;
+            if ((m = metrics) != null)
+                m.recordRejection();
             throw new RejectedExecutionException(); // shutdown or disabled
+        }
         else if (q.lockedPush(task))
             signalWork();
     }
@@ -3029,6 +3066,44 @@ public class ForkJoinPool extends AbstractExecutorService {
         return count;
     }
 
+    /**
+     * Enables recording of execution statistics for this pool, if not
+     * already enabled, and returns the metrics.  Once enabled,
+     * recording cannot be disabled.  Recording adds two calls to
+     * {@link System#nanoTime} per top-level task; subtasks run by
+     * {@code join} and related methods are counted as part of the
+     * task that joins them.  Queue wait times are not recorded.  See
+     * {@link ExecutorMetrics} for the statistics recorded.
+     *
+     * @return the metrics of this pool
+     * @since 18
+     */
+    public ExecutorMetrics enableMetrics() {
+        ExecutorMetrics m;
+        if ((m = metrics) == null) {
+            ReentrantLock lock = registrationLock;
+            lock.lock();
+            try {
+                if ((m = metrics) == null)
+                    metrics = m = new ExecutorMetrics(this, this::getStealCount);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Returns the metrics of this pool, or {@code null} if they have
+     * not been {@linkplain #enableMetrics enabled}.
+     *
+     * @return the metrics of this pool, or {@code null} if none
+     * @since 18
+     */
+    public ExecutorMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Returns an estimate of the total number of tasks currently held
      * in queues by worker threads (but not including tasks submitted
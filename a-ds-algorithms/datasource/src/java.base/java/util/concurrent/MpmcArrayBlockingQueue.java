@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * A bounded lock-free {@linkplain BlockingQueue blocking queue} backed
+ * by a ring buffer, supporting any number of concurrent producers and
+ * consumers.  This queue orders elements FIFO (first-in-first-out).
+ *
+ * <p>Unlike {@link ArrayBlockingQueue}, which guards both ends of the
+ * queue with a single lock, and {@link LinkedBlockingQueue}, which
+ * allocates a node per element, non-blocking insertions and removals
+ * on this queue acquire no locks and allocate nothing: each claims a
+ * slot with a single compare-and-set on the tail or head index.  The
+ * two indices are placed on separate cache lines so that producers
+ * and consumers do not interfere with each other.  This makes it
+ * suitable as the work queue of a {@link ThreadPoolExecutor} running
+ * on many cores.
+ *
+ * <p>Attempts to {@code put} an element into a full queue, or to
+ * {@code take} an element from an empty one, spin briefly and then
+ * block.  Blocking uses a lock that is only acquired by threads that
+ * have to wait, and by threads that wake them.  There is no fairness
+ * policy.
+ *
+ * <p>Elements removed by {@link #remove(Object)} (or by the iterator)
+ * are replaced by a marker that is discarded when it reaches the head
+ * of the queue.  Until then, removed elements are still counted by
+ * {@link #size} and still occupy capacity.  As with most concurrent
+ * collection implementations, {@code size} and the iterator are only
+ * weakly consistent.
+ *
+ * <p>This class and its iterator implement all of the <em>optional</em>
+ * methods of the {@link java.util.Collection} and {@link
+ * java.util.Iterator} interfaces.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/java.base/java/util/package-summary.html#CollectionsFramework">
+ * Java Collections Framework</a>.
+ *
+ * @since 18
+ * @param <E> the type of elements held in this queue
+ */
+public class MpmcArrayBlockingQueue<E> extends RingBlockingQueue<E> {
+
+    /*
+     * This is the bounded queue of Dmitry Vyukov, in which each slot
+     * carries a sequence number saying whose turn it is: slot i is
+     * free for the producer of position pos when sequences[i] == pos,
+     * and full for the consumer of position pos when sequences[i] ==
+     * pos + 1.  The consumer then sets it to pos + items.length,
+     * handing it to the producer of the next lap.
+     *
+     * The backing arrays are rounded up to a power of two, so the
+     * exact capacity bound is enforced separately: a producer only
+     * claims position pos if pos - head < capacity.  Since head only
+     * increases, any stale value of head is conservative, so
+     * producers check a racy cached copy (headCache, accessed with
+     * acquire/release mode, which also avoids tearing) and only read
+     * the contended head field when the cached value says the queue
+     * may be full.
+     *
+     * A consumer that finds its slot not yet published returns null
+     * only if head == tail, that is, if no producer has claimed the
+     * slot; otherwise it spins until the claiming producer finishes.
+     *
+     * Removal of interior elements CASes the element into REMOVED.
+     * Consumers take elements with getAndSet, so exactly one of a
+     * remover and a consumer gets any given element.  Consumers
+     * discard REMOVED markers and retry.
+     */
+
+    /** Marker for removed interior elements */
+    static final Object REMOVED = new Object();
+
+    /** The queued items */
+    final Object[] items;
+
+    /** Per-slot sequence numbers */
+    final long[] sequences;
+
+    /** items.length - 1 */
+    final int mask;
+
+    /** The next position to insert at */
+    @jdk.internal.vm.annotation.Contended("producer")
+    volatile long tail;
+
+    /** A lower bound of head, used by producers */
+    @jdk.internal.vm.annotation.Contended("producer")
+    long headCache;
+
+    /** The next position to remove from */
+    @jdk.internal.vm.annotation.Contended("consumer")
+    volatile long head;
+
+    /**
+     * Creates an {@code MpmcArrayBlockingQueue} with the given (fixed)
+     * capacity.
+     *
+     * @param capacity the capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity < 1} or
+     *         {@code capacity > 2^30}
+     */
+    public MpmcArrayBlockingQueue(int capacity) {
+        super(capacity);
+        int n = arrayLengthFor(capacity);
+        this.items = new Object[n];
+        long[] seqs = new long[n];
+        for (int i = 0; i < n; i++)
+            seqs[i] = i;
+        this.sequences = seqs;
+        this.mask = n - 1;
+    }
+
+    boolean tryEnqueue(E e) {
+        final Object[] items = this.items;
+        final long[] seqs = this.sequences;
+        final int mask = this.mask, cap = capacity;
+        for (long pos = tail;;) {
+            if (pos - (long)HEAD_CACHE.getAcquire(this) >= cap) {
+                long h = head;
+                HEAD_CACHE.setRelease(this, h);
+                if (pos - h >= cap)
+                    return false;
+            }
+            int i = (int)pos & mask;
+            long d = (long)SEQUENCE.getAcquire(seqs, i) - pos;
+            if (d == 0L) {
+                if (TAIL.weakCompareAndSet(this, pos, pos + 1)) {
+                    ITEM.setRelease(items, i, e);
+                    SEQUENCE.setRelease(seqs, i, pos + 1);
+                    return true;
+                }
+            }
+            else if (d < 0L)            // previous lap still being taken
+                Thread.onSpinWait();
+            pos = tail;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    E tryDequeue() {
+        final Object[] items = this.items;
+        final long[] seqs = this.sequences;
+        final int mask = this.mask;
+        for (long pos = head;;) {
+            int i = (int)pos & mask;
+            long d = (long)SEQUENCE.getAcquire(seqs, i) - (pos + 1);
+            if (d == 0L) {
+                if (HEAD.weakCompareAndSet(this, pos, pos + 1)) {
+                    Object x = ITEM.getAndSet(items, i, null);
+                    SEQUENCE.setRelease(seqs, i, pos + mask + 1);
+                    if (x != REMOVED)
+                        return (E) x;
+                }
+            }
+            else if (d < 0L) {
+                if (pos == tail)
+                    return null;
+                Thread.onSpinWait();    // claimed but not yet published
+            }
+            pos = head;
+        }
+    }
+
+    boolean removeElement(Object o, boolean identity) {
+        final Object[] items = this.items;
+        final int mask = this.mask;
+        for (long pos = head, end = tail; pos - end < 0L; pos++) {
+            int i = (int)pos & mask;
+            Object x = ITEM.getAcquire(items, i);
+            if (x != null && x != REMOVED &&
+                (identity ? x == o : o.equals(x)) &&
+                ITEM.compareAndSet(items, i, x, REMOVED))
+                return true;
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        final Object[] items = this.items;
+        final int mask = this.mask;
+        for (long pos = head, end = tail; pos - end < 0L; pos++) {
+            Object x = ITEM.getAcquire(items, (int)pos & mask);
+            if (x != null && x != REMOVED)
+                return (E) x;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of elements in this queue, including
+     * removed elements that have not yet reached the head.
+     *
+     * @return the number of elements in this queue
+     */
+    public int size() {
+        long h = head, t = tail;
+        long n = t - h;
+        return (n <= 0L) ? 0 : (n >= capacity) ? capacity : (int)n;
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public boolean contains(Object o) {
+        if (o == null) return false;
+        final Object[] items = this.items;
+        final int mask = this.mask;
+        for (long pos = head, end = tail; pos - end < 0L; pos++) {
+            Object x = ITEM.getAcquire(items, (int)pos & mask);
+            if (x != null && x != REMOVED && o.equals(x))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns an array containing the elements in this queue, in
+     * proper sequence.  The result is a weakly consistent snapshot.
+     *
+     * @return an array containing the elements in this queue
+     */
+    public Object[] toArray() {
+        final Object[] items = this.items;
+        final int mask = this.mask;
+        long h = head, t = tail;
+        Object[] a = new Object[(int)Math.min(Math.max(t - h, 0L), capacity)];
+        int n = 0;
+        for (long pos = h; pos - t < 0L && n < a.length; pos++) {
+            Object x = ITEM.getAcquire(items, (int)pos & mask);
+            if (x != null && x != REMOVED)
+                a[n++] = x;
+        }
+        return (n == a.length) ? a : Arrays.copyOf(a, n);
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle TAIL;
+    private static final VarHandle HEAD;
+    private static final VarHandle HEAD_CACHE;
+    static final VarHandle ITEM;
+    static final VarHandle SEQUENCE;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            TAIL = l.findVarHandle(MpmcArrayBlockingQueue.class, "tail", long.class);
+            HEAD = l.findVarHandle(MpmcArrayBlockingQueue.class, "head", long.class);
+            HEAD_CACHE = l.findVarHandle(MpmcArrayBlockingQueue.class, "headCache", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        ITEM = MethodHandles.arrayElementVarHandle(Object[].class);
+        SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * A bounded lock-free {@linkplain BlockingQueue blocking queue} backed
+ * by a ring buffer, supporting any number of concurrent producers but
+ * only a single consumer.  This queue orders elements FIFO
+ * (first-in-first-out).
+ *
+ * <p>This is a specialization of {@link MpmcArrayBlockingQueue} for
+ * the common case in which many threads hand work to one thread.
+ * Producers claim slots with a compare-and-set on the tail index, as
+ * for {@code MpmcArrayBlockingQueue}, but the consumer needs no
+ * atomic read-modify-write instructions, and the queue keeps no
+ * per-slot sequence numbers: an empty slot is simply {@code null}.
+ *
+ * <p>At most one thread at a time may remove elements from this
+ * queue, whether by {@code poll}, {@code take}, {@code drainTo},
+ * {@code clear} or otherwise; the effect of concurrent removals is
+ * undefined.  This queue does not support {@link #remove(Object)},
+ * nor removal through its iterator.  Attempts to {@code put} an
+ * element into a full queue, or to {@code take} an element from an
+ * empty one, spin briefly and then block.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/java.base/java/util/package-summary.html#CollectionsFramework">
+ * Java Collections Framework</a>.
+ *
+ * @since 18
+ * @param <E> the type of elements held in this queue
+ */
+public class MpscArrayBlockingQueue<E> extends RingBlockingQueue<E> {
+
+    /*
+     * Producers enforce the capacity bound against a cached copy of
+     * head, as in MpmcArrayBlockingQueue, and then claim a position
+     * by CAS on tail and publish the element with a release write.
+     * The slot is known to be empty, because pos - head < capacity
+     * implies the consumer has already cleared the slot's previous
+     * occupant before advancing head; the acquire/release accesses
+     * of headCache carry that ordering between producers.
+     *
+     * The consumer reads its slot with acquire mode.  If it is null
+     * but tail shows the position has been claimed, it spins until
+     * the element appears.  It then clears the slot with a plain
+     * write, and advances head with a volatile write.
+     */
+
+    /** The queued items */
+    final Object[] items;
+
+    /** items.length - 1 */
+    final int mask;
+
+    /** The next position to insert at */
+    @jdk.internal.vm.annotation.Contended("producer")
+    volatile long tail;
+
+    /** A lower bound of head, used by producers */
+    @jdk.internal.vm.annotation.Contended("producer")
+    long headCache;
+
+    /** The next position to remove from */
+    @jdk.internal.vm.annotation.Contended("consumer")
+    volatile long head;
+
+    /**
+     * Creates an {@code MpscArrayBlockingQueue} with the given (fixed)
+     * capacity.
+     *
+     * @param capacity the capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity < 1} or
+     *         {@code capacity > 2^30}
+     */
+    public MpscArrayBlockingQueue(int capacity) {
+        super(capacity);
+        int n = arrayLengthFor(capacity);
+        this.items = new Object[n];
+        this.mask = n - 1;
+    }
+
+    boolean tryEnqueue(E e) {
+        final int cap = capacity;
+        for (long pos = tail;;) {
+            if (pos - (long)HEAD_CACHE.getAcquire(this) >= cap) {
+                long h = head;
+                HEAD_CACHE.setRelease(this, h);
+                if (pos - h >= cap)
+                    return false;
+            }
+            if (TAIL.weakCompareAndSet(this, pos, pos + 1)) {
+                ITEM.setRelease(items, (int)pos & mask, e);
+                return true;
+            }
+            pos = tail;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    E tryDequeue() {
+        final Object[] items = this.items;
+        final long pos = head;
+        final int i = (int)pos & mask;
+        Object x = ITEM.getAcquire(items, i);
+        if (x == null) {
+            if (pos == tail)
+                return null;
+            while ((x = ITEM.getAcquire(items, i)) == null)
+                Thread.onSpinWait();    // claimed but not yet published
+        }
+        items[i] = null;
+        head = pos + 1;
+        return (E) x;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        final Object[] items = this.items;
+        final long pos = head;
+        final int i = (int)pos & mask;
+        Object x = ITEM.getAcquire(items, i);
+        if (x == null && pos != tail) {
+            while ((x = ITEM.getAcquire(items, i)) == null && head == pos)
+                Thread.onSpinWait();
+        }
+        return (E) x;
+    }
+
+    public int size() {
+        long h = head, t = tail;
+        long n = t - h;
+        return (n <= 0L) ? 0 : (n >= capacity) ? capacity : (int)n;
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public boolean contains(Object o) {
+        if (o == null) return false;
+        final Object[] items = this.items;
+        for (long pos = head, end = tail; pos - end < 0L; pos++) {
+            Object x = ITEM.getAcquire(items, (int)pos & mask);
+            if (x != null && o.equals(x))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns an array containing the elements in this queue, in
+     * proper sequence.  The result is a weakly consistent snapshot.
+     *
+     * @return an array containing the elements in this queue
+     */
+    public Object[] toArray() {
+        final Object[] items = this.items;
+        long h = head, t = tail;
+        Object[] a = new Object[(int)Math.min(Math.max(t - h, 0L), capacity)];
+        int n = 0;
+        for (long pos = h; pos - t < 0L && n < a.length; pos++) {
+            Object x = ITEM.getAcquire(items, (int)pos & mask);
+            if (x != null)
+                a[n++] = x;
+        }
+        return (n == a.length) ? a : Arrays.copyOf(a, n);
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle TAIL;
+    private static final VarHandle HEAD_CACHE;
+    static final VarHandle ITEM;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            TAIL = l.findVarHandle(MpscArrayBlockingQueue.class, "tail", long.class);
+            HEAD_CACHE = l.findVarHandle(MpscArrayBlockingQueue.class, "headCache", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        ITEM = MethodHandles.arrayElementVarHandle(Object[].class);
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+/**
+ * A controller that periodically adjusts the {@linkplain
+ * ThreadPoolExecutor#setCorePoolSize core pool size} of a {@link
+ * ThreadPoolExecutor} to maximize its throughput, within given
+ * bounds.  This is useful when the best pool size is not known in
+ * advance, as when tasks mix computation with blocking I/O in varying
+ * proportions.
+ *
+ * <p>Each {@linkplain #sample sample} measures the throughput (tasks
+ * completed per second) since the previous sample, along with the
+ * queue length, the number of active threads, and the number of
+ * active threads that are blocked or waiting.  The controller then
+ * moves the core pool size by hill climbing:
+ * <ul>
+ * <li>If the pool is not saturated (the queue is empty and some core
+ * threads are idle), the size is decreased by one.
+ * <li>Otherwise, if throughput improved significantly since the last
+ * adjustment, the size moves again in the same direction, by a step
+ * that doubles after each consecutive improvement.
+ * <li>If throughput worsened significantly, the direction is
+ * reversed and the step reset to one.
+ * <li>If throughput did not change significantly, the size drifts
+ * upwards if at least half of the active threads are blocked or
+ * waiting, or if it is less than the number of available processors;
+ * it drifts downwards if it is above that number and most active
+ * threads are running; and it is otherwise unchanged.  The drift
+ * also starts with a step of one that doubles while it continues in
+ * the same direction.
+ * </ul>
+ * Steps are limited to a quarter of the current size.
+ * Changes in throughput of less than ten percent are treated as
+ * noise.  The sampling period should be long enough for each
+ * sample to cover many task completions.
+ *
+ * <p>Since a {@code ThreadPoolExecutor} with an unbounded queue never
+ * creates more than its core pool size of threads, the core pool
+ * size is the effective pool size for such executors.  The maximum
+ * pool size of the executor is left unchanged, and the core pool
+ * size is never set above it.
+ *
+ * <p>Samples may be taken by calling {@link #sample} directly, or
+ * periodically using {@link #start}.  Methods of this class are
+ * thread-safe.
+ *
+ * <p><b>Sample Usage.</b> Here is a pool whose size adapts between
+ * two and sixty-four threads, adjusted every half second:
+ * <pre> {@code
+ * ThreadPoolExecutor pool = new ThreadPoolExecutor(
+ *     2, 64, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+ * ScheduledExecutorService timer =
+ *     Executors.newSingleThreadScheduledExecutor();
+ * new PoolSizeController(pool, 2, 64)
+ *     .start(timer, 500, TimeUnit.MILLISECONDS);}</pre>
+ *
+ * @since 18
+ */
+public class PoolSizeController {
+
+    /** Relative change in throughput treated as noise. */
+    private static final double TOLERANCE = 0.10;
+
+    private final ThreadPoolExecutor executor;
+    private final int minPoolSize;
+    private final int maxPoolSize;
+
+    // Controller state, guarded by this
+    private boolean started;
+    private long lastTime;
+    private long lastCompleted;
+    private double lastThroughput = -1.0; // negative until first interval
+    private int direction = 1;
+    private int step = 1;
+
+    /**
+     * Creates a controller for the given executor, keeping its core
+     * pool size within the given bounds.  The core pool size is not
+     * changed until the first adjustment.
+     *
+     * @param executor the executor
+     * @param minPoolSize the least core pool size to set
+     * @param maxPoolSize the greatest core pool size to set
+     * @throws NullPointerException if executor is null
+     * @throws IllegalArgumentException if {@code minPoolSize < 1},
+     *         or {@code maxPoolSize < minPoolSize}
+     */
+    public PoolSizeController(ThreadPoolExecutor executor,
+                              int minPoolSize, int maxPoolSize) {
+        if (executor == null)
+            throw new NullPointerException();
+        if (minPoolSize < 1 || maxPoolSize < minPoolSize)
+            throw new IllegalArgumentException();
+        this.executor = executor;
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    /**
+     * Returns the executor controlled by this controller.
+     *
+     * @return the executor
+     */
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Starts taking samples periodically using the given scheduler.
+     * Sampling stops when the returned future is cancelled, or when
+     * the executor is shut down.
+     *
+     * @param scheduler the scheduler running the samples
+     * @param period the period between samples
+     * @param unit the time unit of the period
+     * @return a future that may be cancelled to stop sampling
+     * @throws NullPointerException if scheduler or unit is null
+     * @throws IllegalArgumentException if period less than or equal
+     *         to zero
+     * @throws RejectedExecutionException if the scheduler rejects
+     *         the sampling task
+     */
+    public ScheduledFuture<?> start(ScheduledExecutorService scheduler,
+                                    long period, TimeUnit unit) {
+        if (scheduler == null)
+            throw new NullPointerException();
+        return scheduler.scheduleAtFixedRate(() -> {
+                if (executor.isShutdown())
+                    throw new CancellationException(); // stop sampling
+                sample();
+            }, period, period, unit);
+    }
+
+    /**
+     * Returns the throughput measured over the last sampling
+     * interval, in tasks per second, or zero if fewer than two
+     * samples have been taken.
+     *
+     * @return the last measured throughput
+     */
+    public synchronized double getThroughput() {
+        return Math.max(lastThroughput, 0.0);
+    }
+
+    /**
+     * Measures the throughput since the previous sample and adjusts
+     * the core pool size of the executor as described above.  The
+     * first sample only records a starting point.
+     *
+     * @return the core pool size after this sample
+     */
+    public synchronized int sample() {
+        final ThreadPoolExecutor executor = this.executor;
+        long now = System.nanoTime();
+        long completed = executor.getCompletedTaskCount();
+        int size = executor.getCorePoolSize();
+        long elapsed = now - lastTime, done = completed - lastCompleted;
+        boolean first = !started;
+        started = true;
+        lastTime = now;
+        lastCompleted = completed;
+        if (first || elapsed <= 0L)
+            return size;
+        double throughput = done * 1e9 / elapsed;
+        double previous = lastThroughput;
+        lastThroughput = throughput;
+
+        int active = executor.getActiveCount();
+        int blocked = executor.getBlockedActiveCount();
+        int move;
+        if (active < size && executor.getQueue().isEmpty()) {
+            direction = -1;                 // idle capacity
+            step = 1;
+            move = -1;
+        } else if (previous >= 0.0 &&
+                   throughput > previous * (1.0 + TOLERANCE)) {
+            step = Math.min(step << 1, Math.max(size >>> 2, 1));
+            move = direction * step;        // last move helped
+        } else if (previous >= 0.0 &&
+                   throughput < previous * (1.0 - TOLERANCE)) {
+            direction = -direction;         // last move hurt
+            step = 1;
+            move = direction;
+        } else {                            // no significant change
+            int ncpu = Runtime.getRuntime().availableProcessors(), drift;
+            if ((blocked > 0 && (blocked << 1) >= active) || size < ncpu)
+                drift = 1;
+            else if (size > ncpu)
+                drift = -1;
+            else
+                drift = 0;
+            step = (drift == direction) ?
+                Math.min(step << 1, Math.max(size >>> 2, 1)) : 1;
+            if (drift != 0)
+                direction = drift;
+            move = drift * step;
+        }
+        int next = Math.max(minPoolSize, Math.min(size + move, maxPoolSize));
+        next = Math.min(next, executor.getMaximumPoolSize());
+        if (next != size) {
+            try {
+                executor.setCorePoolSize(next);
+            } catch (IllegalArgumentException ex) {
+                next = size; // lost race with change of maximum size
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Returns a string identifying this controller, as well as its
+     * bounds and last measured throughput.
+     *
+     * @return a string identifying this controller
+     */
+    public String toString() {
+        return super.toString() +
+            "[pool size bounds = " + minPoolSize + ".." + maxPoolSize +
+            ", core pool size = " + executor.getCorePoolSize() +
+            ", throughput = " + getThroughput() + "/s]";
+    }
+}
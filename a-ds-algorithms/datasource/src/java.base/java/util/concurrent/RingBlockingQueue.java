@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Skeletal implementation of the bounded lock-free ring buffer
+ * blocking queues {@link MpmcArrayBlockingQueue}, {@link
+ * MpscArrayBlockingQueue} and {@link SpscArrayBlockingQueue}, also
+ * used for the work queue of {@link WorkStealingThreadPoolExecutor}.
+ *
+ * Subclasses provide the non-blocking tryEnqueue and tryDequeue
+ * operations; this class layers blocking on top of them.  A blocked
+ * operation first retries for a short while with Thread.onSpinWait,
+ * and then parks on a condition of a lock that is used only for
+ * waiting, never for transferring elements.
+ *
+ * Parked threads are counted in waitingConsumers and
+ * waitingProducers, so that the non-blocking fast paths pay for
+ * signalling only when somebody is actually parked.  Lost wakeups
+ * are avoided with a Dekker-style handshake:
+ *
+ *  - A waiting consumer increments waitingConsumers (a volatile
+ *    write) under the lock, and then retries the dequeue, which
+ *    reads the tail index (a volatile read), before awaiting.
+ *  - A producer advances the tail index (a volatile write or CAS)
+ *    in tryEnqueue, and then reads waitingConsumers (a volatile
+ *    read), signalling under the lock if nonzero.
+ *
+ * So either the consumer sees the new element, or the producer sees
+ * the waiting consumer; and since the consumer holds the lock from
+ * its increment until it awaits, the signal cannot be missed.  The
+ * same holds for waiting producers, with the roles of the head and
+ * tail indices reversed.  Subclasses must therefore perform a
+ * volatile write of the tail (head) index on every successful
+ * enqueue (dequeue), and a volatile read of the head (tail) index
+ * before reporting the queue full (empty).
+ *
+ * @param <E> the type of elements held in this queue
+ */
+abstract class RingBlockingQueue<E> extends AbstractQueue<E>
+        implements BlockingQueue<E> {
+
+    /**
+     * The number of times to spin before parking in blocking
+     * operations.  Spinning only makes sense on multiprocessors.
+     */
+    static final int SPINS =
+        (Runtime.getRuntime().availableProcessors() > 1) ? 1 << 7 : 0;
+
+    /** The maximum number of elements held */
+    final int capacity;
+
+    /** Lock used only to park and signal waiting threads */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Condition for waiting takes */
+    private final Condition notEmpty = lock.newCondition();
+
+    /** Condition for waiting puts */
+    private final Condition notFull = lock.newCondition();
+
+    /** Number of consumers parked on notEmpty; written under lock */
+    private volatile int waitingConsumers;
+
+    /** Number of producers parked on notFull; written under lock */
+    private volatile int waitingProducers;
+
+    /**
+     * Creates a queue with the given capacity.
+     *
+     * @throws IllegalArgumentException if {@code capacity < 1}
+     */
+    RingBlockingQueue(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException();
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the length of the backing array to use for the given
+     * capacity: the smallest power of two that is not less than it.
+     */
+    static int arrayLengthFor(int capacity) {
+        if (capacity > (1 << 30))
+            throw new IllegalArgumentException("Capacity too large");
+        return (capacity <= 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Inserts the element if there is space, without blocking.
+     */
+    abstract boolean tryEnqueue(E e);
+
+    /**
+     * Removes and returns the head element, or returns null if the
+     * queue is empty, without blocking.
+     */
+    abstract E tryDequeue();
+
+    /**
+     * Removes a single instance of the given element, using
+     * {@code ==} rather than {@code equals} if identity is true.
+     * Unsupported by default.
+     */
+    boolean removeElement(Object o, boolean identity) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns a weakly consistent snapshot of the elements, in order.
+     */
+    public abstract Object[] toArray();
+
+    /**
+     * Wakes up one parked consumer.  Subclasses may call this after
+     * making elements available other than through tryEnqueue.
+     */
+    void signalNotEmpty() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalNotFull() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue if it is
+     * possible to do so immediately without exceeding the queue's capacity,
+     * returning {@code true} upon success and {@code false} if this queue
+     * is full.
+     *
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        if (!tryEnqueue(e))
+            return false;
+        if (waitingConsumers != 0)
+            signalNotEmpty();
+        return true;
+    }
+
+    public E poll() {
+        E e = tryDequeue();
+        // Signal even on failure, as removed elements may have been skipped
+        if (waitingProducers != 0)
+            signalNotFull();
+        return e;
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue, waiting
+     * for space to become available if the queue is full.
+     *
+     * @throws InterruptedException {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public void put(E e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        for (int spins = SPINS;;) {
+            if (offer(e))
+                return;
+            if (--spins < 0)
+                break;
+            Thread.onSpinWait();
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            ++waitingProducers;
+            try {
+                while (!offer(e))
+                    notFull.await();
+            } finally {
+                --waitingProducers;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue, waiting
+     * up to the specified wait time for space to become available if
+     * the queue is full.
+     *
+     * @throws InterruptedException {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public boolean offer(E e, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        Objects.requireNonNull(e);
+        long nanos = unit.toNanos(timeout);
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        for (int spins = SPINS;;) {
+            if (offer(e))
+                return true;
+            if (--spins < 0 || nanos <= 0L)
+                break;
+            Thread.onSpinWait();
+        }
+        if (nanos <= 0L)
+            return false;
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            ++waitingProducers;
+            try {
+                while (!offer(e)) {
+                    if (nanos <= 0L)
+                        return false;
+                    nanos = notFull.awaitNanos(nanos);
+                }
+                return true;
+            } finally {
+                --waitingProducers;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public E take() throws InterruptedException {
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        E e;
+        for (int spins = SPINS;;) {
+            if ((e = poll()) != null)
+                return e;
+            if (--spins < 0)
+                break;
+            Thread.onSpinWait();
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            ++waitingConsumers;
+            try {
+                while ((e = poll()) == null)
+                    notEmpty.await();
+                return e;
+            } finally {
+                --waitingConsumers;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        E e;
+        for (int spins = SPINS;;) {
+            if ((e = poll()) != null)
+                return e;
+            if (--spins < 0 || nanos <= 0L)
+                break;
+            Thread.onSpinWait();
+        }
+        if (nanos <= 0L)
+            return null;
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            ++waitingConsumers;
+            try {
+                while ((e = poll()) == null) {
+                    if (nanos <= 0L)
+                        return null;
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+                return e;
+            } finally {
+                --waitingConsumers;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of additional elements that this queue can
+     * ideally (in the absence of memory or resource constraints) accept
+     * without blocking.  This is always equal to the initial capacity
+     * of this queue less the current {@code size} of this queue.
+     *
+     * <p>Note that you <em>cannot</em> always tell if an attempt to
+     * insert an element will succeed by inspecting
+     * {@code remainingCapacity} because it may be the case that
+     * another thread is about to insert or remove an element.
+     */
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * Removes a single instance of the specified element from this
+     * queue, if it is present, as for {@link Collection#remove}.
+     *
+     * @throws UnsupportedOperationException if this queue does not
+     *         support removal of arbitrary elements
+     */
+    public boolean remove(Object o) {
+        return o != null && removeElement(o, false);
+    }
+
+    /**
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this)
+            throw new IllegalArgumentException();
+        int n = 0;
+        for (E e; n < maxElements && (e = poll()) != null; n++)
+            c.add(e);
+        return n;
+    }
+
+    /**
+     * Returns an iterator over a weakly consistent snapshot of the
+     * elements in this queue, in proper sequence.  The iterator does
+     * not reflect elements inserted or removed after its creation.
+     * Its {@code remove} method is supported only if this queue
+     * supports {@link #remove(Object)}.
+     *
+     * @return an iterator over the elements in this queue in proper sequence
+     */
+    public Iterator<E> iterator() {
+        return new Itr(toArray());
+    }
+
+    final class Itr implements Iterator<E> {
+        final Object[] items;
+        int cursor;
+        int lastRet = -1;
+
+        Itr(Object[] items) { this.items = items; }
+
+        public boolean hasNext() {
+            return cursor < items.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            int i = cursor;
+            if (i >= items.length)
+                throw new NoSuchElementException();
+            cursor = i + 1;
+            return (E) items[lastRet = i];
+        }
+
+        public void remove() {
+            if (lastRet < 0)
+                throw new IllegalStateException();
+            removeElement(items[lastRet], true);
+            lastRet = -1;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * A bounded lock-free {@linkplain BlockingQueue blocking queue} backed
+ * by a ring buffer, for use by a single producer and a single
+ * consumer.  This queue orders elements FIFO (first-in-first-out).
+ *
+ * <p>This is a specialization of {@link MpmcArrayBlockingQueue} for
+ * pipelines in which exactly one thread hands elements to exactly one
+ * other thread.  Neither side uses atomic read-modify-write
+ * instructions, and each side keeps a private cached copy of the
+ * other side's index, so that in the steady state producer and
+ * consumer only share the cache lines of the slots themselves.
+ *
+ * <p>At most one thread at a time may insert elements into this
+ * queue, and at most one thread at a time may remove them; the
+ * effect of concurrent insertions, or of concurrent removals, is
+ * undefined.  This queue does not support {@link #remove(Object)},
+ * nor removal through its iterator.  Attempts to {@code put} an
+ * element into a full queue, or to {@code take} an element from an
+ * empty one, spin briefly and then block.
+ *
+ * <p>This class is a member of the
+ * <a href="{@docRoot}/java.base/java/util/package-summary.html#CollectionsFramework">
+ * Java Collections Framework</a>.
+ *
+ * @since 18
+ * @param <E> the type of elements held in this queue
+ */
+public class SpscArrayBlockingQueue<E> extends RingBlockingQueue<E> {
+
+    /*
+     * The producer publishes each element with a release write and
+     * then advances tail with a volatile write; the consumer reads
+     * slots with acquire mode, clears them with plain writes and
+     * advances head with a volatile write.  The volatile index writes
+     * are needed only for the handshake with parked threads described
+     * in RingBlockingQueue.  A null slot means empty; tail is read
+     * only to confirm emptiness before reporting it.
+     */
+
+    /** The queued items */
+    final Object[] items;
+
+    /** items.length - 1 */
+    final int mask;
+
+    /** The next position to insert at */
+    @jdk.internal.vm.annotation.Contended("producer")
+    volatile long tail;
+
+    /** The producer's lower bound of head */
+    @jdk.internal.vm.annotation.Contended("producer")
+    long headCache;
+
+    /** The next position to remove from */
+    @jdk.internal.vm.annotation.Contended("consumer")
+    volatile long head;
+
+    /**
+     * Creates an {@code SpscArrayBlockingQueue} with the given (fixed)
+     * capacity.
+     *
+     * @param capacity the capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity < 1} or
+     *         {@code capacity > 2^30}
+     */
+    public SpscArrayBlockingQueue(int capacity) {
+        super(capacity);
+        int n = arrayLengthFor(capacity);
+        this.items = new Object[n];
+        this.mask = n - 1;
+    }
+
+    boolean tryEnqueue(E e) {
+        final long pos = tail;
+        if (pos - headCache >= capacity) {
+            long h = head;
+            headCache = h;
+            if (pos - h >= capacity)
+                return false;
+        }
+        ITEM.setRelease(items, (int)pos & mask, e);
+        tail = pos + 1;
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    E tryDequeue() {
+        final Object[] items = this.items;
+        final long pos = head;
+        final int i = (int)pos & mask;
+        Object x = ITEM.getAcquire(items, i);
+        if (x == null) {
+            if (pos == tail)
+                return null;
+            x = ITEM.getAcquire(items, i); // published before tail
+        }
+        items[i] = null;
+        head = pos + 1;
+        return (E) x;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        return (E) ITEM.getAcquire(items, (int)head & mask);
+    }
+
+    public int size() {
+        long h = head, t = tail;
+        long n = t - h;
+        return (n <= 0L) ? 0 : (n >= capacity) ? capacity : (int)n;
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public boolean contains(Object o) {
+        if (o == null) return false;
+        final Object[] items = this.items;
+        for (long pos = head, end = tail; pos - end < 0L; pos++) {
+            Object x = ITEM.getAcquire(items, (int)pos & mask);
+            if (x != null && o.equals(x))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns an array containing the elements in this queue, in
+     * proper sequence.  The result is a weakly consistent snapshot.
+     *
+     * @return an array containing the elements in this queue
+     */
+    public Object[] toArray() {
+        final Object[] items = this.items;
+        long h = head, t = tail;
+        Object[] a = new Object[(int)Math.min(Math.max(t - h, 0L), capacity)];
+        int n = 0;
+        for (long pos = h; pos - t < 0L && n < a.length; pos++) {
+            Object x = ITEM.getAcquire(items, (int)pos & mask);
+            if (x != null)
+                a[n++] = x;
+        }
+        return (n == a.length) ? a : Arrays.copyOf(a, n);
+    }
+
+    // VarHandle mechanics
+    static final VarHandle ITEM
+        = MethodHandles.arrayElementVarHandle(Object[].class);
+}
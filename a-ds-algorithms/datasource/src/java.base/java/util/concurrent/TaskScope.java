@@ -0,0 +1,742 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A scope in which a task forks concurrent subtasks, waits for them
+ * to complete, and then closes the scope, so that no subtask outlives
+ * it.  Subtasks run asynchronously in an {@link Executor}, by default
+ * the one used by {@link CompletableFuture} (usually {@link
+ * ForkJoinPool#commonPool()}), and are represented by {@link
+ * CompletableFuture}s, so their results can be further composed.
+ *
+ * <p>Unlike fan-out with {@link CompletableFuture#allOf}, a scope
+ * can be <em>shut down</em>, by the owner or by a subtask, or when
+ * its deadline passes.  Shutting down cancels all subtasks that have
+ * not completed: those that have not started never run, and the
+ * threads running the others are interrupted.  Subtasks that perform
+ * long computations should therefore respond to interruption, for
+ * example by checking {@link Thread#isInterrupted}.  The nested
+ * classes {@link ShutdownOnFailure} and {@link ShutdownOnSuccess}
+ * implement the common policies of shutting down when any subtask
+ * fails, or when any subtask succeeds.  Other policies may be
+ * implemented by overriding {@link #handleComplete}.
+ *
+ * <p>A scope is owned by the thread that creates it.  Only the owner
+ * may {@linkplain #join join} and {@linkplain #close close} the
+ * scope, which should be done using try-with-resources:
+ *
+ * <pre> {@code
+ * Response handle() throws ExecutionException, InterruptedException {
+ *   try (var scope = new TaskScope.ShutdownOnFailure()) {
+ *     CompletableFuture<String> user = scope.fork(() -> findUser());
+ *     CompletableFuture<Integer> order = scope.fork(() -> fetchOrder());
+ *     scope.join();          // join both forks
+ *     scope.throwIfFailed(); // ... and propagate errors
+ *     return new Response(user.join(), order.join());
+ *   }
+ * }}</pre>
+ *
+ * <p>A scope may have a deadline.  A scope created by a subtask of
+ * another scope, or created by the owner of another open scope,
+ * inherits the deadline of that scope, if earlier than its own.
+ * Thus a deadline given to a request handler propagates to all the
+ * work done on behalf of the request.  Because nested scopes are
+ * closed before their subtasks complete, shutting down a scope also
+ * stops the work of the scopes nested in its subtasks.
+ *
+ * <p>Memory consistency effects: Actions in the owner thread prior to
+ * forking a subtask <a href="package-summary.html#MemoryVisibility">
+ * <i>happen-before</i></a> the subtask runs, and actions of subtasks
+ * happen-before the corresponding return from {@link #join}.
+ *
+ * @param <T> the result type of subtasks
+ * @since 18
+ */
+public class TaskScope<T> implements AutoCloseable {
+    /*
+     * Subtasks are Forked futures, which are also the Runnables
+     * submitted to the executor.  Their runState distinguishes
+     * whether they have not started, are running (with runner set),
+     * are being interrupted by a canceller, or are done.  Cancelling
+     * a subtask that has not started moves it directly to DONE, so
+     * that it is never run and need not be waited for.  Cancelling a
+     * running one interrupts its runner, with a handshake (as in
+     * FutureTask) so the interrupt cannot leak to a later task run
+     * by the same pool thread.
+     *
+     * The set of subtasks whose bodies may still run, and the
+     * "quiescent" future completed when that set becomes empty, are
+     * guarded by the lock.  Join waits for quiescence or shutdown;
+     * close shuts down and then waits for quiescence, so that no
+     * subtask body runs after close returns.  Waiting uses
+     * CompletableFuture.get, which is managed when called from a
+     * ForkJoinPool worker.
+     *
+     * The CURRENT thread-local records, for each thread, the scope
+     * in which it is running a subtask or that it most recently
+     * opened, used to inherit deadlines.
+     */
+
+    /** The scope of the current thread, if any. */
+    private static final ThreadLocal<TaskScope<?>> CURRENT = new ThreadLocal<>();
+
+    private final Executor executor;
+    private final Thread owner;
+    private final TaskScope<?> parent;          // the previous CURRENT of owner
+    private final long deadline;                // System.nanoTime() based
+    private final boolean hasDeadline;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final HashSet<Forked<? extends T>> forks = new HashSet<>();
+    private final CompletableFuture<Void> shutdownSignal = new CompletableFuture<>();
+    private CompletableFuture<Void> quiescent;  // guarded by lock
+    private final ScheduledFuture<?> timeout;
+    private volatile boolean shutdown;
+    private volatile boolean timedOut;
+    private boolean closed;                     // guarded by lock
+
+    /**
+     * Creates a new scope running subtasks in the default executor of
+     * {@link CompletableFuture}, with the deadline, if any, of the
+     * current thread's enclosing scope.
+     */
+    public TaskScope() {
+        this(ForkJoinPool.commonPool(), null);
+    }
+
+    /**
+     * Creates a new scope running subtasks in the given executor, with
+     * the deadline, if any, of the current thread's enclosing scope.
+     *
+     * @param executor the executor to run subtasks
+     * @throws NullPointerException if the executor is null
+     */
+    public TaskScope(Executor executor) {
+        this(executor, null);
+    }
+
+    /**
+     * Creates a new scope running subtasks in the given executor, and
+     * shutting down at the given deadline, or at that of the current
+     * thread's enclosing scope, if earlier.
+     *
+     * @param executor the executor to run subtasks
+     * @param deadline the deadline, or {@code null} if none besides
+     *        an inherited one
+     * @throws NullPointerException if the executor is null
+     */
+    public TaskScope(Executor executor, Instant deadline) {
+        this.executor = CompletableFuture.screenExecutor(executor);
+        this.owner = Thread.currentThread();
+        TaskScope<?> p = this.parent = CURRENT.get();
+        long now = System.nanoTime(), d = 0L;
+        boolean timed = false;
+        if (deadline != null) {
+            d = now + nanosUntil(deadline);
+            timed = true;
+        }
+        if (p != null && p.hasDeadline && (!timed || p.deadline - d < 0L)) {
+            d = p.deadline;
+            timed = true;
+        }
+        this.deadline = d;
+        this.hasDeadline = timed;
+        this.quiescent = CompletableFuture.completedFuture(null);
+        this.timeout = timed
+            ? CompletableFuture.Delayer.delay(this::expire, d - now, TimeUnit.NANOSECONDS)
+            : null;
+        CURRENT.set(this);
+    }
+
+    private static long nanosUntil(Instant deadline) {
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        try {
+            return Math.max(0L, remaining.toNanos());
+        } catch (ArithmeticException overflow) {
+            return remaining.isNegative() ? 0L : Long.MAX_VALUE >>> 1;
+        }
+    }
+
+    /**
+     * Forks a subtask, to run asynchronously in this scope's executor.
+     * If the scope is shut down, the subtask is not run, and the
+     * returned future is cancelled.
+     *
+     * <p>This method may be invoked by the owner or by subtasks of
+     * this scope.
+     *
+     * @param task the task to run
+     * @param <U> the result type
+     * @return a future completed with the result of the task
+     * @throws NullPointerException if the task is null
+     * @throws IllegalStateException if the scope is closed
+     * @throws RejectedExecutionException if the executor rejects the
+     *         subtask
+     */
+    public <U extends T> CompletableFuture<U> fork(Callable<? extends U> task) {
+        Objects.requireNonNull(task);
+        Forked<U> f = new Forked<>(this, task);
+        lock.lock();
+        try {
+            if (closed)
+                throw new IllegalStateException("Scope is closed");
+            if (shutdown) {
+                f.cancel(false);
+                return f;
+            }
+            if (forks.isEmpty())
+                quiescent = new CompletableFuture<>();
+            forks.add(f);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            executor.execute(f);
+        } catch (Throwable ex) {
+            f.completeExceptionally(ex);
+            if (RUNSTATE.compareAndSet(f, NEW, DONE))
+                exited(f);
+            throw ex;
+        }
+        return f;
+    }
+
+    /**
+     * Waits for all subtasks to complete, or for the scope to shut
+     * down.
+     *
+     * @return this scope
+     * @throws IllegalStateException if the current thread is not the
+     *         owner, or if the scope is closed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public TaskScope<T> join() throws InterruptedException {
+        try {
+            awaitQuiescentOrShutdown(false, 0L);
+        } catch (TimeoutException impossible) {
+            throw new AssertionError(impossible);
+        }
+        return this;
+    }
+
+    /**
+     * Waits, at most until the given deadline, for all subtasks to
+     * complete, or for the scope to shut down.  The scope is not shut
+     * down if the deadline passes.
+     *
+     * @param deadline the deadline
+     * @return this scope
+     * @throws NullPointerException if the deadline is null
+     * @throws IllegalStateException if the current thread is not the
+     *         owner, or if the scope is closed
+     * @throws InterruptedException if interrupted while waiting
+     * @throws TimeoutException if the deadline passes while waiting
+     */
+    public TaskScope<T> joinUntil(Instant deadline)
+        throws InterruptedException, TimeoutException {
+        awaitQuiescentOrShutdown(true, nanosUntil(deadline));
+        return this;
+    }
+
+    private void awaitQuiescentOrShutdown(boolean timed, long nanos)
+        throws InterruptedException, TimeoutException {
+        ensureOwnerAndOpen();
+        CompletableFuture<Void> q;
+        lock.lock();
+        try {
+            q = quiescent;
+        } finally {
+            lock.unlock();
+        }
+        if (q.isDone() || shutdown)
+            return;
+        CompletableFuture<Object> any = CompletableFuture.anyOf(q, shutdownSignal);
+        try {
+            if (timed)
+                any.get(nanos, TimeUnit.NANOSECONDS);
+            else
+                any.get();
+        } catch (ExecutionException impossible) {
+            throw new AssertionError(impossible);
+        }
+    }
+
+    /**
+     * Shuts down this scope, cancelling all subtasks that have not
+     * completed, and interrupting the threads running them.  Forking
+     * in a scope that is shut down has no effect, and {@link
+     * #handleComplete} is not invoked for subtasks that complete
+     * afterwards.  This method may be invoked by any thread, and has
+     * no effect if the scope is already shut down.
+     */
+    public void shutdown() {
+        if (!shutdown && SHUTDOWN.compareAndSet(this, false, true)) {
+            shutdownSignal.complete(null);
+            ArrayList<Forked<? extends T>> fs;
+            lock.lock();
+            try {
+                fs = new ArrayList<>(forks);
+            } finally {
+                lock.unlock();
+            }
+            for (Forked<? extends T> f : fs)
+                f.cancel(true);
+        }
+    }
+
+    /**
+     * Returns {@code true} if this scope is shut down.
+     *
+     * @return {@code true} if this scope is shut down
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Returns {@code true} if this scope was shut down because its
+     * deadline passed.
+     *
+     * @return {@code true} if this scope's deadline passed before it
+     *         was otherwise shut down
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Returns the deadline of this scope, if any.
+     *
+     * @return the deadline of this scope, if any
+     */
+    public Optional<Instant> getDeadline() {
+        return hasDeadline
+            ? Optional.of(Instant.now().plusNanos(deadline - System.nanoTime()))
+            : Optional.empty();
+    }
+
+    /**
+     * Closes this scope: shuts it down, and waits for all subtasks
+     * that are running to finish.  This method waits even if
+     * interrupted, and then re-asserts the interrupt status.  It has
+     * no effect if the scope is already closed.
+     *
+     * @throws IllegalStateException if the current thread is not the
+     *         owner
+     */
+    @Override
+    public void close() {
+        if (Thread.currentThread() != owner)
+            throw new IllegalStateException("Not owner");
+        if (closed)
+            return;
+        shutdown();
+        CompletableFuture<Void> q;
+        lock.lock();
+        try {
+            closed = true;
+            q = quiescent;
+        } finally {
+            lock.unlock();
+        }
+        q.join();       // waits uninterruptibly
+        if (timeout != null)
+            timeout.cancel(false);
+        if (CURRENT.get() == this) {
+            if (parent != null)
+                CURRENT.set(parent);
+            else
+                CURRENT.remove();
+        }
+    }
+
+    /**
+     * Invoked by a subtask when it completes normally or abruptly,
+     * unless the scope is already shut down.  This method may be
+     * invoked concurrently by several subtasks.  The default
+     * implementation does nothing.
+     *
+     * @param subtask the completed subtask
+     */
+    protected void handleComplete(CompletableFuture<? extends T> subtask) {
+    }
+
+    /**
+     * Throws IllegalStateException unless invoked by the owner of
+     * an open scope.
+     */
+    private void ensureOwnerAndOpen() {
+        if (Thread.currentThread() != owner)
+            throw new IllegalStateException("Not owner");
+        if (closed)
+            throw new IllegalStateException("Scope is closed");
+    }
+
+    /** Invoked by the delay scheduler when the deadline passes. */
+    private void expire() {
+        if (!shutdown) {
+            timedOut = true;
+            shutdown();
+        }
+    }
+
+    /** Removes a subtask whose body will not run again. */
+    private void exited(Forked<? extends T> f) {
+        CompletableFuture<Void> q = null;
+        lock.lock();
+        try {
+            if (forks.remove(f) && forks.isEmpty())
+                q = quiescent;
+        } finally {
+            lock.unlock();
+        }
+        if (q != null)
+            q.complete(null);
+    }
+
+    /**
+     * Returns the exception with which the given future completed,
+     * or null if it completed normally or is not done.
+     */
+    static Throwable exceptionOf(CompletableFuture<?> f) {
+        Object r = f.result;
+        return (r instanceof CompletableFuture.AltResult)
+            ? ((CompletableFuture.AltResult)r).ex : null;
+    }
+
+    // runStates of Forked
+    static final int NEW          = 0;
+    static final int RUNNING      = 1;
+    static final int INTERRUPTING = 2;
+    static final int DONE         = 3;
+
+    /**
+     * A subtask, run by the executor.
+     */
+    static final class Forked<U> extends CompletableFuture<U>
+        implements Runnable, CompletableFuture.AsynchronousCompletionTask {
+        final TaskScope<? super U> scope;
+        Callable<? extends U> task;     // nulled out after running
+        Thread runner;                  // written before RUNNING
+        volatile int runState;
+        boolean interrupted;            // written before leaving INTERRUPTING
+
+        Forked(TaskScope<? super U> scope, Callable<? extends U> task) {
+            this.scope = scope;
+            this.task = task;
+        }
+
+        public void run() {
+            Callable<? extends U> c = task;
+            runner = Thread.currentThread();
+            if (c == null || !RUNSTATE.compareAndSet(this, NEW, RUNNING)) {
+                runner = null;
+                return;
+            }
+            task = null;
+            TaskScope<?> prev = CURRENT.get();
+            CURRENT.set(scope);
+            boolean completed;
+            try {
+                completed = !isDone() && complete(c.call());
+            } catch (Throwable ex) {
+                completed = completeExceptionally(ex);
+            } finally {
+                if (prev != null)
+                    CURRENT.set(prev);
+                else
+                    CURRENT.remove();
+            }
+            while (!RUNSTATE.compareAndSet(this, RUNNING, DONE))
+                Thread.yield();         // canceller is interrupting
+            if (interrupted)
+                Thread.interrupted();   // clear cancellation interrupt
+            runner = null;
+            try {
+                if (completed && !scope.shutdown)
+                    scope.handleComplete(this);
+            } finally {
+                scope.exited(this);
+            }
+        }
+
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (RUNSTATE.compareAndSet(this, NEW, DONE)) {
+                task = null;
+                scope.exited(this);
+            }
+            else if (mayInterruptIfRunning && cancelled &&
+                     RUNSTATE.compareAndSet(this, RUNNING, INTERRUPTING)) {
+                try {
+                    runner.interrupt();
+                } finally {
+                    interrupted = true;
+                    runState = RUNNING;
+                }
+            }
+            return cancelled;
+        }
+    }
+
+    /**
+     * A scope that shuts down when any subtask fails, capturing the
+     * exception of the first that does.  A scope whose deadline passes
+     * is considered to have failed with a {@link TimeoutException}.
+     *
+     * @since 18
+     */
+    public static final class ShutdownOnFailure extends TaskScope<Object> {
+        private volatile Throwable firstException;
+
+        /**
+         * Creates a new scope running subtasks in the default executor
+         * of {@link CompletableFuture}.
+         */
+        public ShutdownOnFailure() {
+            super();
+        }
+
+        /**
+         * Creates a new scope running subtasks in the given executor,
+         * and shutting down at the given deadline, or at that of the
+         * current thread's enclosing scope, if earlier.
+         *
+         * @param executor the executor to run subtasks
+         * @param deadline the deadline, or {@code null} if none
+         *        besides an inherited one
+         * @throws NullPointerException if the executor is null
+         */
+        public ShutdownOnFailure(Executor executor, Instant deadline) {
+            super(executor, deadline);
+        }
+
+        /**
+         * Shuts down the scope if the subtask failed.
+         *
+         * @param subtask the completed subtask
+         */
+        @Override
+        protected void handleComplete(CompletableFuture<?> subtask) {
+            Throwable ex = exceptionOf(subtask);
+            if (ex != null && firstException == null &&
+                FIRST_EXCEPTION.compareAndSet(this, null, ex))
+                shutdown();
+        }
+
+        /**
+         * Returns the exception of the first subtask that failed, or a
+         * {@code TimeoutException} if none failed before the deadline
+         * passed.
+         *
+         * @return the exception, if any
+         */
+        public Optional<Throwable> exception() {
+            Throwable ex = firstException;
+            if (ex == null && isTimedOut())
+                ex = new TimeoutException("Deadline passed");
+            return Optional.ofNullable(ex);
+        }
+
+        /**
+         * Throws an {@code ExecutionException} with the {@linkplain
+         * #exception exception} of the scope as its cause, if any.
+         *
+         * @throws ExecutionException if a subtask failed or the
+         *         deadline passed
+         */
+        public void throwIfFailed() throws ExecutionException {
+            Optional<Throwable> ex = exception();
+            if (ex.isPresent())
+                throw new ExecutionException(ex.get());
+        }
+
+        /**
+         * Throws the exception produced by the given function from the
+         * {@linkplain #exception exception} of the scope, if any.
+         *
+         * @param esf the exception supplying function
+         * @param <X> the type of the exception thrown
+         * @throws X if a subtask failed or the deadline passed
+         * @throws NullPointerException if the function is null, or
+         *         returns null
+         */
+        public <X extends Throwable> void throwIfFailed(
+            Function<Throwable, ? extends X> esf) throws X {
+            Objects.requireNonNull(esf);
+            Optional<Throwable> ex = exception();
+            if (ex.isPresent())
+                throw Objects.requireNonNull(esf.apply(ex.get()));
+        }
+
+        private static final VarHandle FIRST_EXCEPTION;
+        static {
+            try {
+                MethodHandles.Lookup l = MethodHandles.lookup();
+                FIRST_EXCEPTION = l.findVarHandle(ShutdownOnFailure.class,
+                                                  "firstException",
+                                                  Throwable.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+
+    /**
+     * A scope that shuts down when any subtask succeeds, capturing the
+     * result of the first that does.
+     *
+     * @param <T> the result type
+     * @since 18
+     */
+    public static final class ShutdownOnSuccess<T> extends TaskScope<T> {
+        private static final Object NULL = new Object();
+        private volatile Object firstResult;
+        private volatile Throwable firstException;
+
+        /**
+         * Creates a new scope running subtasks in the default executor
+         * of {@link CompletableFuture}.
+         */
+        public ShutdownOnSuccess() {
+            super();
+        }
+
+        /**
+         * Creates a new scope running subtasks in the given executor,
+         * and shutting down at the given deadline, or at that of the
+         * current thread's enclosing scope, if earlier.
+         *
+         * @param executor the executor to run subtasks
+         * @param deadline the deadline, or {@code null} if none
+         *        besides an inherited one
+         * @throws NullPointerException if the executor is null
+         */
+        public ShutdownOnSuccess(Executor executor, Instant deadline) {
+            super(executor, deadline);
+        }
+
+        /**
+         * Shuts down the scope if the subtask succeeded and no other
+         * subtask has.
+         *
+         * @param subtask the completed subtask
+         */
+        @Override
+        protected void handleComplete(CompletableFuture<? extends T> subtask) {
+            Throwable ex = exceptionOf(subtask);
+            if (ex == null) {
+                Object r = subtask.join();
+                if (firstResult == null &&
+                    FIRST_RESULT.compareAndSet(this, null, (r == null) ? NULL : r))
+                    shutdown();
+            }
+            else if (firstException == null)
+                FIRST_EXCEPTION.compareAndSet(this, null, ex);
+        }
+
+        /**
+         * Returns the result of the first subtask that succeeded.
+         *
+         * @return the result
+         * @throws ExecutionException if no subtask succeeded, with the
+         *         exception of the first that failed as its cause, or
+         *         a {@code TimeoutException} if the deadline passed
+         * @throws IllegalStateException if no subtask completed
+         */
+        public T result() throws ExecutionException {
+            return result(ExecutionException::new);
+        }
+
+        /**
+         * Returns the result of the first subtask that succeeded,
+         * otherwise throws the exception produced by the given
+         * function.
+         *
+         * @param esf the exception supplying function, applied to the
+         *        exception of the first subtask that failed, or to a
+         *        {@code TimeoutException} if the deadline passed
+         * @param <X> the type of the exception thrown
+         * @return the result
+         * @throws X if no subtask succeeded
+         * @throws IllegalStateException if no subtask completed
+         * @throws NullPointerException if the function is null, or
+         *         returns null
+         */
+        @SuppressWarnings("unchecked")
+        public <X extends Throwable> T result(
+            Function<Throwable, ? extends X> esf) throws X {
+            Objects.requireNonNull(esf);
+            Object r = firstResult;
+            if (r != null)
+                return (r == NULL) ? null : (T)r;
+            Throwable ex = firstException;
+            if (ex == null && isTimedOut())
+                ex = new TimeoutException("Deadline passed");
+            if (ex == null)
+                throw new IllegalStateException("No completed subtasks");
+            throw Objects.requireNonNull(esf.apply(ex));
+        }
+
+        private static final VarHandle FIRST_RESULT;
+        private static final VarHandle FIRST_EXCEPTION;
+        static {
+            try {
+                MethodHandles.Lookup l = MethodHandles.lookup();
+                FIRST_RESULT = l.findVarHandle(ShutdownOnSuccess.class,
+                                               "firstResult", Object.class);
+                FIRST_EXCEPTION = l.findVarHandle(ShutdownOnSuccess.class,
+                                                  "firstException",
+                                                  Throwable.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle SHUTDOWN;
+    private static final VarHandle RUNSTATE;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            SHUTDOWN = l.findVarHandle(TaskScope.class, "shutdown", boolean.class);
+            RUNSTATE = l.findVarHandle(Forked.class, "runState", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
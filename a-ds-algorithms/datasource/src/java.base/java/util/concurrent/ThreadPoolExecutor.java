@@ -553,6 +553,12 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      */
     private volatile int maximumPoolSize;
 
+    /**
+     * Execution statistics, or null if not enabled.  Set once, under
+     * mainLock, by enableMetrics.
+     */
+    private volatile ExecutorMetrics metrics;
+
     /**
      * The default rejected execution handler.
      */
@@ -616,6 +622,8 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         Runnable firstTask;
         /** Per-thread task counter */
         volatile long completedTasks;
+        /** Per-thread statistics, if metrics are enabled */
+        ExecutorMetrics.Cell metricsCell;
 
         // TODO: switch to AbstractQueuedLongSynchronizer and move
         // completedTasks into the lock word.
@@ -830,6 +838,9 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      * Package-protected for use by ScheduledThreadPoolExecutor.
      */
     final void reject(Runnable command) {
+        ExecutorMetrics m = metrics;
+        if (m != null)
+            m.recordRejection();
         handler.rejectedExecution(command, this);
     }
 
@@ -841,6 +852,31 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
     void onShutdown() {
     }
 
+    /**
+     * Invoked by each worker thread before it first polls the queue.
+     * A no-op here, but used by WorkStealingThreadPoolExecutor to
+     * register the worker's local queue.
+     */
+    void onWorkerStart() {
+    }
+
+    /**
+     * Invoked by each worker thread when it is about to exit, for
+     * whatever reason.  A no-op here, but used by
+     * WorkStealingThreadPoolExecutor to hand back tasks left in the
+     * worker's local queue.
+     */
+    void onWorkerExit() {
+    }
+
+    /**
+     * Returns the number of steals, for use by metrics.  Always zero
+     * here, but overridden by WorkStealingThreadPoolExecutor.
+     */
+    long stealCount() {
+        return 0L;
+    }
+
     /**
      * Drains the task queue into a new list, normally using
      * drainTo. But if the queue is a DelayQueue or any other kind of
@@ -990,6 +1026,10 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         if (completedAbruptly) // If abrupt, then workerCount wasn't adjusted
             decrementWorkerCount();
 
+        onWorkerExit(); // hook for WorkStealingThreadPoolExecutor
+        if (w.metricsCell != null)
+            w.metricsCell.retire();
+
         final ReentrantLock mainLock = this.mainLock;
         mainLock.lock();
         try {
@@ -1119,6 +1159,7 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         w.unlock(); // allow interrupts
         boolean completedAbruptly = true;
         try {
+            onWorkerStart(); // hook for WorkStealingThreadPoolExecutor
             while (task != null || (task = getTask()) != null) {
                 w.lock();
                 // If pool is stopping, ensure thread is interrupted;
@@ -1130,8 +1171,13 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
                       runStateAtLeast(ctl.get(), STOP))) &&
                     !wt.isInterrupted())
                     wt.interrupt();
+                ExecutorMetrics.Cell mc = metricsCell(w);
+                long start = 0L;
+                boolean abrupt = true;
                 try {
                     beforeExecute(wt, task);
+                    if (mc != null)
+                        start = startTimed(mc, task);
                     try {
                         task.run();
                         afterExecute(task, null);
@@ -1139,7 +1185,11 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
                         afterExecute(task, ex);
                         throw ex;
                     }
+                    abrupt = false;
                 } finally {
+                    if (mc != null && start != 0L)
+                        mc.recordExecution(start, System.nanoTime(),
+                                           abrupt || failed(task));
                     task = null;
                     w.completedTasks++;
                     w.unlock();
@@ -1151,6 +1201,42 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         }
     }
 
+    /**
+     * Returns the statistics cell of the given worker, creating it if
+     * metrics have been enabled since its last task, or null if
+     * metrics are not enabled.
+     */
+    private ExecutorMetrics.Cell metricsCell(Worker w) {
+        ExecutorMetrics m; ExecutorMetrics.Cell mc;
+        if ((m = metrics) == null)
+            return null;
+        if ((mc = w.metricsCell) == null)
+            w.metricsCell = mc = m.register();
+        return mc;
+    }
+
+    /**
+     * Records the queue wait of the given task, if known, and returns
+     * its (nonzero) start time.
+     */
+    private static long startTimed(ExecutorMetrics.Cell mc, Runnable task) {
+        long start = System.nanoTime();
+        if (start == 0L)
+            start = 1L;                     // zero means not started
+        if (task instanceof ExecutorMetrics.TimedFutureTask<?> t)
+            mc.recordQueueWait(t.submitTime, start);
+        return start;
+    }
+
+    /**
+     * Returns true if the given task is a timed task that completed
+     * exceptionally.
+     */
+    private static boolean failed(Runnable task) {
+        return (task instanceof ExecutorMetrics.TimedFutureTask<?> t) &&
+            t.failed;
+    }
+
     // Public constructors and methods
 
     /**
@@ -1794,8 +1880,72 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         tryTerminate(); // In case SHUTDOWN and now empty
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If {@linkplain #enableMetrics metrics are enabled}, the
+     * returned task records its submission time.
+     *
+     * @since 18
+     */
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return (metrics == null) ? new FutureTask<T>(runnable, value)
+            : new ExecutorMetrics.TimedFutureTask<T>(runnable, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If {@linkplain #enableMetrics metrics are enabled}, the
+     * returned task records its submission time.
+     *
+     * @since 18
+     */
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return (metrics == null) ? new FutureTask<T>(callable)
+            : new ExecutorMetrics.TimedFutureTask<T>(callable);
+    }
+
     /* Statistics */
 
+    /**
+     * Enables recording of execution statistics for this pool, if not
+     * already enabled, and returns the metrics.  Once enabled,
+     * recording cannot be disabled.  Recording adds two calls to
+     * {@link System#nanoTime} per task.  See {@link ExecutorMetrics}
+     * for the statistics recorded.
+     *
+     * @return the metrics of this pool
+     * @since 18
+     */
+    public ExecutorMetrics enableMetrics() {
+        ExecutorMetrics m;
+        if ((m = metrics) == null) {
+            final ReentrantLock mainLock = this.mainLock;
+            mainLock.lock();
+            try {
+                if ((m = metrics) == null)
+                    metrics = m = new ExecutorMetrics(this, this::stealCount);
+            } finally {
+                mainLock.unlock();
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Returns the metrics of this pool, or {@code null} if they have
+     * not been {@linkplain #enableMetrics enabled}.
+     *
+     * @return the metrics of this pool, or {@code null} if none
+     * @since 18
+     */
+    public ExecutorMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Returns the current number of threads in the pool.
      *
@@ -1834,6 +1984,28 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         }
     }
 
+    /**
+     * Returns the number of threads that are actively executing tasks
+     * but are currently blocked or waiting, for use by
+     * PoolSizeController.  The result is only a momentary estimate.
+     */
+    final int getBlockedActiveCount() {
+        final ReentrantLock mainLock = this.mainLock;
+        mainLock.lock();
+        try {
+            int n = 0;
+            for (Worker w : workers) {
+                Thread t;
+                if (w.isLocked() && (t = w.thread) != null &&
+                    t.getState() != Thread.State.RUNNABLE)
+                    ++n;
+            }
+            return n;
+        } finally {
+            mainLock.unlock();
+        }
+    }
+
     /**
      * Returns the largest number of threads that have ever
      * simultaneously been in the pool.
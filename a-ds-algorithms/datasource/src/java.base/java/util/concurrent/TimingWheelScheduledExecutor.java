@@ -0,0 +1,1032 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link ScheduledExecutorService} that keeps delayed tasks in a
+ * hierarchical hashed timing wheel instead of a priority queue, and
+ * hands tasks that become due to a separate worker {@link Executor}.
+ * This class is intended for applications that schedule and cancel
+ * very large numbers of short timeouts (request deadlines, idle
+ * checks, retransmissions), most of which never fire.
+ *
+ * <p>Time is divided into <em>ticks</em> of a fixed duration, given
+ * at construction.  A single ticker thread, created using the
+ * {@link ThreadFactory} supplied at construction, enables every task
+ * whose trigger time has been reached.
+ * A task therefore runs at the first tick boundary at or after its
+ * trigger time: never early, but possibly up to one tick late, in
+ * addition to any delay imposed by the worker executor.  Tasks that
+ * become enabled in the same tick are not ordered with respect to
+ * each other.  The ticker thread wakes up only at ticks at which
+ * some task is due, and otherwise once every 256 ticks while any task
+ * is pending, to move tasks closer to their trigger times.  When there
+ * are no pending tasks, it blocks until one is scheduled.
+ *
+ * <p>Scheduling and cancelling a task are constant-time and do not
+ * acquire locks: new tasks and cancelled tasks are pushed onto
+ * lock-free stacks that the ticker thread drains each time it wakes
+ * up.  Cancelling a task wakes the ticker thread unless another
+ * cancellation is already pending, so cancelled tasks are removed
+ * from the wheel promptly rather than when they would have run.
+ * Tasks with a zero or negative delay bypass the wheel and are handed
+ * to the worker executor directly.
+ *
+ * <p>Enabled tasks are handed to the worker executor in batches, each
+ * of which runs its tasks one after the other in a single worker
+ * thread.  The worker executor is not owned by this executor: it is
+ * neither shut down nor interrupted by {@link #shutdown} or
+ * {@link #shutdownNow}.  If the worker executor rejects a batch, the
+ * tasks in that batch are cancelled.  This executor terminates only
+ * once the ticker thread has stopped and every batch handed to the
+ * worker executor has completed.
+ *
+ * <p>Shutdown follows the default policies of {@link
+ * ScheduledThreadPoolExecutor}: after {@code shutdown}, pending
+ * periodic tasks are cancelled, while pending one-shot delayed tasks
+ * still run when they become due, and the executor terminates once
+ * none remain.  {@code shutdownNow} returns all pending tasks that
+ * were never handed to the worker executor, without cancelling them.
+ *
+ * <p>Tasks more than 2<sup>26</sup> ticks in the future (about 18
+ * hours with the default tick of one millisecond) are supported, but
+ * are re-examined every 2<sup>20</sup> ticks until they come within
+ * range of the wheel.
+ *
+ * @since 18
+ */
+public class TimingWheelScheduledExecutor extends AbstractExecutorService
+        implements ScheduledExecutorService {
+
+    /*
+     * Overview.
+     *
+     * The wheel has four levels: level 0 has 256 slots of one tick
+     * each, and levels 1, 2 and 3 have 64 slots of 2^8, 2^14 and
+     * 2^20 ticks each.  A task due at tick e is placed, relative to
+     * the next tick to be processed c, in the lowest level k such
+     * that e - c < 2^(8 + 6k), at slot (e >>> shift(k)) & mask(k).
+     * Tasks beyond the range of level 3 are clamped to its farthest
+     * slot.  Before processing tick c, each higher-level slot whose
+     * span begins at c is "cascaded": its tasks are reinserted
+     * relative to c, moving them to lower levels.  Because the level
+     * of a task is always recomputed from its actual deadline, a slot
+     * that is cascaded earlier than necessary (as happens for clamped
+     * tasks) only costs an extra reinsertion, and the slot holding a
+     * task is always cascaded at or before the task's deadline.
+     *
+     * Each slot is a doubly-linked list of tasks, headed in the flat
+     * array "wheel".  Each task records the index of its slot so that
+     * it can be unlinked in constant time.  The wheel, and the link
+     * fields of tasks, are only accessed while holding mainLock,
+     * which is taken by the ticker thread once per tick and otherwise
+     * only by shutdown and shutdownNow.
+     *
+     * Producers communicate with the ticker through two Treiber
+     * stacks, of submitted tasks (including rescheduled periodic
+     * tasks) and of cancelled tasks, linked through fields of the
+     * tasks themselves.  The ticker takes each stack whole with a
+     * single getAndSet.  A task is on the submission stack at most
+     * once at a time, since a periodic task is only resubmitted after
+     * it has been taken off the wheel and run; and it is on the
+     * cancellation stack at most once, since it can only be cancelled
+     * once.  A task that is cancelled while still on the submission
+     * stack is dropped when the stack is drained.
+     *
+     * After processing, the ticker parks until the next tick that
+     * has work: the first nonempty level 0 slot, or the next multiple
+     * of 256 ticks, at which higher-level slots may need cascading,
+     * whichever comes first.  When the wheel and the submission stack
+     * are both empty, it parks without timeout.  Before parking it
+     * publishes the tick it will wake at in "wakeTick" (Long.MAX_VALUE
+     * if none), and producers unpark it after pushing a task due
+     * before that tick.  Since both the push and the ticker's recheck
+     * of the stack are volatile accesses, at least one side sees the
+     * other.  Cancellers unpark the ticker whenever they push onto an
+     * empty cancellation stack, so that cancelled tasks, which may
+     * retain arbitrary amounts of memory, are unlinked promptly even
+     * when the ticker would otherwise sleep for up to 256 ticks; the
+     * permit left by an unpark of a running ticker at worst causes one
+     * extra pass.  On waking, the ticker processes every tick up to the
+     * current one; those it slept through have empty level 0 slots
+     * and no cascades, so this is cheap.  On waking from a park
+     * without timeout, it skips ahead to the current tick, since there
+     * can be nothing to process in between.
+     */
+
+    /** Number of bits of tick numbers resolved by level 0 */
+    private static final int LEVEL0_BITS = 8;
+    /** Number of bits of tick numbers resolved by each higher level */
+    private static final int LEVEL_BITS = 6;
+    /** Number of levels */
+    private static final int LEVELS = 4;
+    private static final int LEVEL0_MASK = (1 << LEVEL0_BITS) - 1;
+    private static final int LEVEL_MASK = (1 << LEVEL_BITS) - 1;
+    /** Number of ticks spanned by the whole wheel */
+    private static final long WHEEL_SPAN =
+        1L << (LEVEL0_BITS + (LEVELS - 1) * LEVEL_BITS);
+
+    /** Maximum number of tasks handed to the worker executor as a unit */
+    private static final int BATCH_SIZE = 32;
+
+    /** Default tick duration, in nanoseconds */
+    private static final long DEFAULT_TICK_NANOS = MILLISECONDS.toNanos(1);
+
+    // runState values
+    private static final int RUNNING    = 0;
+    private static final int SHUTDOWN   = 1;
+    private static final int STOP       = 2;
+    private static final int TERMINATED = 3;
+
+    /** Executor that runs enabled tasks */
+    private final Executor workers;
+
+    /** Tick duration, in nanoseconds */
+    private final long tickNanos;
+
+    /** nanoTime of the start of tick zero */
+    private final long origin;
+
+    /** The thread that advances the wheel */
+    private final Thread ticker;
+
+    /** Lock guarding the wheel */
+    private final ReentrantLock mainLock = new ReentrantLock();
+
+    /** Signalled on termination */
+    private final CountDownLatch termination = new CountDownLatch(1);
+
+    /**
+     * One for the ticker thread while it runs, plus the number of
+     * batches handed to the worker executor that have not completed.
+     * The executor terminates when this drops to zero.
+     */
+    private final AtomicInteger active = new AtomicInteger(1);
+
+    /** Sequence number to break scheduling ties */
+    private final AtomicLong sequencer = new AtomicLong();
+
+    /** Slot lists of all levels, level 0 first */
+    private final WheelTask<?>[] wheel =
+        new WheelTask<?>[(1 << LEVEL0_BITS) + (LEVELS - 1) * (1 << LEVEL_BITS)];
+
+    /** The next tick to process; guarded by mainLock */
+    private long currentTick;
+
+    /** Number of tasks in the wheel; guarded by mainLock */
+    private int pending;
+
+    /** Tasks enabled by the current tick; accessed only by ticker */
+    private final ArrayList<WheelTask<?>> due = new ArrayList<>();
+
+    /** Lifecycle state: RUNNING, SHUTDOWN, STOP or TERMINATED */
+    private volatile int runState;
+
+    /**
+     * The tick at which the parked ticker will wake up, Long.MAX_VALUE
+     * if it is parked without timeout, or Long.MIN_VALUE while it runs
+     */
+    private volatile long wakeTick = Long.MIN_VALUE;
+
+    /** Stack of tasks to be inserted into the wheel */
+    private volatile WheelTask<?> submissions;
+
+    /** Stack of cancelled tasks to be unlinked from the wheel */
+    private volatile WheelTask<?> cancellations;
+
+    private class WheelTask<V>
+            extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        /** Sequence number to break ties FIFO */
+        private final long sequenceNumber;
+
+        /** The nanoTime-based time when the task is enabled to execute. */
+        private volatile long time;
+
+        /**
+         * Period for repeating tasks, in nanoseconds.
+         * A positive value indicates fixed-rate execution.
+         * A negative value indicates fixed-delay execution.
+         * A value of 0 indicates a non-repeating (one-shot) task.
+         */
+        private final long period;
+
+        /** The tick at which the task is due; guarded by mainLock */
+        long deadline;
+
+        /** Index of slot in wheel, or -1 if none; guarded by mainLock */
+        int slot = -1;
+
+        /** Slot list links; guarded by mainLock */
+        WheelTask<?> prev, next;
+
+        /** Link in submissions stack */
+        WheelTask<?> nextSubmitted;
+
+        /** Link in cancellations stack */
+        WheelTask<?> nextCancelled;
+
+        /**
+         * Creates a one-shot action with given nanoTime-based trigger time.
+         */
+        WheelTask(Runnable r, V result, long triggerTime,
+                  long sequenceNumber) {
+            super(r, result);
+            this.time = triggerTime;
+            this.period = 0;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        /**
+         * Creates a periodic action with given nanoTime-based initial
+         * trigger time and period.
+         */
+        WheelTask(Runnable r, V result, long triggerTime,
+                  long period, long sequenceNumber) {
+            super(r, result);
+            this.time = triggerTime;
+            this.period = period;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        /**
+         * Creates a one-shot action with given nanoTime-based trigger time.
+         */
+        WheelTask(Callable<V> callable, long triggerTime,
+                  long sequenceNumber) {
+            super(callable);
+            this.time = triggerTime;
+            this.period = 0;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), NANOSECONDS);
+        }
+
+        public int compareTo(Delayed other) {
+            if (other == this) // compare zero if same object
+                return 0;
+            if (other instanceof WheelTask) {
+                WheelTask<?> x = (WheelTask<?>)other;
+                long diff = time - x.time;
+                if (diff < 0)
+                    return -1;
+                else if (diff > 0)
+                    return 1;
+                else if (sequenceNumber < x.sequenceNumber)
+                    return -1;
+                else
+                    return 1;
+            }
+            long diff = getDelay(NANOSECONDS) - other.getDelay(NANOSECONDS);
+            return (diff < 0) ? -1 : (diff > 0) ? 1 : 0;
+        }
+
+        /**
+         * Returns {@code true} if this is a periodic (not a one-shot) action.
+         *
+         * @return {@code true} if periodic
+         */
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        /**
+         * Sets the next time to run for a periodic task.
+         */
+        private void setNextRunTime() {
+            long p = period;
+            if (p > 0)
+                time += p;
+            else
+                time = triggerTime(-p);
+        }
+
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled)
+                pushCancellation(this);
+            return cancelled;
+        }
+
+        /**
+         * Overrides FutureTask version so as to reset/requeue if periodic.
+         */
+        public void run() {
+            if (!canRunInCurrentRunState(this))
+                cancel(false);
+            else if (!isPeriodic())
+                super.run();
+            else if (super.runAndReset()) {
+                setNextRunTime();
+                reExecutePeriodic(this);
+            }
+        }
+    }
+
+    /**
+     * A group of enabled tasks run one after the other by a single
+     * worker.
+     */
+    final class Batch implements Runnable {
+        final WheelTask<?>[] tasks;
+        Batch(WheelTask<?>[] tasks) { this.tasks = tasks; }
+        public void run() {
+            try {
+                for (WheelTask<?> t : tasks)
+                    t.run();
+            } finally {
+                releaseActive();
+            }
+        }
+    }
+
+    /**
+     * Creates a new {@code TimingWheelScheduledExecutor} with a tick
+     * duration of one millisecond, and a ticker thread created using
+     * {@link Executors#defaultThreadFactory}.
+     *
+     * @param workers the executor used to run tasks when they become due
+     * @throws NullPointerException if {@code workers} is null
+     */
+    public TimingWheelScheduledExecutor(Executor workers) {
+        this(DEFAULT_TICK_NANOS, NANOSECONDS, workers,
+             Executors.defaultThreadFactory());
+    }
+
+    /**
+     * Creates a new {@code TimingWheelScheduledExecutor} with the
+     * given tick duration, and a ticker thread created using
+     * {@link Executors#defaultThreadFactory}.
+     *
+     * @param tickDuration the duration of a tick
+     * @param unit the time unit of the {@code tickDuration} argument
+     * @param workers the executor used to run tasks when they become due
+     * @throws IllegalArgumentException if {@code tickDuration <= 0}
+     * @throws NullPointerException if {@code unit} or {@code workers}
+     *         is null
+     */
+    public TimingWheelScheduledExecutor(long tickDuration, TimeUnit unit,
+                                        Executor workers) {
+        this(tickDuration, unit, workers, Executors.defaultThreadFactory());
+    }
+
+    /**
+     * Creates a new {@code TimingWheelScheduledExecutor} with the
+     * given tick duration and thread factory.
+     *
+     * @param tickDuration the duration of a tick
+     * @param unit the time unit of the {@code tickDuration} argument
+     * @param workers the executor used to run tasks when they become due
+     * @param threadFactory the factory to use to create the ticker thread
+     * @throws IllegalArgumentException if {@code tickDuration <= 0}
+     * @throws NullPointerException if {@code unit}, {@code workers} or
+     *         {@code threadFactory} is null, or if the thread factory
+     *         does not create a thread
+     */
+    public TimingWheelScheduledExecutor(long tickDuration, TimeUnit unit,
+                                        Executor workers,
+                                        ThreadFactory threadFactory) {
+        if (unit == null || workers == null || threadFactory == null)
+            throw new NullPointerException();
+        if (tickDuration <= 0L)
+            throw new IllegalArgumentException();
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.workers = workers;
+        this.origin = System.nanoTime();
+        Thread t = threadFactory.newThread(this::runTicker);
+        if (t == null)
+            throw new NullPointerException();
+        this.ticker = t;
+        t.start();
+    }
+
+    /**
+     * Returns the tick duration of this executor.
+     *
+     * @param unit the time unit of the result
+     * @return the tick duration, in the given unit
+     */
+    public long getTickDuration(TimeUnit unit) {
+        return unit.convert(tickNanos, NANOSECONDS);
+    }
+
+    // Time conversions
+
+    /**
+     * Returns the nanoTime-based trigger time of a delayed action.
+     */
+    private long triggerTime(long delay, TimeUnit unit) {
+        return triggerTime(unit.toNanos((delay < 0) ? 0 : delay));
+    }
+
+    /**
+     * Returns the nanoTime-based trigger time of a delayed action.
+     * Delays are capped so that trigger times relative to origin
+     * cannot overflow.
+     */
+    long triggerTime(long delay) {
+        return System.nanoTime() +
+            ((delay < (Long.MAX_VALUE >> 1)) ? delay : (Long.MAX_VALUE >> 1));
+    }
+
+    /** Returns the number of the tick in progress at the given nanoTime. */
+    private long tickOf(long nanos) {
+        return (nanos - origin) / tickNanos;
+    }
+
+    /** Returns the first tick starting at or after the given nanoTime. */
+    private long deadlineOf(long nanos) {
+        long d = nanos - origin;
+        return (d <= 0L) ? 0L : (d - 1) / tickNanos + 1;
+    }
+
+    // Submission
+
+    /**
+     * Returns true if can run a task given current run state.
+     */
+    boolean canRunInCurrentRunState(RunnableScheduledFuture<?> task) {
+        int rs = runState;
+        return (rs == RUNNING) || (rs == SHUTDOWN && !task.isPeriodic());
+    }
+
+    /**
+     * Main execution method for delayed or periodic tasks.  Tasks that
+     * are already due are handed directly to the worker executor;
+     * others are pushed for insertion into the wheel.
+     */
+    private void delayedExecute(WheelTask<?> task) {
+        if (runState != RUNNING)
+            throw new RejectedExecutionException();
+        if (task.time - System.nanoTime() <= 0L) {
+            if (!acquireActive())
+                throw new RejectedExecutionException();
+            try {
+                workers.execute(new Batch(new WheelTask<?>[] { task }));
+            } catch (RejectedExecutionException ex) {
+                task.cancel(false);
+                releaseActive();
+                throw ex;
+            }
+        }
+        else
+            pushSubmission(task);
+    }
+
+    /**
+     * Requeues a periodic task unless current run state precludes it.
+     */
+    void reExecutePeriodic(WheelTask<?> task) {
+        if (runState == RUNNING)
+            pushSubmission(task);
+        else
+            task.cancel(false);
+    }
+
+    private void pushSubmission(WheelTask<?> task) {
+        for (WheelTask<?> h;;) {
+            task.nextSubmitted = h = submissions;
+            if (SUBMISSIONS.weakCompareAndSet(this, h, task))
+                break;
+        }
+        long w;
+        if (runState == TERMINATED)
+            task.cancel(false);         // lost race with termination
+        else if ((w = wakeTick) != Long.MIN_VALUE && deadlineOf(task.time) < w)
+            LockSupport.unpark(ticker);
+    }
+
+    private void pushCancellation(WheelTask<?> task) {
+        for (WheelTask<?> h;;) {
+            task.nextCancelled = h = cancellations;
+            if (CANCELLATIONS.weakCompareAndSet(this, h, task)) {
+                if (h == null)
+                    LockSupport.unpark(ticker);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Takes the whole submissions stack, returning it in FIFO order
+     * linked through nextSubmitted.
+     */
+    private WheelTask<?> takeSubmissions() {
+        WheelTask<?> h = (WheelTask<?>) SUBMISSIONS.getAndSet(this, null);
+        WheelTask<?> r = null;
+        for (WheelTask<?> n; h != null; h = n) {
+            n = h.nextSubmitted;
+            h.nextSubmitted = r;
+            r = h;
+        }
+        return r;
+    }
+
+    // Wheel maintenance; all guarded by mainLock
+
+    /**
+     * Inserts submitted tasks into the wheel, dropping those that are
+     * cancelled or may no longer run.
+     */
+    private void drainSubmissions() {
+        for (WheelTask<?> t = takeSubmissions(), n; t != null; t = n) {
+            n = t.nextSubmitted;
+            t.nextSubmitted = null;
+            if (t.isCancelled())
+                continue;
+            if (!canRunInCurrentRunState(t))
+                t.cancel(false);
+            else {
+                t.deadline = deadlineOf(t.time);
+                insert(t);
+                pending++;
+            }
+        }
+    }
+
+    /**
+     * Unlinks cancelled tasks from the wheel.
+     */
+    private void drainCancellations() {
+        WheelTask<?> t = (WheelTask<?>) CANCELLATIONS.getAndSet(this, null);
+        for (WheelTask<?> n; t != null; t = n) {
+            n = t.nextCancelled;
+            t.nextCancelled = null;
+            if (t.slot >= 0) {
+                unlink(t);
+                pending--;
+            }
+        }
+    }
+
+    /**
+     * Links the task into the slot appropriate for its deadline
+     * relative to currentTick.
+     */
+    private void insert(WheelTask<?> t) {
+        final long c = currentTick;
+        long e = Math.max(t.deadline, c), d = e - c;
+        int base = 0, shift = 0, mask = LEVEL0_MASK;
+        if (d > LEVEL0_MASK) {
+            if (d >= WHEEL_SPAN)
+                e = c + WHEEL_SPAN - 1;
+            base = LEVEL0_MASK + 1;
+            shift = LEVEL0_BITS;
+            mask = LEVEL_MASK;
+            while ((d >>> shift) > LEVEL_MASK && shift + LEVEL_BITS <
+                   LEVEL0_BITS + (LEVELS - 1) * LEVEL_BITS) {
+                base += LEVEL_MASK + 1;
+                shift += LEVEL_BITS;
+            }
+        }
+        int i = base + (int)((e >>> shift) & mask);
+        WheelTask<?>[] w = wheel;
+        WheelTask<?> h = w[i];
+        t.slot = i;
+        t.prev = null;
+        t.next = h;
+        if (h != null)
+            h.prev = t;
+        w[i] = t;
+    }
+
+    private void unlink(WheelTask<?> t) {
+        WheelTask<?> p = t.prev, n = t.next;
+        if (p == null)
+            wheel[t.slot] = n;
+        else
+            p.next = n;
+        if (n != null)
+            n.prev = p;
+        t.prev = t.next = null;
+        t.slot = -1;
+    }
+
+    /**
+     * Detaches and returns the list in slot i, marking its tasks as no
+     * longer in the wheel.  The returned list remains linked through
+     * next.
+     */
+    private WheelTask<?> detach(int i) {
+        WheelTask<?> h = wheel[i];
+        wheel[i] = null;
+        for (WheelTask<?> t = h; t != null; t = t.next) {
+            t.prev = null;
+            t.slot = -1;
+        }
+        return h;
+    }
+
+    /**
+     * Processes tick c: cascades higher-level slots whose span begins
+     * at c, then moves the tasks of the level 0 slot for c to due.
+     */
+    private void advance(long c) {
+        if ((c & LEVEL0_MASK) == 0L) {
+            for (int k = LEVELS - 1; k >= 1; --k) {
+                int shift = LEVEL0_BITS + (k - 1) * LEVEL_BITS;
+                if ((c & ((1L << shift) - 1)) == 0L) {
+                    int i = (LEVEL0_MASK + 1) + (k - 1) * (LEVEL_MASK + 1) +
+                        (int)((c >>> shift) & LEVEL_MASK);
+                    for (WheelTask<?> t = detach(i), n; t != null; t = n) {
+                        n = t.next;
+                        insert(t);
+                    }
+                }
+            }
+        }
+        for (WheelTask<?> t = detach((int)(c & LEVEL0_MASK)), n;
+             t != null; t = n) {
+            n = t.next;
+            t.next = null;
+            pending--;
+            assert t.deadline <= c : "task due at " + t.deadline + " enabled at " + c;
+            if (!t.isCancelled())
+                due.add(t);
+        }
+    }
+
+    /**
+     * Processes ticks up to and including the given one.  Each tick is
+     * processed before currentTick moves past it, so that the tasks
+     * cascaded by advance are reinserted relative to that tick, and
+     * those due at it are not deferred to a later one.
+     */
+    private void advanceTo(long now) {
+        while (currentTick <= now) {
+            advance(currentTick);
+            currentTick++;
+        }
+    }
+
+    /**
+     * Returns the first tick at or after currentTick that needs
+     * processing: the first one whose level 0 slot is nonempty, or the
+     * next multiple of 256 ticks, at which higher-level slots are
+     * cascaded, if that comes first.
+     */
+    private long nextWakeTick() {
+        long c = currentTick, b = (c + LEVEL0_MASK) & ~(long)LEVEL0_MASK;
+        WheelTask<?>[] w = wheel;
+        for (; c < b; ++c) {
+            if (w[(int)(c & LEVEL0_MASK)] != null)
+                return c;
+        }
+        return b;
+    }
+
+    /**
+     * Removes all tasks from the wheel, adding those that are not
+     * cancelled to the given list.
+     */
+    private void drainWheel(List<Runnable> tasks) {
+        WheelTask<?>[] w = wheel;
+        for (int i = 0; i < w.length; i++) {
+            for (WheelTask<?> t = detach(i), n; t != null; t = n) {
+                n = t.next;
+                t.next = null;
+                if (!t.isCancelled())
+                    tasks.add(t);
+            }
+        }
+        pending = 0;
+    }
+
+    /**
+     * Hands due tasks to the worker executor, in batches.
+     */
+    private void dispatch() {
+        final ArrayList<WheelTask<?>> due = this.due;
+        for (int i = 0, n = due.size(), m; i < n; i += m) {
+            m = Math.min(BATCH_SIZE, n - i);
+            WheelTask<?>[] a = new WheelTask<?>[m];
+            for (int j = 0; j < m; j++)
+                a[j] = due.get(i + j);
+            active.getAndIncrement();   // ticker is active, so nonzero
+            try {
+                workers.execute(new Batch(a));
+            } catch (RejectedExecutionException ex) {
+                for (WheelTask<?> t : a)
+                    t.cancel(false);
+                releaseActive();
+            }
+        }
+        due.clear();
+    }
+
+    /**
+     * Main loop of the ticker thread.
+     */
+    private void runTicker() {
+        final ReentrantLock mainLock = this.mainLock;
+        try {
+            for (;;) {
+                long wake = Long.MAX_VALUE;
+                mainLock.lock();
+                try {
+                    if (runState >= STOP)
+                        break;
+                    long now = tickOf(System.nanoTime());
+                    if (pending == 0 && currentTick < now)
+                        currentTick = now;      // nothing to expire
+                    drainSubmissions();
+                    drainCancellations();
+                    advanceTo(now);
+                    if (pending != 0)
+                        wake = nextWakeTick();
+                    else if (runState != RUNNING && submissions == null)
+                        break;
+                } finally {
+                    mainLock.unlock();
+                }
+                dispatch();
+                wakeTick = wake;
+                if (submissions == null) {
+                    if (wake == Long.MAX_VALUE) {
+                        if (runState == RUNNING)
+                            LockSupport.park(this);
+                    } else {
+                        long delay = origin + wake * tickNanos - System.nanoTime();
+                        if (delay > 0L)
+                            LockSupport.parkNanos(this, delay);
+                    }
+                }
+                wakeTick = Long.MIN_VALUE;
+            }
+        } finally {
+            dispatch();
+            releaseActive();
+        }
+    }
+
+    /**
+     * Registers a batch about to be handed to the worker executor
+     * from outside the ticker, unless already terminated.
+     */
+    private boolean acquireActive() {
+        for (int c;;) {
+            if ((c = active.get()) == 0)
+                return false;
+            if (active.compareAndSet(c, c + 1))
+                return true;
+        }
+    }
+
+    /**
+     * Deregisters the ticker or a completed batch, terminating if it
+     * was the last one.  Tasks that lost a race with termination and
+     * remain on the submissions stack are cancelled.
+     */
+    private void releaseActive() {
+        if (active.decrementAndGet() == 0) {
+            runState = TERMINATED;
+            for (WheelTask<?> t = takeSubmissions(), n; t != null; t = n) {
+                n = t.nextSubmitted;
+                t.nextSubmitted = null;
+                t.cancel(false);
+            }
+            termination.countDown();
+        }
+    }
+
+    // ScheduledExecutorService methods
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public ScheduledFuture<?> schedule(Runnable command,
+                                       long delay,
+                                       TimeUnit unit) {
+        if (command == null || unit == null)
+            throw new NullPointerException();
+        WheelTask<Void> t =
+            new WheelTask<Void>(command, null, triggerTime(delay, unit),
+                                sequencer.getAndIncrement());
+        delayedExecute(t);
+        return t;
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable,
+                                           long delay,
+                                           TimeUnit unit) {
+        if (callable == null || unit == null)
+            throw new NullPointerException();
+        WheelTask<V> t =
+            new WheelTask<V>(callable, triggerTime(delay, unit),
+                             sequencer.getAndIncrement());
+        delayedExecute(t);
+        return t;
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     * @throws IllegalArgumentException   {@inheritDoc}
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+                                                  long initialDelay,
+                                                  long period,
+                                                  TimeUnit unit) {
+        if (command == null || unit == null)
+            throw new NullPointerException();
+        if (period <= 0L)
+            throw new IllegalArgumentException();
+        WheelTask<Void> t =
+            new WheelTask<Void>(command, null,
+                                triggerTime(initialDelay, unit),
+                                unit.toNanos(period),
+                                sequencer.getAndIncrement());
+        delayedExecute(t);
+        return t;
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     * @throws IllegalArgumentException   {@inheritDoc}
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command,
+                                                     long initialDelay,
+                                                     long delay,
+                                                     TimeUnit unit) {
+        if (command == null || unit == null)
+            throw new NullPointerException();
+        if (delay <= 0L)
+            throw new IllegalArgumentException();
+        WheelTask<Void> t =
+            new WheelTask<Void>(command, null,
+                                triggerTime(initialDelay, unit),
+                                -unit.toNanos(delay),
+                                sequencer.getAndIncrement());
+        delayedExecute(t);
+        return t;
+    }
+
+    /**
+     * Executes {@code command} with zero required delay.
+     * This has effect equivalent to
+     * {@link #schedule(Runnable,long,TimeUnit) schedule(command, 0, anyUnit)}.
+     *
+     * @throws RejectedExecutionException if this executor has been
+     *         shut down, or if the worker executor rejects the task
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public void execute(Runnable command) {
+        schedule(command, 0, NANOSECONDS);
+    }
+
+    // Lifecycle
+
+    /**
+     * Initiates an orderly shutdown in which pending one-shot delayed
+     * tasks still run when they become due, pending periodic tasks are
+     * cancelled, and no new tasks are accepted.  Invocation has no
+     * additional effect if already shut down.
+     *
+     * <p>This method does not wait for previously submitted tasks to
+     * complete execution.  Use {@link #awaitTermination awaitTermination}
+     * to do that.
+     */
+    public void shutdown() {
+        final ReentrantLock mainLock = this.mainLock;
+        mainLock.lock();
+        try {
+            if (runState == RUNNING) {
+                runState = SHUTDOWN;
+                drainSubmissions();
+                WheelTask<?>[] w = wheel;
+                for (int i = 0; i < w.length; i++) {
+                    for (WheelTask<?> t = w[i], n; t != null; t = n) {
+                        n = t.next;
+                        if (t.isPeriodic()) {
+                            unlink(t);
+                            pending--;
+                            t.cancel(false);
+                        }
+                    }
+                }
+            }
+        } finally {
+            mainLock.unlock();
+        }
+        LockSupport.unpark(ticker);
+    }
+
+    /**
+     * Stops the ticker thread, and returns the list of pending tasks
+     * that were never handed to the worker executor.  These tasks are
+     * removed from this executor but not cancelled.  Tasks already
+     * handed to the worker executor are neither cancelled nor
+     * interrupted.
+     *
+     * @return list of tasks that never commenced execution.
+     *         Each element of this list is a {@link ScheduledFuture}.
+     */
+    public List<Runnable> shutdownNow() {
+        ArrayList<Runnable> tasks = new ArrayList<>();
+        final ReentrantLock mainLock = this.mainLock;
+        mainLock.lock();
+        try {
+            if (runState < STOP) {
+                runState = STOP;
+                drainCancellations();
+                for (WheelTask<?> t = takeSubmissions(), n; t != null; t = n) {
+                    n = t.nextSubmitted;
+                    t.nextSubmitted = null;
+                    if (!t.isCancelled())
+                        tasks.add(t);
+                }
+                drainWheel(tasks);
+            }
+        } finally {
+            mainLock.unlock();
+        }
+        LockSupport.unpark(ticker);
+        return tasks;
+    }
+
+    public boolean isShutdown() {
+        return runState != RUNNING;
+    }
+
+    public boolean isTerminated() {
+        return runState == TERMINATED;
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit)
+        throws InterruptedException {
+        return termination.await(timeout, unit);
+    }
+
+    /**
+     * Returns a string identifying this executor, as well as its
+     * state and tick duration.
+     *
+     * @return a string identifying this executor, as well as its state
+     */
+    public String toString() {
+        int rs = runState;
+        String runStateString =
+            (rs == RUNNING) ? "Running" :
+            (rs == TERMINATED) ? "Terminated" : "Shutting down";
+        return super.toString() +
+            "[" + runStateString +
+            ", tick = " + tickNanos + "ns]";
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle SUBMISSIONS;
+    private static final VarHandle CANCELLATIONS;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            SUBMISSIONS = l.findVarHandle(TimingWheelScheduledExecutor.class,
+                                          "submissions", WheelTask.class);
+            CANCELLATIONS = l.findVarHandle(TimingWheelScheduledExecutor.class,
+                                            "cancellations", WheelTask.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,509 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A thread-safe cache with <em>weak</em> keys compared by <em>identity</em>.
+ * A mapping is removed automatically some time after its key is no
+ * longer strongly reachable, as for {@link java.util.WeakHashMap}, and
+ * keys are compared with {@code ==} (and hashed with {@link
+ * System#identityHashCode}), as for {@link java.util.IdentityHashMap}.
+ * This is the usual shape of caches that attach metadata to classes,
+ * class loaders, threads or other objects whose lifetime is managed
+ * elsewhere:
+ *
+ * <pre> {@code
+ * static final WeakIdentityCache<Class<?>, Accessors> ACCESSORS =
+ *     new WeakIdentityCache<>();
+ *
+ * static Accessors accessorsFor(Class<?> c) {
+ *     return ACCESSORS.computeIfAbsent(c, Accessors::generate);
+ * }}</pre>
+ *
+ * <p>Compared to {@code Collections.synchronizedMap(new WeakHashMap<>())},
+ * this class
+ * <ul>
+ * <li>performs {@link #get get} without locking, and updates under
+ * one of several independent locks ("stripes") chosen by key;
+ * <li>stores mappings in open-addressing tables rather than chains of
+ * entries, so lookups follow no links other than the entry itself;
+ * <li>removes mappings of reclaimed keys lazily, in small batches: each
+ * insertion or removal processes at most a bounded number of reclaimed
+ * keys, so that no single operation pays for a large garbage collection, and
+ * {@code get} never processes any.  {@link #expungeStaleEntries} drains
+ * all pending reclaimed keys.
+ * </ul>
+ *
+ * <p>Values are strongly referenced by the cache, so a value that
+ * refers to its own key keeps the mapping alive indefinitely.  Neither
+ * keys nor values may be {@code null}.  Because mappings may disappear at
+ * any time, {@link #size} is only an estimate.
+ *
+ * @param <K> the type of keys maintained by this cache
+ * @param <V> the type of cached values
+ * @since 18
+ */
+public class WeakIdentityCache<K,V> {
+
+    /*
+     * The cache is split into a power-of-two number of segments, each
+     * a ReentrantLock guarding a linear-probing table of Entry
+     * objects, which are weak references to their keys.  The segment
+     * is selected by the high bits of the spread identity hash, and the
+     * initial probe by its low bits.
+     *
+     * Readers never lock: they read the volatile table reference, then
+     * slots with acquire semantics, matching entries by referent
+     * identity, and read the volatile value field.  Writers store
+     * slots with release semantics.  Removal never empties a slot,
+     * which would break probe sequences, but replaces it with the
+     * TOMBSTONE entry and clears the value of the removed entry, so
+     * that a reader racing with the removal sees either the old value
+     * or null.  Tombstones (and entries whose keys were reclaimed) are
+     * reused by insertions, and dropped when a table is rebuilt.
+     *
+     * Entries whose keys are reclaimed are enqueued by the collector
+     * on the cache-wide reference queue.  Every update, after
+     * releasing its own stripe, polls at most EXPUNGE_BATCH of them
+     * and tombstones each in its own segment.  No thread ever holds
+     * two segment locks, so stripes cannot deadlock.
+     */
+
+    /** Maximum number of reclaimed entries expunged per update. */
+    private static final int EXPUNGE_BATCH = 16;
+
+    /** Minimum table capacity per segment. */
+    private static final int MIN_CAPACITY = 8;
+
+    /** Maximum number of segments. */
+    private static final int MAX_SEGMENTS = 1 << 8;
+
+    static final class Entry<K,V> extends WeakReference<K> {
+        final int hash;
+        final Segment<K,V> segment;
+        volatile V value;
+
+        Entry(K key, int hash, V value, Segment<K,V> segment,
+              ReferenceQueue<? super K> queue) {
+            super(key, queue);
+            this.hash = hash;
+            this.value = value;
+            this.segment = segment;
+        }
+    }
+
+    /** Marks a slot whose entry was removed. */
+    @SuppressWarnings("rawtypes")
+    static final Entry TOMBSTONE = new Entry<>(null, 0, null, null, null);
+
+    private static final VarHandle AA =
+        MethodHandles.arrayElementVarHandle(Entry[].class);
+
+    @SuppressWarnings("unchecked")
+    static <K,V> Entry<K,V> entryAt(Entry<K,V>[] tab, int i) {
+        return (Entry<K,V>) AA.getAcquire(tab, i);
+    }
+
+    static <K,V> void setEntryAt(Entry<K,V>[] tab, int i, Entry<K,V> e) {
+        AA.setRelease(tab, i, e);
+    }
+
+    @SuppressWarnings("serial") // Not serializable
+    static final class Segment<K,V> extends ReentrantLock {
+        volatile Entry<K,V>[] table;
+        /** Number of slots holding entries (including reclaimed ones). */
+        int count;
+        /** Number of slots holding TOMBSTONE. */
+        int tombstones;
+
+        @SuppressWarnings("unchecked")
+        Segment(int capacity) {
+            table = (Entry<K,V>[]) new Entry<?,?>[capacity];
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(Object key, int hash) {
+            final Entry<K,V>[] tab = table;
+            final int mask = tab.length - 1;
+            for (int i = hash & mask;; i = (i + 1) & mask) {
+                Entry<K,V> e = entryAt(tab, i);
+                if (e == null)
+                    return null;
+                if (e.hash == hash && e.refersTo((K) key))
+                    return e.value;
+            }
+        }
+
+        /** Returns the index of key's slot; called with lock held. */
+        @SuppressWarnings("unchecked")
+        int indexOf(Entry<K,V>[] tab, Object key, int hash) {
+            final int mask = tab.length - 1;
+            for (int i = hash & mask;; i = (i + 1) & mask) {
+                Entry<K,V> e = tab[i];
+                if (e == null)
+                    return -1;
+                if (e.hash == hash && e.refersTo((K) key))
+                    return i;
+            }
+        }
+
+        /**
+         * Inserts a new entry for absent key; called with lock held.
+         * Reuses the first tombstone or reclaimed entry on the probe
+         * sequence, if any.
+         */
+        void insert(Entry<K,V> entry) {
+            if (count + tombstones + 1 > (table.length >>> 2) * 3)
+                rebuild();
+            final Entry<K,V>[] tab = table;
+            final int mask = tab.length - 1;
+            for (int i = entry.hash & mask;; i = (i + 1) & mask) {
+                Entry<K,V> e = tab[i];
+                if (e == null) {
+                    count++;
+                    setEntryAt(tab, i, entry);
+                    return;
+                } else if (e == TOMBSTONE) {
+                    tombstones--;
+                    count++;
+                    setEntryAt(tab, i, entry);
+                    return;
+                } else if (e.refersTo(null)) {
+                    // key reclaimed; its queued reference will find nothing
+                    e.value = null;
+                    setEntryAt(tab, i, entry);
+                    return;
+                }
+            }
+        }
+
+        /** Tombstones the entry in slot i; called with lock held. */
+        @SuppressWarnings("unchecked")
+        void removeAt(Entry<K,V>[] tab, int i) {
+            tab[i].value = null;
+            setEntryAt(tab, i, (Entry<K,V>) TOMBSTONE);
+            count--;
+            tombstones++;
+        }
+
+        /** Removes the given reclaimed entry if still present. */
+        void expunge(Entry<K,V> entry) {
+            final Entry<K,V>[] tab = table;
+            final int mask = tab.length - 1;
+            for (int i = entry.hash & mask;; i = (i + 1) & mask) {
+                Entry<K,V> e = tab[i];
+                if (e == null)
+                    return;
+                if (e == entry) {
+                    removeAt(tab, i);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Replaces the table with one sized for the live entries,
+         * dropping tombstones and reclaimed entries.  The new table
+         * may be smaller than the old one.
+         */
+        @SuppressWarnings("unchecked")
+        void rebuild() {
+            final Entry<K,V>[] old = table;
+            int live = 0;
+            for (Entry<K,V> e : old)
+                if (e != null && e != TOMBSTONE && !e.refersTo(null))
+                    live++;
+            int cap = MIN_CAPACITY;
+            while (cap < (live + 1) * 2)
+                cap <<= 1;
+            final Entry<K,V>[] tab = (Entry<K,V>[]) new Entry<?,?>[cap];
+            final int mask = cap - 1;
+            for (Entry<K,V> e : old) {
+                if (e != null && e != TOMBSTONE && !e.refersTo(null)) {
+                    int i = e.hash & mask;
+                    while (tab[i] != null)
+                        i = (i + 1) & mask;
+                    tab[i] = e;
+                }
+            }
+            count = live;
+            tombstones = 0;
+            table = tab;
+        }
+    }
+
+    private final Segment<K,V>[] segments;
+    private final int segmentShift;
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+    /**
+     * Creates a new, empty cache with a number of stripes suited to
+     * the number of available processors.
+     */
+    public WeakIdentityCache() {
+        this(16, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new, empty cache.
+     *
+     * @param initialCapacity the expected number of mappings
+     * @param concurrencyLevel the estimated number of concurrently
+     *        updating threads; the cache uses about this many stripes
+     * @throws IllegalArgumentException if the initial capacity is
+     *         negative or the concurrency level is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public WeakIdentityCache(int initialCapacity, int concurrencyLevel) {
+        if (initialCapacity < 0 || concurrencyLevel <= 0)
+            throw new IllegalArgumentException();
+        int n = 1, shift = 32;
+        while (n < concurrencyLevel && n < MAX_SEGMENTS) {
+            n <<= 1;
+            shift--;
+        }
+        int perSegment = (initialCapacity + n - 1) / n;
+        int cap = MIN_CAPACITY;
+        while (cap < perSegment * 2 && cap < (1 << 30))
+            cap <<= 1;
+        segments = (Segment<K,V>[]) new Segment<?,?>[n];
+        for (int i = 0; i < n; i++)
+            segments[i] = new Segment<>(cap);
+        segmentShift = shift;
+    }
+
+    private static int hash(Object key) {
+        int h = System.identityHashCode(key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Segment<K,V> segmentFor(int hash) {
+        // the unsigned shift by 32 of a single segment is a shift by 0;
+        // mask it away rather than special-case it
+        return segments[(hash >>> segmentShift) & (segments.length - 1)];
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code null} if this cache contains no mapping for the key.
+     * This method does not block.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the mapped value, or {@code null}
+     * @throws NullPointerException if the specified key is null
+     */
+    public V get(Object key) {
+        int h = hash(Objects.requireNonNull(key));
+        return segmentFor(h).get(key, h);
+    }
+
+    /**
+     * Maps the specified key to the specified value.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the previous value mapped to the key, or {@code null}
+     * @throws NullPointerException if the key or value is null
+     */
+    public V put(K key, V value) {
+        return doPut(key, value, false);
+    }
+
+    /**
+     * Maps the specified key to the specified value, unless the key
+     * is already mapped.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the current value mapped to the key, or {@code null} if
+     *         there was none and the value was added
+     * @throws NullPointerException if the key or value is null
+     */
+    public V putIfAbsent(K key, V value) {
+        return doPut(key, value, true);
+    }
+
+    private V doPut(K key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(value);
+        int h = hash(Objects.requireNonNull(key));
+        Segment<K,V> seg = segmentFor(h);
+        seg.lock();
+        try {
+            Entry<K,V>[] tab = seg.table;
+            int i = seg.indexOf(tab, key, h);
+            if (i >= 0) {
+                Entry<K,V> e = tab[i];
+                V old = e.value;
+                if (!onlyIfAbsent)
+                    e.value = value;
+                return old;
+            }
+            seg.insert(new Entry<>(key, h, value, seg, queue));
+        } finally {
+            seg.unlock();
+        }
+        expungeSome();
+        return null;
+    }
+
+    /**
+     * Returns the value mapped to the specified key, computing it with
+     * the given function and caching it if the key is not already
+     * mapped.  The function is invoked at most once per absent key,
+     * while holding the lock of the key's stripe, so it must not
+     * update this cache.  Lookups of already-cached keys never block.
+     *
+     * @param key the key
+     * @param mappingFunction the function to compute a value
+     * @return the current (existing or computed) value associated with
+     *         the key, or {@code null} if the computed value is null
+     * @throws NullPointerException if the key or function is null
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        int h = hash(Objects.requireNonNull(key));
+        Segment<K,V> seg = segmentFor(h);
+        V v;
+        if ((v = seg.get(key, h)) != null)
+            return v;
+        seg.lock();
+        try {
+            Entry<K,V>[] tab = seg.table;
+            int i = seg.indexOf(tab, key, h);
+            if (i >= 0 && (v = tab[i].value) != null)
+                return v;
+            if ((v = mappingFunction.apply(key)) == null)
+                return null;
+            seg.insert(new Entry<>(key, h, v, seg, queue));
+        } finally {
+            seg.unlock();
+        }
+        expungeSome();
+        return v;
+    }
+
+    /**
+     * Removes the mapping for the specified key, if present.
+     *
+     * @param key the key
+     * @return the previous value mapped to the key, or {@code null}
+     * @throws NullPointerException if the specified key is null
+     */
+    public V remove(Object key) {
+        int h = hash(Objects.requireNonNull(key));
+        Segment<K,V> seg = segmentFor(h);
+        seg.lock();
+        try {
+            Entry<K,V>[] tab = seg.table;
+            int i = seg.indexOf(tab, key, h);
+            if (i < 0)
+                return null;
+            V old = tab[i].value;
+            seg.removeAt(tab, i);
+            return old;
+        } finally {
+            seg.unlock();
+            expungeSome();
+        }
+    }
+
+    /**
+     * Returns an estimate of the number of mappings in this cache.
+     * The estimate includes mappings whose keys have been reclaimed
+     * but not yet expunged.
+     *
+     * @return the estimated number of mappings
+     */
+    public int size() {
+        long n = 0;
+        for (Segment<K,V> seg : segments)
+            n += seg.count;   // racy read is fine for an estimate
+        return (int) Math.min(n, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes all of the mappings from this cache.
+     */
+    public void clear() {
+        for (Segment<K,V> seg : segments) {
+            seg.lock();
+            try {
+                Entry<K,V>[] tab = seg.table;
+                for (int i = 0; i < tab.length; i++) {
+                    Entry<K,V> e = tab[i];
+                    if (e != null && e != TOMBSTONE)
+                        seg.removeAt(tab, i);
+                }
+                seg.rebuild();
+            } finally {
+                seg.unlock();
+            }
+        }
+    }
+
+    /**
+     * Expunges the mappings of all keys that have been reclaimed, and
+     * are pending, at the time of the call.  Updates expunge such
+     * mappings incrementally, so calling this method is only useful to
+     * release the values of reclaimed keys promptly, for example after
+     * unloading a large number of classes.
+     */
+    public void expungeStaleEntries() {
+        while (expungeSome())
+            ;
+    }
+
+    /**
+     * Expunges at most EXPUNGE_BATCH reclaimed entries.  Must be
+     * called without holding any segment lock.
+     *
+     * @return true if the batch was exhausted (more may be pending)
+     */
+    @SuppressWarnings("unchecked")
+    private boolean expungeSome() {
+        for (int n = 0; n < EXPUNGE_BATCH; n++) {
+            Entry<K,V> e = (Entry<K,V>) queue.poll();
+            if (e == null)
+                return false;
+            Segment<K,V> seg = e.segment;
+            seg.lock();
+            try {
+                seg.expunge(e);
+            } finally {
+                seg.unlock();
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,557 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link ThreadPoolExecutor} in which each worker thread has its own
+ * local task queue, and idle workers steal tasks from the queues of
+ * busy ones.  This keeps the configuration and lifecycle of {@code
+ * ThreadPoolExecutor} (core and maximum pool sizes, keep-alive times,
+ * {@link RejectedExecutionHandler rejection policies}, and the {@link
+ * #beforeExecute beforeExecute} and {@link #afterExecute afterExecute}
+ * hooks), while avoiding the single shared work queue through which a
+ * plain {@code ThreadPoolExecutor} funnels every task.
+ *
+ * <p>Tasks submitted by a worker thread of this pool are placed in
+ * that worker's local queue.  Tasks submitted by other threads are
+ * placed in the local queue of a worker chosen by the submitting
+ * thread, so that each submitting thread tends to feed the same
+ * worker; if that queue is momentarily contended, the task goes to a
+ * shared queue instead.  A worker takes tasks first from its own
+ * queue, then from the shared queue, and otherwise steals about half
+ * of the tasks of another worker's queue.  Each queue is FIFO, but
+ * there is no global ordering among tasks in different queues.
+ *
+ * <p>The work queue is created by the constructor and is available
+ * through {@link #getQueue}, which returns a facade over all the
+ * local queues and the shared queue.  By default this queue is
+ * unbounded, so, as for a {@code ThreadPoolExecutor} with an unbounded
+ * {@link LinkedBlockingQueue}, no more than {@code corePoolSize}
+ * threads are ever created.  If a queue capacity is given, then as
+ * for a bounded queue, new threads up to {@code maximumPoolSize} are
+ * created when the queue is full, after which tasks are rejected.
+ * Bounding the queue requires a shared counter, which somewhat
+ * reduces scalability.
+ *
+ * @since 18
+ */
+public class WorkStealingThreadPoolExecutor extends ThreadPoolExecutor {
+
+    /*
+     * The work queue is a StealingQueue, a RingBlockingQueue whose
+     * elements live in a shared ConcurrentLinkedQueue and in one
+     * LocalQueue per live worker.  Blocking and waking of idle
+     * workers is inherited from RingBlockingQueue.
+     *
+     * Workers register their LocalQueue through the onWorkerStart
+     * hook of ThreadPoolExecutor, and find it again through a
+     * ThreadLocal.  Registered queues are published in a copy-on-write
+     * array, used by external submitters to pick a queue and by
+     * thieves to pick victims.  Through the onWorkerExit hook, an
+     * exiting worker unregisters its queue, marks it dead, and moves
+     * any remaining tasks to the shared queue, so that tasks are
+     * never stranded in the queue of a dead worker.  Submitters that
+     * hold a stale copy of the array see the dead mark, and use the
+     * shared queue instead.
+     *
+     * Each LocalQueue is an ArrayDeque guarded by its own lock.  The
+     * lock is uncontended except while being stolen from, and its
+     * size is mirrored in a volatile field so that thieves (and
+     * consumers about to park) can skip empty queues without locking.
+     * A thief takes a batch of tasks while holding only the victim's
+     * lock, and then moves all but the first into its own queue while
+     * holding only its own lock, so no thread ever holds two of these
+     * locks.  A thief that finds a nonempty victim locked retries
+     * with a blocking lock, so that consumers do not park while tasks
+     * remain available.
+     */
+
+    /** The work queue facade */
+    private final StealingQueue queue;
+
+    /**
+     * Creates a new {@code WorkStealingThreadPoolExecutor} with the
+     * given initial parameters, an unbounded work queue, the
+     * {@linkplain Executors#defaultThreadFactory default thread factory}
+     * and the default rejected execution handler.
+     *
+     * @param corePoolSize the number of threads to keep in the pool, even
+     *        if they are idle, unless {@code allowCoreThreadTimeOut} is set
+     * @param maximumPoolSize the maximum number of threads to allow in the
+     *        pool
+     * @param keepAliveTime when the number of threads is greater than
+     *        the core, this is the maximum time that excess idle threads
+     *        will wait for new tasks before terminating.
+     * @param unit the time unit for the {@code keepAliveTime} argument
+     * @throws IllegalArgumentException if one of the following holds:<br>
+     *         {@code corePoolSize < 0}<br>
+     *         {@code keepAliveTime < 0}<br>
+     *         {@code maximumPoolSize <= 0}<br>
+     *         {@code maximumPoolSize < corePoolSize}
+     * @throws NullPointerException if {@code unit} is null
+     */
+    public WorkStealingThreadPoolExecutor(int corePoolSize,
+                                          int maximumPoolSize,
+                                          long keepAliveTime,
+                                          TimeUnit unit) {
+        this(corePoolSize, maximumPoolSize, keepAliveTime, unit,
+             Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new {@code WorkStealingThreadPoolExecutor} with the
+     * given initial parameters and work queue capacity, the
+     * {@linkplain Executors#defaultThreadFactory default thread factory}
+     * and the default rejected execution handler.
+     *
+     * @param corePoolSize the number of threads to keep in the pool, even
+     *        if they are idle, unless {@code allowCoreThreadTimeOut} is set
+     * @param maximumPoolSize the maximum number of threads to allow in the
+     *        pool
+     * @param keepAliveTime when the number of threads is greater than
+     *        the core, this is the maximum time that excess idle threads
+     *        will wait for new tasks before terminating.
+     * @param unit the time unit for the {@code keepAliveTime} argument
+     * @param queueCapacity the maximum number of tasks held in the work
+     *        queue, or {@link Integer#MAX_VALUE} for no bound
+     * @throws IllegalArgumentException if one of the following holds:<br>
+     *         {@code corePoolSize < 0}<br>
+     *         {@code keepAliveTime < 0}<br>
+     *         {@code maximumPoolSize <= 0}<br>
+     *         {@code maximumPoolSize < corePoolSize}<br>
+     *         {@code queueCapacity <= 0}
+     * @throws NullPointerException if {@code unit} is null
+     */
+    public WorkStealingThreadPoolExecutor(int corePoolSize,
+                                          int maximumPoolSize,
+                                          long keepAliveTime,
+                                          TimeUnit unit,
+                                          int queueCapacity) {
+        this(corePoolSize, maximumPoolSize, keepAliveTime, unit,
+             queueCapacity, Executors.defaultThreadFactory(),
+             new AbortPolicy());
+    }
+
+    /**
+     * Creates a new {@code WorkStealingThreadPoolExecutor} with the
+     * given initial parameters.
+     *
+     * @param corePoolSize the number of threads to keep in the pool, even
+     *        if they are idle, unless {@code allowCoreThreadTimeOut} is set
+     * @param maximumPoolSize the maximum number of threads to allow in the
+     *        pool
+     * @param keepAliveTime when the number of threads is greater than
+     *        the core, this is the maximum time that excess idle threads
+     *        will wait for new tasks before terminating.
+     * @param unit the time unit for the {@code keepAliveTime} argument
+     * @param queueCapacity the maximum number of tasks held in the work
+     *        queue, or {@link Integer#MAX_VALUE} for no bound
+     * @param threadFactory the factory to use when the executor
+     *        creates a new thread
+     * @param handler the handler to use when execution is blocked
+     *        because the thread bounds and queue capacities are reached
+     * @throws IllegalArgumentException if one of the following holds:<br>
+     *         {@code corePoolSize < 0}<br>
+     *         {@code keepAliveTime < 0}<br>
+     *         {@code maximumPoolSize <= 0}<br>
+     *         {@code maximumPoolSize < corePoolSize}<br>
+     *         {@code queueCapacity <= 0}
+     * @throws NullPointerException if {@code unit},
+     *         {@code threadFactory} or {@code handler} is null
+     */
+    public WorkStealingThreadPoolExecutor(int corePoolSize,
+                                          int maximumPoolSize,
+                                          long keepAliveTime,
+                                          TimeUnit unit,
+                                          int queueCapacity,
+                                          ThreadFactory threadFactory,
+                                          RejectedExecutionHandler handler) {
+        this(corePoolSize, maximumPoolSize, keepAliveTime, unit,
+             new StealingQueue(queueCapacity), threadFactory, handler);
+    }
+
+    private WorkStealingThreadPoolExecutor(int corePoolSize,
+                                           int maximumPoolSize,
+                                           long keepAliveTime,
+                                           TimeUnit unit,
+                                           StealingQueue queue,
+                                           ThreadFactory threadFactory,
+                                           RejectedExecutionHandler handler) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit,
+              queue, threadFactory, handler);
+        this.queue = queue;
+    }
+
+    @Override void onWorkerStart() {
+        queue.register();
+    }
+
+    @Override void onWorkerExit() {
+        queue.deregister();
+    }
+
+    @Override long stealCount() {
+        return getStealCount();
+    }
+
+    /**
+     * Returns an estimate of the total number of tasks taken by a
+     * worker from the local queue of another worker.  The returned
+     * value is only an estimate if tasks are being stolen concurrently,
+     * and is useful for monitoring and tuning.
+     *
+     * @return the number of stolen tasks
+     */
+    public long getStealCount() {
+        return queue.steals.sum();
+    }
+
+    /**
+     * A worker's local queue.  The lock guards tasks and dead.
+     */
+    @SuppressWarnings("serial") // Not serialized
+    static final class LocalQueue extends ReentrantLock {
+        final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        /** Mirror of tasks.size(), for unlocked emptiness checks */
+        volatile int size;
+        /** True once the owner has exited */
+        boolean dead;
+
+        /** Adds a task, returning false if dead; caller holds lock. */
+        boolean addLocked(Runnable r) {
+            if (dead)
+                return false;
+            tasks.addLast(r);
+            size = tasks.size();
+            return true;
+        }
+
+        boolean push(Runnable r) {
+            lock();
+            try {
+                return addLocked(r);
+            } finally {
+                unlock();
+            }
+        }
+
+        Runnable poll() {
+            if (size == 0)
+                return null;
+            lock();
+            try {
+                Runnable r = tasks.pollFirst();
+                size = tasks.size();
+                return r;
+            } finally {
+                unlock();
+            }
+        }
+    }
+
+    /**
+     * The work queue facade; see class-level comments.
+     */
+    static final class StealingQueue extends RingBlockingQueue<Runnable> {
+        /** Maximum number of tasks taken in one steal */
+        static final int STEAL_BATCH = 32;
+
+        final ConcurrentLinkedQueue<Runnable> shared =
+            new ConcurrentLinkedQueue<>();
+        final ThreadLocal<LocalQueue> current = new ThreadLocal<>();
+        final ReentrantLock registryLock = new ReentrantLock();
+        volatile LocalQueue[] locals = new LocalQueue[0];
+        /** Number of queued tasks, or null if unbounded */
+        final AtomicInteger count;
+        final LongAdder steals = new LongAdder();
+
+        StealingQueue(int capacity) {
+            super(capacity);
+            this.count = (capacity == Integer.MAX_VALUE)
+                ? null : new AtomicInteger();
+        }
+
+        void register() {
+            LocalQueue q = new LocalQueue();
+            current.set(q);
+            final ReentrantLock lock = registryLock;
+            lock.lock();
+            try {
+                LocalQueue[] a = locals;
+                LocalQueue[] b = Arrays.copyOf(a, a.length + 1);
+                b[a.length] = q;
+                locals = b;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void deregister() {
+            LocalQueue q = current.get();
+            if (q == null)
+                return;
+            current.remove();
+            final ReentrantLock lock = registryLock;
+            lock.lock();
+            try {
+                LocalQueue[] a = locals;
+                int n = a.length, i = 0;
+                while (i < n && a[i] != q)
+                    i++;
+                if (i < n) {
+                    LocalQueue[] b = new LocalQueue[n - 1];
+                    System.arraycopy(a, 0, b, 0, i);
+                    System.arraycopy(a, i + 1, b, i, n - 1 - i);
+                    locals = b;
+                }
+            } finally {
+                lock.unlock();
+            }
+            boolean moved = false;
+            q.lock();
+            try {
+                q.dead = true;
+                for (Runnable r; (r = q.tasks.pollFirst()) != null; moved = true)
+                    shared.offer(r);
+                q.size = 0;
+            } finally {
+                q.unlock();
+            }
+            if (moved)
+                signalNotEmpty();
+        }
+
+        boolean tryEnqueue(Runnable r) {
+            final AtomicInteger count = this.count;
+            if (count != null) {
+                for (int c;;) {
+                    if ((c = count.get()) >= capacity)
+                        return false;
+                    if (count.compareAndSet(c, c + 1))
+                        break;
+                }
+            }
+            LocalQueue q = current.get();
+            if ((q == null || !q.push(r)) && !pushAffine(r))
+                shared.offer(r);
+            return true;
+        }
+
+        /**
+         * Tries to add a task submitted by a non-worker thread to the
+         * local queue of the worker associated with the submitter.
+         */
+        private boolean pushAffine(Runnable r) {
+            LocalQueue[] qs = locals;
+            int n = qs.length;
+            if (n == 0)
+                return false;
+            int h = ThreadLocalRandom.getProbe();
+            if (h == 0) {
+                ThreadLocalRandom.localInit();
+                h = ThreadLocalRandom.getProbe();
+            }
+            LocalQueue q = qs[(h & Integer.MAX_VALUE) % n];
+            if (q.tryLock()) {
+                try {
+                    if (q.addLocked(r))
+                        return true;
+                } finally {
+                    q.unlock();
+                }
+            }
+            ThreadLocalRandom.advanceProbe(h); // try another next time
+            return false;
+        }
+
+        Runnable tryDequeue() {
+            LocalQueue self = current.get();
+            Runnable r;
+            if ((self == null || (r = self.poll()) == null) &&
+                (r = shared.poll()) == null &&
+                (r = steal(self)) == null)
+                return null;
+            if (count != null)
+                count.decrementAndGet();
+            return r;
+        }
+
+        /**
+         * Takes tasks from the local queue of another worker, returning
+         * the first and moving the rest, if any, to self.
+         */
+        private Runnable steal(LocalQueue self) {
+            LocalQueue[] qs = locals;
+            int n = qs.length;
+            if (n == 0)
+                return null;
+            int origin = (ThreadLocalRandom.getProbe() & Integer.MAX_VALUE) % n;
+            Runnable[] batch = null;
+            for (int pass = 0; pass < 2; pass++) {
+                boolean contended = false;
+                for (int k = 0; k < n; k++) {
+                    LocalQueue v = qs[(origin + k) % n];
+                    if (v == self || v.size == 0)
+                        continue;
+                    if (pass == 0) {
+                        if (!v.tryLock()) {
+                            contended = true;
+                            continue;
+                        }
+                    }
+                    else
+                        v.lock();
+                    try {
+                        ArrayDeque<Runnable> ts = v.tasks;
+                        int m = (self == null) ? 1 :
+                            Math.min((ts.size() + 1) >>> 1, STEAL_BATCH);
+                        if (m > 0) {
+                            batch = new Runnable[m];
+                            for (int i = 0; i < m; i++)
+                                batch[i] = ts.pollFirst();
+                            v.size = ts.size();
+                        }
+                    } finally {
+                        v.unlock();
+                    }
+                    if (batch != null)
+                        break;
+                }
+                if (batch != null || !contended)
+                    break;
+            }
+            if (batch == null)
+                return null;
+            if (self != null) {
+                steals.add(batch.length);
+                if (batch.length > 1) {
+                    self.lock();
+                    try {
+                        for (int i = 1; i < batch.length; i++)
+                            self.addLocked(batch[i]);
+                    } finally {
+                        self.unlock();
+                    }
+                }
+            }
+            return batch[0];
+        }
+
+        boolean removeElement(Object o, boolean identity) {
+            boolean removed = shared.remove(o);
+            if (!removed) {
+                for (LocalQueue q : locals) {
+                    q.lock();
+                    try {
+                        for (Iterator<Runnable> it = q.tasks.iterator();
+                             it.hasNext(); ) {
+                            Runnable r = it.next();
+                            if (identity ? r == o : o.equals(r)) {
+                                it.remove();
+                                q.size = q.tasks.size();
+                                removed = true;
+                                break;
+                            }
+                        }
+                    } finally {
+                        q.unlock();
+                    }
+                    if (removed)
+                        break;
+                }
+            }
+            if (removed && count != null)
+                count.decrementAndGet();
+            return removed;
+        }
+
+        public Runnable peek() {
+            LocalQueue self = current.get();
+            Runnable r;
+            if (self != null && self.size != 0) {
+                self.lock();
+                try {
+                    if ((r = self.tasks.peekFirst()) != null)
+                        return r;
+                } finally {
+                    self.unlock();
+                }
+            }
+            if ((r = shared.peek()) != null)
+                return r;
+            for (LocalQueue q : locals) {
+                if (q.size != 0) {
+                    q.lock();
+                    try {
+                        if ((r = q.tasks.peekFirst()) != null)
+                            return r;
+                    } finally {
+                        q.unlock();
+                    }
+                }
+            }
+            return null;
+        }
+
+        public int size() {
+            if (count != null)
+                return count.get();
+            long n = shared.size();
+            for (LocalQueue q : locals)
+                n += q.size;
+            return (int)Math.min(n, Integer.MAX_VALUE);
+        }
+
+        public boolean isEmpty() {
+            if (!shared.isEmpty())
+                return false;
+            for (LocalQueue q : locals)
+                if (q.size != 0)
+                    return false;
+            return true;
+        }
+
+        public Object[] toArray() {
+            ArrayList<Object> list = new ArrayList<>(Arrays.asList(shared.toArray()));
+            for (LocalQueue q : locals) {
+                q.lock();
+                try {
+                    list.addAll(q.tasks);
+                } finally {
+                    q.unlock();
+                }
+            }
+            return list.toArray();
+        }
+    }
+}
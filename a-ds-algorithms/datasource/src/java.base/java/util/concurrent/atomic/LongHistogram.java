@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent.atomic;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of non-negative {@code long} values, such as latencies
+ * in nanoseconds, that may be recorded concurrently by many threads.
+ * When recording is contended across threads, the histogram is
+ * dynamically striped into several shards, as in {@link LongAdder},
+ * so that recording scales with the number of threads.  Recording
+ * does not allocate, except when the set of shards grows.
+ *
+ * <p>Values are counted in log-linear buckets: each power-of-two
+ * range of values is divided into <em>2<sup>p</sup></em> equal
+ * buckets, where <em>p</em> is the precision given on construction,
+ * and values less than <em>2<sup>p</sup></em> are counted exactly.
+ * Thus any value is reported with a relative error of at most
+ * <em>2<sup>-p</sup></em>, using about <em>(64 - p) &times;
+ * 2<sup>p</sup></em> buckets per shard.  The default precision of 4
+ * bounds the error at 6.25% using 960 buckets.
+ *
+ * <p>Method {@link #snapshot} returns an immutable {@link Snapshot}.
+ * Each shard is copied atomically, so a snapshot is internally
+ * consistent: its count is the sum of its bucket counts, and its
+ * sum, minimum and maximum are those of the same recorded values.
+ * Method {@link #snapshotThenReset} supports reporting by interval,
+ * with every recorded value included in exactly one snapshot.
+ *
+ * @since 18
+ */
+public class LongHistogram extends StripedRecorder<LongHistogram.Bins> {
+
+    /** The default precision. */
+    static final int DEFAULT_PRECISION = 4;
+
+    /** The maximum precision. */
+    static final int MAX_PRECISION = 10;
+
+    /**
+     * A shard.
+     */
+    @jdk.internal.vm.annotation.Contended
+    static final class Bins extends StripedRecorder.Shard {
+        long count;
+        long sum;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        final long[] counts;
+
+        Bins(int precision) {
+            counts = new long[bucketCount(precision)];
+        }
+    }
+
+    /** The precision, in bits. */
+    private final int precision;
+
+    /**
+     * Creates a new histogram with the default precision.
+     */
+    public LongHistogram() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates a new histogram with the given precision.
+     *
+     * @param precision the number of bits of precision with which
+     *        values are counted, such that values are reported with a
+     *        relative error of at most 2<sup>-precision</sup>
+     * @throws IllegalArgumentException if precision is negative or
+     *         greater than 10
+     */
+    public LongHistogram(int precision) {
+        super(new Bins(checkPrecision(precision)));
+        this.precision = precision;
+    }
+
+    private static int checkPrecision(int precision) {
+        if (precision < 0 || precision > MAX_PRECISION)
+            throw new IllegalArgumentException();
+        return precision;
+    }
+
+    /**
+     * Returns the number of buckets for the given precision.
+     */
+    static int bucketCount(int precision) {
+        return (64 - precision) << precision;
+    }
+
+    /**
+     * Returns the bucket index of a non-negative value.
+     */
+    static int bucketFor(long value, int precision) {
+        int shift = 63 - Long.numberOfLeadingZeros(value) - precision;
+        return (shift <= 0) ? (int)value
+            : (shift << precision) + (int)(value >>> shift);
+    }
+
+    /**
+     * Returns the least value counted in the given bucket.
+     */
+    static long lowerBound(int bucket, int precision) {
+        int shift = (bucket >>> precision) - 1;
+        return (shift <= 0) ? bucket
+            : ((long)((bucket & ((1 << precision) - 1)) | (1 << precision)))
+            << shift;
+    }
+
+    /**
+     * Returns the greatest value counted in the given bucket.
+     */
+    static long upperBound(int bucket, int precision) {
+        int shift = (bucket >>> precision) - 1;
+        return (shift <= 0) ? bucket
+            : lowerBound(bucket, precision) + ((1L << shift) - 1L);
+    }
+
+    /**
+     * Records the given value.
+     *
+     * @param value the value
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void record(long value) {
+        if (value < 0L)
+            throw new IllegalArgumentException();
+        int i = bucketFor(value, precision);
+        Bins b = lockShard();
+        b.counts[i]++;
+        b.count++;
+        b.sum += value;
+        if (value < b.min)
+            b.min = value;
+        if (value > b.max)
+            b.max = value;
+        b.unlock();
+    }
+
+    /**
+     * Returns a snapshot of the values recorded.  Values recorded
+     * concurrently with this method may or may not be included.
+     *
+     * @return a snapshot
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(readAll(false), precision);
+    }
+
+    /**
+     * Returns a snapshot of the values recorded, and resets the
+     * histogram.  Each value recorded concurrently with this method
+     * is included either in the returned snapshot or in a later one.
+     *
+     * @return a snapshot
+     */
+    public Snapshot snapshotThenReset() {
+        return new Snapshot(readAll(true), precision);
+    }
+
+    /**
+     * Resets the histogram, discarding the values recorded.
+     */
+    public void reset() {
+        readAll(true);
+    }
+
+    /**
+     * Returns the precision of this histogram.
+     *
+     * @return the number of bits of precision
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Returns the String representation of the current snapshot.
+     *
+     * @return the String representation of the current snapshot
+     */
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    Bins newShard() {
+        return new Bins(precision);
+    }
+
+    void copy(Bins s, Bins dst) {
+        dst.count = s.count;
+        dst.sum = s.sum;
+        dst.min = s.min;
+        dst.max = s.max;
+        System.arraycopy(s.counts, 0, dst.counts, 0, dst.counts.length);
+    }
+
+    void merge(Bins acc, Bins s) {
+        acc.count += s.count;
+        acc.sum += s.sum;
+        acc.min = Math.min(acc.min, s.min);
+        acc.max = Math.max(acc.max, s.max);
+        long[] a = acc.counts, c = s.counts;
+        for (int i = 0; i < a.length; ++i)
+            a[i] += c[i];
+    }
+
+    void clear(Bins s) {
+        s.count = s.sum = 0L;
+        s.min = Long.MAX_VALUE;
+        s.max = Long.MIN_VALUE;
+        Arrays.fill(s.counts, 0L);
+    }
+
+    /**
+     * An immutable snapshot of the values recorded by a {@link
+     * LongHistogram}.  As in {@link java.util.LongSummaryStatistics},
+     * the minimum and maximum of an empty snapshot are {@code
+     * Long.MAX_VALUE} and {@code Long.MIN_VALUE}.
+     *
+     * @since 18
+     */
+    public static final class Snapshot {
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+        private final long[] counts;
+        private final int precision;
+
+        Snapshot(Bins b, int precision) {
+            this.count = b.count;
+            this.sum = b.sum;
+            this.min = b.min;
+            this.max = b.max;
+            this.counts = b.counts;
+            this.precision = precision;
+        }
+
+        /**
+         * Returns the number of values recorded.
+         *
+         * @return the number of values recorded
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the sum of the values recorded.
+         *
+         * @return the sum of the values recorded
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * Returns the least value recorded.
+         *
+         * @return the least value recorded, or {@code Long.MAX_VALUE}
+         *         if none
+         */
+        public long getMin() {
+            return min;
+        }
+
+        /**
+         * Returns the greatest value recorded.
+         *
+         * @return the greatest value recorded, or {@code
+         *         Long.MIN_VALUE} if none
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns the arithmetic mean of the values recorded.
+         *
+         * @return the mean, or zero if no values were recorded
+         */
+        public double getMean() {
+            return (count > 0L) ? (double)sum / count : 0.0d;
+        }
+
+        /**
+         * Returns an upper bound of the given percentile of the values
+         * recorded: the greatest value counted in the bucket in which
+         * that percentile falls, but no greater than the maximum.
+         *
+         * @param percentile the percentile, from 0 to 100
+         * @return the value at the given percentile, or zero if no
+         *         values were recorded
+         * @throws IllegalArgumentException if the percentile is not
+         *         between 0 and 100
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (!(percentile >= 0.0d && percentile <= 100.0d))
+                throw new IllegalArgumentException();
+            if (count == 0L)
+                return 0L;
+            long rank = Math.max(1L, (long)Math.ceil(percentile / 100.0d * count));
+            long seen = 0L;
+            for (int i = 0; i < counts.length; ++i) {
+                if ((seen += counts[i]) >= rank)
+                    return Math.max(min, Math.min(max, upperBound(i, precision)));
+            }
+            return max;
+        }
+
+        /**
+         * Returns the number of buckets.
+         *
+         * @return the number of buckets
+         */
+        public int getBucketCount() {
+            return counts.length;
+        }
+
+        /**
+         * Returns the number of values counted in the given bucket.
+         *
+         * @param bucket the bucket index
+         * @return the number of values counted in the bucket
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        public long getCountAt(int bucket) {
+            return counts[bucket];
+        }
+
+        /**
+         * Returns the least value counted in the given bucket.
+         *
+         * @param bucket the bucket index
+         * @return the least value counted in the bucket
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        public long getLowerBoundAt(int bucket) {
+            return lowerBound(checkBucket(bucket), precision);
+        }
+
+        /**
+         * Returns the greatest value counted in the given bucket.
+         *
+         * @param bucket the bucket index
+         * @return the greatest value counted in the bucket
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        public long getUpperBoundAt(int bucket) {
+            return upperBound(checkBucket(bucket), precision);
+        }
+
+        private int checkBucket(int bucket) {
+            return java.util.Objects.checkIndex(bucket, counts.length);
+        }
+
+        /**
+         * Returns a String summarizing this snapshot.
+         *
+         * @return a String summarizing this snapshot
+         */
+        public String toString() {
+            return String.format(
+                "%s{count=%d, sum=%d, min=%d, mean=%f, p50=%d, p99=%d, max=%d}",
+                "LongHistogram.Snapshot", count, sum, min, getMean(),
+                getValueAtPercentile(50.0d), getValueAtPercentile(99.0d), max);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent.atomic;
+
+import java.util.LongSummaryStatistics;
+
+/**
+ * A gauge tracking the count, sum, minimum and maximum of {@code long}
+ * values, such as queue lengths or in-flight requests, that may be
+ * recorded concurrently by many threads.  When recording is contended
+ * across threads, the gauge is dynamically striped into several
+ * shards, as in {@link LongAdder}, so that recording scales with the
+ * number of threads.  Recording does not allocate, except when the
+ * set of shards grows.
+ *
+ * <p>Methods {@link #snapshot} and {@link #snapshotThenReset} return
+ * the statistics as a {@link LongSummaryStatistics}.  Each shard is
+ * copied atomically, so a snapshot is internally consistent: its
+ * minimum and maximum are of the values counted.  Resetting supports
+ * reporting the peak values of each interval.  Methods {@link #getMin}
+ * and {@link #getMax} are equivalent to taking a snapshot.
+ *
+ * @since 18
+ */
+public class LongMinMaxGauge extends StripedRecorder<LongMinMaxGauge.Range> {
+
+    /**
+     * A shard.
+     */
+    @jdk.internal.vm.annotation.Contended
+    static final class Range extends StripedRecorder.Shard {
+        long count;
+        long sum;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+    }
+
+    /**
+     * Creates a new gauge with no values recorded.
+     */
+    public LongMinMaxGauge() {
+        super(new Range());
+    }
+
+    /**
+     * Records the given value.
+     *
+     * @param value the value
+     */
+    public void record(long value) {
+        Range r = lockShard();
+        r.count++;
+        r.sum += value;
+        if (value < r.min)
+            r.min = value;
+        if (value > r.max)
+            r.max = value;
+        r.unlock();
+    }
+
+    /**
+     * Returns the least value recorded.
+     *
+     * @return the least value recorded, or {@code Long.MAX_VALUE} if
+     *         none
+     */
+    public long getMin() {
+        return readAll(false).min;
+    }
+
+    /**
+     * Returns the greatest value recorded.
+     *
+     * @return the greatest value recorded, or {@code Long.MIN_VALUE}
+     *         if none
+     */
+    public long getMax() {
+        return readAll(false).max;
+    }
+
+    /**
+     * Returns the statistics of the values recorded.  Values recorded
+     * concurrently with this method may or may not be included.
+     *
+     * @return the statistics of the values recorded
+     */
+    public LongSummaryStatistics snapshot() {
+        return toStatistics(readAll(false));
+    }
+
+    /**
+     * Returns the statistics of the values recorded, and resets the
+     * gauge.  Each value recorded concurrently with this method is
+     * included either in the returned statistics or in later ones.
+     *
+     * @return the statistics of the values recorded
+     */
+    public LongSummaryStatistics snapshotThenReset() {
+        return toStatistics(readAll(true));
+    }
+
+    /**
+     * Resets the gauge, discarding the values recorded.
+     */
+    public void reset() {
+        readAll(true);
+    }
+
+    private static LongSummaryStatistics toStatistics(Range r) {
+        return (r.count == 0L) ? new LongSummaryStatistics()
+            : new LongSummaryStatistics(r.count, r.min, r.max, r.sum);
+    }
+
+    /**
+     * Returns the String representation of the current snapshot.
+     *
+     * @return the String representation of the current snapshot
+     */
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    Range newShard() {
+        return new Range();
+    }
+
+    void copy(Range s, Range dst) {
+        dst.count = s.count;
+        dst.sum = s.sum;
+        dst.min = s.min;
+        dst.max = s.max;
+    }
+
+    void merge(Range acc, Range s) {
+        acc.count += s.count;
+        acc.sum += s.sum;
+        acc.min = Math.min(acc.min, s.min);
+        acc.max = Math.max(acc.max, s.max);
+    }
+
+    void clear(Range s) {
+        s.count = s.sum = 0L;
+        s.min = Long.MAX_VALUE;
+        s.max = Long.MIN_VALUE;
+    }
+}
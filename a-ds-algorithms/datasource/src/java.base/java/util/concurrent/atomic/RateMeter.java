@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent.atomic;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A meter of the rate of events that may be marked concurrently by
+ * many threads, reporting the mean rate since creation and
+ * exponentially-weighted moving average rates over one or more time
+ * windows, by default one, five and fifteen minutes, as in the load
+ * averages of Unix systems.
+ *
+ * <p>Events are counted in a {@link LongAdder}, so marking scales with
+ * the number of threads and does not allocate.  The moving averages
+ * are updated at fixed tick intervals (by default, every five
+ * seconds), by whichever thread marks or reads the meter first after
+ * an interval has elapsed; a meter that is neither marked nor read
+ * does no work.  The average over a window of duration <em>W</em>
+ * decays by a factor of <em>e<sup>-t/W</sup></em> per tick of
+ * duration <em>t</em>, and is initialized to the rate of the first
+ * tick.
+ *
+ * @since 18
+ */
+public class RateMeter {
+
+    /** The default tick interval, in nanoseconds. */
+    static final long DEFAULT_TICK = TimeUnit.SECONDS.toNanos(5L);
+
+    /** The events counted. */
+    private final LongAdder count = new LongAdder();
+
+    /** The time of construction, from System.nanoTime. */
+    private final long startTime;
+
+    /** The tick interval, in nanoseconds. */
+    private final long tickNanos;
+
+    /** The windows, in nanoseconds. */
+    private final long[] windows;
+
+    /** The smoothing factor per tick, for each window. */
+    private final double[] alphas;
+
+    /** The moving averages, in events per nanosecond; replaced per tick. */
+    private volatile double[] rates;
+
+    /** The time of the last tick. */
+    private volatile long lastTick;
+
+    /** The count at the last tick; guarded by ticking. */
+    private long lastCount;
+
+    /** Lock (via CAS) held by the thread updating the averages. */
+    private volatile int ticking;
+
+    /**
+     * Creates a new meter with moving averages over one, five and
+     * fifteen minutes, updated every five seconds.
+     */
+    public RateMeter() {
+        this(DEFAULT_TICK, new long[] {
+                TimeUnit.MINUTES.toNanos(1L),
+                TimeUnit.MINUTES.toNanos(5L),
+                TimeUnit.MINUTES.toNanos(15L) });
+    }
+
+    /**
+     * Creates a new meter with moving averages over the given
+     * windows, updated at the given tick interval.
+     *
+     * @param tickInterval the interval at which averages are updated
+     * @param windows the durations of the windows
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the tick interval is not
+     *         positive, if no windows are given, or if any window is
+     *         shorter than the tick interval
+     */
+    public RateMeter(Duration tickInterval, Duration... windows) {
+        this(tickInterval.toNanos(), toNanos(windows));
+    }
+
+    private static long[] toNanos(Duration[] windows) {
+        long[] w = new long[windows.length];
+        for (int i = 0; i < w.length; ++i)
+            w[i] = Objects.requireNonNull(windows[i]).toNanos();
+        return w;
+    }
+
+    private RateMeter(long tickNanos, long[] windows) {
+        if (tickNanos <= 0L || windows.length == 0)
+            throw new IllegalArgumentException();
+        double[] alphas = new double[windows.length];
+        for (int i = 0; i < windows.length; ++i) {
+            if (windows[i] < tickNanos)
+                throw new IllegalArgumentException();
+            alphas[i] = -Math.expm1(-(double)tickNanos / windows[i]);
+        }
+        this.tickNanos = tickNanos;
+        this.windows = windows;
+        this.alphas = alphas;
+        this.lastTick = this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Marks the occurrence of an event.
+     */
+    public void mark() {
+        mark(1L);
+    }
+
+    /**
+     * Marks the occurrence of the given number of events.
+     *
+     * @param n the number of events
+     * @throws IllegalArgumentException if n is negative
+     */
+    public void mark(long n) {
+        if (n < 0L)
+            throw new IllegalArgumentException();
+        count.add(n);
+        tickIfNecessary(System.nanoTime());
+    }
+
+    /**
+     * Returns the number of events marked.
+     *
+     * @return the number of events marked
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the mean rate of events since the meter was created.
+     *
+     * @param unit the time unit of the rate
+     * @return the number of events per the given unit of time
+     */
+    public double getMeanRate(TimeUnit unit) {
+        long elapsed = System.nanoTime() - startTime;
+        return (elapsed <= 0L) ? 0.0d
+            : (double)count.sum() / elapsed * unit.toNanos(1L);
+    }
+
+    /**
+     * Returns the moving average rate of events over the window with
+     * the given index, in the order given on construction.
+     *
+     * @param window the index of the window
+     * @param unit the time unit of the rate
+     * @return the number of events per the given unit of time
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public double getRate(int window, TimeUnit unit) {
+        Objects.checkIndex(window, windows.length);
+        tickIfNecessary(System.nanoTime());
+        double[] rs = rates;
+        return (rs == null) ? 0.0d : rs[window] * unit.toNanos(1L);
+    }
+
+    /**
+     * Returns the durations of the windows.
+     *
+     * @return the durations of the windows, in the order given on
+     *         construction
+     */
+    public Duration[] getWindows() {
+        Duration[] w = new Duration[windows.length];
+        for (int i = 0; i < w.length; ++i)
+            w[i] = Duration.ofNanos(windows[i]);
+        return w;
+    }
+
+    /**
+     * Updates the averages if at least one tick interval has elapsed
+     * since the last update and no other thread is doing so.
+     */
+    private void tickIfNecessary(long now) {
+        long last;
+        if (now - lastTick >= tickNanos && ticking == 0 &&
+            TICKING.compareAndSet(this, 0, 1)) {
+            try {
+                if (now - (last = lastTick) >= tickNanos) {
+                    long ticks = (now - last) / tickNanos;
+                    long c = count.sum(), delta = c - lastCount;
+                    double instant = (double)delta / tickNanos;
+                    double[] rs = rates, nrs = new double[windows.length];
+                    for (int i = 0; i < nrs.length; ++i) {
+                        double r = (rs == null) ? instant
+                            : rs[i] + alphas[i] * (instant - rs[i]);
+                        if (ticks > 1L) // idle ticks
+                            r *= Math.exp(-(double)((ticks - 1L) * tickNanos) / windows[i]);
+                        nrs[i] = r;
+                    }
+                    lastCount = c;
+                    rates = nrs;
+                    lastTick = last + ticks * tickNanos;
+                }
+            } finally {
+                ticking = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns a String identifying this meter, as well as its count
+     * and its rates per second.
+     *
+     * @return a String identifying this meter, as well as its count
+     *         and its rates per second
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder(super.toString())
+            .append("[count = ").append(getCount())
+            .append(", mean rate = ").append(getMeanRate(TimeUnit.SECONDS));
+        for (int i = 0; i < windows.length; ++i)
+            sb.append(", ").append(Duration.ofNanos(windows[i]))
+                .append(" rate = ").append(getRate(i, TimeUnit.SECONDS));
+        return sb.append(']').toString();
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle TICKING;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            TICKING = l.findVarHandle(RateMeter.class, "ticking", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent.atomic;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A package-local class holding common mechanics for classes that
+ * record multi-word statistics in a dynamically striped table of
+ * shards, such as {@link LongHistogram} and {@link LongMinMaxGauge}.
+ *
+ * @param <S> the type of shards
+ */
+abstract class StripedRecorder<S extends StripedRecorder.Shard> {
+    /*
+     * This class follows the design of Striped64, except that the
+     * table elements are Shards holding several words that must be
+     * updated together, rather than single longs updated by CAS.
+     * Each Shard is guarded by a sequence lock: a writer CASes the
+     * sequence number from even to odd, updates the fields with
+     * plain writes, and releases by incrementing it again.  A failed
+     * CAS is the indication of contention that, as in Striped64,
+     * causes the thread to rehash its probe and, upon repeated
+     * collisions, the table to double, up to the number of CPUs.
+     * Uncontended recording therefore costs one CAS and one release
+     * store, and allocates nothing.
+     *
+     * Readers first try to copy a shard optimistically, validating
+     * that the sequence number is unchanged and even, as in
+     * StampedLock.  After a few failures they take the lock, so that
+     * readers cannot be starved by a steady stream of writers.
+     * Because each shard is copied atomically, derived statistics
+     * are mutually consistent; for example the total count equals
+     * the sum of the bucket counts.  Shards are never removed;
+     * "reset" methods zero each shard under its lock.
+     *
+     * Unlike Striped64, there is no base field: the table starts
+     * with one shard, and slots of expanded tables are populated
+     * lazily.
+     */
+
+    /**
+     * A shard, padded by subclasses annotated with @Contended.
+     */
+    abstract static class Shard {
+        /** Sequence lock; odd while locked. */
+        volatile long seq;
+
+        final boolean tryLock(long s) {
+            return (s & 1L) == 0L && SEQ.weakCompareAndSetAcquire(this, s, s + 1L);
+        }
+
+        final void lock() {
+            for (long s;;) {
+                if (tryLock(s = seq))
+                    return;
+                Thread.onSpinWait();
+            }
+        }
+
+        final void unlock() {
+            SEQ.setRelease(this, (long)SEQ.get(this) + 1L);
+        }
+
+        private static final VarHandle SEQ;
+        static {
+            try {
+                MethodHandles.Lookup l = MethodHandles.lookup();
+                SEQ = l.findVarHandle(Shard.class, "seq", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+
+    /** Number of optimistic read attempts before locking a shard. */
+    static final int OPTIMISTIC_READS = 4;
+
+    /**
+     * Table of shards; non-null, with a power of two size and a
+     * non-null first element.
+     */
+    volatile Shard[] shards;
+
+    /**
+     * Spinlock (locked via CAS) used when resizing and/or creating Shards.
+     */
+    volatile int shardsBusy;
+
+    StripedRecorder(S first) {
+        shards = new Shard[] { first };
+    }
+
+    /**
+     * Returns a new empty shard.
+     */
+    abstract S newShard();
+
+    /**
+     * Returns the shard for the current thread, locked.  Callers
+     * update it and then call unlock.
+     */
+    @SuppressWarnings("unchecked")
+    final S lockShard() {
+        Shard[] ss = shards;
+        int h = Striped64.getProbe();
+        Shard s = ss[(ss.length - 1) & h];
+        if (s == null || !s.tryLock(s.seq))
+            s = lockShardSlow(h);
+        return (S)s;
+    }
+
+    /**
+     * Handles contention and table growth, as in
+     * Striped64.longAccumulate.
+     */
+    private Shard lockShardSlow(int h) {
+        if (h == 0) {
+            ThreadLocalRandom.current(); // force initialization
+            h = Striped64.getProbe();
+        }
+        for (int spins = 0, collide = 0;;) {
+            Shard[] ss = shards;
+            int n = ss.length;
+            Shard s = ss[(n - 1) & h];
+            if (s == null) {
+                if (shardsBusy == 0) {
+                    Shard r = newShard();
+                    if (shardsBusy == 0 && SHARDSBUSY.compareAndSet(this, 0, 1)) {
+                        try {
+                            Shard[] rs; int j;
+                            if ((rs = shards)[j = (rs.length - 1) & h] == null)
+                                rs[j] = r;
+                        } finally {
+                            shardsBusy = 0;
+                        }
+                        continue;
+                    }
+                }
+                collide = 0;
+            }
+            else if (s.tryLock(s.seq))
+                return s;
+            else if (n >= Striped64.NCPU || shards != ss) {
+                collide = 0;
+                if ((++spins & 63) == 0)
+                    Thread.yield();         // holder may be descheduled
+                else
+                    Thread.onSpinWait();
+            }
+            else if (++collide > 1 && shardsBusy == 0 &&
+                     SHARDSBUSY.compareAndSet(this, 0, 1)) {
+                try {
+                    if (shards == ss)   // Expand table unless stale
+                        shards = Arrays.copyOf(ss, n << 1);
+                } finally {
+                    shardsBusy = 0;
+                }
+                collide = 0;
+                continue;
+            }
+            h = Striped64.advanceProbe(h);
+        }
+    }
+
+    /**
+     * Returns a new shard holding the combined contents of all
+     * shards, each copied atomically, and resets them if reset is
+     * true.
+     */
+    @SuppressWarnings("unchecked")
+    final S readAll(boolean reset) {
+        S acc = newShard(), tmp = null;
+        for (Shard x : shards) {
+            if (x == null)
+                continue;
+            S s = (S)x;
+            if (!reset) {
+                if (tmp == null)
+                    tmp = newShard();
+                boolean valid = false;
+                for (int i = 0; i < OPTIMISTIC_READS; ++i) {
+                    long q = s.seq;
+                    if ((q & 1L) == 0L) {
+                        copy(s, tmp);
+                        VarHandle.acquireFence();
+                        if (s.seq == q) {
+                            valid = true;
+                            break;
+                        }
+                    }
+                    Thread.onSpinWait();
+                }
+                if (valid) {
+                    merge(acc, tmp);
+                    continue;
+                }
+            }
+            s.lock();
+            try {
+                merge(acc, s);
+                if (reset)
+                    clear(s);
+            } finally {
+                s.unlock();
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * Copies the fields of shard s, possibly racing with a writer,
+     * into dst; the copy is used only if validated.
+     */
+    abstract void copy(S s, S dst);
+
+    /**
+     * Adds the contents of shard s into acc.
+     */
+    abstract void merge(S acc, S s);
+
+    /**
+     * Zeroes shard s, which is locked by the caller.
+     */
+    abstract void clear(S s);
+
+    private static final VarHandle SHARDSBUSY;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            SHARDSBUSY = l.findVarHandle(StripedRecorder.class, "shardsBusy",
+                                         int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,524 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent.locks;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ReadWriteLock} optimized for read-mostly data, in which
+ * read locking does not update any memory location shared by all
+ * readers.  Unlike {@link ReentrantReadWriteLock} and {@link
+ * StampedLock}, whose readers all update a single state word, each
+ * reader records its hold in one of a set of padded counters
+ * ("stripes") selected by its thread, so readers running on
+ * different processors rarely contend.  In exchange, acquiring the
+ * write lock is more expensive: after excluding other writers and
+ * blocking new readers, a writer waits for every stripe to drain.
+ *
+ * <p>The lock supports three modes:
+ *
+ * <ul>
+ *
+ *  <li><b>Reading.</b> Method {@link #readLock()} returns a {@link
+ *   Lock} whose {@code lock} method acquires the lock in shared
+ *   mode.  Readers wait while a writer holds, or is waiting to
+ *   acquire, the write lock, so writers are not starved.
+ *
+ *  <li><b>Writing.</b> Method {@link #writeLock()} returns a {@link
+ *   Lock} whose {@code lock} method acquires the lock in exclusive
+ *   mode, waiting until all readers have released it.
+ *
+ *  <li><b>Optimistic Reading.</b> As with {@link
+ *   StampedLock#tryOptimisticRead()}, method {@link
+ *   #tryOptimisticRead} returns a non-zero stamp if the write lock
+ *   is not held, and {@link #validate} returns true if the write lock
+ *   has not been acquired since obtaining the stamp.  Optimistic
+ *   reads write no memory at all, and are subject to the same usage
+ *   restrictions as those of {@code StampedLock}.
+ *
+ * </ul>
+ *
+ * <p>Like {@code StampedLock}, this lock is not reentrant: a thread
+ * holding the read lock must not acquire it again, because a waiting
+ * writer would then block the second acquisition while waiting for
+ * the first to be released.  Read and write locks must be released
+ * by the thread that acquired them.  The locks do not support {@link
+ * Condition}s; method {@link Lock#newCondition()} throws {@code
+ * UnsupportedOperationException}.  The lock has no ordering policy
+ * among readers or among writers, but new readers do not barge ahead
+ * of a writer waiting for the read lock to drain.
+ *
+ * <p><b>Sample usage.</b> For a routing table that is consulted far
+ * more often than updated:
+ *
+ * <pre> {@code
+ * class Routes {
+ *   private final BiasedReadWriteLock lock = new BiasedReadWriteLock();
+ *   private final Map<String, Route> routes = new HashMap<>();
+ *
+ *   Route lookup(String key) {
+ *     Lock r = lock.readLock();
+ *     r.lock();
+ *     try {
+ *       return routes.get(key);
+ *     } finally {
+ *       r.unlock();
+ *     }
+ *   }
+ *
+ *   void update(String key, Route route) {
+ *     Lock w = lock.writeLock();
+ *     w.lock();
+ *     try {
+ *       routes.put(key, route);
+ *     } finally {
+ *       w.unlock();
+ *     }
+ *   }
+ * }}</pre>
+ *
+ * @since 18
+ */
+public class BiasedReadWriteLock implements ReadWriteLock {
+    /*
+     * Readers announce themselves by incrementing their stripe and
+     * then checking the writer bit of the state word; a writer sets
+     * the writer bit and then waits for every stripe to reach zero.
+     * Since both the increment and the check (and the set and the
+     * scan) are volatile, either the reader sees the writer bit, or
+     * the writer sees the reader's hold (Dekker-style).  A reader
+     * seeing the writer bit backs out its increment and waits.
+     *
+     * Writers exclude one another, and waiting readers block, using
+     * an internal StampedLock: writers hold its write lock for the
+     * entire write section, and readers finding the writer bit set
+     * wait by briefly acquiring its read lock before retrying.
+     *
+     * The state word doubles as a version for optimistic reads: it
+     * is incremented both when setting and clearing the writer bit
+     * (WBIT is its low bit), so it is odd while a writer holds or is
+     * acquiring the lock, and changes with every write.  It starts
+     * at a non-zero ORIGIN so that a valid stamp is never zero.
+     * (Wrapping around to zero would take 2^62 write locks.)
+     *
+     * Each stripe is placed on its own pair of cache lines in a long
+     * array.  Threads select stripes by a hash of their id, which is
+     * stable, so a release decrements the stripe incremented by the
+     * matching acquire.  Stripes are never negative, so a writer can
+     * check them one at a time: once it has seen a stripe at zero,
+     * any later increment is transient.
+     */
+
+    /** The number of CPUS, to size stripes */
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    /** The maximum number of stripes */
+    private static final int MAX_STRIPES = 1 << 10;
+
+    /** Array elements between stripes, padding each to 128 bytes */
+    private static final int PAD = 16;
+
+    /** Writer bit of the state word */
+    private static final long WBIT = 1L;
+
+    /** Initial value for state; never zero, so stamps are non-zero */
+    private static final long ORIGIN = WBIT << 1;
+
+    /** Spins before yielding while waiting for readers to drain */
+    private static final int SPINS = 1 << 7;
+
+    /** Reader counts, each at a multiple of PAD */
+    private final long[] stripes;
+
+    /** Mask for stripe indices, one less than the number of stripes */
+    private final int mask;
+
+    /** Version and writer bit */
+    private volatile long state;
+
+    /** Queues and blocks writers, and readers while a writer is active */
+    private final StampedLock sync;
+
+    // views
+    private final ReadLockView readLockView;
+    private final WriteLockView writeLockView;
+
+    /**
+     * Creates a new lock, initially in unlocked state, with a number
+     * of reader stripes based on the number of available processors.
+     */
+    public BiasedReadWriteLock() {
+        this(NCPU << 1);
+    }
+
+    /**
+     * Creates a new lock, initially in unlocked state, with at least
+     * the given number of reader stripes (up to an implementation
+     * limit).  More stripes reduce contention among readers at the
+     * expense of writers, which must check every stripe.
+     *
+     * @param stripes the minimum number of reader stripes
+     * @throws IllegalArgumentException if stripes is not positive
+     */
+    public BiasedReadWriteLock(int stripes) {
+        if (stripes <= 0)
+            throw new IllegalArgumentException();
+        int n = 1;
+        while (n < stripes && n < MAX_STRIPES)
+            n <<= 1;
+        this.stripes = new long[(n + 1) * PAD]; // pad both ends
+        this.mask = n - 1;
+        this.state = ORIGIN;
+        this.sync = new StampedLock();
+        this.readLockView = new ReadLockView();
+        this.writeLockView = new WriteLockView();
+    }
+
+    /**
+     * Returns the index in stripes of the current thread's stripe.
+     */
+    private int stripe() {
+        long h = Thread.currentThread().getId() * 0x9e3779b97f4a7c15L;
+        return ((((int)(h >>> 32)) & mask) + 1) * PAD;
+    }
+
+    /* ---------------- Reading -------------- */
+
+    /**
+     * Tries to announce a read hold on stripe i.
+     */
+    private boolean tryAcquireShared(int i) {
+        STRIPE.getAndAdd(stripes, i, 1L);
+        if ((state & WBIT) == 0L)
+            return true;
+        STRIPE.getAndAdd(stripes, i, -1L);
+        return false;
+    }
+
+    /**
+     * Acquires the read lock, blocking while a writer is active.
+     */
+    private void acquireRead() {
+        int i = stripe();
+        while (!tryAcquireShared(i))
+            sync.unlockRead(sync.readLock());
+    }
+
+    /**
+     * Interruptible version of acquireRead.
+     */
+    private void acquireReadInterruptibly() throws InterruptedException {
+        int i = stripe();
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        while (!tryAcquireShared(i))
+            sync.unlockRead(sync.readLockInterruptibly());
+    }
+
+    /**
+     * Acquires the read lock if no writer is active.
+     */
+    private boolean tryAcquireRead() {
+        return tryAcquireShared(stripe());
+    }
+
+    /**
+     * Timed version of acquireRead.
+     */
+    private boolean tryAcquireRead(long time, TimeUnit unit)
+        throws InterruptedException {
+        int i = stripe();
+        long nanos = unit.toNanos(time);
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        if (tryAcquireShared(i))
+            return true;
+        long deadline = System.nanoTime() + nanos, s;
+        while (nanos > 0L &&
+               (s = sync.tryReadLock(nanos, TimeUnit.NANOSECONDS)) != 0L) {
+            sync.unlockRead(s);
+            if (tryAcquireShared(i))
+                return true;
+            nanos = deadline - System.nanoTime();
+        }
+        return false;
+    }
+
+    /**
+     * Releases a read hold of the current thread.
+     *
+     * @throws IllegalMonitorStateException if the current thread's
+     *         stripe records no read hold
+     */
+    private void releaseRead() {
+        int i = stripe();
+        long c;
+        while ((c = (long)STRIPE.getVolatile(stripes, i)) > 0L) {
+            if (STRIPE.weakCompareAndSet(stripes, i, c, c - 1L))
+                return;
+        }
+        throw new IllegalMonitorStateException();
+    }
+
+    /* ---------------- Writing -------------- */
+
+    /**
+     * Sets the writer bit, already holding sync's write lock.
+     */
+    private void announceWrite() {
+        state = state + WBIT;
+    }
+
+    /**
+     * Clears the writer bit, and releases sync's write lock.
+     *
+     * @throws IllegalMonitorStateException if not write-locked
+     */
+    private void releaseWrite() {
+        long s;
+        if (((s = state) & WBIT) == 0L)
+            throw new IllegalMonitorStateException();
+        state = s + WBIT;
+        sync.tryUnlockWrite();
+    }
+
+    /**
+     * Waits until every stripe has drained, or until the deadline
+     * (if timed) passes or (if interruptible) the thread is
+     * interrupted.
+     *
+     * @return true if drained
+     */
+    private boolean drainReaders(boolean interruptible, boolean timed,
+                                 long deadline) {
+        long[] a = stripes;
+        for (int i = PAD, end = (mask + 2) * PAD; i < end; i += PAD) {
+            for (int spins = 0; (long)STRIPE.getVolatile(a, i) != 0L; ) {
+                if (++spins < SPINS)
+                    Thread.onSpinWait();
+                else {
+                    if ((interruptible && Thread.currentThread().isInterrupted()) ||
+                        (timed && deadline - System.nanoTime() <= 0L))
+                        return false;
+                    spins = 0;
+                    Thread.yield();
+                }
+            }
+        }
+        return true;
+    }
+
+    private void acquireWrite() {
+        sync.writeLock();
+        announceWrite();
+        drainReaders(false, false, 0L);
+    }
+
+    private void acquireWriteInterruptibly() throws InterruptedException {
+        sync.writeLockInterruptibly();
+        announceWrite();
+        if (!drainReaders(true, false, 0L)) {
+            releaseWrite();
+            Thread.interrupted();
+            throw new InterruptedException();
+        }
+    }
+
+    private boolean tryAcquireWrite() {
+        if (sync.tryWriteLock() == 0L)
+            return false;
+        announceWrite();
+        long[] a = stripes;
+        for (int i = PAD, end = (mask + 2) * PAD; i < end; i += PAD) {
+            if ((long)STRIPE.getVolatile(a, i) != 0L) {
+                releaseWrite();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean tryAcquireWrite(long time, TimeUnit unit)
+        throws InterruptedException {
+        long nanos = unit.toNanos(time);
+        long deadline = System.nanoTime() + nanos;
+        if (sync.tryWriteLock(nanos, TimeUnit.NANOSECONDS) == 0L)
+            return false;
+        announceWrite();
+        if (!drainReaders(true, true, deadline)) {
+            releaseWrite();
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            return false;
+        }
+        return true;
+    }
+
+    /* ---------------- Optimistic reading -------------- */
+
+    /**
+     * Returns a stamp that can later be validated, or zero if
+     * exclusively locked.
+     *
+     * @return a valid optimistic read stamp, or zero if exclusively locked
+     */
+    public long tryOptimisticRead() {
+        long s;
+        return ((s = state) & WBIT) == 0L ? s : 0L;
+    }
+
+    /**
+     * Returns true if the lock has not been exclusively acquired
+     * since issuance of the given stamp.  Always returns false if the
+     * stamp is zero.  Always returns true if the stamp was obtained
+     * by {@link #tryOptimisticRead} and the current thread has held
+     * the read lock since then.
+     *
+     * <p>As with {@link StampedLock#validate}, this method has memory
+     * ordering effects equivalent to a read lock release, so reads
+     * made since obtaining the stamp that are followed by a
+     * successful validation are consistent.
+     *
+     * @param stamp a stamp
+     * @return {@code true} if the lock has not been exclusively acquired
+     * since issuance of the given stamp; else false
+     */
+    public boolean validate(long stamp) {
+        VarHandle.acquireFence();
+        return stamp != 0L && stamp == state;
+    }
+
+    /* ---------------- Queries -------------- */
+
+    /**
+     * Returns {@code true} if the lock is currently held exclusively,
+     * or a writer is waiting for readers to release it.
+     *
+     * @return {@code true} if the lock is currently held exclusively
+     */
+    public boolean isWriteLocked() {
+        return (state & WBIT) != 0L;
+    }
+
+    /**
+     * Returns {@code true} if the lock is currently held non-exclusively.
+     *
+     * @return {@code true} if the lock is currently held non-exclusively
+     */
+    public boolean isReadLocked() {
+        return getReadLockCount() != 0;
+    }
+
+    /**
+     * Returns an estimate of the number of read locks held for this
+     * lock.  The value is computed by reading each reader stripe, so
+     * is not an atomic snapshot in the presence of concurrent
+     * readers, and may transiently include readers that are backing
+     * out of acquisition while a writer is active.
+     *
+     * @return the number of read locks held
+     */
+    public int getReadLockCount() {
+        long[] a = stripes;
+        long sum = 0L;
+        for (int i = PAD, end = (mask + 2) * PAD; i < end; i += PAD)
+            sum += (long)STRIPE.getVolatile(a, i);
+        return (int)Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a string identifying this lock, as well as its lock
+     * state.  The state, in brackets, includes the String {@code
+     * "Unlocked"} or the String {@code "Write-locked"} or the String
+     * {@code "Read-locks:"} followed by the estimated number of
+     * read locks held.
+     *
+     * @return a string identifying this lock, as well as its lock state
+     */
+    public String toString() {
+        int r;
+        return super.toString() +
+            (isWriteLocked() ? "[Write-locked]" :
+             (r = getReadLockCount()) == 0 ? "[Unlocked]" :
+             "[Read-locks:" + r + "]");
+    }
+
+    /* ---------------- Views -------------- */
+
+    /**
+     * Returns the lock used for reading.  Its {@link Lock#unlock}
+     * method throws {@code IllegalMonitorStateException} if the
+     * current thread does not hold a read lock, although, as threads
+     * may share a reader stripe, this cannot always be detected.
+     *
+     * @return the lock used for reading
+     */
+    public Lock readLock() { return readLockView; }
+
+    /**
+     * Returns the lock used for writing.
+     *
+     * @return the lock used for writing
+     */
+    public Lock writeLock() { return writeLockView; }
+
+    final class ReadLockView implements Lock {
+        public void lock() { acquireRead(); }
+        public void lockInterruptibly() throws InterruptedException {
+            acquireReadInterruptibly();
+        }
+        public boolean tryLock() { return tryAcquireRead(); }
+        public boolean tryLock(long time, TimeUnit unit)
+            throws InterruptedException {
+            return tryAcquireRead(time, unit);
+        }
+        public void unlock() { releaseRead(); }
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    final class WriteLockView implements Lock {
+        public void lock() { acquireWrite(); }
+        public void lockInterruptibly() throws InterruptedException {
+            acquireWriteInterruptibly();
+        }
+        public boolean tryLock() { return tryAcquireWrite(); }
+        public boolean tryLock(long time, TimeUnit unit)
+            throws InterruptedException {
+            return tryAcquireWrite(time, unit);
+        }
+        public void unlock() { releaseWrite(); }
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    // VarHandle mechanics
+    private static final VarHandle STRIPE
+        = MethodHandles.arrayElementVarHandle(long[].class);
+}
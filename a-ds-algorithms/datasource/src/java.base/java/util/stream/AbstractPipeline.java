@@ -26,6 +26,9 @@ package java.util.stream;
 
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
@@ -148,6 +151,26 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
      */
     private boolean parallel;
 
+    /**
+     * The pool in which a parallel terminal operation is evaluated, or null
+     * if it is evaluated in the calling thread, forking tasks into the common
+     * pool; only valid for the source stage.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * The metrics recording terminal operations evaluated in {@code pool},
+     * or null; only valid for the source stage.
+     */
+    private PipelineMetrics metrics;
+
+    /**
+     * The run of fusible operations ending at this stage, or null until
+     * first computed by {@link #wrapSink}; may be computed more than once
+     * by racing threads, since runs are immutable.
+     */
+    private FusedSinks.Run fusedRun;
+
     /**
      * Constructor for the head of a stream pipeline.
      *
@@ -229,6 +252,9 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
             throw new IllegalStateException(MSG_STREAM_LINKED);
         linkedOrConsumed = true;
 
+        if (isParallel() && sourceStage.pool != null)
+            return evaluateInPool(
+                () -> terminalOp.evaluateParallel(this, sourceSpliterator(terminalOp.getOpFlags())));
         return isParallel()
                ? terminalOp.evaluateParallel(this, sourceSpliterator(terminalOp.getOpFlags()))
                : terminalOp.evaluateSequential(this, sourceSpliterator(terminalOp.getOpFlags()));
@@ -240,12 +266,22 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
      * @param generator the array generator to be used to create array instances
      * @return a flat array-backed Node that holds the collected output elements
      */
-    @SuppressWarnings("unchecked")
     final Node<E_OUT> evaluateToArrayNode(IntFunction<E_OUT[]> generator) {
         if (linkedOrConsumed)
             throw new IllegalStateException(MSG_STREAM_LINKED);
         linkedOrConsumed = true;
 
+        if (isParallel() && sourceStage.pool != null)
+            return evaluateInPool(() -> doEvaluateToArrayNode(generator));
+        return doEvaluateToArrayNode(generator);
+    }
+
+    /**
+     * Collect the elements output from the pipeline stage, after the pipeline
+     * has been marked as consumed.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E_OUT> doEvaluateToArrayNode(IntFunction<E_OUT[]> generator) {
         // If the last intermediate operation is stateful then
         // evaluate directly to avoid an extra collection step
         if (isParallel() && previousStage != null && opIsStateful()) {
@@ -261,6 +297,49 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
         }
     }
 
+    /**
+     * Runs the given evaluation of a parallel terminal operation in the pool
+     * of the source stage, in which its tasks are then forked, and records it
+     * in the metrics of the source stage, if any.  The evaluation runs in the
+     * calling thread if it is a worker of the pool.
+     */
+    private <R> R evaluateInPool(Supplier<R> evaluation) {
+        ForkJoinPool p = sourceStage.pool;
+        PoolEvaluation<R> task = new PoolEvaluation<>(evaluation, sourceStage.metrics);
+        return (ForkJoinTask.getPool() == p) ? task.invoke() : p.invoke(task);
+    }
+
+    /**
+     * A task evaluating a terminal operation in a given pool.
+     */
+    @SuppressWarnings("serial")
+    private static final class PoolEvaluation<R> extends RecursiveTask<R> {
+        private final Supplier<R> evaluation;
+        private final PipelineMetrics metrics;
+        private final long submitted;
+
+        PoolEvaluation(Supplier<R> evaluation, PipelineMetrics metrics) {
+            this.evaluation = evaluation;
+            this.metrics = metrics;
+            this.submitted = (metrics == null) ? 0L : System.nanoTime();
+        }
+
+        @Override
+        protected R compute() {
+            if (metrics == null)
+                return evaluation.get();
+            long started = System.nanoTime();
+            boolean failed = true;
+            try {
+                R result = evaluation.get();
+                failed = false;
+                return result;
+            } finally {
+                metrics.record(started - submitted, System.nanoTime() - started, failed);
+            }
+        }
+    }
+
     /**
      * Gets the source stage spliterator if this pipeline stage is the source
      * stage.  The pipeline is consumed after this method is called and
@@ -309,6 +388,23 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     @SuppressWarnings("unchecked")
     public final S parallel() {
         sourceStage.parallel = true;
+        sourceStage.pool = null;
+        sourceStage.metrics = null;
+        return (S) this;
+    }
+
+    @Override
+    public final S parallel(ForkJoinPool pool) {
+        return parallel(pool, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final S parallel(ForkJoinPool pool, PipelineMetrics metrics) {
+        Objects.requireNonNull(pool);
+        sourceStage.parallel = true;
+        sourceStage.pool = pool;
+        sourceStage.metrics = metrics;
         return (S) this;
     }
 
@@ -534,6 +630,17 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
         return combinedFlags;
     }
 
+    /**
+     * Returns true if the elements of the spliterator from which this stage
+     * is evaluated pass to its terminal operation unchanged, that is, if there
+     * are no operations between the source, or the last stateful operation
+     * evaluated in parallel, and this stage.  Only valid once the spliterator
+     * has been obtained.
+     */
+    final boolean isPassThrough() {
+        return depth == 0;
+    }
+
     final boolean isOrdered() {
         return StreamOpFlag.ORDERED.isKnown(combinedFlags);
     }
@@ -543,12 +650,65 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     final <P_IN> Sink<P_IN> wrapSink(Sink<E_OUT> sink) {
         Objects.requireNonNull(sink);
 
-        for ( @SuppressWarnings("rawtypes") AbstractPipeline p=AbstractPipeline.this; p.depth > 0; p=p.previousStage) {
-            sink = p.opWrapSink(p.previousStage.combinedFlags, sink);
+        @SuppressWarnings("rawtypes") AbstractPipeline p = AbstractPipeline.this;
+        while (p.depth > 0) {
+            FusedSinks.Run run;
+            @SuppressWarnings("rawtypes") Sink fused;
+            if (FusedSinks.ENABLED && (run = p.fusedRun()) != FusedSinks.Run.NONE
+                && (fused = FusedSinks.fuse(run, sink)) != null) {
+                sink = fused;
+                for (int n = run.length(); n > 0; --n)
+                    p = p.previousStage;
+            }
+            else {
+                sink = p.opWrapSink(p.previousStage.combinedFlags, sink);
+                p = p.previousStage;
+            }
         }
         return (Sink<P_IN>) sink;
     }
 
+    /**
+     * Returns the run of fusible operations ending at this stage, or
+     * {@code FusedSinks.Run.NONE}, computing it on first use.  Stages are
+     * only ever linked downstream, so the run does not change.
+     */
+    private FusedSinks.Run fusedRun() {
+        FusedSinks.Run run = fusedRun;
+        if (run == null) {
+            FusedSinks.Op[] ops = fusibleOps();
+            fusedRun = run = (ops == null) ? FusedSinks.Run.NONE : FusedSinks.run(ops);
+        }
+        return run;
+    }
+
+    /**
+     * Returns the descriptions of the run of fusible operations of the
+     * same shape ending at this stage, upstream first, or {@code null} if
+     * the run is too short to be worth fusing.
+     */
+    private FusedSinks.Op[] fusibleOps() {
+        FusedSinks.Op op = opFusion();
+        if (op == null)
+            return null;
+        StreamShape shape = op.shape();
+        int n = 1;
+        for (AbstractPipeline<?, ?, ?> p = previousStage;
+             n < FusedSinks.MAX_OPS && p.depth > 0 && (op = p.opFusion()) != null
+             && op.shape() == shape;
+             p = p.previousStage)
+            ++n;
+        if (n < FusedSinks.MIN_OPS)
+            return null;
+        FusedSinks.Op[] ops = new FusedSinks.Op[n];
+        AbstractPipeline<?, ?, ?> p = this;
+        while (n > 0) {
+            ops[--n] = p.opFusion();
+            p = p.previousStage;
+        }
+        return ops;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     final <P_IN> Spliterator<E_OUT> wrapSpliterator(Spliterator<P_IN> sourceSpliterator) {
@@ -688,6 +848,22 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
      */
     abstract Sink<E_IN> opWrapSink(int flags, Sink<E_OUT> sink);
 
+    /**
+     * Describes this operation, if it is a stateless map, filter or peek
+     * of primitive elements, so that {@link #wrapSink} may fuse it with
+     * adjacent such operations into a single sink.  Operations that
+     * describe themselves must not depend on the flags passed to
+     * {@link #opWrapSink}.
+     *
+     * @implSpec The default implementation returns {@code null}.
+     *
+     * @return a description of this operation, or {@code null} if it
+     *         cannot be fused
+     */
+    FusedSinks.Op opFusion() {
+        return null;
+    }
+
     /**
      * Performs a parallel evaluation of the operation using the specified
      * {@code PipelineHelper} which describes the upstream intermediate
@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.stream;
+
+import java.util.Spliterator;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+import jdk.internal.access.JavaUtilSpliteratorsAccess;
+import jdk.internal.access.SharedSecrets;
+
+/**
+ * Factory for terminal reductions of {@code int}, {@code long} and
+ * {@code double} streams, such as {@code sum} and {@code max}, that
+ * operate directly on the source array when the stream has no
+ * intermediate operations and its spliterator traverses a range of an
+ * array, such as those of {@code Arrays.stream(int[])} and of the
+ * output of a stateful operation evaluated in parallel.
+ *
+ * <p>Each leaf range is then reduced by a simple counted loop over the
+ * array, rather than by pushing each element through a {@code Sink}
+ * and the reducing function, so that the JIT compiler may unroll and
+ * vectorize it.  In parallel, the range is split into fork-join tasks
+ * as for other terminal operations.  Otherwise, the reduction falls
+ * back to a given terminal operation computing the same result.
+ *
+ * @since 18
+ */
+final class ArrayReduceOps {
+
+    private ArrayReduceOps() { }
+
+    /** Kinds of reductions. */
+    static final int SUM = 0, MIN = 1, MAX = 2, STATS = 3;
+
+    /** Minimum number of elements reduced by one task. */
+    private static final int MIN_LEAF_SIZE = 1 << 12;
+
+    private static final JavaUtilSpliteratorsAccess SPLITERATORS =
+        SharedSecrets.getJavaUtilSpliteratorsAccess();
+
+    /**
+     * Partial result of a reduction of {@code int} or {@code long}
+     * elements.  Only the fields computed by the kind of reduction are
+     * valid, except for the count, which always is.  A {@code SUM} of
+     * {@code int} elements holds the sum of the elements cast to
+     * {@code int}, sign-extended; a {@code STATS} holds their exact sum.
+     */
+    static final class LongState {
+        long count;
+        long sum;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+
+        void combine(LongState other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    /**
+     * Partial result of a reduction of {@code double} elements.  Only the
+     * fields computed by the kind of reduction are valid, except for the
+     * count, which always is.  The summation is as for
+     * {@link Collectors#sumWithCompensation}, with the simple sum at index
+     * 2, so that {@link Collectors#computeFinalSum} applies to it.
+     */
+    static final class DoubleState {
+        long count;
+        final double[] summation = new double[3];
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        void combine(DoubleState other) {
+            count += other.count;
+            Collectors.sumWithCompensation(summation, other.summation[0]);
+            // Subtract compensation bits
+            Collectors.sumWithCompensation(summation, -other.summation[1]);
+            summation[2] += other.summation[2];
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    /**
+     * Constructs a {@code TerminalOp} that performs the given kind of
+     * reduction of {@code int} elements, directly on the source array if
+     * possible, and otherwise with the given operation.
+     *
+     * @param <R> the type of the result
+     * @param kind the kind of reduction
+     * @param finisher a function computing the result from the final state
+     * @param fallback an operation computing the same result
+     * @return a {@code TerminalOp} implementing the reduction
+     */
+    static <R> TerminalOp<Integer, R>
+    makeInt(int kind, Function<LongState, R> finisher, TerminalOp<Integer, R> fallback) {
+        return new ArrayReduceOp<Integer, LongState, R>(kind, finisher, fallback) {
+            @Override
+            LongState reduce(Object array, int from, int to) {
+                int[] a = (int[]) array;
+                LongState s = new LongState();
+                s.count = to - from;
+                switch (kind) {
+                    case SUM -> {
+                        int sum = 0;
+                        for (int i = from; i < to; ++i)
+                            sum += a[i];
+                        s.sum = sum;
+                    }
+                    case MIN -> {
+                        int min = Integer.MAX_VALUE;
+                        for (int i = from; i < to; ++i)
+                            min = Math.min(min, a[i]);
+                        s.min = min;
+                    }
+                    case MAX -> {
+                        int max = Integer.MIN_VALUE;
+                        for (int i = from; i < to; ++i)
+                            max = Math.max(max, a[i]);
+                        s.max = max;
+                    }
+                    default -> {
+                        long sum = 0L;
+                        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+                        for (int i = from; i < to; ++i) {
+                            int v = a[i];
+                            sum += v;
+                            min = Math.min(min, v);
+                            max = Math.max(max, v);
+                        }
+                        s.sum = sum;
+                        s.min = min;
+                        s.max = max;
+                    }
+                }
+                return s;
+            }
+
+            @Override
+            void combine(LongState left, LongState right) {
+                left.combine(right);
+            }
+        };
+    }
+
+    /**
+     * Constructs a {@code TerminalOp} that performs the given kind of
+     * reduction of {@code long} elements, directly on the source array if
+     * possible, and otherwise with the given operation.
+     *
+     * @param <R> the type of the result
+     * @param kind the kind of reduction
+     * @param finisher a function computing the result from the final state
+     * @param fallback an operation computing the same result
+     * @return a {@code TerminalOp} implementing the reduction
+     */
+    static <R> TerminalOp<Long, R>
+    makeLong(int kind, Function<LongState, R> finisher, TerminalOp<Long, R> fallback) {
+        return new ArrayReduceOp<Long, LongState, R>(kind, finisher, fallback) {
+            @Override
+            LongState reduce(Object array, int from, int to) {
+                long[] a = (long[]) array;
+                LongState s = new LongState();
+                s.count = to - from;
+                switch (kind) {
+                    case SUM -> {
+                        long sum = 0L;
+                        for (int i = from; i < to; ++i)
+                            sum += a[i];
+                        s.sum = sum;
+                    }
+                    case MIN -> {
+                        long min = Long.MAX_VALUE;
+                        for (int i = from; i < to; ++i)
+                            min = Math.min(min, a[i]);
+                        s.min = min;
+                    }
+                    case MAX -> {
+                        long max = Long.MIN_VALUE;
+                        for (int i = from; i < to; ++i)
+                            max = Math.max(max, a[i]);
+                        s.max = max;
+                    }
+                    default -> {
+                        long sum = 0L, min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+                        for (int i = from; i < to; ++i) {
+                            long v = a[i];
+                            sum += v;
+                            min = Math.min(min, v);
+                            max = Math.max(max, v);
+                        }
+                        s.sum = sum;
+                        s.min = min;
+                        s.max = max;
+                    }
+                }
+                return s;
+            }
+
+            @Override
+            void combine(LongState left, LongState right) {
+                left.combine(right);
+            }
+        };
+    }
+
+    /**
+     * Constructs a {@code TerminalOp} that performs the given kind of
+     * reduction of {@code double} elements, directly on the source array
+     * if possible, and otherwise with the given operation.  A
+     * {@code STATS} reduction computes both the sum and the extrema.
+     *
+     * @param <R> the type of the result
+     * @param kind the kind of reduction
+     * @param finisher a function computing the result from the final state
+     * @param fallback an operation computing the same result
+     * @return a {@code TerminalOp} implementing the reduction
+     */
+    static <R> TerminalOp<Double, R>
+    makeDouble(int kind, Function<DoubleState, R> finisher, TerminalOp<Double, R> fallback) {
+        return new ArrayReduceOp<Double, DoubleState, R>(kind, finisher, fallback) {
+            @Override
+            DoubleState reduce(Object array, int from, int to) {
+                double[] a = (double[]) array;
+                DoubleState s = new DoubleState();
+                s.count = to - from;
+                if (kind == SUM || kind == STATS) {
+                    // Inlined Collectors.sumWithCompensation
+                    double high = 0.0, low = 0.0, simple = 0.0;
+                    for (int i = from; i < to; ++i) {
+                        double v = a[i];
+                        double tmp = v - low;
+                        double velvel = high + tmp;
+                        low = (velvel - high) - tmp;
+                        high = velvel;
+                        simple += v;
+                    }
+                    s.summation[0] = high;
+                    s.summation[1] = low;
+                    s.summation[2] = simple;
+                }
+                if (kind == MIN || kind == STATS) {
+                    double min = Double.POSITIVE_INFINITY;
+                    for (int i = from; i < to; ++i)
+                        min = Math.min(min, a[i]);
+                    s.min = min;
+                }
+                if (kind == MAX || kind == STATS) {
+                    double max = Double.NEGATIVE_INFINITY;
+                    for (int i = from; i < to; ++i)
+                        max = Math.max(max, a[i]);
+                    s.max = max;
+                }
+                return s;
+            }
+
+            @Override
+            void combine(DoubleState left, DoubleState right) {
+                left.combine(right);
+            }
+        };
+    }
+
+    /**
+     * A {@code TerminalOp} reducing a range of an array, if the pipeline
+     * has no operations to apply to the elements of its spliterator and
+     * that traverses such a range.
+     *
+     * @param <T> the type of the input elements
+     * @param <S> the type of the partial results
+     * @param <R> the type of the result
+     */
+    private abstract static class ArrayReduceOp<T, S, R> implements TerminalOp<T, R> {
+        final int kind;
+        private final Function<S, R> finisher;
+        private final TerminalOp<T, R> fallback;
+
+        ArrayReduceOp(int kind, Function<S, R> finisher, TerminalOp<T, R> fallback) {
+            this.kind = kind;
+            this.finisher = finisher;
+            this.fallback = fallback;
+        }
+
+        /** Reduces the given non-empty range of the given array. */
+        abstract S reduce(Object array, int from, int to);
+
+        /** Combines the right partial result into the left one. */
+        abstract void combine(S left, S right);
+
+        @Override
+        public StreamShape inputShape() {
+            return fallback.inputShape();
+        }
+
+        @Override
+        public int getOpFlags() {
+            return fallback.getOpFlags();
+        }
+
+        @Override
+        public <P_IN> R evaluateSequential(PipelineHelper<T> helper,
+                                           Spliterator<P_IN> spliterator) {
+            int[] range = new int[2];
+            Object array = takeArrayRange(helper, spliterator, range);
+            return (array == null)
+                   ? fallback.evaluateSequential(helper, spliterator)
+                   : finisher.apply(reduce(array, range[0], range[1]));
+        }
+
+        @Override
+        public <P_IN> R evaluateParallel(PipelineHelper<T> helper,
+                                         Spliterator<P_IN> spliterator) {
+            int[] range = new int[2];
+            Object array = takeArrayRange(helper, spliterator, range);
+            if (array == null)
+                return fallback.evaluateParallel(helper, spliterator);
+            int leafSize = Math.max((range[1] - range[0]) / AbstractTask.getLeafTarget(),
+                                    MIN_LEAF_SIZE);
+            return finisher.apply(new ReduceTask<>(this, array, range[0], range[1], leafSize)
+                                  .invoke());
+        }
+
+        /**
+         * Claims the elements of the given spliterator, as with
+         * {@link JavaUtilSpliteratorsAccess#takeArrayRange}, if the pipeline
+         * passes them unchanged to the terminal operation.
+         */
+        private static Object takeArrayRange(PipelineHelper<?> helper,
+                                             Spliterator<?> spliterator, int[] range) {
+            return (helper instanceof AbstractPipeline<?, ?, ?> p && p.isPassThrough())
+                   ? SPLITERATORS.takeArrayRange(spliterator, range)
+                   : null;
+        }
+    }
+
+    /**
+     * A fork-join task reducing a range of an array, splitting it in
+     * halves down to the given leaf size.
+     */
+    @SuppressWarnings("serial")
+    private static final class ReduceTask<S> extends RecursiveTask<S> {
+        private final ArrayReduceOp<?, S, ?> op;
+        private final Object array;
+        private final int from, to, leafSize;
+
+        ReduceTask(ArrayReduceOp<?, S, ?> op, Object array, int from, int to, int leafSize) {
+            this.op = op;
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected S compute() {
+            if (to - from <= leafSize)
+                return op.reduce(array, from, to);
+            int mid = (from + to) >>> 1;
+            ReduceTask<S> right = new ReduceTask<>(op, array, mid, to, leafSize);
+            right.fork();
+            S left = new ReduceTask<>(op, array, from, mid, leafSize).compute();
+            op.combine(left, right.join());
+            return left;
+        }
+    }
+}
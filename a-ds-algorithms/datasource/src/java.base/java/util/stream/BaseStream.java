@@ -29,8 +29,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.Spliterator;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.IntConsumer;
 import java.util.function.Predicate;
 
@@ -124,6 +126,79 @@ public interface BaseStream<T, S extends BaseStream<T, S>>
      */
     S parallel();
 
+    /**
+     * Returns an equivalent stream that is parallel, and whose terminal
+     * operation, if evaluated in parallel, runs in the given pool rather
+     * than in the {@linkplain ForkJoinPool#commonPool() common pool}.
+     * The calling thread waits for the evaluation to complete, and the
+     * pipeline is split into tasks in proportion to the
+     * {@linkplain ForkJoinPool#getParallelism() parallelism} of the pool,
+     * which thus bounds the number of threads evaluating it.  May
+     * return itself, either because the stream was already parallel, or
+     * because the underlying stream state was modified to be parallel.
+     * A later call of {@link #parallel()} or of this method replaces the
+     * pool.
+     *
+     * <p>The elements of a stream obtained from {@link #iterator()} or
+     * {@link #spliterator()} are not evaluated in the pool.
+     *
+     * <p>This is an <a href="package-summary.html#StreamOps">intermediate
+     * operation</a>.
+     *
+     * @apiNote
+     * This isolates workloads from each other: pipelines of a bulk job
+     * may be run in a pool of limited parallelism, so that they do not
+     * take all the threads of the common pool from latency-sensitive
+     * pipelines.
+     * <pre>{@code
+     *     ForkJoinPool reports = new ForkJoinPool(2);
+     *     long total = orders.stream()
+     *                        .parallel(reports)
+     *                        .mapToLong(Order::amount)
+     *                        .sum();
+     * }</pre>
+     *
+     * @implSpec
+     * The default implementation checks that the pool is not null, and
+     * returns {@link #parallel()}; the terminal operation is then
+     * evaluated as that of any parallel stream of the implementation,
+     * and the given pool is not used.
+     *
+     * @param pool the pool in which to evaluate the terminal operation
+     * @return a parallel stream
+     * @throws NullPointerException if the pool is null
+     * @since 18
+     */
+    default S parallel(ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        return parallel();
+    }
+
+    /**
+     * Returns an equivalent stream that is parallel, and whose terminal
+     * operation, if evaluated in parallel, runs in the given pool, as
+     * with {@link #parallel(ForkJoinPool)}, recording its wait and
+     * evaluation times in the given metrics.
+     *
+     * <p>This is an <a href="package-summary.html#StreamOps">intermediate
+     * operation</a>.
+     *
+     * @implSpec
+     * The default implementation returns {@link #parallel(ForkJoinPool)
+     * parallel(pool)}; the given metrics are ignored, and nothing is
+     * recorded in them.
+     *
+     * @param pool the pool in which to evaluate the terminal operation
+     * @param metrics the metrics in which to record the terminal
+     *        operation, or {@code null} if it is not to be recorded
+     * @return a parallel stream
+     * @throws NullPointerException if the pool is null
+     * @since 18
+     */
+    default S parallel(ForkJoinPool pool, PipelineMetrics metrics) {
+        return parallel(pool);
+    }
+
     /**
      * Returns an equivalent stream that is
      * <a href="package-summary.html#Ordering">unordered</a>.  May return
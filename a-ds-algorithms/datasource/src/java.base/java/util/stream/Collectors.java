@@ -44,12 +44,14 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLongLongHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
@@ -183,6 +185,83 @@ public final class Collectors {
         };
     }
 
+    /**
+     * {@code BinaryOperator<ConcurrentLongLongHashMap>} that adds the
+     * values of the right map into the left map.
+     */
+    private static BinaryOperator<ConcurrentLongLongHashMap> longMapSummer() {
+        return (m1, m2) -> {
+            m2.forEach(m1::addTo);
+            return m1;
+        };
+    }
+
+    /**
+     * {@code BinaryOperator<ConcurrentLongLongHashMap>} that merges the
+     * contents of its right argument into its left argument, using the
+     * provided merge function to handle duplicate keys.
+     */
+    private static BinaryOperator<ConcurrentLongLongHashMap> longMapMerger(
+            LongBinaryOperator mergeFunction) {
+        Objects.requireNonNull(mergeFunction);
+        return (m1, m2) -> {
+            m2.forEach((k, v) -> m1.merge(k, v, mergeFunction));
+            return m1;
+        };
+    }
+
+    /**
+     * {@code BinaryOperator<ConcurrentLongLongHashMap>} that merges the
+     * contents of its right argument into its left argument, throwing
+     * {@code IllegalStateException} if duplicate keys are encountered.
+     */
+    private static BinaryOperator<ConcurrentLongLongHashMap> uniqKeysLongMapMerger() {
+        return (m1, m2) -> {
+            m2.forEach((k, v) -> {
+                if (!m1.putIfAbsent(k, v))
+                    throw duplicateKeyException(k, m1.get(k), v);
+            });
+            return m1;
+        };
+    }
+
+    /**
+     * {@code BiConsumer<ConcurrentLongLongHashMap, T>} that accumulates
+     * (key, value) pairs extracted from elements into the map, throwing
+     * {@code IllegalStateException} if duplicate keys are encountered.
+     */
+    private static <T>
+    BiConsumer<ConcurrentLongLongHashMap, T> uniqKeysLongMapAccumulator(
+            ToLongFunction<? super T> keyMapper,
+            ToLongFunction<? super T> valueMapper) {
+        Objects.requireNonNull(keyMapper);
+        Objects.requireNonNull(valueMapper);
+        return (map, element) -> {
+            long k = keyMapper.applyAsLong(element);
+            long v = valueMapper.applyAsLong(element);
+            if (!map.putIfAbsent(k, v))
+                throw duplicateKeyException(k, map.get(k), v);
+        };
+    }
+
+    /**
+     * {@code BiConsumer<ConcurrentLongLongHashMap, T>} that accumulates
+     * (key, value) pairs extracted from elements into the map, merging
+     * the values of duplicate keys with the given function.
+     */
+    private static <T>
+    BiConsumer<ConcurrentLongLongHashMap, T> longMapAccumulator(
+            ToLongFunction<? super T> keyMapper,
+            ToLongFunction<? super T> valueMapper,
+            LongBinaryOperator mergeFunction) {
+        Objects.requireNonNull(keyMapper);
+        Objects.requireNonNull(valueMapper);
+        Objects.requireNonNull(mergeFunction);
+        return (map, element) -> map.merge(keyMapper.applyAsLong(element),
+                                           valueMapper.applyAsLong(element),
+                                           mergeFunction);
+    }
+
     @SuppressWarnings("unchecked")
     private static <I, R> Function<I, R> castingIdentity() {
         return i -> (R) i;
@@ -1839,6 +1918,280 @@ public final class Collectors {
         return new CollectorImpl<>(mapFactory, accumulator, mapMerger(mergeFunction), CH_CONCURRENT_ID);
     }
 
+    /**
+     * Returns a {@code Collector} that counts the input elements by the
+     * {@code long} key computed for each of them by a classification
+     * function, into a {@link ConcurrentLongLongHashMap}.
+     *
+     * <p>Unlike {@code groupingBy(classifier, counting())}, neither keys
+     * nor counts are boxed and no map node is created per key, so that
+     * accumulating an element allocates nothing once its key is present.
+     * Keys of type {@code int} are widened to {@code long}.
+     *
+     * @implNote
+     * The returned {@code Collector} is not concurrent.  For parallel
+     * stream pipelines, each partial result is a map of its own, and the
+     * combiner adds the counts of one map into another.  If there are
+     * many distinct keys, {@link #countingByLongConcurrent(ToLongFunction)}
+     * may offer better parallel performance.
+     *
+     * @param <T> the type of the input elements
+     * @param classifier a classifier function mapping input elements to keys
+     * @return a {@code Collector} implementing the counting operation
+     *
+     * @see #summingByLong(ToLongFunction, ToLongFunction)
+     * @see #countingByLongConcurrent(ToLongFunction)
+     * @since 18
+     */
+    public static <T>
+    Collector<T, ?, ConcurrentLongLongHashMap> countingByLong(ToLongFunction<? super T> classifier) {
+        Objects.requireNonNull(classifier);
+        return new CollectorImpl<>(ConcurrentLongLongHashMap::new,
+                                   (m, t) -> m.addTo(classifier.applyAsLong(t), 1L),
+                                   longMapSummer(),
+                                   CH_ID);
+    }
+
+    /**
+     * Returns a concurrent {@code Collector} that counts the input
+     * elements by the {@code long} key computed for each of them by a
+     * classification function, into a {@link ConcurrentLongLongHashMap}.
+     *
+     * <p>This is a {@link Collector.Characteristics#CONCURRENT concurrent} and
+     * {@link Collector.Characteristics#UNORDERED unordered} Collector.
+     *
+     * @param <T> the type of the input elements
+     * @param classifier a classifier function mapping input elements to keys
+     * @return a concurrent, unordered {@code Collector} implementing the
+     *         counting operation
+     *
+     * @see #countingByLong(ToLongFunction)
+     * @since 18
+     */
+    public static <T>
+    Collector<T, ?, ConcurrentLongLongHashMap>
+    countingByLongConcurrent(ToLongFunction<? super T> classifier) {
+        Objects.requireNonNull(classifier);
+        return new CollectorImpl<>(ConcurrentLongLongHashMap::new,
+                                   (m, t) -> m.addTo(classifier.applyAsLong(t), 1L),
+                                   longMapSummer(),
+                                   CH_CONCURRENT_ID);
+    }
+
+    /**
+     * Returns a {@code Collector} that sums a {@code long}-valued function
+     * of the input elements by the {@code long} key computed for each of
+     * them by a classification function, into a {@link
+     * ConcurrentLongLongHashMap}.  Sums that overflow wrap around, as
+     * with {@link #summingLong(ToLongFunction)}.
+     *
+     * <p>Unlike {@code groupingBy(classifier, summingLong(mapper))},
+     * neither keys nor sums are boxed and no map node is created per key.
+     *
+     * @implNote
+     * The returned {@code Collector} is not concurrent.  For parallel
+     * stream pipelines, the combiner adds the sums of one map into
+     * another.  If there are many distinct keys, {@link
+     * #summingByLongConcurrent(ToLongFunction, ToLongFunction)} may offer
+     * better parallel performance.
+     *
+     * @param <T> the type of the input elements
+     * @param classifier a classifier function mapping input elements to keys
+     * @param mapper a function extracting the property to be summed
+     * @return a {@code Collector} implementing the summing operation
+     *
+     * @see #countingByLong(ToLongFunction)
+     * @see #summingByLongConcurrent(ToLongFunction, ToLongFunction)
+     * @since 18
+     */
+    public static <T>
+    Collector<T, ?, ConcurrentLongLongHashMap> summingByLong(ToLongFunction<? super T> classifier,
+                                                             ToLongFunction<? super T> mapper) {
+        Objects.requireNonNull(classifier);
+        Objects.requireNonNull(mapper);
+        return new CollectorImpl<>(ConcurrentLongLongHashMap::new,
+                                   (m, t) -> m.addTo(classifier.applyAsLong(t),
+                                                     mapper.applyAsLong(t)),
+                                   longMapSummer(),
+                                   CH_ID);
+    }
+
+    /**
+     * Returns a concurrent {@code Collector} that sums a {@code
+     * long}-valued function of the input elements by the {@code long}
+     * key computed for each of them by a classification function, into
+     * a {@link ConcurrentLongLongHashMap}.
+     *
+     * <p>This is a {@link Collector.Characteristics#CONCURRENT concurrent} and
+     * {@link Collector.Characteristics#UNORDERED unordered} Collector.
+     *
+     * @param <T> the type of the input elements
+     * @param classifier a classifier function mapping input elements to keys
+     * @param mapper a function extracting the property to be summed
+     * @return a concurrent, unordered {@code Collector} implementing the
+     *         summing operation
+     *
+     * @see #summingByLong(ToLongFunction, ToLongFunction)
+     * @since 18
+     */
+    public static <T>
+    Collector<T, ?, ConcurrentLongLongHashMap>
+    summingByLongConcurrent(ToLongFunction<? super T> classifier,
+                            ToLongFunction<? super T> mapper) {
+        Objects.requireNonNull(classifier);
+        Objects.requireNonNull(mapper);
+        return new CollectorImpl<>(ConcurrentLongLongHashMap::new,
+                                   (m, t) -> m.addTo(classifier.applyAsLong(t),
+                                                     mapper.applyAsLong(t)),
+                                   longMapSummer(),
+                                   CH_CONCURRENT_ID);
+    }
+
+    /**
+     * Returns a {@code Collector} that accumulates elements into a
+     * {@link ConcurrentLongLongHashMap} whose keys and values are the
+     * result of applying the provided {@code long}-valued mapping
+     * functions to the input elements.
+     *
+     * <p>If the mapped keys contain duplicates, an {@code
+     * IllegalStateException} is thrown when the collection operation is
+     * performed.  If the mapped keys might have duplicates, use {@link
+     * #toLongMap(ToLongFunction, ToLongFunction, LongBinaryOperator)}
+     * instead.
+     *
+     * @param <T> the type of the input elements
+     * @param keyMapper a mapping function to produce keys
+     * @param valueMapper a mapping function to produce values
+     * @return a {@code Collector} which collects elements into a {@code
+     * ConcurrentLongLongHashMap} whose keys and values are the result of
+     * applying mapping functions to the input elements
+     *
+     * @see #toMap(Function, Function)
+     * @see #toConcurrentLongMap(ToLongFunction, ToLongFunction)
+     * @since 18
+     */
+    public static <T>
+    Collector<T, ?, ConcurrentLongLongHashMap> toLongMap(ToLongFunction<? super T> keyMapper,
+                                                         ToLongFunction<? super T> valueMapper) {
+        return new CollectorImpl<>(ConcurrentLongLongHashMap::new,
+                                   uniqKeysLongMapAccumulator(keyMapper, valueMapper),
+                                   uniqKeysLongMapMerger(),
+                                   CH_ID);
+    }
+
+    /**
+     * Returns a {@code Collector} that accumulates elements into a
+     * {@link ConcurrentLongLongHashMap} whose keys and values are the
+     * result of applying the provided {@code long}-valued mapping
+     * functions to the input elements.
+     *
+     * <p>If the mapped keys contain duplicates, the value mapping
+     * function is applied to each equal element, and the results are
+     * merged using the provided merging function.
+     *
+     * @param <T> the type of the input elements
+     * @param keyMapper a mapping function to produce keys
+     * @param valueMapper a mapping function to produce values
+     * @param mergeFunction a merge function, used to resolve collisions
+     *                      between values associated with the same key,
+     *                      as supplied to {@link
+     *                      ConcurrentLongLongHashMap#merge}
+     * @return a {@code Collector} which collects elements into a {@code
+     * ConcurrentLongLongHashMap} whose keys are the result of applying a
+     * key mapping function to the input elements, and whose values are
+     * the result of applying a value mapping function to all input
+     * elements mapped to the key and combining them using the merge
+     * function
+     *
+     * @see #toMap(Function, Function, BinaryOperator)
+     * @see #toConcurrentLongMap(ToLongFunction, ToLongFunction, LongBinaryOperator)
+     * @since 18
+     */
+    public static <T>
+    Collector<T, ?, ConcurrentLongLongHashMap> toLongMap(ToLongFunction<? super T> keyMapper,
+                                                         ToLongFunction<? super T> valueMapper,
+                                                         LongBinaryOperator mergeFunction) {
+        return new CollectorImpl<>(ConcurrentLongLongHashMap::new,
+                                   longMapAccumulator(keyMapper, valueMapper, mergeFunction),
+                                   longMapMerger(mergeFunction),
+                                   CH_ID);
+    }
+
+    /**
+     * Returns a concurrent {@code Collector} that accumulates elements
+     * into a {@link ConcurrentLongLongHashMap} whose keys and values are
+     * the result of applying the provided {@code long}-valued mapping
+     * functions to the input elements.
+     *
+     * <p>If the mapped keys contain duplicates, an {@code
+     * IllegalStateException} is thrown when the collection operation is
+     * performed.
+     *
+     * <p>This is a {@link Collector.Characteristics#CONCURRENT concurrent} and
+     * {@link Collector.Characteristics#UNORDERED unordered} Collector.
+     *
+     * @param <T> the type of the input elements
+     * @param keyMapper the mapping function to produce keys
+     * @param valueMapper the mapping function to produce values
+     * @return a concurrent, unordered {@code Collector} which collects
+     * elements into a {@code ConcurrentLongLongHashMap} whose keys and
+     * values are the result of applying mapping functions to the input
+     * elements
+     *
+     * @see #toLongMap(ToLongFunction, ToLongFunction)
+     * @since 18
+     */
+    public static <T>
+    Collector<T, ?, ConcurrentLongLongHashMap>
+    toConcurrentLongMap(ToLongFunction<? super T> keyMapper,
+                        ToLongFunction<? super T> valueMapper) {
+        return new CollectorImpl<>(ConcurrentLongLongHashMap::new,
+                                   uniqKeysLongMapAccumulator(keyMapper, valueMapper),
+                                   uniqKeysLongMapMerger(),
+                                   CH_CONCURRENT_ID);
+    }
+
+    /**
+     * Returns a concurrent {@code Collector} that accumulates elements
+     * into a {@link ConcurrentLongLongHashMap} whose keys and values are
+     * the result of applying the provided {@code long}-valued mapping
+     * functions to the input elements.
+     *
+     * <p>If the mapped keys contain duplicates, the value mapping
+     * function is applied to each equal element, and the results are
+     * merged using the provided merging function.
+     *
+     * <p>This is a {@link Collector.Characteristics#CONCURRENT concurrent} and
+     * {@link Collector.Characteristics#UNORDERED unordered} Collector.
+     *
+     * @param <T> the type of the input elements
+     * @param keyMapper a mapping function to produce keys
+     * @param valueMapper a mapping function to produce values
+     * @param mergeFunction a merge function, used to resolve collisions
+     *                      between values associated with the same key,
+     *                      as supplied to {@link
+     *                      ConcurrentLongLongHashMap#merge}
+     * @return a concurrent, unordered {@code Collector} which collects
+     * elements into a {@code ConcurrentLongLongHashMap} whose keys are the
+     * result of applying a key mapping function to the input elements,
+     * and whose values are the result of applying a value mapping
+     * function to all input elements mapped to the key and combining
+     * them using the merge function
+     *
+     * @see #toLongMap(ToLongFunction, ToLongFunction, LongBinaryOperator)
+     * @since 18
+     */
+    public static <T>
+    Collector<T, ?, ConcurrentLongLongHashMap>
+    toConcurrentLongMap(ToLongFunction<? super T> keyMapper,
+                        ToLongFunction<? super T> valueMapper,
+                        LongBinaryOperator mergeFunction) {
+        return new CollectorImpl<>(ConcurrentLongLongHashMap::new,
+                                   longMapAccumulator(keyMapper, valueMapper, mergeFunction),
+                                   longMapMerger(mergeFunction),
+                                   CH_CONCURRENT_ID);
+    }
+
     /**
      * Returns a {@code Collector} which applies an {@code int}-producing
      * mapping function to each input element, and returns summary statistics
@@ -447,29 +447,34 @@ abstract class DoublePipeline<E_IN>
          * the proper result if the stream contains infinite values of
          * the same sign.
          */
-        double[] summation = collect(() -> new double[3],
-                               (ll, d) -> {
-                                   Collectors.sumWithCompensation(ll, d);
-                                   ll[2] += d;
-                               },
-                               (ll, rr) -> {
-                                   Collectors.sumWithCompensation(ll, rr[0]);
-                                   // Subtract compensation bits
-                                   Collectors.sumWithCompensation(ll, -rr[1]);
-                                   ll[2] += rr[2];
-                               });
+        double[] summation = evaluate(ArrayReduceOps.makeDouble(
+            ArrayReduceOps.SUM, s -> s.summation,
+            ReduceOps.makeDouble(() -> new double[3],
+                                 (ll, d) -> {
+                                     Collectors.sumWithCompensation(ll, d);
+                                     ll[2] += d;
+                                 },
+                                 (ll, rr) -> {
+                                     Collectors.sumWithCompensation(ll, rr[0]);
+                                     // Subtract compensation bits
+                                     Collectors.sumWithCompensation(ll, -rr[1]);
+                                     ll[2] += rr[2];
+                                     return ll;
+                                 })));
 
         return Collectors.computeFinalSum(summation);
     }
 
     @Override
     public final OptionalDouble min() {
-        return reduce(Math::min);
+        return evaluate(ArrayReduceOps.makeDouble(ArrayReduceOps.MIN, s -> OptionalDouble.of(s.min),
+                                                  ReduceOps.makeDouble(Math::min)));
     }
 
     @Override
     public final OptionalDouble max() {
-        return reduce(Math::max);
+        return evaluate(ArrayReduceOps.makeDouble(ArrayReduceOps.MAX, s -> OptionalDouble.of(s.max),
+                                                  ReduceOps.makeDouble(Math::max)));
     }
 
     /**
@@ -490,19 +495,23 @@ abstract class DoublePipeline<E_IN>
          * summation, index 2 holds the number of values seen, index 3
          * holds the simple sum.
          */
-        double[] avg = collect(() -> new double[4],
-                               (ll, d) -> {
-                                   ll[2]++;
-                                   Collectors.sumWithCompensation(ll, d);
-                                   ll[3] += d;
-                               },
-                               (ll, rr) -> {
-                                   Collectors.sumWithCompensation(ll, rr[0]);
-                                   // Subtract compensation bits
-                                   Collectors.sumWithCompensation(ll, -rr[1]);
-                                   ll[2] += rr[2];
-                                   ll[3] += rr[3];
-                               });
+        double[] avg = evaluate(ArrayReduceOps.makeDouble(
+            ArrayReduceOps.SUM,
+            s -> new double[] { s.summation[0], s.summation[1], s.count, s.summation[2] },
+            ReduceOps.makeDouble(() -> new double[4],
+                                 (ll, d) -> {
+                                     ll[2]++;
+                                     Collectors.sumWithCompensation(ll, d);
+                                     ll[3] += d;
+                                 },
+                                 (ll, rr) -> {
+                                     Collectors.sumWithCompensation(ll, rr[0]);
+                                     // Subtract compensation bits
+                                     Collectors.sumWithCompensation(ll, -rr[1]);
+                                     ll[2] += rr[2];
+                                     ll[3] += rr[3];
+                                     return ll;
+                                 })));
         return avg[2] > 0
             ? OptionalDouble.of(Collectors.computeFinalSum(avg) / avg[2])
             : OptionalDouble.empty();
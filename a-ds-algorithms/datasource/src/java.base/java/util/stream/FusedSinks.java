@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.stream;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jdk.internal.misc.VM;
+import jdk.internal.org.objectweb.asm.ClassWriter;
+import jdk.internal.org.objectweb.asm.Label;
+import jdk.internal.org.objectweb.asm.MethodVisitor;
+import sun.security.action.GetBooleanAction;
+
+import static jdk.internal.org.objectweb.asm.Opcodes.*;
+
+/**
+ * Fuses runs of adjacent stateless {@code int} or {@code long} map,
+ * filter and peek operations into a single {@code Sink}.
+ *
+ * <p>Each stage of a pipeline ordinarily wraps the downstream sink in a
+ * sink of its own, and passes each element on through an interface
+ * call.  Those call sites are shared by all pipelines using the
+ * operation, so in an application with many different pipelines they
+ * become megamorphic, and the chain of sinks is neither inlined nor
+ * optimized as a whole.  Instead, {@link AbstractPipeline#wrapSink}
+ * asks this class to wrap the downstream sink for a run of fusible
+ * stages at once, with an instance of a hidden class that applies all
+ * of their functions in a single {@code accept} method.  One class is
+ * generated per <em>shape</em> of run, that is the element type and the
+ * sequence of kinds of operations, so its call sites only see the
+ * pipelines of that shape.
+ *
+ * <p>Generating a class takes time, so shapes are only fused once they
+ * have been wrapped HOT times; until then, and if generation fails,
+ * the stages wrap their sinks individually.  Each pipeline stage
+ * caches its {@link Run}, including the shape's constructor once
+ * known, so that repeated wrapping, as by the leaf tasks of a parallel
+ * evaluation, does not consult the shared tables.  Classes are
+ * generated outside of those tables, by the one thread that brings
+ * the count of a shape to HOT.  Fusion is disabled before
+ * the VM is fully booted, and altogether if the system property
+ * {@code java.util.stream.FusedSinks.disable} is {@code true}.
+ *
+ * @since 18
+ */
+final class FusedSinks {
+
+    private FusedSinks() { }
+
+    /** Whether fusion is enabled at all. */
+    static final boolean ENABLED =
+        !GetBooleanAction.privilegedGetProperty("java.util.stream.FusedSinks.disable");
+
+    /** Kinds of fusible operations. */
+    static final char MAP = 'M', FILTER = 'F', PEEK = 'P';
+
+    /** Shortest run that is worth fusing. */
+    static final int MIN_OPS = 2;
+
+    /** Longest run fused into one sink; longer runs are split. */
+    static final int MAX_OPS = 16;
+
+    /** Number of times a shape is wrapped before it is fused. */
+    private static final int HOT = 16;
+
+    /** Marks shapes for which generation failed. */
+    private static final Object FAILED = new Object();
+
+    /** Maps shapes not yet fused to the number of times they were wrapped. */
+    private static final ConcurrentHashMap<String, Integer> COUNTS =
+        new ConcurrentHashMap<>();
+
+    /** Maps fused shapes to the constructor of their sink, or to FAILED. */
+    private static final ConcurrentHashMap<String, Object> SINKS =
+        new ConcurrentHashMap<>();
+
+    private static final MethodType CTOR_TYPE =
+        MethodType.methodType(Sink.class, Sink.class, Object[].class);
+
+    /**
+     * Description of a fusible operation, as returned by {@link
+     * AbstractPipeline#opFusion}.
+     *
+     * @param shape the shape of input and output elements, either
+     *        {@code INT_VALUE} or {@code LONG_VALUE}
+     * @param kind one of MAP, FILTER or PEEK
+     * @param function the function of the operation, an
+     *        {@code (Int|Long)UnaryOperator}, {@code (Int|Long)Predicate} or
+     *        {@code (Int|Long)Consumer} for the respective kinds
+     */
+    record Op(StreamShape shape, char kind, Object function) { }
+
+    /**
+     * A run of fusible operations, as cached by the pipeline stage at
+     * which it ends.
+     */
+    static final class Run {
+        /** Marks stages that do not end a run worth fusing. */
+        static final Run NONE = new Run(null, new Object[0]);
+
+        /** The shape of the run, such as "IntMFM" */
+        final String key;
+        /** The functions of the operations, upstream first */
+        final Object[] functions;
+        /**
+         * The constructor of the sink of the shape, FAILED, or null if
+         * not yet known; racy, as any thread finds the same value
+         */
+        Object ctor;
+
+        Run(String key, Object[] functions) {
+            this.key = key;
+            this.functions = functions;
+        }
+
+        /** Returns the number of operations in this run. */
+        int length() {
+            return functions.length;
+        }
+    }
+
+    /**
+     * Returns the run of the given operations.
+     *
+     * @param ops the operations, upstream first, all of the same shape
+     */
+    static Run run(Op[] ops) {
+        int n = ops.length;
+        Object[] functions = new Object[n];
+        char[] kinds = new char[n];
+        for (int i = 0; i < n; ++i) {
+            kinds[i] = ops[i].kind();
+            functions[i] = ops[i].function();
+        }
+        return new Run((ops[0].shape() == StreamShape.INT_VALUE ? "Int" : "Long")
+                       + new String(kinds), functions);
+    }
+
+    /**
+     * Returns a sink applying the operations of the given run in order
+     * before passing elements to the given sink, or {@code null} if they
+     * should be wrapped individually.
+     *
+     * @param run the run of operations
+     * @param sink the sink to wrap
+     */
+    static Sink<?> fuse(Run run, Sink<?> sink) {
+        Object c = run.ctor;
+        if (c == null) {
+            if (!VM.isBooted() || (c = constructorOf(run.key)) == null)
+                return null;
+            run.ctor = c;
+        }
+        if (c instanceof MethodHandle ctor) {
+            try {
+                return (Sink<?>) ctor.invokeExact(sink, run.functions);
+            } catch (Throwable ex) {
+                throw new InternalError(ex);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Counts a wrapping of the given shape, and returns the constructor
+     * of its sink or FAILED, or null if the shape is not fused yet.  The
+     * thread whose wrapping makes the shape hot generates its class.
+     */
+    private static Object constructorOf(String key) {
+        Object c = SINKS.get(key);
+        if (c == null && COUNTS.merge(key, 1, Integer::sum) == HOT) {
+            Object g = generate(key);
+            c = SINKS.putIfAbsent(key, g);
+            if (c == null)
+                c = g;
+            COUNTS.remove(key);
+        }
+        return c;
+    }
+
+    /**
+     * Generates and defines the sink class for the given shape, and
+     * returns its constructor, or FAILED.
+     */
+    private static Object generate(String key) {
+        try {
+            boolean isInt = key.startsWith("Int");
+            char[] kinds = key.substring(isInt ? 3 : 4).toCharArray();
+            byte[] bytes = isInt ? spin(key, kinds, true) : spin(key, kinds, false);
+            MethodHandles.Lookup lookup =
+                MethodHandles.lookup().defineHiddenClass(bytes, true);
+            return lookup.findConstructor(lookup.lookupClass(),
+                                          MethodType.methodType(void.class, Sink.class,
+                                                                Object[].class))
+                         .asType(CTOR_TYPE);
+        } catch (Throwable ex) {
+            if (Tripwire.ENABLED)
+                Tripwire.trip(FusedSinks.class, "{0} failed to generate a fused sink: " + ex);
+            return FAILED;
+        }
+    }
+
+    /**
+     * Generates the bytes of a subclass of OfInt or OfLong, holding the
+     * functions in fields of their interface types, and applying them
+     * in order in its {@code accept} method.
+     */
+    private static byte[] spin(String key, char[] kinds, boolean isInt) {
+        String base = isInt ? "java/util/stream/FusedSinks$OfInt"
+                            : "java/util/stream/FusedSinks$OfLong";
+        String chained = isInt ? "java/util/stream/Sink$ChainedInt"
+                               : "java/util/stream/Sink$ChainedLong";
+        String p = isInt ? "I" : "J";
+        String prefix = isInt ? "java/util/function/Int" : "java/util/function/Long";
+        String self = "java/util/stream/FusedSinks$" + key;
+        int load = isInt ? ILOAD : LLOAD, store = isInt ? ISTORE : LSTORE;
+
+        String[] types = new String[kinds.length];
+        boolean sizePreserving = true;
+        for (int i = 0; i < kinds.length; ++i) {
+            switch (kinds[i]) {
+                case MAP -> types[i] = prefix + "UnaryOperator";
+                case FILTER -> { types[i] = prefix + "Predicate"; sizePreserving = false; }
+                case PEEK -> types[i] = prefix + "Consumer";
+                default -> throw new IllegalArgumentException(key);
+            }
+        }
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        cw.visit(V17, ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, self, null, base, null);
+        for (int i = 0; i < kinds.length; ++i)
+            cw.visitField(ACC_PRIVATE | ACC_FINAL, "f" + i, "L" + types[i] + ";", null, null)
+              .visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(0, "<init>",
+                                          "(Ljava/util/stream/Sink;[Ljava/lang/Object;)V",
+                                          null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitInsn(sizePreserving ? ICONST_1 : ICONST_0);
+        mv.visitMethodInsn(INVOKESPECIAL, base, "<init>", "(Ljava/util/stream/Sink;Z)V", false);
+        for (int i = 0; i < kinds.length; ++i) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitLdcInsn(i);
+            mv.visitInsn(AALOAD);
+            mv.visitTypeInsn(CHECKCAST, types[i]);
+            mv.visitFieldInsn(PUTFIELD, self, "f" + i, "L" + types[i] + ";");
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "accept", "(" + p + ")V", null, null);
+        mv.visitCode();
+        for (int i = 0; i < kinds.length; ++i) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, self, "f" + i, "L" + types[i] + ";");
+            mv.visitVarInsn(load, 1);
+            switch (kinds[i]) {
+                case MAP -> {
+                    mv.visitMethodInsn(INVOKEINTERFACE, types[i],
+                                       isInt ? "applyAsInt" : "applyAsLong",
+                                       "(" + p + ")" + p, true);
+                    mv.visitVarInsn(store, 1);
+                }
+                case FILTER -> {
+                    Label pass = new Label();
+                    mv.visitMethodInsn(INVOKEINTERFACE, types[i], "test", "(" + p + ")Z", true);
+                    mv.visitJumpInsn(IFNE, pass);
+                    mv.visitInsn(RETURN);
+                    mv.visitLabel(pass);
+                }
+                case PEEK -> mv.visitMethodInsn(INVOKEINTERFACE, types[i], "accept",
+                                                "(" + p + ")V", true);
+            }
+        }
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, chained, "downstream", "Ljava/util/stream/Sink;");
+        mv.visitVarInsn(load, 1);
+        mv.visitMethodInsn(INVOKEINTERFACE, "java/util/stream/Sink", "accept",
+                           "(" + p + ")V", true);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * Base class of fused sinks of {@code int} elements.
+     */
+    abstract static class OfInt extends Sink.ChainedInt<Integer> {
+        private final boolean sizePreserving;
+
+        OfInt(Sink<? super Integer> downstream, boolean sizePreserving) {
+            super(downstream);
+            this.sizePreserving = sizePreserving;
+        }
+
+        @Override
+        public void begin(long size) {
+            downstream.begin(sizePreserving ? size : -1);
+        }
+    }
+
+    /**
+     * Base class of fused sinks of {@code long} elements.
+     */
+    abstract static class OfLong extends Sink.ChainedLong<Long> {
+        private final boolean sizePreserving;
+
+        OfLong(Sink<? super Long> downstream, boolean sizePreserving) {
+            super(downstream);
+            this.sizePreserving = sizePreserving;
+        }
+
+        @Override
+        public void begin(long size) {
+            downstream.begin(sizePreserving ? size : -1);
+        }
+    }
+}
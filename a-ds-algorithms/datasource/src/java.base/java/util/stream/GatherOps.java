@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.stream;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.CountedCompleter;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer.Downstream;
+import java.util.stream.Gatherer.Integrator;
+
+/**
+ * Factory for instances of a gathering operation, which applies a
+ * {@link Gatherer} to the elements of a reference stream.
+ *
+ * <p>Sequentially, the gatherer is evaluated by a sink that pushes the
+ * output of the integrator straight into the downstream sink, so that
+ * no elements are buffered beyond what the gatherer itself retains in
+ * its state.  In parallel, a gatherer with a combiner is evaluated by
+ * gathering each leaf of the computation tree with its own state and
+ * combining the states and outputs in encounter order; a gatherer
+ * without one is evaluated sequentially.  When a downstream stage
+ * consumes the output as a spliterator, it is produced lazily by a
+ * non-splitting spliterator over the upstream, unless the gatherer has
+ * a combiner, is greedy and the upstream is sized, so that an infinite
+ * or short-circuited upstream is only consumed as far as needed.
+ *
+ * @since 18
+ */
+final class GatherOps {
+
+    private GatherOps() { }
+
+    /** Sentinel for {@link Gatherer#defaultInitializer()}. */
+    static final Supplier<?> DEFAULT_INITIALIZER = () -> null;
+
+    /** Sentinel for {@link Gatherer#defaultCombiner()}. */
+    static final BinaryOperator<?> DEFAULT_COMBINER = (l, r) -> {
+        throw new UnsupportedOperationException("Gatherer is sequential");
+    };
+
+    /** Sentinel for {@link Gatherer#defaultFinisher()}. */
+    static final BiConsumer<?, ?> DEFAULT_FINISHER = (s, d) -> { };
+
+    /** Combiner of stateless, parallelizable gatherers. */
+    static final BinaryOperator<?> STATELESS_COMBINER = (l, r) -> l;
+
+    /**
+     * Straightforward {@code Gatherer} implementation.
+     */
+    record GathererImpl<T, A, R>(Supplier<A> initializer,
+                                 Integrator<A, T, R> integrator,
+                                 BinaryOperator<A> combiner,
+                                 BiConsumer<A, Downstream<? super R>> finisher)
+            implements Gatherer<T, A, R> { }
+
+    /**
+     * Appends a gathering operation to the provided stream.
+     *
+     * @param <T> the type of the input elements
+     * @param <A> the type of the gatherer state
+     * @param <R> the type of the output elements
+     * @param upstream a reference stream with element type T
+     * @param gatherer the gatherer to apply
+     */
+    @SuppressWarnings("unchecked")
+    static <T, A, R> Stream<R> makeRef(AbstractPipeline<?, T, ?> upstream,
+                                       Gatherer<T, A, R> gatherer) {
+        Objects.requireNonNull(gatherer);
+        // Resolve the functions once, all uses below share them
+        Supplier<A> initializer = Objects.requireNonNull(gatherer.initializer());
+        Integrator<A, T, R> integrator = Objects.requireNonNull(gatherer.integrator());
+        BinaryOperator<A> combiner = Objects.requireNonNull(gatherer.combiner());
+        BiConsumer<A, Downstream<? super R>> finisher =
+            Objects.requireNonNull(gatherer.finisher());
+        GathererImpl<T, A, R> g =
+            new GathererImpl<>(initializer, integrator, combiner, finisher);
+
+        int flags = StreamOpFlag.NOT_SORTED | StreamOpFlag.NOT_DISTINCT
+                    | StreamOpFlag.NOT_SIZED;
+        if (!(integrator instanceof Integrator.Greedy))
+            flags |= StreamOpFlag.IS_SHORT_CIRCUIT;
+
+        return new ReferencePipeline.StatefulOp<T, R>(upstream, StreamShape.REFERENCE,
+                                                      flags) {
+            @Override
+            Sink<T> opWrapSink(int flags, Sink<R> sink) {
+                return new GatherSink<>(g, sink, true);
+            }
+
+            @Override
+            <P_IN> Node<R> opEvaluateParallel(PipelineHelper<R> helper,
+                                              Spliterator<P_IN> spliterator,
+                                              IntFunction<R[]> generator) {
+                // The helper describes the pipeline up to, but excluding,
+                // this stage, and so produces elements of type T
+                PipelineHelper<T> h = (PipelineHelper<T>) (PipelineHelper<?>) helper;
+                if (combiner == DEFAULT_COMBINER) {
+                    // Pull upstream elements only while the integrator
+                    // accepts them, the upstream may be infinite
+                    Spliterator<R> s =
+                        new GatherSpliterator<>(h.wrapSpliterator(spliterator), g);
+                    Node.Builder<R> nb = Nodes.builder(-1, generator);
+                    nb.begin(-1);
+                    s.forEachRemaining(nb);
+                    nb.end();
+                    return nb.build();
+                }
+
+                GatherTask.Result<A, R> r =
+                    new GatherTask<>(h, spliterator, g, generator).invoke();
+                if (finisher == DEFAULT_FINISHER)
+                    return r.output;
+                Node.Builder<R> nb = Nodes.builder(-1, generator);
+                nb.begin(-1);
+                finisher.accept(r.state, new Downstream<R>() {
+                    @Override
+                    public boolean push(R r) {
+                        nb.accept(r);
+                        return true;
+                    }
+                });
+                nb.end();
+                return Nodes.conc(StreamShape.REFERENCE, r.output, nb.build());
+            }
+
+            @Override
+            <P_IN> Spliterator<R> opEvaluateParallelLazy(PipelineHelper<R> helper,
+                                                         Spliterator<P_IN> spliterator) {
+                PipelineHelper<T> h = (PipelineHelper<T>) (PipelineHelper<?>) helper;
+                // Only evaluate eagerly if it is bounded and cannot stop early
+                if (combiner != DEFAULT_COMBINER
+                    && integrator instanceof Integrator.Greedy
+                    && StreamOpFlag.SIZED.isKnown(h.getStreamAndOpFlags()))
+                    return super.opEvaluateParallelLazy(helper, spliterator);
+                return new GatherSpliterator<>(h.wrapSpliterator(spliterator), g);
+            }
+        };
+    }
+
+    /**
+     * Sink that integrates elements into a gatherer state and pushes the
+     * output to the downstream sink.
+     */
+    private static final class GatherSink<T, A, R>
+            extends Sink.ChainedReference<T, R>
+            implements Downstream<R> {
+        private final GathererImpl<T, A, R> gatherer;
+        private final boolean finish;
+        A state;
+        boolean proceed;
+
+        GatherSink(GathererImpl<T, A, R> gatherer, Sink<? super R> downstream,
+                   boolean finish) {
+            super(downstream);
+            this.gatherer = gatherer;
+            this.finish = finish;
+        }
+
+        @Override
+        public void begin(long size) {
+            state = gatherer.initializer().get();
+            proceed = true;
+            downstream.begin(-1);
+        }
+
+        @Override
+        public void accept(T t) {
+            // Greedy gatherers are not short-circuiting, in which case the
+            // upstream keeps pushing after the integrator has given up
+            if (proceed)
+                proceed = gatherer.integrator().integrate(state, t, this);
+        }
+
+        @Override
+        public boolean cancellationRequested() {
+            return !proceed || downstream.cancellationRequested();
+        }
+
+        @Override
+        public void end() {
+            if (finish) {
+                BiConsumer<A, Downstream<? super R>> finisher = gatherer.finisher();
+                if (finisher != DEFAULT_FINISHER)
+                    finisher.accept(state, this);
+                state = null;
+            }
+            downstream.end();
+        }
+
+        @Override
+        public boolean push(R r) {
+            if (downstream.cancellationRequested())
+                return false;
+            downstream.accept(r);
+            return !downstream.cancellationRequested();
+        }
+
+        @Override
+        public boolean isRejecting() {
+            return downstream.cancellationRequested();
+        }
+    }
+
+    /**
+     * A non-splitting spliterator that lazily applies a sequential
+     * gatherer to the elements of a source spliterator, buffering only
+     * the output of a single integration step.
+     */
+    private static final class GatherSpliterator<T, A, R>
+            implements Spliterator<R>, Consumer<T>, Downstream<R> {
+        private final Spliterator<T> source;
+        private final GathererImpl<T, A, R> gatherer;
+        // ArrayList rather than ArrayDeque, elements may be null
+        private final ArrayList<R> buffer = new ArrayList<>();
+        private int next;
+        private A state;
+        private boolean started, proceed, finished;
+
+        GatherSpliterator(Spliterator<T> source, GathererImpl<T, A, R> gatherer) {
+            this.source = source;
+            this.gatherer = gatherer;
+        }
+
+        @Override
+        public void accept(T t) {
+            proceed = gatherer.integrator().integrate(state, t, this);
+        }
+
+        @Override
+        public boolean push(R r) {
+            buffer.add(r);
+            return true;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            Objects.requireNonNull(action);
+            if (!started) {
+                started = proceed = true;
+                state = gatherer.initializer().get();
+            }
+            for (;;) {
+                if (next < buffer.size()) {
+                    R r = buffer.get(next++);
+                    if (next == buffer.size()) {
+                        buffer.clear();
+                        next = 0;
+                    }
+                    action.accept(r);
+                    return true;
+                }
+                if (finished)
+                    return false;
+                if (!proceed || !source.tryAdvance(this)) {
+                    finished = true;
+                    BiConsumer<A, Downstream<? super R>> finisher = gatherer.finisher();
+                    if (finisher != DEFAULT_FINISHER)
+                        finisher.accept(state, this);
+                    state = null;
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return finished ? buffer.size() - next : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & Spliterator.ORDERED;
+        }
+    }
+
+    /**
+     * {@code ForkJoinTask} gathering each leaf with its own state, and
+     * combining states and concatenating outputs in encounter order.
+     * Once a leaf's integrator stops accepting input, all tasks to its
+     * right are cancelled, and the results of those already computed are
+     * discarded.  A cancelled task has a result with a null output.
+     *
+     * @param <P_IN> Input element type to the stream pipeline
+     * @param <T> Input element type to the gatherer
+     */
+    @SuppressWarnings("serial")
+    private static final class GatherTask<P_IN, T, A, R>
+            extends AbstractShortCircuitTask<P_IN, T, GatherTask.Result<A, R>,
+                                             GatherTask<P_IN, T, A, R>> {
+        private final GathererImpl<T, A, R> gatherer;
+        private final IntFunction<R[]> generator;
+
+        GatherTask(PipelineHelper<T> helper, Spliterator<P_IN> spliterator,
+                   GathererImpl<T, A, R> gatherer, IntFunction<R[]> generator) {
+            super(helper, spliterator);
+            this.gatherer = gatherer;
+            this.generator = generator;
+        }
+
+        GatherTask(GatherTask<P_IN, T, A, R> parent, Spliterator<P_IN> spliterator) {
+            super(parent, spliterator);
+            this.gatherer = parent.gatherer;
+            this.generator = parent.generator;
+        }
+
+        /** The state, output and termination of a subtree. */
+        static final class Result<A, R> {
+            final A state;
+            final Node<R> output;
+            final boolean rejected;
+
+            Result(A state, Node<R> output, boolean rejected) {
+                this.state = state;
+                this.output = output;
+                this.rejected = rejected;
+            }
+        }
+
+        @Override
+        protected GatherTask<P_IN, T, A, R> makeChild(Spliterator<P_IN> spliterator) {
+            return new GatherTask<>(this, spliterator);
+        }
+
+        @Override
+        protected Result<A, R> doLeaf() {
+            Node.Builder<R> nb = Nodes.builder(-1, generator);
+            GatherSink<T, A, R> sink = new GatherSink<>(gatherer, nb, false);
+            helper.copyIntoWithCancel(helper.wrapSink(sink), spliterator);
+            if (!sink.proceed)
+                cancelLaterNodes();
+            return new Result<>(sink.state, nb.build(), !sink.proceed);
+        }
+
+        @Override
+        protected Result<A, R> getEmptyResult() {
+            return new Result<>(null, null, true);
+        }
+
+        @Override
+        public void onCompletion(CountedCompleter<?> caller) {
+            if (!isLeaf()) {
+                Result<A, R> l = leftChild.getLocalResult();
+                Result<A, R> r = rightChild.getLocalResult();
+                // A cancelled right child lies to the right of a rejecting
+                // leaf, so this whole subtree is discarded by an ancestor
+                setLocalResult(l.rejected ? l
+                               : r.output == null ? r
+                               : new Result<>(gatherer.combiner().apply(l.state, r.state),
+                                              Nodes.conc(StreamShape.REFERENCE,
+                                                         l.output, r.output),
+                                              r.rejected));
+            }
+            super.onCompletion(caller);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.stream;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * An intermediate operation that transforms a stream of input elements
+ * into a stream of output elements, optionally applying a final action
+ * when the end of the upstream is reached.  The transformation may be
+ * stateless or stateful, and may buffer input before producing any
+ * output.  Gatherers are applied to streams by {@link Stream#gather}.
+ *
+ * <p>Examples of gathering operations include grouping elements into
+ * windows (see {@link Gatherers#windowFixed} and {@link
+ * Gatherers#windowSliding}), incremental accumulation (see {@link
+ * Gatherers#fold}), and mapping elements concurrently while preserving
+ * encounter order (see {@link Gatherers#mapConcurrent}).  Unlike
+ * collecting to a list and streaming the result, a gatherer processes
+ * elements as they arrive, so it can be applied to infinite streams,
+ * and can stop consuming input early.
+ *
+ * <p>A {@code Gatherer} is specified by four functions that work
+ * together to process input elements, optionally using intermediate
+ * state, and optionally perform a final action at the end of input.
+ * They are: <ul>
+ *     <li>creating a new, potentially mutable, state ({@link #initializer()})</li>
+ *     <li>integrating a new input element ({@link #integrator()})</li>
+ *     <li>combining two states into one ({@link #combiner()})</li>
+ *     <li>performing an optional final action ({@link #finisher()})</li>
+ * </ul>
+ *
+ * <p>Each invocation of {@link Integrator#integrate} receives the state,
+ * the element, and a {@link Downstream} to which it may push any number
+ * of output elements.  It returns {@code false} if it will not accept
+ * any more input, which allows the stream to stop traversing its
+ * source, as a short-circuiting operation does.
+ *
+ * <p>A sequential implementation of a gathering operation creates a
+ * single state using the initializer, invokes the integrator once for
+ * each input element until it returns {@code false} or the input is
+ * exhausted, and finally invokes the finisher with the state.  If the
+ * gatherer has a {@linkplain #combiner() combiner} other than the
+ * {@linkplain #defaultCombiner() default}, a parallel implementation may
+ * partition the input, gather each partition with a state of its own,
+ * combine the states with the combiner, and invoke the finisher with the
+ * result; the elements pushed while integrating each partition are
+ * emitted in encounter order, followed by those pushed by the finisher.
+ * Gatherers without a combiner are evaluated sequentially, even in
+ * parallel streams, although the upstream may still be evaluated in
+ * parallel.
+ *
+ * <p>As with {@link Collector}, the functions of a gatherer should be
+ * <a href="package-summary.html#NonInterference">non-interfering</a>,
+ * and the {@code Downstream} passed to the integrator or finisher must
+ * not be used after the invocation returns.
+ *
+ * @param <T> the type of input elements to the gatherer
+ * @param <A> the potentially mutable state type of the gatherer
+ * @param <R> the type of output elements from the gatherer
+ * @see Stream#gather(Gatherer)
+ * @see Gatherers
+ * @since 18
+ */
+public interface Gatherer<T, A, R> {
+    /**
+     * A function that produces an instance of the intermediate state
+     * used for this gathering operation.  The default implementation
+     * returns {@link #defaultInitializer()}, indicating a stateless
+     * gatherer, whose integrator receives a {@code null} state.
+     *
+     * @return a function that produces a new state
+     */
+    default Supplier<A> initializer() {
+        return defaultInitializer();
+    }
+
+    /**
+     * A function that integrates an input element into the state,
+     * optionally pushing output elements to the downstream.
+     *
+     * @return a function that integrates input elements
+     */
+    Integrator<A, T, R> integrator();
+
+    /**
+     * A function that accepts two intermediate states and combines
+     * them into one.  The default implementation returns {@link
+     * #defaultCombiner()}, indicating that this gatherer can only be
+     * evaluated sequentially.
+     *
+     * @return a function that combines two states
+     */
+    default BinaryOperator<A> combiner() {
+        return defaultCombiner();
+    }
+
+    /**
+     * A function that accepts the final state and a downstream, to
+     * which it may push output elements, at the end of input.  The
+     * default implementation returns {@link #defaultFinisher()}, which
+     * does nothing.
+     *
+     * @return a function that performs the final action
+     */
+    default BiConsumer<A, Downstream<? super R>> finisher() {
+        return defaultFinisher();
+    }
+
+    /**
+     * Returns an initializer that is the default for gatherers that
+     * have no state, and produces {@code null}.
+     *
+     * @param <A> the type of the state
+     * @return the default initializer
+     */
+    @SuppressWarnings("unchecked")
+    static <A> Supplier<A> defaultInitializer() {
+        return (Supplier<A>) GatherOps.DEFAULT_INITIALIZER;
+    }
+
+    /**
+     * Returns a combiner that is the default for gatherers that cannot
+     * be evaluated in parallel.  It throws {@code
+     * UnsupportedOperationException} if invoked.
+     *
+     * @param <A> the type of the state
+     * @return the default combiner
+     */
+    @SuppressWarnings("unchecked")
+    static <A> BinaryOperator<A> defaultCombiner() {
+        return (BinaryOperator<A>) GatherOps.DEFAULT_COMBINER;
+    }
+
+    /**
+     * Returns a finisher that is the default for gatherers that have
+     * no final action, and does nothing.
+     *
+     * @param <A> the type of the state
+     * @param <R> the type of output elements
+     * @return the default finisher
+     */
+    @SuppressWarnings("unchecked")
+    static <A, R> BiConsumer<A, Downstream<? super R>> defaultFinisher() {
+        return (BiConsumer<A, Downstream<? super R>>) GatherOps.DEFAULT_FINISHER;
+    }
+
+    /**
+     * Returns a new, sequential, stateless {@code Gatherer} described
+     * by the given integrator.
+     *
+     * @param integrator the integrator function
+     * @param <T> the type of input elements
+     * @param <R> the type of output elements
+     * @return the new {@code Gatherer}
+     * @throws NullPointerException if the argument is null
+     */
+    static <T, R> Gatherer<T, Void, R> ofSequential(
+            Integrator<Void, T, R> integrator) {
+        return of(defaultInitializer(), integrator, defaultCombiner(),
+                  defaultFinisher());
+    }
+
+    /**
+     * Returns a new, sequential {@code Gatherer} described by the given
+     * initializer and integrator.
+     *
+     * @param initializer the initializer function
+     * @param integrator the integrator function
+     * @param <T> the type of input elements
+     * @param <A> the type of the state
+     * @param <R> the type of output elements
+     * @return the new {@code Gatherer}
+     * @throws NullPointerException if any argument is null
+     */
+    static <T, A, R> Gatherer<T, A, R> ofSequential(
+            Supplier<A> initializer,
+            Integrator<A, T, R> integrator) {
+        return of(initializer, integrator, defaultCombiner(),
+                  defaultFinisher());
+    }
+
+    /**
+     * Returns a new, sequential {@code Gatherer} described by the given
+     * initializer, integrator and finisher.
+     *
+     * @param initializer the initializer function
+     * @param integrator the integrator function
+     * @param finisher the finisher function
+     * @param <T> the type of input elements
+     * @param <A> the type of the state
+     * @param <R> the type of output elements
+     * @return the new {@code Gatherer}
+     * @throws NullPointerException if any argument is null
+     */
+    static <T, A, R> Gatherer<T, A, R> ofSequential(
+            Supplier<A> initializer,
+            Integrator<A, T, R> integrator,
+            BiConsumer<A, Downstream<? super R>> finisher) {
+        return of(initializer, integrator, defaultCombiner(), finisher);
+    }
+
+    /**
+     * Returns a new, parallelizable, stateless {@code Gatherer}
+     * described by the given integrator.
+     *
+     * @param integrator the integrator function
+     * @param <T> the type of input elements
+     * @param <R> the type of output elements
+     * @return the new {@code Gatherer}
+     * @throws NullPointerException if the argument is null
+     */
+    @SuppressWarnings("unchecked")
+    static <T, R> Gatherer<T, Void, R> of(Integrator<Void, T, R> integrator) {
+        return of(defaultInitializer(), integrator,
+                  (BinaryOperator<Void>) GatherOps.STATELESS_COMBINER,
+                  defaultFinisher());
+    }
+
+    /**
+     * Returns a new {@code Gatherer} described by the given
+     * initializer, integrator, combiner and finisher.  The gatherer
+     * is parallelizable unless the combiner is {@link
+     * #defaultCombiner()}.
+     *
+     * @param initializer the initializer function
+     * @param integrator the integrator function
+     * @param combiner the combiner function
+     * @param finisher the finisher function
+     * @param <T> the type of input elements
+     * @param <A> the type of the state
+     * @param <R> the type of output elements
+     * @return the new {@code Gatherer}
+     * @throws NullPointerException if any argument is null
+     */
+    static <T, A, R> Gatherer<T, A, R> of(
+            Supplier<A> initializer,
+            Integrator<A, T, R> integrator,
+            BinaryOperator<A> combiner,
+            BiConsumer<A, Downstream<? super R>> finisher) {
+        return new GatherOps.GathererImpl<>(
+            Objects.requireNonNull(initializer),
+            Objects.requireNonNull(integrator),
+            Objects.requireNonNull(combiner),
+            Objects.requireNonNull(finisher));
+    }
+
+    /**
+     * A {@code Downstream} is the destination of the output elements
+     * of a gathering operation.
+     *
+     * @param <T> the type of elements this downstream accepts
+     * @since 18
+     */
+    @FunctionalInterface
+    interface Downstream<T> {
+        /**
+         * Pushes, if possible, the given element to the next stage of
+         * the pipeline.
+         *
+         * @param element the element to push
+         * @return {@code false} if subsequent pushes will be ignored,
+         *         so that the caller may stop producing elements;
+         *         otherwise {@code true}
+         */
+        boolean push(T element);
+
+        /**
+         * Returns whether this downstream ignores further elements,
+         * which can be used to avoid computing elements that would
+         * not be used.
+         *
+         * @implSpec The default implementation returns {@code false}.
+         *
+         * @return {@code true} if this downstream ignores further
+         *         elements, else {@code false}
+         */
+        default boolean isRejecting() {
+            return false;
+        }
+    }
+
+    /**
+     * An {@code Integrator} receives elements and processes them,
+     * optionally using the supplied state, and optionally pushes
+     * output elements to the supplied {@link Downstream}.
+     *
+     * @param <A> the type of the state
+     * @param <T> the type of input elements
+     * @param <R> the type of output elements
+     * @since 18
+     */
+    @FunctionalInterface
+    interface Integrator<A, T, R> {
+        /**
+         * Performs an action given the current state, the next
+         * element, and a downstream.
+         *
+         * @param state the state, which may be {@code null} for
+         *        stateless gatherers
+         * @param element the element
+         * @param downstream the downstream of the output elements
+         * @return {@code true} if more elements may be integrated, or
+         *         {@code false} to stop consuming input
+         */
+        boolean integrate(A state, T element, Downstream<? super R> downstream);
+
+        /**
+         * Returns the given lambda or method reference as an {@code
+         * Integrator}, to aid type inference.
+         *
+         * @param integrator the integrator
+         * @param <A> the type of the state
+         * @param <T> the type of input elements
+         * @param <R> the type of output elements
+         * @return the given integrator
+         */
+        static <A, T, R> Integrator<A, T, R> of(Integrator<A, T, R> integrator) {
+            return integrator;
+        }
+
+        /**
+         * Returns the given lambda or method reference as a {@link
+         * Greedy} integrator, which the stream implementation need not
+         * check for early termination.
+         *
+         * @param greedy the greedy integrator
+         * @param <A> the type of the state
+         * @param <T> the type of input elements
+         * @param <R> the type of output elements
+         * @return the given integrator
+         */
+        static <A, T, R> Greedy<A, T, R> ofGreedy(Greedy<A, T, R> greedy) {
+            return greedy;
+        }
+
+        /**
+         * An {@code Integrator} that never initiates early
+         * termination: its {@code integrate} method returns {@code
+         * false} only when the downstream is rejecting.  Gathering
+         * operations with greedy integrators do not by themselves
+         * make a stream pipeline short-circuiting, which allows more
+         * efficient traversal of the source.
+         *
+         * @param <A> the type of the state
+         * @param <T> the type of input elements
+         * @param <R> the type of output elements
+         * @since 18
+         */
+        @FunctionalInterface
+        interface Greedy<A, T, R> extends Integrator<A, T, R> { }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.stream;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Gatherer.Integrator;
+import jdk.internal.access.SharedSecrets;
+
+/**
+ * Implementations of {@link Gatherer} that provide useful intermediate
+ * operations, such as windowing functions, folding functions, and
+ * transforming elements concurrently.
+ *
+ * <p>None of the gatherers in this class retain more than a bounded
+ * number of elements, so they can be applied to infinite streams with
+ * constant memory use.
+ *
+ * @since 18
+ */
+public final class Gatherers {
+    private Gatherers() { } // This class is not intended to be instantiated
+
+    /**
+     * Returns a Gatherer that gathers elements into windows -- encounter
+     * ordered groups of elements -- of a fixed size.  If the stream is
+     * empty then no window will be produced.  The last window may
+     * contain fewer elements than the supplied window size.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * // will contain: [[1, 2, 3], [4, 5, 6], [7, 8]]
+     * List<List<Integer>> windows =
+     *     Stream.of(1, 2, 3, 4, 5, 6, 7, 8).gather(Gatherers.windowFixed(3)).toList();
+     * }</pre>
+     *
+     * @implSpec Each window produced is an unmodifiable {@code List};
+     * calls to any mutator method will always cause {@code
+     * UnsupportedOperationException} to be thrown.  There are no
+     * guarantees on the implementation type or serializability of the
+     * produced lists.
+     *
+     * @param windowSize the size of the windows
+     * @param <TR> the type of elements the returned gatherer consumes
+     *             and the contents of the windows it produces
+     * @return a new gatherer which groups elements into fixed-size windows
+     * @throws IllegalArgumentException when {@code windowSize} is less
+     *         than 1
+     */
+    public static <TR> Gatherer<TR, ?, List<TR>> windowFixed(int windowSize) {
+        if (windowSize < 1)
+            throw new IllegalArgumentException("'windowSize' must be greater than zero");
+
+        class FixedWindow {
+            Object[] window = new Object[windowSize];
+            int at;
+
+            boolean integrate(TR element, Gatherer.Downstream<? super List<TR>> downstream) {
+                window[at++] = element;
+                if (at < windowSize)
+                    return true;
+                Object[] full = window;
+                window = new Object[windowSize];
+                at = 0;
+                return downstream.push(listOf(full));
+            }
+
+            void finish(Gatherer.Downstream<? super List<TR>> downstream) {
+                if (at > 0 && !downstream.isRejecting())
+                    downstream.push(listOf(Arrays.copyOf(window, at)));
+                window = null;
+            }
+        }
+        return Gatherer.<TR, FixedWindow, List<TR>>ofSequential(
+            FixedWindow::new,
+            Integrator.<FixedWindow, TR, List<TR>>ofGreedy(FixedWindow::integrate),
+            FixedWindow::finish);
+    }
+
+    /**
+     * Returns a Gatherer that gathers elements into windows -- encounter
+     * ordered groups of elements -- of a given size, where each
+     * subsequent window includes all elements of the previous window
+     * except for the least recent, and adds the next element in the
+     * stream.  If the stream is empty then no window will be produced.
+     * If the size of the stream is smaller than the window size then
+     * only one window will be produced, containing all elements in the
+     * stream.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * // will contain: [[1, 2], [2, 3], [3, 4], [4, 5], [5, 6], [6, 7], [7, 8]]
+     * List<List<Integer>> windows =
+     *     Stream.of(1, 2, 3, 4, 5, 6, 7, 8).gather(Gatherers.windowSliding(2)).toList();
+     * }</pre>
+     *
+     * @implSpec Each window produced is an unmodifiable {@code List};
+     * calls to any mutator method will always cause {@code
+     * UnsupportedOperationException} to be thrown.  There are no
+     * guarantees on the implementation type or serializability of the
+     * produced lists.
+     *
+     * @param windowSize the size of the windows
+     * @param <TR> the type of elements the returned gatherer consumes
+     *             and the contents of the windows it produces
+     * @return a new gatherer which groups elements into sliding windows
+     * @throws IllegalArgumentException when {@code windowSize} is less
+     *         than 1
+     */
+    public static <TR> Gatherer<TR, ?, List<TR>> windowSliding(int windowSize) {
+        if (windowSize < 1)
+            throw new IllegalArgumentException("'windowSize' must be greater than zero");
+
+        class SlidingWindow {
+            // Filled in place until the first window is pushed, after which
+            // it is shared with that window and must not be written again
+            Object[] window = new Object[windowSize];
+            int at;
+
+            boolean integrate(TR element, Gatherer.Downstream<? super List<TR>> downstream) {
+                if (at < windowSize) {
+                    window[at++] = element;
+                    return at < windowSize || downstream.push(listOf(window));
+                }
+                Object[] next = Arrays.copyOfRange(window, 1, windowSize + 1);
+                next[windowSize - 1] = element;
+                window = next;
+                return downstream.push(listOf(next));
+            }
+
+            void finish(Gatherer.Downstream<? super List<TR>> downstream) {
+                if (at > 0 && at < windowSize && !downstream.isRejecting())
+                    downstream.push(listOf(Arrays.copyOf(window, at)));
+                window = null;
+            }
+        }
+        return Gatherer.<TR, SlidingWindow, List<TR>>ofSequential(
+            SlidingWindow::new,
+            Integrator.<SlidingWindow, TR, List<TR>>ofGreedy(SlidingWindow::integrate),
+            SlidingWindow::finish);
+    }
+
+    /**
+     * Returns a Gatherer that performs an ordered, <i>reduction-like</i>,
+     * transformation for scenarios where no combiner-function can be
+     * implemented, or for reductions which are intrinsically
+     * order-dependent.  The result is a stream of a single element,
+     * which is the result of the initial supplier if the stream is
+     * empty.
+     *
+     * <p>Example:
+     * <pre>{@code
+     * // will contain: Optional["123456789"]
+     * Optional<String> numberString =
+     *     Stream.of(1, 2, 3, 4, 5, 6, 7, 8, 9)
+     *           .gather(Gatherers.fold(() -> "", (string, number) -> string + number))
+     *           .findFirst();
+     * }</pre>
+     *
+     * @param initial the identity value for the fold operation
+     * @param folder the folding function
+     * @param <T> the type of elements the returned gatherer consumes
+     * @param <R> the type of elements the returned gatherer produces
+     * @return a new Gatherer
+     * @throws NullPointerException if any of the parameters are null
+     */
+    public static <T, R> Gatherer<T, ?, R> fold(
+            Supplier<R> initial,
+            BiFunction<? super R, ? super T, ? extends R> folder) {
+        Objects.requireNonNull(initial, "'initial' must not be null");
+        Objects.requireNonNull(folder, "'folder' must not be null");
+
+        class State {
+            R value = initial.get();
+        }
+        return Gatherer.<T, State, R>ofSequential(
+            State::new,
+            Integrator.<State, T, R>ofGreedy((state, element, downstream) -> {
+                state.value = folder.apply(state.value, element);
+                return true;
+            }),
+            (state, downstream) -> downstream.push(state.value));
+    }
+
+    /**
+     * An operation which executes a function concurrently with a
+     * configured level of max concurrency, using platform threads.
+     * This operation preserves the ordering of the stream: at most
+     * {@code maxConcurrency} invocations of the mapper are in progress
+     * at any time, and their results are pushed downstream in encounter
+     * order as they become available.
+     *
+     * <p>If the mapper throws an exception, the remaining invocations
+     * in progress are cancelled and the exception is rethrown, wrapped
+     * in a {@code RuntimeException} if it is a checked exception.  The
+     * threads used to execute the mapper are daemon threads that are
+     * released when the stream is exhausted or closed by a short-circuit
+     * operation; they also terminate after a period of inactivity if
+     * the stream is abandoned.
+     *
+     * @param maxConcurrency the maximum concurrency desired
+     * @param mapper a function to be executed concurrently
+     * @param <T> the type of input
+     * @param <R> the type of output
+     * @return a new Gatherer
+     * @throws IllegalArgumentException if {@code maxConcurrency} is less
+     *         than 1
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    public static <T, R> Gatherer<T, ?, R> mapConcurrent(
+            final int maxConcurrency,
+            final Function<? super T, ? extends R> mapper) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException(
+                    "'maxConcurrency' must be greater than 0");
+        Objects.requireNonNull(mapper, "'mapper' must not be null");
+
+        class State {
+            final ArrayDeque<Future<R>> window = new ArrayDeque<>(maxConcurrency);
+            ThreadPoolExecutor executor;
+
+            boolean integrate(T element, Gatherer.Downstream<? super R> downstream) {
+                if (executor == null) {
+                    executor = new ThreadPoolExecutor(
+                        maxConcurrency, maxConcurrency, 1L, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(), r -> {
+                            Thread t = new Thread(r, "Gatherers.mapConcurrent");
+                            t.setDaemon(true);
+                            return t;
+                        });
+                    executor.allowCoreThreadTimeOut(true);
+                }
+                if (window.size() == maxConcurrency && !flush(1, downstream))
+                    return false;
+                window.add(executor.submit(() -> mapper.apply(element)));
+                return flush(0, downstream);
+            }
+
+            /**
+             * Pushes the results of the oldest tasks, waiting for at least
+             * {@code atLeast} of them, and then for as long as the next
+             * one is already done.
+             */
+            boolean flush(long atLeast, Gatherer.Downstream<? super R> downstream) {
+                boolean proceed = !downstream.isRejecting();
+                try {
+                    Future<R> f;
+                    while (proceed && (f = window.peek()) != null
+                           && (atLeast > 0 || f.isDone())) {
+                        window.poll();
+                        proceed = downstream.push(f.get());
+                        atLeast--;
+                    }
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    shutdown();
+                    throw new CancellationException("Interrupted");
+                } catch (ExecutionException ee) {
+                    shutdown();
+                    Throwable cause = ee.getCause();
+                    if (cause instanceof RuntimeException re)
+                        throw re;
+                    if (cause instanceof Error e)
+                        throw e;
+                    throw new RuntimeException(cause);
+                } catch (RuntimeException | Error e) {
+                    shutdown();
+                    throw e;
+                }
+                if (!proceed)
+                    shutdown();
+                return proceed;
+            }
+
+            void finish(Gatherer.Downstream<? super R> downstream) {
+                flush(Long.MAX_VALUE, downstream);
+                shutdown();
+            }
+
+            void shutdown() {
+                Future<R> f;
+                while ((f = window.poll()) != null)
+                    f.cancel(true);
+                if (executor != null)
+                    executor.shutdownNow();
+            }
+        }
+        return Gatherer.<T, State, R>ofSequential(
+            State::new,
+            Integrator.<State, T, R>ofGreedy(State::integrate),
+            State::finish);
+    }
+
+    /**
+     * Returns an unmodifiable list over the given array, which must not
+     * be modified afterwards.
+     */
+    private static <T> List<T> listOf(Object[] elements) {
+        return SharedSecrets.getJavaUtilCollectionAccess()
+            .listFromTrustedArrayNullsAllowed(elements);
+    }
+}
@@ -238,6 +238,11 @@ abstract class IntPipeline<E_IN>
         Objects.requireNonNull(mapper);
         return new StatelessOp<Integer>(this, StreamShape.INT_VALUE,
                                         StreamOpFlag.NOT_SORTED | StreamOpFlag.NOT_DISTINCT) {
+            @Override
+            FusedSinks.Op opFusion() {
+                return new FusedSinks.Op(StreamShape.INT_VALUE, FusedSinks.MAP, mapper);
+            }
+
             @Override
             Sink<Integer> opWrapSink(int flags, Sink<Integer> sink) {
                 return new Sink.ChainedInt<Integer>(sink) {
@@ -379,6 +384,11 @@ abstract class IntPipeline<E_IN>
         Objects.requireNonNull(predicate);
         return new StatelessOp<Integer>(this, StreamShape.INT_VALUE,
                                         StreamOpFlag.NOT_SIZED) {
+            @Override
+            FusedSinks.Op opFusion() {
+                return new FusedSinks.Op(StreamShape.INT_VALUE, FusedSinks.FILTER, predicate);
+            }
+
             @Override
             Sink<Integer> opWrapSink(int flags, Sink<Integer> sink) {
                 return new Sink.ChainedInt<Integer>(sink) {
@@ -402,6 +412,11 @@ abstract class IntPipeline<E_IN>
         Objects.requireNonNull(action);
         return new StatelessOp<Integer>(this, StreamShape.INT_VALUE,
                                         0) {
+            @Override
+            FusedSinks.Op opFusion() {
+                return new FusedSinks.Op(StreamShape.INT_VALUE, FusedSinks.PEEK, action);
+            }
+
             @Override
             Sink<Integer> opWrapSink(int flags, Sink<Integer> sink) {
                 return new Sink.ChainedInt<Integer>(sink) {
@@ -470,17 +485,20 @@ abstract class IntPipeline<E_IN>
 
     @Override
     public final int sum() {
-        return reduce(0, Integer::sum);
+        return evaluate(ArrayReduceOps.makeInt(ArrayReduceOps.SUM, s -> (int) s.sum,
+                                               ReduceOps.makeInt(0, Integer::sum)));
     }
 
     @Override
     public final OptionalInt min() {
-        return reduce(Math::min);
+        return evaluate(ArrayReduceOps.makeInt(ArrayReduceOps.MIN, s -> OptionalInt.of((int) s.min),
+                                               ReduceOps.makeInt(Math::min)));
     }
 
     @Override
     public final OptionalInt max() {
-        return reduce(Math::max);
+        return evaluate(ArrayReduceOps.makeInt(ArrayReduceOps.MAX, s -> OptionalInt.of((int) s.max),
+                                               ReduceOps.makeInt(Math::max)));
     }
 
     @Override
@@ -490,15 +508,18 @@ abstract class IntPipeline<E_IN>
 
     @Override
     public final OptionalDouble average() {
-        long[] avg = collect(() -> new long[2],
-                             (ll, i) -> {
-                                 ll[0]++;
-                                 ll[1] += i;
-                             },
-                             (ll, rr) -> {
-                                 ll[0] += rr[0];
-                                 ll[1] += rr[1];
-                             });
+        long[] avg = evaluate(ArrayReduceOps.makeInt(
+            ArrayReduceOps.STATS, s -> new long[] { s.count, s.sum },
+            ReduceOps.makeInt(() -> new long[2],
+                              (ll, i) -> {
+                                  ll[0]++;
+                                  ll[1] += i;
+                              },
+                              (ll, rr) -> {
+                                  ll[0] += rr[0];
+                                  ll[1] += rr[1];
+                                  return ll;
+                              })));
         return avg[0] > 0
                ? OptionalDouble.of((double) avg[1] / avg[0])
                : OptionalDouble.empty();
@@ -506,8 +527,14 @@ abstract class IntPipeline<E_IN>
 
     @Override
     public final IntSummaryStatistics summaryStatistics() {
-        return collect(IntSummaryStatistics::new, IntSummaryStatistics::accept,
-                       IntSummaryStatistics::combine);
+        return evaluate(ArrayReduceOps.makeInt(
+            ArrayReduceOps.STATS,
+            s -> new IntSummaryStatistics(s.count, (int) s.min, (int) s.max, s.sum),
+            ReduceOps.makeInt(IntSummaryStatistics::new, IntSummaryStatistics::accept,
+                              (l, r) -> {
+                                  l.combine(r);
+                                  return l;
+                              })));
     }
 
     @Override
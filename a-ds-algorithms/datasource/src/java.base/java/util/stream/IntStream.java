@@ -26,12 +26,14 @@ package java.util.stream;
 
 import java.util.Arrays;
 import java.util.IntSummaryStatistics;
+import java.util.Map;
 import java.util.Objects;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLongLongHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.IntBinaryOperator;
@@ -624,6 +626,78 @@ public interface IntStream extends BaseStream<Integer, IntStream> {
                   ObjIntConsumer<R> accumulator,
                   BiConsumer<R, R> combiner);
 
+    /**
+     * Counts the elements of this stream by the {@code long} key that the
+     * given function computes for each of them, into a {@link
+     * ConcurrentLongLongHashMap} mapping each key to its number of
+     * elements.  This is a special case of a
+     * <a href="package-summary.html#MutableReduction">mutable reduction</a>
+     * equivalent to, but not boxing keys or counts as does:
+     * <pre>{@code
+     *     boxed().collect(Collectors.groupingBy(e -> classifier.applyAsLong(e),
+     *                                           Collectors.counting()));
+     * }</pre>
+     *
+     * <p>This is a <a href="package-summary.html#StreamOps">terminal
+     * operation</a>.
+     *
+     * @implSpec
+     * The default implementation counts into a single map, which is
+     * updated concurrently if this stream is parallel, as if by:
+     * <pre>{@code
+     *     ConcurrentLongLongHashMap counts = new ConcurrentLongLongHashMap();
+     *     forEach(e -> counts.addTo(classifier.applyAsLong(e), 1L));
+     *     return counts;
+     * }</pre>
+     *
+     * @param classifier a <a href="package-summary.html#NonInterference">non-interfering</a>,
+     *                   <a href="package-summary.html#Statelessness">stateless</a>
+     *                   function computing the key of an element
+     * @return a map from each key to the number of elements with that key
+     * @since 18
+     */
+    default ConcurrentLongLongHashMap countingBy(IntToLongFunction classifier) {
+        Objects.requireNonNull(classifier);
+        ConcurrentLongLongHashMap counts = new ConcurrentLongLongHashMap();
+        forEach(e -> counts.addTo(classifier.applyAsLong(e), 1L));
+        return counts;
+    }
+
+    /**
+     * Partitions the elements of this stream according to a predicate into
+     * two arrays, the elements for which it returns {@code true} and those
+     * for which it returns {@code false}, each in encounter order.  This is
+     * a special case of a
+     * <a href="package-summary.html#MutableReduction">mutable reduction</a>
+     * equivalent to, but not boxing elements as does:
+     * <pre>{@code
+     *     boxed().collect(Collectors.partitioningBy(e -> predicate.test(e)))
+     * }</pre>
+     * and then converting the lists to arrays.
+     *
+     * <p>This is a <a href="package-summary.html#StreamOps">terminal
+     * operation</a>.
+     *
+     * @param predicate a <a href="package-summary.html#NonInterference">non-interfering</a>,
+     *                  <a href="package-summary.html#Statelessness">stateless</a>
+     *                  predicate used for classifying elements
+     * @return an unmodifiable map with mappings for both {@code false} and
+     *         {@code true} keys to the arrays of their elements
+     * @since 18
+     */
+    default Map<Boolean, int[]> partition(IntPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        SpinedBuffer.OfInt[] parts = collect(
+            () -> new SpinedBuffer.OfInt[] { new SpinedBuffer.OfInt(), new SpinedBuffer.OfInt() },
+            (p, e) -> p[predicate.test(e) ? 1 : 0].accept(e),
+            (l, r) -> {
+                r[0].forEach((IntConsumer) l[0]);
+                r[1].forEach((IntConsumer) l[1]);
+            });
+        return Map.of(false, parts[0].asPrimitiveArray(),
+                      true, parts[1].asPrimitiveArray());
+    }
+
     /**
      * Returns the sum of elements in this stream.  This is a special case
      * of a <a href="package-summary.html#Reduction">reduction</a>
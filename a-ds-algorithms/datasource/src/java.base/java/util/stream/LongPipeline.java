@@ -220,6 +220,11 @@ abstract class LongPipeline<E_IN>
         Objects.requireNonNull(mapper);
         return new StatelessOp<Long>(this, StreamShape.LONG_VALUE,
                                      StreamOpFlag.NOT_SORTED | StreamOpFlag.NOT_DISTINCT) {
+            @Override
+            FusedSinks.Op opFusion() {
+                return new FusedSinks.Op(StreamShape.LONG_VALUE, FusedSinks.MAP, mapper);
+            }
+
             @Override
             Sink<Long> opWrapSink(int flags, Sink<Long> sink) {
                 return new Sink.ChainedLong<Long>(sink) {
@@ -361,6 +366,11 @@ abstract class LongPipeline<E_IN>
         Objects.requireNonNull(predicate);
         return new StatelessOp<Long>(this, StreamShape.LONG_VALUE,
                                      StreamOpFlag.NOT_SIZED) {
+            @Override
+            FusedSinks.Op opFusion() {
+                return new FusedSinks.Op(StreamShape.LONG_VALUE, FusedSinks.FILTER, predicate);
+            }
+
             @Override
             Sink<Long> opWrapSink(int flags, Sink<Long> sink) {
                 return new Sink.ChainedLong<Long>(sink) {
@@ -384,6 +394,11 @@ abstract class LongPipeline<E_IN>
         Objects.requireNonNull(action);
         return new StatelessOp<Long>(this, StreamShape.LONG_VALUE,
                                      0) {
+            @Override
+            FusedSinks.Op opFusion() {
+                return new FusedSinks.Op(StreamShape.LONG_VALUE, FusedSinks.PEEK, action);
+            }
+
             @Override
             Sink<Long> opWrapSink(int flags, Sink<Long> sink) {
                 return new Sink.ChainedLong<Long>(sink) {
@@ -453,30 +468,36 @@ abstract class LongPipeline<E_IN>
     @Override
     public final long sum() {
         // use better algorithm to compensate for intermediate overflow?
-        return reduce(0, Long::sum);
+        return evaluate(ArrayReduceOps.makeLong(ArrayReduceOps.SUM, s -> s.sum,
+                                                ReduceOps.makeLong(0, Long::sum)));
     }
 
     @Override
     public final OptionalLong min() {
-        return reduce(Math::min);
+        return evaluate(ArrayReduceOps.makeLong(ArrayReduceOps.MIN, s -> OptionalLong.of(s.min),
+                                                ReduceOps.makeLong(Math::min)));
     }
 
     @Override
     public final OptionalLong max() {
-        return reduce(Math::max);
+        return evaluate(ArrayReduceOps.makeLong(ArrayReduceOps.MAX, s -> OptionalLong.of(s.max),
+                                                ReduceOps.makeLong(Math::max)));
     }
 
     @Override
     public final OptionalDouble average() {
-        long[] avg = collect(() -> new long[2],
-                             (ll, i) -> {
-                                 ll[0]++;
-                                 ll[1] += i;
-                             },
-                             (ll, rr) -> {
-                                 ll[0] += rr[0];
-                                 ll[1] += rr[1];
-                             });
+        long[] avg = evaluate(ArrayReduceOps.makeLong(
+            ArrayReduceOps.SUM, s -> new long[] { s.count, s.sum },
+            ReduceOps.makeLong(() -> new long[2],
+                               (ll, i) -> {
+                                   ll[0]++;
+                                   ll[1] += i;
+                               },
+                               (ll, rr) -> {
+                                   ll[0] += rr[0];
+                                   ll[1] += rr[1];
+                                   return ll;
+                               })));
         return avg[0] > 0
                ? OptionalDouble.of((double) avg[1] / avg[0])
                : OptionalDouble.empty();
@@ -489,8 +510,14 @@ abstract class LongPipeline<E_IN>
 
     @Override
     public final LongSummaryStatistics summaryStatistics() {
-        return collect(LongSummaryStatistics::new, LongSummaryStatistics::accept,
-                       LongSummaryStatistics::combine);
+        return evaluate(ArrayReduceOps.makeLong(
+            ArrayReduceOps.STATS,
+            s -> new LongSummaryStatistics(s.count, s.min, s.max, s.sum),
+            ReduceOps.makeLong(LongSummaryStatistics::new, LongSummaryStatistics::accept,
+                               (l, r) -> {
+                                   l.combine(r);
+                                   return l;
+                               })));
     }
 
     @Override
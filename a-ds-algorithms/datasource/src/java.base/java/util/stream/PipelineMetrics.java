@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.stream;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.LongHistogram;
+
+/**
+ * Timing statistics of the terminal operations of parallel stream
+ * pipelines run in a given {@link ForkJoinPool}, as recorded by
+ * pipelines made parallel with {@link BaseStream#parallel(ForkJoinPool,
+ * PipelineMetrics)}.  For each terminal operation, the time between the
+ * call and the start of evaluation in the pool, and the time taken by
+ * the evaluation, are recorded in nanoseconds.  A wait time that grows
+ * while evaluation times do not indicates that the pool is saturated
+ * by other work.
+ *
+ * <p>A single instance may be shared by many pipelines, typically all
+ * those of one kind of workload, and may be updated concurrently.  The
+ * histograms are live; use {@link LongHistogram#snapshotThenReset} to
+ * report by interval.
+ *
+ * @since 18
+ */
+public final class PipelineMetrics {
+    private final LongHistogram waitTimes = new LongHistogram();
+    private final LongHistogram evaluationTimes = new LongHistogram();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Creates new metrics, with nothing recorded.
+     */
+    public PipelineMetrics() { }
+
+    /**
+     * Returns the histogram of the times, in nanoseconds, between the
+     * call of each terminal operation and the start of its evaluation
+     * in the pool.
+     *
+     * @return the histogram of wait times
+     */
+    public LongHistogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    /**
+     * Returns the histogram of the times, in nanoseconds, taken by the
+     * evaluation of each terminal operation, whether it completed
+     * normally or not.
+     *
+     * @return the histogram of evaluation times
+     */
+    public LongHistogram getEvaluationTimes() {
+        return evaluationTimes;
+    }
+
+    /**
+     * Returns the number of terminal operations that completed by
+     * throwing an exception.
+     *
+     * @return the number of failed terminal operations
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * Resets the metrics, discarding everything recorded.
+     */
+    public void reset() {
+        waitTimes.reset();
+        evaluationTimes.reset();
+        failures.reset();
+    }
+
+    /**
+     * Returns a string identifying these metrics, as well as their
+     * state.
+     *
+     * @return a string identifying these metrics, as well as their state
+     */
+    @Override
+    public String toString() {
+        return super.toString() +
+            "[waitTimes = " + waitTimes.snapshot() +
+            ", evaluationTimes = " + evaluationTimes.snapshot() +
+            ", failures = " + failures.sum() + "]";
+    }
+
+    /**
+     * Records one terminal operation.
+     */
+    void record(long waitNanos, long evaluationNanos, boolean failed) {
+        waitTimes.record(Math.max(waitNanos, 0L));
+        evaluationTimes.record(Math.max(evaluationNanos, 0L));
+        if (failed)
+            failures.increment();
+    }
+}
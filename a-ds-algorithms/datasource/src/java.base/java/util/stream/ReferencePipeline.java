@@ -430,6 +430,12 @@ abstract class ReferencePipeline<P_IN, P_OUT>
         };
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public final <R> Stream<R> gather(Gatherer<? super P_OUT, ?, R> gatherer) {
+        return GatherOps.makeRef(this, (Gatherer<P_OUT, ?, R>) gatherer);
+    }
+
     @Override
     public final <R> Stream<R> mapMulti(BiConsumer<? super P_OUT, ? super Consumer<R>> mapper) {
         Objects.requireNonNull(mapper);
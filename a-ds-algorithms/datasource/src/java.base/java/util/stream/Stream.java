@@ -608,6 +608,54 @@ public interface Stream<T> extends BaseStream<T, Stream<T>> {
      */
     Stream<T> sorted(Comparator<? super T> comparator);
 
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * {@link Gatherer} to the elements of this stream.
+     *
+     * <p>This is a <a href="package-summary.html#StreamOps">stateful
+     * intermediate operation</a> that is a
+     * <a href="package-summary.html#StreamOps">short-circuiting</a>
+     * operation unless the gatherer's integrator is
+     * {@linkplain Gatherer.Integrator.Greedy greedy}.
+     *
+     * <p>Gatherers can perform a wide variety of one-to-one, one-to-many,
+     * many-to-one and many-to-many transformations, such as grouping
+     * elements into windows, and may stop consuming input early.  Elements
+     * are gathered as they are produced by the upstream, so a gatherer
+     * whose state is bounded may be applied to an infinite stream.  In a
+     * parallel pipeline a gatherer is evaluated in parallel only if it has
+     * a {@linkplain Gatherer#combiner() combiner}; otherwise it is
+     * evaluated sequentially, in encounter order.
+     *
+     * @apiNote The following gathers the elements of an infinite stream
+     * into windows of three elements, and takes the first two windows:
+     * <pre>{@code
+     *     // [[1, 2, 3], [4, 5, 6]]
+     *     List<List<Integer>> windows = Stream.iterate(1, i -> i + 1)
+     *         .gather(Gatherers.windowFixed(3))
+     *         .limit(2)
+     *         .toList();
+     * }</pre>
+     *
+     * @implSpec
+     * The default implementation creates a new stream from the
+     * {@linkplain #spliterator() spliterator} of this stream and applies
+     * the gatherer to it.  The new stream is closed by
+     * {@linkplain #close() closing} this stream.
+     *
+     * @param <R> The element type of the new stream
+     * @param gatherer a gatherer
+     * @return the new stream
+     * @see Gatherers
+     * @since 18
+     */
+    default <R> Stream<R> gather(Gatherer<? super T, ?, R> gatherer) {
+        Objects.requireNonNull(gatherer);
+        return StreamSupport.stream(spliterator(), isParallel())
+                            .gather(gatherer)
+                            .onClose(this::close);
+    }
+
     /**
      * Returns a stream consisting of the elements of this stream, additionally
      * performing the provided action on each element as elements are consumed
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package jdk.internal.access;
+
+import java.util.Spliterator;
+
+public interface JavaUtilSpliteratorsAccess {
+    /**
+     * If the given spliterator traverses a range of an {@code int[]},
+     * {@code long[]} or {@code double[]} array, and has elements remaining,
+     * claims them for traversal by the caller: stores the bounds of the
+     * remaining range in {@code range[0]} (inclusive) and {@code range[1]}
+     * (exclusive), and returns the array, after which the spliterator has
+     * no elements remaining.  Otherwise returns {@code null}.
+     */
+    Object takeArrayRange(Spliterator<?> spliterator, int[] range);
+}
@@ -74,6 +74,7 @@ public class SharedSecrets {
     private static JavaNetURLAccess javaNetURLAccess;
     private static JavaNioAccess javaNioAccess;
     private static JavaUtilCollectionAccess javaUtilCollectionAccess;
+    private static JavaUtilSpliteratorsAccess javaUtilSpliteratorsAccess;
     private static JavaUtilJarAccess javaUtilJarAccess;
     private static JavaUtilZipFileAccess javaUtilZipFileAccess;
     private static JavaUtilResourceBundleAccess javaUtilResourceBundleAccess;
@@ -99,6 +100,21 @@ public class SharedSecrets {
         return access;
     }
 
+    public static void setJavaUtilSpliteratorsAccess(JavaUtilSpliteratorsAccess jusa) {
+        javaUtilSpliteratorsAccess = jusa;
+    }
+
+    public static JavaUtilSpliteratorsAccess getJavaUtilSpliteratorsAccess() {
+        var access = javaUtilSpliteratorsAccess;
+        if (access == null) {
+            // Ensure Spliterators is initialized; we know that this class
+            // provides the shared secret
+            ensureClassInitialized(java.util.Spliterators.class);
+            access = javaUtilSpliteratorsAccess;
+        }
+        return access;
+    }
+
     public static JavaUtilJarAccess javaUtilJarAccess() {
         var access = javaUtilJarAccess;
         if (access == null) {
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package jdk.internal.misc;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorMetrics;
+
+/**
+ * Tracks the ExecutorMetrics of executors that have metrics enabled, for
+ * use by management and monitoring support.  Metrics are weakly referenced
+ * so that registering them does not keep their executor alive.
+ */
+public class ExecutorMetricsRegistry {
+
+    private static final ConcurrentLinkedQueue<WeakReference<ExecutorMetrics>>
+        metrics = new ConcurrentLinkedQueue<>();
+
+    private ExecutorMetricsRegistry() { }
+
+    /**
+     * Registers the given metrics.
+     */
+    public static void register(ExecutorMetrics m) {
+        expunge();
+        metrics.add(new WeakReference<>(m));
+    }
+
+    /**
+     * Returns the metrics of all executors that are still reachable.
+     */
+    public static List<ExecutorMetrics> getAll() {
+        List<ExecutorMetrics> list = new ArrayList<>();
+        for (Iterator<WeakReference<ExecutorMetrics>> it = metrics.iterator();
+             it.hasNext(); ) {
+            ExecutorMetrics m = it.next().get();
+            if (m == null)
+                it.remove();
+            else
+                list.add(m);
+        }
+        return list;
+    }
+
+    private static void expunge() {
+        metrics.removeIf(ref -> ref.get() == null);
+    }
+}
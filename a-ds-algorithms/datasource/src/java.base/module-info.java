@@ -177,6 +177,7 @@ module java.base {
         jdk.internal.vm.ci,
         jdk.jfr,
         jdk.jshell,
+        jdk.management,
         jdk.nio.mapmode,
         jdk.unsupported;
     exports jdk.internal.module to
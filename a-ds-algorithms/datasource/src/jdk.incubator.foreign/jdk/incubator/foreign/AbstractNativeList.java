@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package jdk.incubator.foreign;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+
+/**
+ * Common storage for the growable native lists ({@link NativeLongList}, {@link NativeDoubleList} and
+ * {@link NativeStructList}). Elements are stored in a sequence of native <em>chunks</em>, all allocated
+ * in the resource scope supplied by the client; the first chunk holds {@code 2^FIRST_CHUNK_SHIFT} elements,
+ * each following chunk doubles the capacity of the list until chunks reach {@code 2^MAX_CHUNK_SHIFT}
+ * elements, after which all chunks have that size. Growing a list therefore never copies existing
+ * elements (in the spirit of {@code java.util.stream.SpinedBuffer}), and the chunk holding a given element
+ * index can be computed in constant time.
+ */
+abstract class AbstractNativeList {
+
+    static final int FIRST_CHUNK_SHIFT = 10;
+    static final int MAX_CHUNK_SHIFT = 20;
+
+    /** Index of the first chunk of maximal size; it starts at element {@code 2^MAX_CHUNK_SHIFT}. */
+    static final int FIRST_FIXED_CHUNK = MAX_CHUNK_SHIFT - FIRST_CHUNK_SHIFT + 1;
+
+    final ResourceScope scope;
+    final long elementSize;
+    final long elementAlignment;
+
+    MemorySegment[] chunks = new MemorySegment[8];
+    int chunkCount;
+    long size;
+
+    /** Incremented on each change of size, for fail-fast spliterators. */
+    int modCount;
+
+    AbstractNativeList(long elementSize, long elementAlignment, ResourceScope scope) {
+        this.scope = Objects.requireNonNull(scope);
+        this.elementSize = elementSize;
+        this.elementAlignment = elementAlignment;
+    }
+
+    /**
+     * Returns the index of the chunk containing the element at given index.
+     */
+    static int chunkIndex(long index) {
+        if (index < (1L << FIRST_CHUNK_SHIFT)) {
+            return 0;
+        } else if (index < (1L << MAX_CHUNK_SHIFT)) {
+            return (63 - Long.numberOfLeadingZeros(index)) - FIRST_CHUNK_SHIFT + 1;
+        } else {
+            long c = FIRST_FIXED_CHUNK - 1 + (index >>> MAX_CHUNK_SHIFT);
+            if (c > Integer.MAX_VALUE) {
+                throw new IndexOutOfBoundsException("Index too large: " + index);
+            }
+            return (int)c;
+        }
+    }
+
+    /**
+     * Returns the index of the first element stored in given chunk.
+     */
+    static long chunkStart(int chunk) {
+        if (chunk == 0) {
+            return 0;
+        } else if (chunk <= FIRST_FIXED_CHUNK) {
+            return 1L << (FIRST_CHUNK_SHIFT + chunk - 1);
+        } else {
+            return (long)(chunk - FIRST_FIXED_CHUNK + 1) << MAX_CHUNK_SHIFT;
+        }
+    }
+
+    /**
+     * Returns the number of elements which fit in given chunk.
+     */
+    static long chunkCapacity(int chunk) {
+        return chunk == 0 ?
+                1L << FIRST_CHUNK_SHIFT :
+                1L << Math.min(FIRST_CHUNK_SHIFT + chunk - 1, MAX_CHUNK_SHIFT);
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     * @return the number of elements in this list.
+     */
+    public final long size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this list contains no elements.
+     * @return {@code true} if this list contains no elements.
+     */
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements this list can hold without allocating more native memory.
+     * @return the capacity of this list.
+     */
+    public final long capacity() {
+        return chunkStart(chunkCount);
+    }
+
+    /**
+     * Returns the resource scope associated with this list. All the native memory backing this list
+     * is released when the scope is closed; after that, every operation on this list which accesses
+     * its elements fails with {@link IllegalStateException}.
+     * @return the resource scope associated with this list.
+     */
+    public final ResourceScope scope() {
+        return scope;
+    }
+
+    /**
+     * Allocates native memory, if necessary, so that this list can hold at least the given number of
+     * elements without further allocation.
+     * @param minCapacity the desired minimum capacity.
+     * @throws IllegalArgumentException if {@code minCapacity < 0}.
+     * @throws IllegalStateException if the scope associated with this list has been closed, or if access
+     * occurs from a thread other than the thread owning that scope.
+     */
+    public final void ensureCapacity(long minCapacity) {
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + minCapacity);
+        }
+        while (capacity() < minCapacity) {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunkCount << 1);
+            }
+            long cap = chunkCapacity(chunkCount);
+            chunks[chunkCount] = MemorySegment.allocateNative(cap * elementSize, elementAlignment, scope);
+            chunkCount++;
+        }
+    }
+
+    /**
+     * Removes all of the elements from this list. The native memory backing this list is retained, and
+     * reused by subsequent additions; it is only released when the scope of this list is closed.
+     */
+    public final void clear() {
+        modCount++;
+        size = 0;
+    }
+
+    final void checkIndex(long index) {
+        Objects.checkIndex(index, size);
+    }
+
+    /**
+     * Reserves room for {@code count} more elements and returns the index of the first one.
+     */
+    final long grow(long count) {
+        long index = size;
+        long newSize = index + count;
+        if (newSize < 0) {
+            throw new OutOfMemoryError("Required list size too large");
+        }
+        if (newSize > capacity()) {
+            ensureCapacity(newSize);
+        }
+        modCount++;
+        size = newSize;
+        return index;
+    }
+
+    /**
+     * Returns a segment covering the single element at given (checked) index.
+     */
+    final MemorySegment elementSlice(long index) {
+        int c = chunkIndex(index);
+        return chunks[c].asSlice((index - chunkStart(c)) * elementSize, elementSize);
+    }
+
+    /**
+     * Copies the elements in {@code src} (whose size must be a multiple of the element size) into this
+     * list, starting at given element index, possibly spanning several chunks.
+     */
+    final void copyIn(long index, MemorySegment src) {
+        long count = src.byteSize() / elementSize;
+        long srcOffset = 0;
+        while (count > 0) {
+            int c = chunkIndex(index);
+            long off = index - chunkStart(c);
+            long n = Math.min(count, chunkCapacity(c) - off);
+            chunks[c].asSlice(off * elementSize, n * elementSize)
+                    .copyFrom(src.asSlice(srcOffset, n * elementSize));
+            srcOffset += n * elementSize;
+            index += n;
+            count -= n;
+        }
+    }
+
+    /**
+     * Copies elements of this list, starting at given element index, into {@code dst} (whose size must be a
+     * multiple of the element size), possibly spanning several chunks.
+     */
+    final void copyOut(long index, MemorySegment dst) {
+        long count = dst.byteSize() / elementSize;
+        long dstOffset = 0;
+        while (count > 0) {
+            int c = chunkIndex(index);
+            long off = index - chunkStart(c);
+            long n = Math.min(count, chunkCapacity(c) - off);
+            dst.asSlice(dstOffset, n * elementSize)
+                    .copyFrom(chunks[c].asSlice(off * elementSize, n * elementSize));
+            dstOffset += n * elementSize;
+            index += n;
+            count -= n;
+        }
+    }
+
+    /**
+     * Base class for the spliterators of native lists. Spliterators are late-binding and fail-fast; a
+     * range spanning several chunks is split at the chunk boundary closest to its middle, so that
+     * each chunk is traversed by a single thread whenever possible.
+     */
+    abstract class ChunkSpliterator {
+        long index;             // current index, modified on advance/split
+        long fence;             // -1 until first use
+        int expectedModCount;   // initialized when fence set
+
+        ChunkSpliterator(long origin, long fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        final long getFence() {
+            long hi;
+            if ((hi = fence) < 0) {
+                expectedModCount = modCount;
+                hi = fence = size;
+            }
+            return hi;
+        }
+
+        /**
+         * Returns the index at which to split the remaining range, or -1 if it is too small to split.
+         */
+        final long splitIndex() {
+            long lo = index, hi = getFence(), mid = (lo + hi) >>> 1;
+            if (lo >= mid) {
+                return -1;
+            }
+            long boundary = chunkStart(chunkIndex(mid));
+            return boundary > lo ? boundary : mid;
+        }
+
+        final void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        public final long estimateSize() {
+            return getFence() - index;
+        }
+
+        public int characteristics() {
+            return java.util.Spliterator.ORDERED | java.util.Spliterator.SIZED | java.util.Spliterator.SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package jdk.incubator.foreign;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A growable list of {@code long} values stored in native memory. Unlike {@code java.util.ArrayList<Long>} or a
+ * {@code long[]} buffer, the elements of a native list live outside the Java heap, so that very large buffers neither
+ * add to the work of the garbage collector nor need to be copied when the list grows. The size of a native list is
+ * a {@code long}, and is not limited by the maximum length of a Java array.
+ * <p>
+ * The native memory backing a list is allocated in a {@linkplain ResourceScope resource scope} supplied by the client,
+ * and is released, deterministically, when that scope is closed:
+ *
+ * <blockquote><pre>{@code
+try (ResourceScope scope = ResourceScope.newSharedScope()) {
+    NativeLongList list = NativeLongList.allocate(scope);
+    list.addAll(timestamps);
+    long max = list.stream().parallel().max().orElse(0L);
+}
+ * }</pre></blockquote>
+ *
+ * A list associated with a confined scope can only be accessed from the scope's owner thread; a shared scope is
+ * required to traverse the list with a parallel stream.
+ * <p>
+ * Native lists are not thread-safe: if a list is modified by one thread while other threads access it, external
+ * synchronization is required. Elements are stored in {@linkplain java.nio.ByteOrder#nativeOrder() native byte order}.
+ */
+public final class NativeLongList extends AbstractNativeList {
+
+    private NativeLongList(ResourceScope scope) {
+        super(8, 8, scope);
+    }
+
+    /**
+     * Creates an empty list whose native memory is associated with the given resource scope.
+     * @param scope the resource scope associated with the new list.
+     * @return a new, empty list.
+     * @throws IllegalStateException if {@code scope} has been already closed, or if access occurs from a thread other
+     * than the thread owning {@code scope}.
+     */
+    public static NativeLongList allocate(ResourceScope scope) {
+        return allocate(0, scope);
+    }
+
+    /**
+     * Creates an empty list, with room for at least the given number of elements, whose native memory is associated
+     * with the given resource scope.
+     * @param initialCapacity the number of elements the new list can hold before allocating more memory.
+     * @param scope the resource scope associated with the new list.
+     * @return a new, empty list.
+     * @throws IllegalArgumentException if {@code initialCapacity < 0}.
+     * @throws IllegalStateException if {@code scope} has been already closed, or if access occurs from a thread other
+     * than the thread owning {@code scope}.
+     */
+    public static NativeLongList allocate(long initialCapacity, ResourceScope scope) {
+        NativeLongList list = new NativeLongList(scope);
+        list.ensureCapacity(initialCapacity);
+        return list;
+    }
+
+    /**
+     * Returns the element at given index.
+     * @param index the index of the element.
+     * @return the element at given index.
+     * @throws IndexOutOfBoundsException if {@code index < 0} or {@code index >= size()}.
+     * @throws IllegalStateException if the scope associated with this list has been closed, or if access occurs
+     * from a thread other than the thread owning that scope.
+     */
+    public long get(long index) {
+        checkIndex(index);
+        int c = chunkIndex(index);
+        return MemoryAccess.getLongAtIndex(chunks[c], index - chunkStart(c));
+    }
+
+    /**
+     * Replaces the element at given index.
+     * @param index the index of the element.
+     * @param value the new value of the element.
+     * @throws IndexOutOfBoundsException if {@code index < 0} or {@code index >= size()}.
+     * @throws IllegalStateException if the scope associated with this list has been closed, or if access occurs
+     * from a thread other than the thread owning that scope.
+     */
+    public void set(long index, long value) {
+        checkIndex(index);
+        int c = chunkIndex(index);
+        MemoryAccess.setLongAtIndex(chunks[c], index - chunkStart(c), value);
+    }
+
+    /**
+     * Appends an element to the end of this list.
+     * @param value the element to be appended.
+     * @throws IllegalStateException if the scope associated with this list has been closed, or if access occurs
+     * from a thread other than the thread owning that scope.
+     */
+    public void add(long value) {
+        long index = grow(1);
+        int c = chunkIndex(index);
+        MemoryAccess.setLongAtIndex(chunks[c], index - chunkStart(c), value);
+    }
+
+    /**
+     * Appends all the elements of given array to the end of this list, using bulk memory copies.
+     * @param values the elements to be appended.
+     * @throws IllegalStateException if the scope associated with this list has been closed, or if access occurs
+     * from a thread other than the thread owning that scope.
+     */
+    public void addAll(long[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * Appends a range of elements of given array to the end of this list, using bulk memory copies.
+     * @param values the array containing the elements to be appended.
+     * @param offset the index of the first array element to be appended.
+     * @param length the number of array elements to be appended.
+     * @throws IndexOutOfBoundsException if {@code offset} and {@code length} do not describe a range of {@code values}.
+     * @throws IllegalStateException if the scope associated with this list has been closed, or if access occurs
+     * from a thread other than the thread owning that scope.
+     */
+    public void addAll(long[] values, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, values.length);
+        long index = grow(length);
+        copyIn(index, MemorySegment.ofArray(values).asSlice(offset * 8L, length * 8L));
+    }
+
+    /**
+     * Copies a range of elements of this list into given array, using bulk memory copies.
+     * @param index the index of the first list element to be copied.
+     * @param dst the destination array.
+     * @param offset the index in {@code dst} of the first copied element.
+     * @param length the number of elements to be copied.
+     * @throws IndexOutOfBoundsException if {@code index} and {@code length} do not describe a range of this list, or
+     * if {@code offset} and {@code length} do not describe a range of {@code dst}.
+     * @throws IllegalStateException if the scope associated with this list has been closed, or if access occurs
+     * from a thread other than the thread owning that scope.
+     */
+    public void copyTo(long index, long[] dst, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, size);
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        copyOut(index, MemorySegment.ofArray(dst).asSlice(offset * 8L, length * 8L));
+    }
+
+    /**
+     * Returns a new array containing all the elements of this list.
+     * @return a new array containing all the elements of this list.
+     * @throws UnsupportedOperationException if the size of this list exceeds the maximum length of a Java array.
+     * @throws IllegalStateException if the scope associated with this list has been closed, or if access occurs
+     * from a thread other than the thread owning that scope.
+     */
+    public long[] toArray() {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new UnsupportedOperationException("List too large for an array: " + size);
+        }
+        long[] arr = new long[(int)size];
+        copyTo(0, arr, 0, arr.length);
+        return arr;
+    }
+
+    /**
+     * Returns a late-binding, fail-fast spliterator over the elements of this list. The spliterator reports
+     * {@link Spliterator#ORDERED}, {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}, and splits
+     * preferably at the boundaries of the native chunks backing this list.
+     * @return a spliterator over the elements of this list.
+     */
+    public Spliterator.OfLong spliterator() {
+        return new LongSpliterator(0, -1, 0);
+    }
+
+    /**
+     * Returns a sequential stream over the elements of this list.
+     * @return a sequential stream over the elements of this list.
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    final class LongSpliterator extends ChunkSpliterator implements Spliterator.OfLong {
+        LongSpliterator(long origin, long fence, int expectedModCount) {
+            super(origin, fence, expectedModCount);
+        }
+
+        @Override
+        public LongSpliterator trySplit() {
+            long split = splitIndex();
+            return split < 0 ? null :
+                    new LongSpliterator(index, index = split, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            Objects.requireNonNull(action);
+            long i = index;
+            if (i < getFence()) {
+                checkForComodification();
+                index = i + 1;
+                int c = chunkIndex(i);
+                action.accept(MemoryAccess.getLongAtIndex(chunks[c], i - chunkStart(c)));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            Objects.requireNonNull(action);
+            long i = index, hi = getFence();
+            index = hi;
+            checkForComodification();
+            while (i < hi) {
+                int c = chunkIndex(i);
+                long start = chunkStart(c);
+                long end = Math.min(hi, start + chunkCapacity(c));
+                MemorySegment chunk = chunks[c];
+                for (long j = i - start, n = end - start; j < n; j++) {
+                    action.accept(MemoryAccess.getLongAtIndex(chunk, j));
+                }
+                i = end;
+            }
+            checkForComodification();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package jdk.incubator.foreign;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A growable list of fixed-width records stored in native memory. The shape of each record is described by a
+ * {@linkplain MemoryLayout memory layout} (typically a {@link GroupLayout}); elements are accessed as memory segments
+ * which are <em>views</em> of the list storage, and which can be dereferenced with var handles obtained from the
+ * element layout:
+ *
+ * <blockquote><pre>{@code
+GroupLayout POINT = MemoryLayout.structLayout(
+    MemoryLayouts.JAVA_LONG.withName("x"),
+    MemoryLayouts.JAVA_LONG.withName("y"));
+VarHandle X = POINT.varHandle(long.class, MemoryLayout.PathElement.groupElement("x"));
+try (ResourceScope scope = ResourceScope.newConfinedScope()) {
+    NativeStructList points = NativeStructList.allocate(POINT, scope);
+    X.set(points.add(), 42L);
+    long x = (long)X.get(points.get(0));
+}
+ * }</pre></blockquote>
+ *
+ * The native memory backing a list is allocated in a {@linkplain ResourceScope resource scope} supplied by the client,
+ * and is released when that scope is closed. As for {@link NativeLongList}, growing a list never moves existing records,
+ * so segments returned by {@link #get(long)} remain valid views of their record for as long as the scope is alive,
+ * even if the list grows; after {@link #clear()}, a view may alias a record added later.
+ * <p>
+ * Native lists are not thread-safe: if a list is modified by one thread while other threads access it, external
+ * synchronization is required.
+ */
+public final class NativeStructList extends AbstractNativeList {
+
+    private final MemoryLayout elementLayout;
+
+    private NativeStructList(MemoryLayout elementLayout, ResourceScope scope) {
+        super(elementLayout.byteSize(), elementLayout.byteAlignment(), scope);
+        this.elementLayout = elementLayout;
+    }
+
+    /**
+     * Creates an empty list of records with the given layout, whose native memory is associated with the given
+     * resource scope.
+     * @param elementLayout the layout of the list elements.
+     * @param scope the resource scope associated with the new list.
+     * @return a new, empty list.
+     * @throws IllegalArgumentException if the size of {@code elementLayout} is zero, or is not a multiple of its
+     * alignment.
+     */
+    public static NativeStructList allocate(MemoryLayout elementLayout, ResourceScope scope) {
+        return allocate(elementLayout, 0, scope);
+    }
+
+    /**
+     * Creates an empty list of records with the given layout, with room for at least the given number of elements,
+     * whose native memory is associated with the given resource scope.
+     * @param elementLayout the layout of the list elements.
+     * @param initialCapacity the number of elements the new list can hold before allocating more memory.
+     * @param scope the resource scope associated with the new list.
+     * @return a new, empty list.
+     * @throws IllegalArgumentException if the size of {@code elementLayout} is zero, or is not a multiple of its
+     * alignment, or if {@code initialCapacity < 0}.
+     * @throws IllegalStateException if {@code scope} has been already closed, or if access occurs from a thread other
+     * than the thread owning {@code scope}.
+     */
+    public static NativeStructList allocate(MemoryLayout elementLayout, long initialCapacity, ResourceScope scope) {
+        Objects.requireNonNull(elementLayout);
+        if (!elementLayout.hasSize() || elementLayout.byteSize() == 0 ||
+                elementLayout.byteSize() % elementLayout.byteAlignment() != 0) {
+            throw new IllegalArgumentException("Unsupported element layout: " + elementLayout);
+        }
+        NativeStructList list = new NativeStructList(elementLayout, scope);
+        list.ensureCapacity(initialCapacity);
+        return list;
+    }
+
+    /**
+     * Returns the layout of the elements of this list.
+     * @return the layout of the elements of this list.
+     */
+    public MemoryLayout elementLayout() {
+        return elementLayout;
+    }
+
+    /**
+     * Returns a segment which is a view of the element at given index.
+     * @param index the index of the element.
+     * @return a segment of size {@code elementLayout().byteSize()} backed by the element at given index.
+     * @throws IndexOutOfBoundsException if {@code index < 0} or {@code index >= size()}.
+     */
+    public MemorySegment get(long index) {
+        checkIndex(index);
+        return elementSlice(index);
+    }
+
+    /**
+     * Appends a new element, whose contents are all zeros, to the end of this list.
+     * @return a segment which is a view of the new element.
+     * @throws IllegalStateException if the scope associated with this list has been closed, or if access occurs
+     * from a thread other than the thread owning that scope.
+     */
+    public MemorySegment add() {
+        return elementSlice(grow(1)).fill((byte)0);
+    }
+
+    /**
+     * Appends a copy of the given record to the end of this list.
+     * @param value a segment containing the record to be appended.
+     * @throws IllegalArgumentException if the size of {@code value} differs from the size of the element layout.
+     * @throws IllegalStateException if the scope associated with this list, or with {@code value}, has been closed,
+     * or if access occurs from a thread other than the thread owning either scope.
+     */
+    public void add(MemorySegment value) {
+        if (value.byteSize() != elementSize) {
+            throw new IllegalArgumentException("Bad element size: " + value.byteSize());
+        }
+        elementSlice(grow(1)).copyFrom(value);
+    }
+
+    /**
+     * Appends copies of all the records contained in the given segment to the end of this list, using bulk memory
+     * copies.
+     * @param values a segment containing the records to be appended, laid out contiguously.
+     * @throws IllegalArgumentException if the size of {@code values} is not a multiple of the size of the element layout.
+     * @throws IllegalStateException if the scope associated with this list, or with {@code values}, has been closed,
+     * or if access occurs from a thread other than the thread owning either scope.
+     */
+    public void addAll(MemorySegment values) {
+        if (values.byteSize() % elementSize != 0) {
+            throw new IllegalArgumentException("Bad segment size: " + values.byteSize());
+        }
+        long index = grow(values.byteSize() / elementSize);
+        copyIn(index, values);
+    }
+
+    /**
+     * Copies a range of elements of this list into given segment, using bulk memory copies.
+     * @param index the index of the first list element to be copied.
+     * @param dst the destination segment; its size determines the number of elements to be copied.
+     * @throws IllegalArgumentException if the size of {@code dst} is not a multiple of the size of the element layout.
+     * @throws IndexOutOfBoundsException if the elements to be copied do not describe a range of this list.
+     * @throws IllegalStateException if the scope associated with this list, or with {@code dst}, has been closed,
+     * or if access occurs from a thread other than the thread owning either scope.
+     */
+    public void copyTo(long index, MemorySegment dst) {
+        if (dst.byteSize() % elementSize != 0) {
+            throw new IllegalArgumentException("Bad segment size: " + dst.byteSize());
+        }
+        Objects.checkFromIndexSize(index, dst.byteSize() / elementSize, size);
+        copyOut(index, dst);
+    }
+
+    /**
+     * Returns a late-binding, fail-fast spliterator over views of the elements of this list. The spliterator
+     * reports {@link Spliterator#ORDERED}, {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED} and
+     * {@link Spliterator#NONNULL}, and splits preferably at the boundaries of the native chunks backing this list.
+     * @return a spliterator over the elements of this list.
+     */
+    public Spliterator<MemorySegment> spliterator() {
+        return new StructSpliterator(0, -1, 0);
+    }
+
+    /**
+     * Returns a sequential stream over views of the elements of this list.
+     * @return a sequential stream over the elements of this list.
+     */
+    public Stream<MemorySegment> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    final class StructSpliterator extends ChunkSpliterator implements Spliterator<MemorySegment> {
+        StructSpliterator(long origin, long fence, int expectedModCount) {
+            super(origin, fence, expectedModCount);
+        }
+
+        @Override
+        public StructSpliterator trySplit() {
+            long split = splitIndex();
+            return split < 0 ? null :
+                    new StructSpliterator(index, index = split, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super MemorySegment> action) {
+            Objects.requireNonNull(action);
+            long i = index;
+            if (i < getFence()) {
+                checkForComodification();
+                index = i + 1;
+                action.accept(elementSlice(i));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super MemorySegment> action) {
+            Objects.requireNonNull(action);
+            long i = index, hi = getFence();
+            index = hi;
+            checkForComodification();
+            for (; i < hi; i++) {
+                action.accept(elementSlice(i));
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public int characteristics() {
+            return super.characteristics() | Spliterator.NONNULL;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package jdk.jfr.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Frequency;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import jdk.jfr.internal.Type;
+
+@Name(Type.EVENT_NAME_PREFIX + "ExecutorStatistics")
+@Label("Executor Statistics")
+@Category({ "Java Application", "Statistics" })
+@Description("Execution statistics of a thread pool or fork/join pool that has metrics enabled")
+@StackTrace(false)
+public final class ExecutorStatisticsEvent extends AbstractJDKEvent {
+
+    @Label("Executor")
+    public String executor;
+
+    @Label("Workers")
+    @Description("Number of worker threads that have run tasks since metrics were enabled")
+    public int workers;
+
+    @Label("Completed Tasks")
+    public long completedTasks;
+
+    @Label("Failed Tasks")
+    public long failedTasks;
+
+    @Label("Rejected Tasks")
+    public long rejectedTasks;
+
+    @Label("Steals")
+    public long steals;
+
+    @Label("Utilization")
+    @Description("Fraction of time worker threads were busy since the previous event")
+    @Percentage
+    public double utilization;
+
+    @Label("Steal Rate")
+    @Description("Steals per second since the previous event")
+    @Frequency
+    public double stealRate;
+
+    @Label("Median Execution Time")
+    @Timespan
+    public long executionTimeMedian;
+
+    @Label("99th Percentile Execution Time")
+    @Timespan
+    public long executionTime99;
+
+    @Label("Median Queue Wait")
+    @Timespan
+    public long queueWaitMedian;
+
+    @Label("99th Percentile Queue Wait")
+    @Timespan
+    public long queueWait99;
+}
@@ -29,8 +29,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorMetrics;
 
 import jdk.internal.access.SharedSecrets;
+import jdk.internal.misc.ExecutorMetricsRegistry;
 import jdk.jfr.Event;
 import jdk.jfr.events.ActiveRecordingEvent;
 import jdk.jfr.events.ActiveSettingEvent;
@@ -43,6 +46,7 @@ import jdk.jfr.events.DirectBufferStatisticsEvent;
 import jdk.jfr.events.ErrorThrownEvent;
 import jdk.jfr.events.ExceptionStatisticsEvent;
 import jdk.jfr.events.ExceptionThrownEvent;
+import jdk.jfr.events.ExecutorStatisticsEvent;
 import jdk.jfr.events.FileForceEvent;
 import jdk.jfr.events.FileReadEvent;
 import jdk.jfr.events.FileWriteEvent;
@@ -97,6 +101,7 @@ public final class JDKEvents {
         jdk.internal.event.X509ValidationEvent.class,
 
         DirectBufferStatisticsEvent.class,
+        ExecutorStatisticsEvent.class,
         InitialSecurityPropertyEvent.class,
     };
 
@@ -115,6 +120,7 @@ public final class JDKEvents {
     private static final JVM jvm = JVM.getJVM();
     private static final Runnable emitExceptionStatistics = JDKEvents::emitExceptionStatistics;
     private static final Runnable emitDirectBufferStatistics = JDKEvents::emitDirectBufferStatistics;
+    private static final Runnable emitExecutorStatistics = JDKEvents::emitExecutorStatistics;
     private static final Runnable emitContainerConfiguration = JDKEvents::emitContainerConfiguration;
     private static final Runnable emitContainerCPUUsage = JDKEvents::emitContainerCPUUsage;
     private static final Runnable emitContainerCPUThrottling = JDKEvents::emitContainerCPUThrottling;
@@ -122,6 +128,7 @@ public final class JDKEvents {
     private static final Runnable emitContainerIOUsage = JDKEvents::emitContainerIOUsage;
     private static final Runnable emitInitialSecurityProperties = JDKEvents::emitInitialSecurityProperties;
     private static Metrics containerMetrics = null;
+    private static final Map<ExecutorMetrics, ExecutorSample> executorSamples = new WeakHashMap<>();
     private static boolean initializationTriggered;
 
     @SuppressWarnings("unchecked")
@@ -137,6 +144,7 @@ public final class JDKEvents {
 
                 RequestEngine.addTrustedJDKHook(ExceptionStatisticsEvent.class, emitExceptionStatistics);
                 RequestEngine.addTrustedJDKHook(DirectBufferStatisticsEvent.class, emitDirectBufferStatistics);
+                RequestEngine.addTrustedJDKHook(ExecutorStatisticsEvent.class, emitExecutorStatistics);
                 RequestEngine.addTrustedJDKHook(InitialSecurityPropertyEvent.class, emitInitialSecurityProperties);
 
                 initializeContainerEvents();
@@ -286,6 +294,45 @@ public final class JDKEvents {
         e.commit();
     }
 
+    // Only counters are retained between periods; a Snapshot refers back
+    // to its ExecutorMetrics and would keep the weak key (and the pool) alive.
+    private record ExecutorSample(long timestamp, long execNanos, long steals) {
+    }
+
+    private static void emitExecutorStatistics() {
+        synchronized (executorSamples) {
+            for (ExecutorMetrics m : ExecutorMetricsRegistry.getAll()) {
+                ExecutorMetrics.Snapshot s = m.snapshot();
+                ExecutorSample previous = executorSamples.put(m,
+                        new ExecutorSample(s.getTimestamp(), s.getTotalExecutionNanos(), s.getStealCount()));
+                if (previous == null) {
+                    // first period starts when metrics were enabled
+                    previous = new ExecutorSample(s.getTimestamp() - s.getElapsedNanos(), 0L, 0L);
+                }
+                ExecutorStatisticsEvent e = new ExecutorStatisticsEvent();
+                e.executor = m.getName();
+                e.workers = s.getWorkerBusyNanos().length;
+                e.completedTasks = s.getCompletedTaskCount();
+                e.failedTasks = s.getFailedTaskCount();
+                e.rejectedTasks = s.getRejectedTaskCount();
+                e.steals = s.getStealCount();
+                long elapsed = s.getTimestamp() - previous.timestamp();
+                if (elapsed > 0) {
+                    if (e.workers > 0) {
+                        double u = (double) (s.getTotalExecutionNanos() - previous.execNanos()) / elapsed / e.workers;
+                        e.utilization = Math.min(Math.max(u, 0.0), 1.0);
+                    }
+                    e.stealRate = (s.getStealCount() - previous.steals()) * 1e9 / elapsed;
+                }
+                e.executionTimeMedian = s.getExecutionTimePercentile(50.0);
+                e.executionTime99 = s.getExecutionTimePercentile(99.0);
+                e.queueWaitMedian = s.getQueueWaitPercentile(50.0);
+                e.queueWait99 = s.getQueueWaitPercentile(99.0);
+                e.commit();
+            }
+        }
+    }
+
     private static void emitInitialSecurityProperties() {
         Properties p = SharedSecrets.getJavaSecurityPropertiesAccess().getInitialProperties();
         if (p != null) {
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package com.sun.management;
+
+import java.lang.management.PlatformManagedObject;
+
+/**
+ * Management interface for the execution statistics of thread pools and
+ * fork/join pools.  Statistics are available for each executor on which
+ * {@link java.util.concurrent.ThreadPoolExecutor#enableMetrics()} or
+ * {@link java.util.concurrent.ForkJoinPool#enableMetrics()} has been
+ * invoked, for as long as the executor is reachable.
+ *
+ * <p>The {@code ObjectName} for uniquely identifying the MXBean for
+ * executor metrics within an MBeanServer is:
+ * <blockquote>
+ *    {@code com.sun.management:type=ExecutorMetrics}
+ * </blockquote>
+ *
+ * <p>It can be obtained by calling the
+ * {@link PlatformManagedObject#getObjectName} method.
+ *
+ * <p>All statistics are cumulative, from the time metrics were enabled.
+ * Rates and utilization over an interval are obtained by subtracting
+ * the statistics read at the start of the interval from those read at
+ * its end.
+ *
+ * @see java.util.concurrent.ExecutorMetrics
+ * @since 18
+ */
+public interface ExecutorMetricsMXBean extends PlatformManagedObject {
+
+    /**
+     * Returns the names of the executors that have metrics enabled, as
+     * given by {@link java.util.concurrent.ExecutorMetrics#getName()}.
+     *
+     * @return the names of the executors that have metrics enabled
+     */
+    String[] getExecutorNames();
+
+    /**
+     * Returns the current statistics of the executor of the given name.
+     *
+     * @param name the name of the executor
+     * @return the statistics of the executor, or {@code null} if there
+     *         is no executor of that name with metrics enabled
+     * @throws NullPointerException if {@code name} is {@code null}
+     */
+    ExecutorStatistics getExecutorStatistics(String name);
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package com.sun.management;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Execution statistics of a thread pool or fork/join pool, as returned
+ * by {@link ExecutorMetricsMXBean#getExecutorStatistics}.  Times are in
+ * nanoseconds.  The histograms have 64 buckets: bucket {@code i} counts
+ * durations {@code d} with {@code 2}<sup>{@code i}</sup> {@code <= d < 2}<sup>{@code i+1}</sup>
+ * nanoseconds, and bucket {@code 0} also counts durations of zero.
+ *
+ * @see java.util.concurrent.ExecutorMetrics.Snapshot
+ * @since 18
+ */
+public class ExecutorStatistics {
+    private final String name;
+    private final long elapsedTime;
+    private final long completedTaskCount;
+    private final long failedTaskCount;
+    private final long rejectedTaskCount;
+    private final long stealCount;
+    private final long totalExecutionTime;
+    private final long queueWaitCount;
+    private final long totalQueueWaitTime;
+    private final long[] executionTimeHistogram;
+    private final long[] queueWaitHistogram;
+    private final long[] workerBusyTimes;
+
+    /**
+     * Constructs an {@code ExecutorStatistics} object.
+     *
+     * @param name the name of the executor
+     * @param elapsedTime the time since metrics were enabled
+     * @param completedTaskCount the number of completed tasks
+     * @param failedTaskCount the number of tasks that completed abruptly
+     * @param rejectedTaskCount the number of rejected tasks
+     * @param stealCount the number of steals
+     * @param totalExecutionTime the total execution time of completed tasks
+     * @param queueWaitCount the number of tasks with a recorded queue wait
+     * @param totalQueueWaitTime the total queue wait time of those tasks
+     * @param executionTimeHistogram the histogram of execution times
+     * @param queueWaitHistogram the histogram of queue wait times
+     * @param workerBusyTimes the busy time of each live worker thread
+     */
+    @ConstructorParameters({"name", "elapsedTime", "completedTaskCount",
+                            "failedTaskCount", "rejectedTaskCount",
+                            "stealCount", "totalExecutionTime",
+                            "queueWaitCount", "totalQueueWaitTime",
+                            "executionTimeHistogram", "queueWaitHistogram",
+                            "workerBusyTimes"})
+    public ExecutorStatistics(String name,
+                              long elapsedTime,
+                              long completedTaskCount,
+                              long failedTaskCount,
+                              long rejectedTaskCount,
+                              long stealCount,
+                              long totalExecutionTime,
+                              long queueWaitCount,
+                              long totalQueueWaitTime,
+                              long[] executionTimeHistogram,
+                              long[] queueWaitHistogram,
+                              long[] workerBusyTimes) {
+        this.name = name;
+        this.elapsedTime = elapsedTime;
+        this.completedTaskCount = completedTaskCount;
+        this.failedTaskCount = failedTaskCount;
+        this.rejectedTaskCount = rejectedTaskCount;
+        this.stealCount = stealCount;
+        this.totalExecutionTime = totalExecutionTime;
+        this.queueWaitCount = queueWaitCount;
+        this.totalQueueWaitTime = totalQueueWaitTime;
+        this.executionTimeHistogram = executionTimeHistogram.clone();
+        this.queueWaitHistogram = queueWaitHistogram.clone();
+        this.workerBusyTimes = workerBusyTimes.clone();
+    }
+
+    /**
+     * Returns the name of the executor.
+     *
+     * @return the name of the executor
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the time elapsed since metrics were enabled.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * Returns the number of tasks that completed, normally or abruptly.
+     *
+     * @return the number of completed tasks
+     */
+    public long getCompletedTaskCount() {
+        return completedTaskCount;
+    }
+
+    /**
+     * Returns the number of tasks that completed abruptly.
+     *
+     * @return the number of failed tasks
+     */
+    public long getFailedTaskCount() {
+        return failedTaskCount;
+    }
+
+    /**
+     * Returns the number of rejected tasks.
+     *
+     * @return the number of rejected tasks
+     */
+    public long getRejectedTaskCount() {
+        return rejectedTaskCount;
+    }
+
+    /**
+     * Returns the number of steals, or zero if the executor does not
+     * steal tasks.
+     *
+     * @return the number of steals
+     */
+    public long getStealCount() {
+        return stealCount;
+    }
+
+    /**
+     * Returns the total execution time of completed tasks, which is also
+     * the total time worker threads were busy.
+     *
+     * @return the total execution time in nanoseconds
+     */
+    public long getTotalExecutionTime() {
+        return totalExecutionTime;
+    }
+
+    /**
+     * Returns the number of tasks for which a queue wait time was
+     * recorded.
+     *
+     * @return the number of tasks with a recorded queue wait
+     */
+    public long getQueueWaitCount() {
+        return queueWaitCount;
+    }
+
+    /**
+     * Returns the total queue wait time of the tasks counted by
+     * {@link #getQueueWaitCount}.
+     *
+     * @return the total queue wait time in nanoseconds
+     */
+    public long getTotalQueueWaitTime() {
+        return totalQueueWaitTime;
+    }
+
+    /**
+     * Returns the histogram of execution times.
+     *
+     * @return an array of 64 counts
+     */
+    public long[] getExecutionTimeHistogram() {
+        return executionTimeHistogram.clone();
+    }
+
+    /**
+     * Returns the histogram of queue wait times.
+     *
+     * @return an array of 64 counts
+     */
+    public long[] getQueueWaitHistogram() {
+        return queueWaitHistogram.clone();
+    }
+
+    /**
+     * Returns the busy time of each live worker thread that has run a
+     * task since metrics were enabled.  Dividing these by the elapsed
+     * time over an interval gives the utilization of each worker.
+     *
+     * @return the busy time of each worker in nanoseconds
+     */
+    public long[] getWorkerBusyTimes() {
+        return workerBusyTimes.clone();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package com.sun.management.internal;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorMetrics;
+import javax.management.ObjectName;
+
+import com.sun.management.ExecutorMetricsMXBean;
+import com.sun.management.ExecutorStatistics;
+import jdk.internal.misc.ExecutorMetricsRegistry;
+import sun.management.Util;
+
+/**
+ * Implementation of the executor metrics MBean.
+ */
+public class ExecutorMetricsImpl implements ExecutorMetricsMXBean {
+    final static String EXECUTOR_METRICS_MXBEAN_NAME =
+        "com.sun.management:type=ExecutorMetrics";
+
+    ExecutorMetricsImpl() {
+    }
+
+    @Override
+    public String[] getExecutorNames() {
+        List<ExecutorMetrics> all = ExecutorMetricsRegistry.getAll();
+        String[] names = new String[all.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = all.get(i).getName();
+        }
+        return names;
+    }
+
+    @Override
+    public ExecutorStatistics getExecutorStatistics(String name) {
+        Objects.requireNonNull(name);
+        for (ExecutorMetrics m : ExecutorMetricsRegistry.getAll()) {
+            if (m.getName().equals(name)) {
+                ExecutorMetrics.Snapshot s = m.snapshot();
+                return new ExecutorStatistics(m.getName(),
+                                              s.getElapsedNanos(),
+                                              s.getCompletedTaskCount(),
+                                              s.getFailedTaskCount(),
+                                              s.getRejectedTaskCount(),
+                                              s.getStealCount(),
+                                              s.getTotalExecutionNanos(),
+                                              s.getQueueWaitCount(),
+                                              s.getTotalQueueWaitNanos(),
+                                              s.getExecutionTimeHistogram(),
+                                              s.getQueueWaitHistogram(),
+                                              s.getWorkerBusyNanos());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ObjectName getObjectName() {
+        return Util.newObjectName(EXECUTOR_METRICS_MXBEAN_NAME);
+    }
+}
@@ -25,6 +25,7 @@
 package com.sun.management.internal;
 
 import com.sun.management.DiagnosticCommandMBean;
+import com.sun.management.ExecutorMetricsMXBean;
 import com.sun.management.HotSpotDiagnosticMXBean;
 import com.sun.management.ThreadMXBean;
 import java.lang.management.ManagementFactory;
@@ -52,6 +53,7 @@ public final class PlatformMBeanProviderImpl extends PlatformMBeanProvider {
     private final List<PlatformComponent<?>> mxbeanList;
     private static HotSpotDiagnostic hsDiagMBean = null;
     private static OperatingSystemMXBean osMBean = null;
+    private static ExecutorMetricsMXBean executorMetricsMBean = null;
 
     static {
        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
@@ -230,6 +232,36 @@ public final class PlatformMBeanProviderImpl extends PlatformMBeanProvider {
             }
         });
 
+        /**
+         * Execution statistics of thread pools and fork/join pools.
+         */
+        initMBeanList.add(new PlatformComponent<ExecutorMetricsMXBean>() {
+            private final Set<String> executorMetricsMXBeanInterfaceNames =
+                    Collections.singleton("com.sun.management.ExecutorMetricsMXBean");
+
+            @Override
+            public Set<Class<? extends ExecutorMetricsMXBean>> mbeanInterfaces() {
+                return Collections.singleton(ExecutorMetricsMXBean.class);
+            }
+
+            @Override
+            public Set<String> mbeanInterfaceNames() {
+                return executorMetricsMXBeanInterfaceNames;
+            }
+
+            @Override
+            public String getObjectNamePattern() {
+                return ExecutorMetricsImpl.EXECUTOR_METRICS_MXBEAN_NAME;
+            }
+
+            @Override
+            public Map<String, ExecutorMetricsMXBean> nameToMBeanMap() {
+                return Collections.<String, ExecutorMetricsMXBean>singletonMap(
+                        ExecutorMetricsImpl.EXECUTOR_METRICS_MXBEAN_NAME,
+                        getExecutorMetricsMXBean());
+            }
+        });
+
         /**
          * Diagnostic command MBean
          */
@@ -275,6 +307,13 @@ public final class PlatformMBeanProviderImpl extends PlatformMBeanProvider {
         return hsDiagMBean;
     }
 
+    private static synchronized ExecutorMetricsMXBean getExecutorMetricsMXBean() {
+        if (executorMetricsMBean == null) {
+            executorMetricsMBean = new ExecutorMetricsImpl();
+        }
+        return executorMetricsMBean;
+    }
+
     private static synchronized OperatingSystemMXBean getOperatingSystemMXBean() {
         if (osMBean == null) {
             osMBean = new OperatingSystemImpl(ManagementFactoryHelper.getVMManagement());